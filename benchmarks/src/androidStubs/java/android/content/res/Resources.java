@@ -0,0 +1,37 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+/**
+ * The JVM implementation of the Android class used by the benchmarks. Only the display metrics are supported.
+ */
+@SuppressWarnings({"PMD", "checkstyle:all"})
+public class Resources {
+
+    private final DisplayMetrics metrics;
+
+    public Resources(final AssetManager assets, final DisplayMetrics metrics, final Configuration config) {
+        this.metrics = metrics;
+    }
+
+    public DisplayMetrics getDisplayMetrics() {
+        return metrics;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps;
+
+/**
+ * Stands in for the resources class generated for the opfmaps library, so its sources compile without aapt.
+ * The benchmarks never access the resources.
+ */
+@SuppressWarnings({"PMD", "checkstyle:all"})
+public final class R {
+
+    private R() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static final class id {
+        public static final int map_frame = 0x7f010001;
+
+        private id() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class layout {
+        public static final int map_layout = 0x7f020001;
+
+        private layout() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class styleable {
+        public static final int OPFMapAttrs_opf_mapType = 0;
+        public static final int OPFMapAttrs_opf_cameraBearing = 1;
+        public static final int OPFMapAttrs_opf_cameraTargetLat = 2;
+        public static final int OPFMapAttrs_opf_cameraTargetLng = 3;
+        public static final int OPFMapAttrs_opf_cameraTilt = 4;
+        public static final int OPFMapAttrs_opf_cameraZoom = 5;
+        public static final int OPFMapAttrs_opf_liteMode = 6;
+        public static final int OPFMapAttrs_opf_uiCompass = 7;
+        public static final int OPFMapAttrs_opf_uiMapToolbar = 8;
+        public static final int OPFMapAttrs_opf_uiRotateGestures = 9;
+        public static final int OPFMapAttrs_opf_uiScrollGestures = 10;
+        public static final int OPFMapAttrs_opf_uiTiltGestures = 11;
+        public static final int OPFMapAttrs_opf_uiZoomControls = 12;
+        public static final int OPFMapAttrs_opf_uiZoomGestures = 13;
+        public static final int OPFMapAttrs_opf_useViewLifecycle = 14;
+        public static final int OPFMapAttrs_opf_zOrderOnTop = 15;
+        public static final int[] OPFMapAttrs = new int[16];
+
+        private styleable() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
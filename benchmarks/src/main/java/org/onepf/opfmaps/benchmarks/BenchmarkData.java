@@ -0,0 +1,103 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.benchmarks;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFCircleOptions;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.model.OPFPolygonOptions;
+import org.onepf.opfmaps.model.OPFPolylineOptions;
+
+import java.util.Random;
+
+/**
+ * Creates the reproducible input data of the benchmarks.
+ */
+public final class BenchmarkData {
+
+    private static final long SEED = 42L;
+    private static final double START_LAT = 55.75;
+    private static final double START_LNG = 37.62;
+    private static final double MAX_STEP = 0.01;
+    private static final int HOLES_COUNT = 2;
+    private static final double CIRCLE_RADIUS = 1000.0;
+
+    private BenchmarkData() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a random walk path which starts in the center of Moscow.
+     *
+     * @param pointsCount The number of the path points.
+     * @return The new sequence of points.
+     */
+    @NonNull
+    public static OPFLatLngSequence createPath(final int pointsCount) {
+        final Random random = new Random(SEED + pointsCount);
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(pointsCount);
+        double lat = START_LAT;
+        double lng = START_LNG;
+        for (int i = 0; i < pointsCount; i++) {
+            sequence.add(lat, lng);
+            lat += (random.nextDouble() - 0.5) * MAX_STEP;
+            lng += (random.nextDouble() - 0.5) * MAX_STEP;
+        }
+        return sequence;
+    }
+
+    @NonNull
+    public static OPFPolylineOptions createPolylineOptions(final int pointsCount) {
+        return new OPFPolylineOptions()
+                .addAll(createPath(pointsCount))
+                .color(0xFF0000FF)
+                .width(5.0f)
+                .zIndex(1.0f);
+    }
+
+    /**
+     * Creates polygon options with two holes, each one has a tenth of the outline points.
+     *
+     * @param pointsCount The number of the outline points.
+     * @return The new polygon options.
+     */
+    @NonNull
+    public static OPFPolygonOptions createPolygonOptions(final int pointsCount) {
+        final OPFPolygonOptions options = new OPFPolygonOptions()
+                .addAll(createPath(pointsCount))
+                .fillColor(0x7F00FF00)
+                .strokeColor(0xFF00FF00)
+                .strokeWidth(3.0f);
+        for (int i = 0; i < HOLES_COUNT; i++) {
+            options.addHole(createPath(Math.max(pointsCount / 10, 3)));
+        }
+        return options;
+    }
+
+    @NonNull
+    public static OPFCircleOptions createCircleOptions() {
+        return new OPFCircleOptions()
+                .center(new OPFLatLng(START_LAT, START_LNG))
+                .radius(CIRCLE_RADIUS)
+                .fillColor(0x7FFF0000)
+                .strokeColor(0xFFFF0000)
+                .strokeWidth(2.0f);
+    }
+}
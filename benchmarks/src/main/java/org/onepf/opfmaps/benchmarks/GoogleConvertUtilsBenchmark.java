@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.benchmarks;
+
+import com.google.android.gms.maps.model.CircleOptions;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.PolygonOptions;
+import com.google.android.gms.maps.model.PolylineOptions;
+
+import org.onepf.opfmaps.google.utils.ConvertUtils;
+import org.onepf.opfmaps.model.OPFCircleOptions;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.model.OPFPolygonOptions;
+import org.onepf.opfmaps.model.OPFPolylineOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the overlay options to the Google Maps ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GoogleConvertUtilsBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int pointsCount;
+
+    private OPFLatLngSequence points;
+    private OPFPolylineOptions polylineOptions;
+    private OPFPolygonOptions polygonOptions;
+    private OPFCircleOptions circleOptions;
+
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.createPath(pointsCount);
+        polylineOptions = BenchmarkData.createPolylineOptions(pointsCount);
+        polygonOptions = BenchmarkData.createPolygonOptions(pointsCount);
+        circleOptions = BenchmarkData.createCircleOptions();
+    }
+
+    @Benchmark
+    public List<LatLng> convertLatLngSequence() {
+        return ConvertUtils.convertLatLngSequence(points);
+    }
+
+    @Benchmark
+    public PolylineOptions convertPolylineOptions() {
+        return ConvertUtils.convertPolylineOptions(polylineOptions);
+    }
+
+    @Benchmark
+    public PolygonOptions convertPolygonOptions() {
+        return ConvertUtils.convertPolygonOptions(polygonOptions);
+    }
+
+    @Benchmark
+    public CircleOptions convertCircleOptions() {
+        return ConvertUtils.convertCircleOptions(circleOptions);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.benchmarks;
+
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.osmdroid.utils.ConvertUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.osmdroid.bonuspack.overlays.Polygon;
+import org.osmdroid.util.GeoPoint;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the point sequences to the osmdroid ones and the circle outline
+ * which {@code OsmdroidCircleDelegate} builds on every center or radius change.
+ * <p/>
+ * The overlays themselves can't be created without a real {@code Context}, so they aren't measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OsmdroidConvertUtilsBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int pointsCount;
+
+    @Param({"100", "10000"})
+    public double circleRadius;
+
+    private OPFLatLngSequence points;
+    private GeoPoint circleCenter;
+
+    @Setup
+    public void setUp() {
+        points = BenchmarkData.createPath(pointsCount);
+        circleCenter = new GeoPoint(points.getLat(0), points.getLng(0));
+    }
+
+    @Benchmark
+    public List<GeoPoint> convertLatLngSequence() {
+        return ConvertUtils.convertLatLngSequence(points);
+    }
+
+    @Benchmark
+    public List<GeoPoint> pointsAsCircle() {
+        return Polygon.pointsAsCircle(circleCenter, circleRadius);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.benchmarks;
+
+import android.webkit.WebView;
+
+import org.onepf.opfmaps.model.OPFPolylineOptions;
+import org.onepf.opfmaps.yandexweb.model.Polyline;
+import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversion of the overlay options to the Yandex Web provider models.
+ * <p/>
+ * The models only keep the {@link WebView} to evaluate scripts later, so the conversion gets {@code null}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class YaWebConvertUtilsBenchmark {
+
+    private static final WebView NO_WEB_VIEW = null;
+
+    @Param({"10", "1000", "10000"})
+    public int pointsCount;
+
+    private OPFPolylineOptions polylineOptions;
+    private int color;
+
+    @Setup
+    public void setUp() {
+        polylineOptions = BenchmarkData.createPolylineOptions(pointsCount);
+        color = polylineOptions.getColor();
+    }
+
+    @Benchmark
+    public Polyline convertPolylineOptions() {
+        //noinspection ConstantConditions
+        return ConvertUtils.convertPolylineOptions(NO_WEB_VIEW, polylineOptions);
+    }
+
+    @Benchmark
+    public String convertColor() {
+        return ConvertUtils.convertColor(color);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.benchmarks;
+
+import android.content.res.Resources;
+import android.graphics.Point;
+import android.graphics.Rect;
+import android.test.mock.MockContext;
+import android.util.DisplayMetrics;
+
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.yandexweb.model.LatLng;
+import org.onepf.opfmaps.yandexweb.model.Projection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the projection of the whole point sets by the Yandex Web provider, as it's done for
+ * the markers and the info windows on every camera change, point by point and in batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class YaWebProjectionBenchmark {
+
+    private static final int SCREEN_WIDTH = 1080;
+    private static final int SCREEN_HEIGHT = 1920;
+    private static final float DENSITY = 3.0f;
+    private static final float ZOOM_LEVEL = 12.0f;
+
+    @Param({"10", "1000", "10000"})
+    public int pointsCount;
+
+    private Projection projection;
+    private LatLng[] locations;
+    private Point[] screenLocations;
+    private double[] latLngs;
+    private int[] xy;
+    private double[] outLatLngs;
+
+    @Setup
+    public void setUp() {
+        final DisplayMetrics displayMetrics = new DisplayMetrics();
+        displayMetrics.density = DENSITY;
+        final Resources resources = new Resources(null, displayMetrics, null);
+        final MockContext context = new MockContext() {
+            @Override
+            public Resources getResources() {
+                return resources;
+            }
+        };
+        projection = new Projection(new Rect(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT), context, ZOOM_LEVEL, 0, 0);
+
+        final OPFLatLngSequence points = BenchmarkData.createPath(pointsCount);
+        locations = new LatLng[pointsCount];
+        screenLocations = new Point[pointsCount];
+        for (int i = 0; i < pointsCount; i++) {
+            locations[i] = new LatLng(points.getLat(i), points.getLng(i));
+            screenLocations[i] = projection.toScreenLocation(locations[i]);
+        }
+        latLngs = points.toArray();
+        xy = new int[latLngs.length];
+        outLatLngs = new double[latLngs.length];
+        projection.toScreenLocations(latLngs, xy);
+    }
+
+    @Benchmark
+    public void toScreenLocation(final Blackhole blackhole) {
+        for (LatLng location : locations) {
+            blackhole.consume(projection.toScreenLocation(location));
+        }
+    }
+
+    @Benchmark
+    public void fromScreenLocation(final Blackhole blackhole) {
+        for (Point point : screenLocations) {
+            blackhole.consume(projection.fromScreenLocation(point));
+        }
+    }
+
+    @Benchmark
+    public int[] toScreenLocations() {
+        projection.toScreenLocations(latLngs, xy);
+        return xy;
+    }
+
+    @Benchmark
+    public double[] fromScreenLocations() {
+        projection.fromScreenLocations(xy, outLatLngs);
+        return outLatLngs;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.osmdroid;
+
+/**
+ * Stands in for the resources class generated for the osmdroid provider, so its sources compile without aapt.
+ * The benchmarks never access the resources.
+ */
+@SuppressWarnings({"PMD", "checkstyle:all"})
+public final class R {
+
+    private R() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static final class drawable {
+        public static final int ic_marker = 0x7f010001;
+        public static final int ic_menu_info_details = 0x7f010002;
+        public static final int ic_my_location = 0x7f010003;
+
+        private drawable() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class integer {
+        public static final int default_tile_size_pixels = 0x7f020001;
+
+        private integer() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static final class layout {
+        public static final int info_window_container = 0x7f030001;
+
+        private layout() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
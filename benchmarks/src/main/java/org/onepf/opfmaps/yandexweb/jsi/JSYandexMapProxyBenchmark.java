@@ -0,0 +1,83 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.yandexweb.jsi;
+
+import org.onepf.opfmaps.benchmarks.BenchmarkData;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.model.OPFPolygonOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the building of the scripts which the Yandex Web provider sends to the JavaScript map.
+ * It's placed in the package of {@link JSYandexMapProxy} to access its package-private helpers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JSYandexMapProxyBenchmark {
+
+    private static final String FUNCTION_NAME = "setGeoObjectOption";
+    private static final String ID = "1234567890";
+    private static final String[] PARAMS = {"'1234567890'", "'strokeColor'", "'#FF0000'"};
+
+    @Param({"10", "1000", "10000"})
+    public int pointsCount;
+
+    private OPFLatLngSequence points;
+    private List<OPFLatLngSequence> holes;
+
+    @Setup
+    public void setUp() {
+        final OPFPolygonOptions polygonOptions = BenchmarkData.createPolygonOptions(pointsCount);
+        points = polygonOptions.getPointSequence();
+        holes = polygonOptions.getHoleSequences();
+    }
+
+    @Benchmark
+    public String build3DJSLatLngArray() {
+        final StringBuilder builder = new StringBuilder();
+        JSYandexMapProxy.build3DJSLatLngArray(builder, points, holes);
+        return builder.toString();
+    }
+
+    @Benchmark
+    public String formatScript() {
+        return JSYandexMapProxy.formatScript(FUNCTION_NAME, PARAMS);
+    }
+
+    @Benchmark
+    public String wrapToQuotes() {
+        return JSYandexMapProxy.wrapToQuotes(ID);
+    }
+}
@@ -20,21 +20,14 @@ import android.content.Context;
 import android.support.annotation.NonNull;
 
 import com.amazon.geo.mapsv2.AmazonMapOptions;
-import com.amazon.geo.mapsv2.model.LatLng;
-import com.amazon.geo.mapsv2.model.LatLngBounds;
 
 import org.onepf.opfmaps.amazon.delegate.AmazonMapOptionsDelegate;
 import org.onepf.opfmaps.amazon.delegate.AmazonMapViewDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonBitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonCameraPositionDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonCameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonCircleOptionsDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonGroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonLatLngBoundsDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonLatLngDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonMarkerOptionsDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonPolygonOptionsDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonPolylineOptionsDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonTileDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonTileOverlayOptionsDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonUrlTileProviderDelegate;
@@ -46,13 +39,8 @@ import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.delegate.model.CameraPositionDelegate;
 import org.onepf.opfmaps.delegate.model.CameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.GroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 import org.onepf.opfmaps.delegate.model.MarkerOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.TileDelegate;
 import org.onepf.opfmaps.delegate.model.TileOverlayOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.UrlTileProviderDelegate;
@@ -82,58 +70,18 @@ public final class AmazonDelegatesFactory implements DelegatesAbstractFactory {
         return new AmazonMapViewDelegate(context, ConvertUtils.convertMapOptions(mapOptions));
     }
 
-    @NonNull
-    @Override
-    public CircleOptionsDelegate createCircleOptionsDelegate() {
-        return new AmazonCircleOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public GroundOverlayOptionsDelegate createGroundOverlayOptionsDelegate() {
         return new AmazonGroundOverlayOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public LatLngDelegate createLatLngDelegate(final double latitude, final double longitude) {
-        return new AmazonLatLngDelegate(new LatLng(latitude, longitude));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate createLatLngBoundsDelegate(@NonNull final OPFLatLng southwest,
-                                                           @NonNull final OPFLatLng northeast) {
-        return new AmazonLatLngBoundsDelegate(new LatLngBounds(
-                new LatLng(southwest.getLat(), southwest.getLng()),
-                new LatLng(northeast.getLat(), northeast.getLng())
-        ));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate.Builder createLatLngBoundsBuilderDelegate() {
-        return new AmazonLatLngBoundsDelegate.Builder();
-    }
-
     @NonNull
     @Override
     public MarkerOptionsDelegate createMarkerOptionsDelegate() {
         return new AmazonMarkerOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public PolygonOptionsDelegate createPolygonOptionsDelegate() {
-        return new AmazonPolygonOptionsDelegate();
-    }
-
-    @NonNull
-    @Override
-    public PolylineOptionsDelegate createPolylineOptionsDelegate() {
-        return new AmazonPolylineOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public TileDelegate createTileDelegate(final int width, final int height, @NonNull final byte[] data) {
@@ -87,6 +87,9 @@ public class AmazonMapProvider extends BaseOPFMapProvider {
 
     private static final String NAME = "AmazonMapProvider";
 
+    @NonNull
+    private final DelegatesAbstractFactory delegatesFactory = new AmazonDelegatesFactory();
+
     public AmazonMapProvider() {
         super(NAME, HOST_APP_PACKAGE);
     }
@@ -94,7 +97,7 @@ public class AmazonMapProvider extends BaseOPFMapProvider {
     @NonNull
     @Override
     public DelegatesAbstractFactory getDelegatesFactory() {
-        return new AmazonDelegatesFactory();
+        return delegatesFactory;
     }
 
     @Override
@@ -33,7 +33,6 @@ import com.amazon.geo.mapsv2.model.Polyline;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonCameraPositionDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonCircleDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonGroundOverlayDelegate;
-import org.onepf.opfmaps.amazon.delegate.model.AmazonLatLngDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonMarkerDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonPolygonDelegate;
 import org.onepf.opfmaps.amazon.delegate.model.AmazonPolylineDelegate;
@@ -75,6 +74,11 @@ import org.onepf.opfmaps.model.OPFProjection;
 import org.onepf.opfmaps.model.OPFTileOverlay;
 import org.onepf.opfmaps.model.OPFTileOverlayOptions;
 import org.onepf.opfmaps.model.OPFUiSettings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.onepf.opfutils.OPFLog;
 
 /**
@@ -87,6 +91,10 @@ public class AmazonMapDelegate implements MapDelegate {
     @NonNull
     private final AmazonMap map;
 
+    //The handles of the added markers by ids, so listeners receive the instances returned by addMarker.
+    @NonNull
+    private final Map<String, OPFMarker> markers = new HashMap<>();
+
     @NonNull
     private final OPFUiSettings opfUiSettings;
 
@@ -113,7 +121,18 @@ public class AmazonMapDelegate implements MapDelegate {
     @Override
     public OPFMarker addMarker(@NonNull final OPFMarkerOptions options) {
         final Marker marker = map.addMarker(ConvertUtils.convertMarkerOptions(options));
-        return new OPFMarker(new AmazonMarkerDelegate(marker));
+        return registerMarker(marker);
+    }
+
+    @NonNull
+    @Override
+    public List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        final List<OPFMarker> opfMarkers = new ArrayList<>(options.size());
+        for (OPFMarkerOptions markerOptions : options) {
+            final Marker marker = map.addMarker(ConvertUtils.convertMarkerOptions(markerOptions));
+            opfMarkers.add(registerMarker(marker));
+        }
+        return opfMarkers;
     }
 
     @NonNull
@@ -123,6 +142,17 @@ public class AmazonMapDelegate implements MapDelegate {
         return new OPFPolygon(new AmazonPolygonDelegate(polygon));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options) {
+        final List<OPFPolygon> opfPolygons = new ArrayList<>(options.size());
+        for (OPFPolygonOptions polygonOptions : options) {
+            final Polygon polygon = map.addPolygon(ConvertUtils.convertPolygonOptions(polygonOptions));
+            opfPolygons.add(new OPFPolygon(new AmazonPolygonDelegate(polygon)));
+        }
+        return opfPolygons;
+    }
+
     @NonNull
     @Override
     public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
@@ -130,6 +160,17 @@ public class AmazonMapDelegate implements MapDelegate {
         return new OPFPolyline(new AmazonPolylineDelegate(polyline));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options) {
+        final List<OPFPolyline> opfPolylines = new ArrayList<>(options.size());
+        for (OPFPolylineOptions polylineOptions : options) {
+            final Polyline polyline = map.addPolyline(ConvertUtils.convertPolylineOptions(polylineOptions));
+            opfPolylines.add(new OPFPolyline(new AmazonPolylineDelegate(polyline)));
+        }
+        return opfPolylines;
+    }
+
     @NonNull
     @Override
     public OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options) {
@@ -188,9 +229,20 @@ public class AmazonMapDelegate implements MapDelegate {
         map.animateCamera((CameraUpdate) update.getDelegate().getCameraUpdate());
     }
 
+    @Override
+    public void beginBatchUpdate() {
+        //nothing
+    }
+
     @Override
     public void clear() {
         map.clear();
+        markers.clear();
+    }
+
+    @Override
+    public void endBatchUpdate() {
+        //nothing
     }
 
     @NonNull
@@ -280,12 +332,12 @@ public class AmazonMapDelegate implements MapDelegate {
         map.setInfoWindowAdapter(new AmazonMap.InfoWindowAdapter() {
             @Override
             public View getInfoContents(final Marker marker) {
-                return adapter.getInfoContents(new OPFMarker(new AmazonMarkerDelegate(marker)));
+                return adapter.getInfoContents(getOPFMarker(marker));
             }
 
             @Override
             public View getInfoWindow(final Marker marker) {
-                return adapter.getInfoWindow(new OPFMarker(new AmazonMarkerDelegate(marker)));
+                return adapter.getInfoWindow(getOPFMarker(marker));
             }
         });
     }
@@ -345,7 +397,7 @@ public class AmazonMapDelegate implements MapDelegate {
             map.setOnInfoWindowClickListener(new AmazonMap.OnInfoWindowClickListener() {
                 @Override
                 public void onInfoWindowClick(final Marker marker) {
-                    listener.onInfoWindowClick(new OPFMarker(new AmazonMarkerDelegate(marker)));
+                    listener.onInfoWindowClick(getOPFMarker(marker));
                 }
             });
         } else {
@@ -359,7 +411,7 @@ public class AmazonMapDelegate implements MapDelegate {
             map.setOnMapClickListener(new AmazonMap.OnMapClickListener() {
                 @Override
                 public void onMapClick(final LatLng latLng) {
-                    listener.onMapClick(new OPFLatLng(new AmazonLatLngDelegate(latLng)));
+                    listener.onMapClick(new OPFLatLng(latLng.latitude, latLng.longitude));
                 }
             });
         } else {
@@ -387,7 +439,7 @@ public class AmazonMapDelegate implements MapDelegate {
             map.setOnMapLongClickListener(new AmazonMap.OnMapLongClickListener() {
                 @Override
                 public void onMapLongClick(final LatLng latLng) {
-                    listener.onMapLongClick(new OPFLatLng(new AmazonLatLngDelegate(latLng)));
+                    listener.onMapLongClick(new OPFLatLng(latLng.latitude, latLng.longitude));
                 }
             });
         } else {
@@ -401,7 +453,7 @@ public class AmazonMapDelegate implements MapDelegate {
             map.setOnMarkerClickListener(new AmazonMap.OnMarkerClickListener() {
                 @Override
                 public boolean onMarkerClick(final Marker marker) {
-                    return listener.onMarkerClick(new OPFMarker(new AmazonMarkerDelegate(marker)));
+                    return listener.onMarkerClick(getOPFMarker(marker));
                 }
             });
         } else {
@@ -484,4 +536,17 @@ public class AmazonMapDelegate implements MapDelegate {
     public String toString() {
         return map.toString();
     }
+
+    @NonNull
+    private OPFMarker registerMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = new OPFMarker(new AmazonMarkerDelegate(marker, markers));
+        markers.put(marker.getId(), opfMarker);
+        return opfMarker;
+    }
+
+    @NonNull
+    private OPFMarker getOPFMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = markers.get(marker.getId());
+        return opfMarker != null ? opfMarker : registerMarker(marker);
+    }
 }
@@ -26,8 +26,11 @@ import com.amazon.geo.mapsv2.model.Marker;
 import org.onepf.opfmaps.delegate.model.MarkerDelegate;
 import org.onepf.opfmaps.model.OPFBitmapDescriptor;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFMarker;
 import org.onepf.opfutils.OPFLog;
 
+import java.util.Map;
+
 /**
  * @author Roman Savin
  * @since 31.07.2015
@@ -36,9 +39,22 @@ public final class AmazonMarkerDelegate implements MarkerDelegate {
 
     @NonNull
     private final Marker marker;
+    @Nullable
+    private final Map<String, OPFMarker> markers;
 
     public AmazonMarkerDelegate(@NonNull final Marker marker) {
+        this(marker, null);
+    }
+
+    /**
+     * Creates the delegate of a marker which is registered in the map of the markers of its map.
+     *
+     * @param marker  The native marker.
+     * @param markers The markers of the map by ids. The marker is removed from it when it's removed from the map.
+     */
+    public AmazonMarkerDelegate(@NonNull final Marker marker, @Nullable final Map<String, OPFMarker> markers) {
         this.marker = marker;
+        this.markers = markers;
     }
 
     @Override
@@ -102,6 +118,9 @@ public final class AmazonMarkerDelegate implements MarkerDelegate {
 
     @Override
     public void remove() {
+        if (markers != null) {
+            markers.remove(marker.getId());
+        }
         marker.remove();
     }
 
@@ -23,7 +23,9 @@ import com.amazon.geo.mapsv2.model.LatLng;
 import com.amazon.geo.mapsv2.model.Polygon;
 
 import org.onepf.opfmaps.delegate.model.PolygonDelegate;
+import org.onepf.opfmaps.amazon.utils.ConvertUtils;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -147,6 +149,11 @@ public final class AmazonPolygonDelegate implements PolygonDelegate {
         polygon.setPoints(amazonPoints);
     }
 
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        polygon.setPoints(ConvertUtils.convertLatLngSequence(points));
+    }
+
     @Override
     public void setStrokeColor(final int color) {
         polygon.setStrokeColor(color);
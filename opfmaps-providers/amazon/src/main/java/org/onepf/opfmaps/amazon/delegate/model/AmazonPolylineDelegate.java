@@ -23,7 +23,9 @@ import com.amazon.geo.mapsv2.model.LatLng;
 import com.amazon.geo.mapsv2.model.Polyline;
 
 import org.onepf.opfmaps.delegate.model.PolylineDelegate;
+import org.onepf.opfmaps.amazon.utils.ConvertUtils;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -113,6 +115,11 @@ public final class AmazonPolylineDelegate implements PolylineDelegate {
         polyline.setPoints(amazonPoints);
     }
 
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        polyline.setPoints(ConvertUtils.convertLatLngSequence(points));
+    }
+
     @Override
     public void setVisible(final boolean visible) {
         polyline.setVisible(visible);
@@ -20,21 +20,14 @@ import android.content.Context;
 import android.support.annotation.NonNull;
 
 import com.google.android.gms.maps.GoogleMapOptions;
-import com.google.android.gms.maps.model.LatLng;
-import com.google.android.gms.maps.model.LatLngBounds;
 
 import org.onepf.opfmaps.google.delegate.GoogleMapOptionsDelegate;
 import org.onepf.opfmaps.google.delegate.GoogleMapViewDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleBitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleCameraPositionDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleCameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.google.delegate.model.GoogleCircleOptionsDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleGroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.google.delegate.model.GoogleLatLngBoundsDelegate;
-import org.onepf.opfmaps.google.delegate.model.GoogleLatLngDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleMarkerOptionsDelegate;
-import org.onepf.opfmaps.google.delegate.model.GooglePolygonOptionsDelegate;
-import org.onepf.opfmaps.google.delegate.model.GooglePolylineOptionsDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleTileDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleTileOverlayOptionsDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleUrlTileProviderDelegate;
@@ -46,13 +39,8 @@ import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.delegate.model.CameraPositionDelegate;
 import org.onepf.opfmaps.delegate.model.CameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.GroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 import org.onepf.opfmaps.delegate.model.MarkerOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.TileDelegate;
 import org.onepf.opfmaps.delegate.model.TileOverlayOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.UrlTileProviderDelegate;
@@ -82,58 +70,18 @@ public final class GoogleDelegatesFactory implements DelegatesAbstractFactory {
         return new GoogleMapViewDelegate(context, ConvertUtils.convertMapOptions(mapOptions));
     }
 
-    @NonNull
-    @Override
-    public CircleOptionsDelegate createCircleOptionsDelegate() {
-        return new GoogleCircleOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public GroundOverlayOptionsDelegate createGroundOverlayOptionsDelegate() {
         return new GoogleGroundOverlayOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public LatLngDelegate createLatLngDelegate(final double latitude, final double longitude) {
-        return new GoogleLatLngDelegate(new LatLng(latitude, longitude));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate createLatLngBoundsDelegate(@NonNull final OPFLatLng southwest,
-                                                           @NonNull final OPFLatLng northeast) {
-        return new GoogleLatLngBoundsDelegate(new LatLngBounds(
-                new LatLng(southwest.getLat(), southwest.getLng()),
-                new LatLng(northeast.getLat(), northeast.getLng())
-        ));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate.Builder createLatLngBoundsBuilderDelegate() {
-        return new GoogleLatLngBoundsDelegate.Builder();
-    }
-
     @NonNull
     @Override
     public MarkerOptionsDelegate createMarkerOptionsDelegate() {
         return new GoogleMarkerOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public PolygonOptionsDelegate createPolygonOptionsDelegate() {
-        return new GooglePolygonOptionsDelegate();
-    }
-
-    @NonNull
-    @Override
-    public PolylineOptionsDelegate createPolylineOptionsDelegate() {
-        return new GooglePolylineOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public TileDelegate createTileDelegate(final int width, final int height, @NonNull final byte[] data) {
@@ -37,6 +37,9 @@ public class GoogleMapProvider extends BaseOPFMapProvider {
 
     private static final String NAME = "GoogleMapProvider";
 
+    @NonNull
+    private final DelegatesAbstractFactory delegatesFactory = new GoogleDelegatesFactory();
+
     public GoogleMapProvider() {
         super(NAME, HOST_APP_PACKAGE);
     }
@@ -44,7 +47,7 @@ public class GoogleMapProvider extends BaseOPFMapProvider {
     @NonNull
     @Override
     public DelegatesAbstractFactory getDelegatesFactory() {
-        return new GoogleDelegatesFactory();
+        return delegatesFactory;
     }
 
     @Override
@@ -39,7 +39,6 @@ import org.onepf.opfmaps.google.delegate.model.GoogleCameraPositionDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleCircleDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleGroundOverlayDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleIndoorBuildingDelegate;
-import org.onepf.opfmaps.google.delegate.model.GoogleLatLngDelegate;
 import org.onepf.opfmaps.google.delegate.model.GoogleMarkerDelegate;
 import org.onepf.opfmaps.google.delegate.model.GooglePolygonDelegate;
 import org.onepf.opfmaps.google.delegate.model.GooglePolylineDelegate;
@@ -82,6 +81,11 @@ import org.onepf.opfmaps.model.OPFTileOverlay;
 import org.onepf.opfmaps.model.OPFTileOverlayOptions;
 import org.onepf.opfmaps.model.OPFUiSettings;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Roman Savin
  * @since 31.07.2015
@@ -92,8 +96,13 @@ public class GoogleMapDelegate implements MapDelegate {
     @NonNull
     private final GoogleMap map;
 
+    //The handles of the added markers by ids, so listeners receive the instances returned by addMarker.
+    @NonNull
+    private final Map<String, OPFMarker> markers = new HashMap<>();
+
     public GoogleMapDelegate(@NonNull final GoogleMap map) {
         this.map = map;
+        setOnMarkerDragListener(null);
     }
 
     @NonNull
@@ -114,7 +123,18 @@ public class GoogleMapDelegate implements MapDelegate {
     @Override
     public OPFMarker addMarker(@NonNull final OPFMarkerOptions options) {
         final Marker marker = map.addMarker(ConvertUtils.convertMarkerOptions(options));
-        return new OPFMarker(new GoogleMarkerDelegate(marker));
+        return registerMarker(marker);
+    }
+
+    @NonNull
+    @Override
+    public List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        final List<OPFMarker> opfMarkers = new ArrayList<>(options.size());
+        for (OPFMarkerOptions markerOptions : options) {
+            final Marker marker = map.addMarker(ConvertUtils.convertMarkerOptions(markerOptions));
+            opfMarkers.add(registerMarker(marker));
+        }
+        return opfMarkers;
     }
 
     @NonNull
@@ -124,6 +144,17 @@ public class GoogleMapDelegate implements MapDelegate {
         return new OPFPolygon(new GooglePolygonDelegate(polygon));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options) {
+        final List<OPFPolygon> opfPolygons = new ArrayList<>(options.size());
+        for (OPFPolygonOptions polygonOptions : options) {
+            final Polygon polygon = map.addPolygon(ConvertUtils.convertPolygonOptions(polygonOptions));
+            opfPolygons.add(new OPFPolygon(new GooglePolygonDelegate(polygon)));
+        }
+        return opfPolygons;
+    }
+
     @NonNull
     @Override
     public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
@@ -131,6 +162,17 @@ public class GoogleMapDelegate implements MapDelegate {
         return new OPFPolyline(new GooglePolylineDelegate(polyline));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options) {
+        final List<OPFPolyline> opfPolylines = new ArrayList<>(options.size());
+        for (OPFPolylineOptions polylineOptions : options) {
+            final Polyline polyline = map.addPolyline(ConvertUtils.convertPolylineOptions(polylineOptions));
+            opfPolylines.add(new OPFPolyline(new GooglePolylineDelegate(polyline)));
+        }
+        return opfPolylines;
+    }
+
     @NonNull
     @Override
     public OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options) {
@@ -190,9 +232,20 @@ public class GoogleMapDelegate implements MapDelegate {
         map.animateCamera((CameraUpdate) update.getDelegate().getCameraUpdate());
     }
 
+    @Override
+    public void beginBatchUpdate() {
+        //nothing
+    }
+
     @Override
     public void clear() {
         map.clear();
+        markers.clear();
+    }
+
+    @Override
+    public void endBatchUpdate() {
+        //nothing
     }
 
     @NonNull
@@ -284,12 +337,12 @@ public class GoogleMapDelegate implements MapDelegate {
         map.setInfoWindowAdapter(new GoogleMap.InfoWindowAdapter() {
             @Override
             public View getInfoContents(final Marker marker) {
-                return adapter.getInfoContents(new OPFMarker(new GoogleMarkerDelegate(marker)));
+                return adapter.getInfoContents(getOPFMarker(marker));
             }
 
             @Override
             public View getInfoWindow(final Marker marker) {
-                return adapter.getInfoWindow(new OPFMarker(new GoogleMarkerDelegate(marker)));
+                return adapter.getInfoWindow(getOPFMarker(marker));
             }
         });
     }
@@ -364,7 +417,7 @@ public class GoogleMapDelegate implements MapDelegate {
             map.setOnInfoWindowClickListener(new GoogleMap.OnInfoWindowClickListener() {
                 @Override
                 public void onInfoWindowClick(final Marker marker) {
-                    listener.onInfoWindowClick(new OPFMarker(new GoogleMarkerDelegate(marker)));
+                    listener.onInfoWindowClick(getOPFMarker(marker));
                 }
             });
         } else {
@@ -378,7 +431,7 @@ public class GoogleMapDelegate implements MapDelegate {
             map.setOnMapClickListener(new GoogleMap.OnMapClickListener() {
                 @Override
                 public void onMapClick(final LatLng latLng) {
-                    listener.onMapClick(new OPFLatLng(new GoogleLatLngDelegate(latLng)));
+                    listener.onMapClick(new OPFLatLng(latLng.latitude, latLng.longitude));
                 }
             });
         } else {
@@ -406,7 +459,7 @@ public class GoogleMapDelegate implements MapDelegate {
             map.setOnMapLongClickListener(new GoogleMap.OnMapLongClickListener() {
                 @Override
                 public void onMapLongClick(final LatLng latLng) {
-                    listener.onMapLongClick(new OPFLatLng(new GoogleLatLngDelegate(latLng)));
+                    listener.onMapLongClick(new OPFLatLng(latLng.latitude, latLng.longitude));
                 }
             });
         } else {
@@ -420,7 +473,7 @@ public class GoogleMapDelegate implements MapDelegate {
             map.setOnMarkerClickListener(new GoogleMap.OnMarkerClickListener() {
                 @Override
                 public boolean onMarkerClick(final Marker marker) {
-                    return listener.onMarkerClick(new OPFMarker(new GoogleMarkerDelegate(marker)));
+                    return listener.onMarkerClick(getOPFMarker(marker));
                 }
             });
         } else {
@@ -430,40 +483,34 @@ public class GoogleMapDelegate implements MapDelegate {
 
     @Override
     public void setOnMarkerDragListener(@Nullable final OPFOnMarkerDragListener listener) {
-        if (listener != null) {
-            map.setOnMarkerDragListener(new GoogleMap.OnMarkerDragListener() {
-
-                private OPFMarker opfMarker;
+        //The map listener is set even without an OPF listener, it keeps the overlay index of the map up to date.
+        map.setOnMarkerDragListener(new GoogleMap.OnMarkerDragListener() {
 
-                @Override
-                public void onMarkerDrag(final Marker marker) {
-                    updateOPFMarker(marker);
-                    listener.onMarkerDrag(opfMarker);
+            @Override
+            public void onMarkerDrag(final Marker marker) {
+                if (listener != null) {
+                    listener.onMarkerDrag(getOPFMarker(marker));
                 }
+            }
 
-                @Override
-                public void onMarkerDragEnd(final Marker marker) {
-                    updateOPFMarker(marker);
+            @Override
+            public void onMarkerDragEnd(final Marker marker) {
+                final OPFMarker opfMarker = getOPFMarker(marker);
+                //Keeps the overlay index of the map in sync with the dropped marker.
+                final LatLng position = marker.getPosition();
+                opfMarker.onPositionChangedByMap(position.latitude, position.longitude);
+                if (listener != null) {
                     listener.onMarkerDragEnd(opfMarker);
                 }
+            }
 
-                @Override
-                public void onMarkerDragStart(final Marker marker) {
-                    updateOPFMarker(marker);
-                    listener.onMarkerDragStart(opfMarker);
-                }
-
-                private void updateOPFMarker(@NonNull final Marker marker) {
-                    if (opfMarker == null) {
-                        opfMarker = new OPFMarker(new GoogleMarkerDelegate(marker));
-                    } else {
-                        opfMarker.setPosition(new OPFLatLng(new GoogleLatLngDelegate(marker.getPosition())));
-                    }
+            @Override
+            public void onMarkerDragStart(final Marker marker) {
+                if (listener != null) {
+                    listener.onMarkerDragStart(getOPFMarker(marker));
                 }
-            });
-        } else {
-            map.setOnMarkerDragListener(null);
-        }
+            }
+        });
     }
 
     @Override
@@ -534,4 +581,17 @@ public class GoogleMapDelegate implements MapDelegate {
     public String toString() {
         return map.toString();
     }
+
+    @NonNull
+    private OPFMarker registerMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = new OPFMarker(new GoogleMarkerDelegate(marker, markers));
+        markers.put(marker.getId(), opfMarker);
+        return opfMarker;
+    }
+
+    @NonNull
+    private OPFMarker getOPFMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = markers.get(marker.getId());
+        return opfMarker != null ? opfMarker : registerMarker(marker);
+    }
 }
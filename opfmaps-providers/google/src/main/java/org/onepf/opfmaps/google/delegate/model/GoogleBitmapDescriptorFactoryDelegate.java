@@ -18,32 +18,57 @@ package org.onepf.opfmaps.google.delegate.model;
 
 import android.graphics.Bitmap;
 import android.support.annotation.NonNull;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.BitmapDescriptorFactory;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.model.OPFBitmapDescriptor;
+import org.onepf.opfmaps.utils.OPFBitmapCache;
 
 /**
+ * Descriptors of the same default marker, asset, file, path or resource are created once and shared
+ * through {@link OPFBitmapCache}. Descriptors of bitmaps aren't cached, because the bitmaps are already decoded.
+ *
  * @author Roman Savin
  * @since 03.08.2015
  */
 public final class GoogleBitmapDescriptorFactoryDelegate implements BitmapDescriptorFactoryDelegate {
 
+    private static final String CACHE_KEY_PREFIX = "google/";
+
     @NonNull
     @Override
     public OPFBitmapDescriptor defaultMarker() {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.defaultMarker()));
+        return getDescriptor("default", new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.defaultMarker();
+            }
+        });
     }
 
     @NonNull
     @Override
     public OPFBitmapDescriptor defaultMarker(final float hue) {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.defaultMarker(hue)));
+        return getDescriptor("default/" + hue, new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.defaultMarker(hue);
+            }
+        });
     }
 
     @NonNull
     @Override
     public OPFBitmapDescriptor fromAsset(@NonNull final String assetName) {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.fromAsset(assetName)));
+        return getDescriptor("asset/" + assetName, new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.fromAsset(assetName);
+            }
+        });
     }
 
     @NonNull
@@ -55,18 +80,57 @@ public final class GoogleBitmapDescriptorFactoryDelegate implements BitmapDescri
     @NonNull
     @Override
     public OPFBitmapDescriptor fromFile(@NonNull final String fileName) {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.fromFile(fileName)));
+        return getDescriptor("file/" + fileName, new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.fromFile(fileName);
+            }
+        });
     }
 
     @NonNull
     @Override
     public OPFBitmapDescriptor fromPath(@NonNull final String absolutePath) {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.fromPath(absolutePath)));
+        return getDescriptor("path/" + absolutePath, new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.fromPath(absolutePath);
+            }
+        });
     }
 
     @NonNull
     @Override
     public OPFBitmapDescriptor fromResource(final int resourceId) {
-        return new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(BitmapDescriptorFactory.fromResource(resourceId)));
+        return getDescriptor("resource/" + resourceId, new DescriptorLoader() {
+            @NonNull
+            @Override
+            public BitmapDescriptor load() {
+                return BitmapDescriptorFactory.fromResource(resourceId);
+            }
+        });
+    }
+
+    @NonNull
+    private static OPFBitmapDescriptor getDescriptor(@NonNull final String key, @NonNull final DescriptorLoader loader) {
+        final String cacheKey = CACHE_KEY_PREFIX + key;
+        final OPFBitmapCache cache = OPFBitmapCache.getInstance();
+        OPFBitmapDescriptor descriptor = cache.getObject(cacheKey, OPFBitmapDescriptor.class);
+        if (descriptor == null) {
+            descriptor = new OPFBitmapDescriptor(new GoogleBitmapDescriptorDelegate(loader.load()));
+            cache.putObject(cacheKey, descriptor);
+        }
+        return descriptor;
+    }
+
+    /**
+     * Creates the native descriptor on a cache miss.
+     */
+    private interface DescriptorLoader {
+
+        @NonNull
+        BitmapDescriptor load();
     }
 }
@@ -110,29 +110,4 @@ public final class GoogleLatLngBoundsDelegate implements LatLngBoundsDelegate {
     public String toString() {
         return bounds.toString();
     }
-
-    public static class Builder implements LatLngBoundsDelegate.Builder {
-
-        @SuppressWarnings("PMD.AvoidFieldNameMatchingTypeName")
-        @NonNull
-        private final LatLngBounds.Builder builder;
-
-        public Builder() {
-            this.builder = LatLngBounds.builder();
-        }
-
-        @NonNull
-        @Override
-        public LatLngBoundsDelegate.Builder include(@NonNull final OPFLatLng latLng) {
-            builder.include(new LatLng(latLng.getLat(), latLng.getLng()));
-            return this;
-        }
-
-        @SuppressWarnings("PMD.AccessorClassGeneration")
-        @NonNull
-        @Override
-        public OPFLatLngBounds build() {
-            return new OPFLatLngBounds(new GoogleLatLngBoundsDelegate(builder.build()));
-        }
-    }
 }
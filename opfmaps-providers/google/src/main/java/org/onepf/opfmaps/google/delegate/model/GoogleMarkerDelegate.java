@@ -26,6 +26,9 @@ import com.google.android.gms.maps.model.Marker;
 import org.onepf.opfmaps.delegate.model.MarkerDelegate;
 import org.onepf.opfmaps.model.OPFBitmapDescriptor;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFMarker;
+
+import java.util.Map;
 
 /**
  * @author Roman Savin
@@ -35,9 +38,22 @@ public final class GoogleMarkerDelegate implements MarkerDelegate {
 
     @NonNull
     private final Marker marker;
+    @Nullable
+    private final Map<String, OPFMarker> markers;
 
     public GoogleMarkerDelegate(@NonNull final Marker marker) {
+        this(marker, null);
+    }
+
+    /**
+     * Creates the delegate of a marker which is registered in the map of the markers of its map.
+     *
+     * @param marker  The native marker.
+     * @param markers The markers of the map by ids. The marker is removed from it when it's removed from the map.
+     */
+    public GoogleMarkerDelegate(@NonNull final Marker marker, @Nullable final Map<String, OPFMarker> markers) {
         this.marker = marker;
+        this.markers = markers;
     }
 
     @Override
@@ -101,6 +117,9 @@ public final class GoogleMarkerDelegate implements MarkerDelegate {
 
     @Override
     public void remove() {
+        if (markers != null) {
+            markers.remove(marker.getId());
+        }
         marker.remove();
     }
 
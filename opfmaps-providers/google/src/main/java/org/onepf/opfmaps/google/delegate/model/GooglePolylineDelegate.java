@@ -23,7 +23,9 @@ import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
 
 import org.onepf.opfmaps.delegate.model.PolylineDelegate;
+import org.onepf.opfmaps.google.utils.ConvertUtils;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -113,6 +115,11 @@ public final class GooglePolylineDelegate implements PolylineDelegate {
         polyline.setPoints(googlePoints);
     }
 
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        polyline.setPoints(ConvertUtils.convertLatLngSequence(points));
+    }
+
     @Override
     public void setVisible(final boolean visible) {
         polyline.setVisible(visible);
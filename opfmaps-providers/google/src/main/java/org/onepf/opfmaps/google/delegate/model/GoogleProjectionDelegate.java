@@ -56,6 +56,26 @@ public final class GoogleProjectionDelegate implements ProjectionDelegate {
         return projection.toScreenLocation(new LatLng(location.getLat(), location.getLng()));
     }
 
+    @Override
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        for (int i = 0; i < latLngs.length; i += 2) {
+            final Point point = projection.toScreenLocation(new LatLng(latLngs[i], latLngs[i + 1]));
+            outXY[i] = point.x;
+            outXY[i + 1] = point.y;
+        }
+    }
+
+    @Override
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        final Point point = new Point();
+        for (int i = 0; i < xy.length; i += 2) {
+            point.set(xy[i], xy[i + 1]);
+            final LatLng latLng = projection.fromScreenLocation(point);
+            outLatLngs[i] = latLng != null ? latLng.latitude : Double.NaN;
+            outLatLngs[i + 1] = latLng != null ? latLng.longitude : Double.NaN;
+        }
+    }
+
     @NonNull
     @Override
     public OPFVisibleRegion getVisibleRegion() {
@@ -37,6 +37,7 @@ import org.onepf.opfmaps.model.OPFCircleOptions;
 import org.onepf.opfmaps.model.OPFGroundOverlayOptions;
 import org.onepf.opfmaps.model.OPFLatLng;
 import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.model.OPFMapType;
 import org.onepf.opfmaps.model.OPFMarkerOptions;
 import org.onepf.opfmaps.model.OPFPolygonOptions;
@@ -198,24 +199,13 @@ public final class ConvertUtils {
                 .visible(opfOptions.isVisible())
                 .zIndex(opfOptions.getZIndex());
 
-        final List<OPFLatLng> opfPoints = opfOptions.getPoints();
+        final OPFLatLngSequence opfPoints = opfOptions.getPointSequence();
         if (!opfPoints.isEmpty()) {
-            final List<LatLng> points = new ArrayList<>(opfPoints.size());
-            for (OPFLatLng opfPoint : opfPoints) {
-                points.add(new LatLng(opfPoint.getLat(), opfPoint.getLng()));
-            }
-            options.addAll(points);
+            options.addAll(convertLatLngSequence(opfPoints));
         }
 
-        final List<List<OPFLatLng>> opfHoles = opfOptions.getHoles();
-        if (!opfHoles.isEmpty()) {
-            for (List<OPFLatLng> opfHole : opfHoles) {
-                final List<LatLng> hole = new ArrayList<>(opfHole.size());
-                for (OPFLatLng point : opfHole) {
-                    hole.add(new LatLng(point.getLat(), point.getLng()));
-                }
-                options.addHole(hole);
-            }
+        for (OPFLatLngSequence opfHole : opfOptions.getHoleSequences()) {
+            options.addHole(convertLatLngSequence(opfHole));
         }
 
         return options;
@@ -229,18 +219,24 @@ public final class ConvertUtils {
                 .width(opfOptions.getWidth())
                 .zIndex(opfOptions.getZIndex());
 
-        final List<OPFLatLng> opfPoints = opfOptions.getPoints();
+        final OPFLatLngSequence opfPoints = opfOptions.getPointSequence();
         if (!opfPoints.isEmpty()) {
-            final List<LatLng> points = new ArrayList<>(opfPoints.size());
-            for (OPFLatLng opfPoint : opfPoints) {
-                points.add(new LatLng(opfPoint.getLat(), opfPoint.getLng()));
-            }
-            options.addAll(points);
+            options.addAll(convertLatLngSequence(opfPoints));
         }
 
         return options;
     }
 
+    @NonNull
+    public static List<LatLng> convertLatLngSequence(@NonNull final OPFLatLngSequence opfPoints) {
+        final int size = opfPoints.size();
+        final List<LatLng> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new LatLng(opfPoints.getLat(i), opfPoints.getLng(i)));
+        }
+        return points;
+    }
+
     public static TileOverlayOptions convertTileOverlayOptions(@NonNull final OPFTileOverlayOptions opfOptions) {
         final TileOverlayOptions options = new TileOverlayOptions()
                 .fadeIn(opfOptions.getFadeIn())
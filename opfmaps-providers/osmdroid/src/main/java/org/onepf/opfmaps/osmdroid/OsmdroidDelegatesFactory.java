@@ -23,13 +23,8 @@ import org.onepf.opfmaps.osmdroid.delegate.OsmdroidMapViewDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidBitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidCameraPositionDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidCameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidCircleOptionsDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidGroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidLatLngBoundsDelegate;
-import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidLatLngDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidMarkerOptionsDelegate;
-import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidPolygonOptionsDelegate;
-import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidPolylineOptionsDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidTileDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidTileOverlayOptionsDelegate;
 import org.onepf.opfmaps.osmdroid.delegate.model.OsmdroidUrlTileProviderDelegate;
@@ -42,13 +37,8 @@ import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.delegate.model.CameraPositionDelegate;
 import org.onepf.opfmaps.delegate.model.CameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.GroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 import org.onepf.opfmaps.delegate.model.MarkerOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.TileDelegate;
 import org.onepf.opfmaps.delegate.model.TileOverlayOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.UrlTileProviderDelegate;
@@ -58,8 +48,6 @@ import org.onepf.opfmaps.model.OPFCameraPosition;
 import org.onepf.opfmaps.model.OPFLatLng;
 import org.onepf.opfmaps.model.OPFLatLngBounds;
 import org.onepf.opfmaps.model.OPFUrlTileProvider.TileUrlProvider;
-import org.osmdroid.util.BoundingBoxE6;
-import org.osmdroid.util.GeoPoint;
 
 /**
  * @author Roman Savin
@@ -80,60 +68,18 @@ public final class OsmdroidDelegatesFactory implements DelegatesAbstractFactory
         return new OsmdroidMapViewDelegate(context, ConvertUtils.convertMapOptions(mapOptions));
     }
 
-    @NonNull
-    @Override
-    public CircleOptionsDelegate createCircleOptionsDelegate() {
-        return new OsmdroidCircleOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public GroundOverlayOptionsDelegate createGroundOverlayOptionsDelegate() {
         return new OsmdroidGroundOverlayOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public LatLngDelegate createLatLngDelegate(final double latitude, final double longitude) {
-        return new OsmdroidLatLngDelegate(new GeoPoint(latitude, longitude));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate createLatLngBoundsDelegate(@NonNull final OPFLatLng southwest,
-                                                           @NonNull final OPFLatLng northeast) {
-        return new OsmdroidLatLngBoundsDelegate(new BoundingBoxE6(
-                northeast.getLat(),
-                northeast.getLng(),
-                southwest.getLat(),
-                southwest.getLng()
-        ));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate.Builder createLatLngBoundsBuilderDelegate() {
-        return new OsmdroidLatLngBoundsDelegate.Builder();
-    }
-
     @NonNull
     @Override
     public MarkerOptionsDelegate createMarkerOptionsDelegate() {
         return new OsmdroidMarkerOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public PolygonOptionsDelegate createPolygonOptionsDelegate() {
-        return new OsmdroidPolygonOptionsDelegate();
-    }
-
-    @NonNull
-    @Override
-    public PolylineOptionsDelegate createPolylineOptionsDelegate() {
-        return new OsmdroidPolylineOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public TileDelegate createTileDelegate(final int width, final int height, @NonNull final byte[] data) {
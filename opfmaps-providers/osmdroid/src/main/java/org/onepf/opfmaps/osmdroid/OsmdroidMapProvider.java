@@ -82,7 +82,6 @@ import java.util.Map;
  *     org.onepf.opfmaps.model.OPFCameraUpdate, int, org.onepf.opfmaps.listener.OPFCancelableCallback)} duration value has no effect.</li>
  *     <li>{@link org.onepf.opfmaps.OPFMap#animateCamera(org.onepf.opfmaps.model.OPFCameraUpdate, org.onepf.opfmaps.listener.OPFCancelableCallback)}
  *     onFinished is called immediately.</li>
- *     <li>{@link org.onepf.opfmaps.OPFMap#setOnCameraChangeListener(org.onepf.opfmaps.listener.OPFOnCameraChangeListener)}</li>
  *     <li>{@link org.onepf.opfmaps.OPFMap#setContentDescription(String)}</li>
  *     <li>{@link org.onepf.opfmaps.OPFMap#setIndoorEnabled(boolean)}</li>
  *     <li>{@link org.onepf.opfmaps.OPFMap#isIndoorEnabled()}</li>
@@ -113,6 +112,9 @@ public final class OsmdroidMapProvider extends BaseOPFMapProvider {
 
     private static final String NAME = "OsmdroidMapProvider";
 
+    @NonNull
+    private final DelegatesAbstractFactory delegatesFactory = new OsmdroidDelegatesFactory();
+
     @NonNull
     private final Map<OPFMapType, ITileSource> tileSourceMap;
 
@@ -135,7 +137,7 @@ public final class OsmdroidMapProvider extends BaseOPFMapProvider {
     @NonNull
     @Override
     public DelegatesAbstractFactory getDelegatesFactory() {
-        return new OsmdroidDelegatesFactory();
+        return delegatesFactory;
     }
 
     @NonNull
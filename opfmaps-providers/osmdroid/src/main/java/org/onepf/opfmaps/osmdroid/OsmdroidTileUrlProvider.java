@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.osmdroid;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.OPFMapHelper;
+import org.onepf.opfmaps.model.OPFMapType;
+import org.onepf.opfmaps.model.OPFUrlTileProvider;
+import org.onepf.opfutils.OPFLog;
+import org.osmdroid.tileprovider.MapTile;
+import org.osmdroid.tileprovider.tilesource.ITileSource;
+import org.osmdroid.tileprovider.tilesource.OnlineTileSourceBase;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Provides the URLs of the tiles of an osmdroid online tile source, e.g. to download them with
+ * {@link org.onepf.opfmaps.tile.OPFFetchingTileProvider} or {@link org.onepf.opfmaps.offline.OPFOfflineRegionManager}.
+ */
+public final class OsmdroidTileUrlProvider implements OPFUrlTileProvider.TileUrlProvider {
+
+    @NonNull
+    private final OnlineTileSourceBase tileSource;
+
+    public OsmdroidTileUrlProvider(@NonNull final OnlineTileSourceBase tileSource) {
+        this.tileSource = tileSource;
+    }
+
+    /**
+     * Creates the provider for the tile source of the map type from {@link OsmdroidMapProvider#getTileSourceMap()}.
+     *
+     * @param mapType The map type.
+     * @return The provider or {@code null} if the current provider isn't {@link OsmdroidMapProvider}
+     * or the tile source of the map type isn't an online tile source.
+     */
+    @Nullable
+    public static OsmdroidTileUrlProvider forMapType(@NonNull final OPFMapType mapType) {
+        if (!(OPFMapHelper.getInstance().getCurrentProvider() instanceof OsmdroidMapProvider)) {
+            return null;
+        }
+
+        final ITileSource tileSource = ((OsmdroidMapProvider) OPFMapHelper.getInstance().getCurrentProvider())
+                .getTileSourceMap().get(mapType);
+        return tileSource instanceof OnlineTileSourceBase
+                ? new OsmdroidTileUrlProvider((OnlineTileSourceBase) tileSource)
+                : null;
+    }
+
+    @Nullable
+    @Override
+    public URL getTileUrl(final int x, final int y, final int zoom) {
+        try {
+            return new URL(tileSource.getTileURLString(new MapTile(zoom, x, y)));
+        } catch (MalformedURLException e) {
+            OPFLog.w(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the name of the tile source, which can be used as a source id of tile caches and offline regions.
+     *
+     * @return The name of the tile source.
+     */
+    @NonNull
+    public String getSourceId() {
+        return tileSource.name();
+    }
+
+    public int getTileSize() {
+        return tileSource.getTileSizePixels();
+    }
+}
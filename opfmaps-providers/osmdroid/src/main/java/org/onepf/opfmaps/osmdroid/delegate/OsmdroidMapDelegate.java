@@ -76,10 +76,14 @@ import org.osmdroid.bonuspack.overlays.InfoWindow;
 import org.osmdroid.bonuspack.overlays.Marker;
 import org.osmdroid.bonuspack.overlays.Polygon;
 import org.osmdroid.bonuspack.overlays.Polyline;
+import org.osmdroid.events.MapListener;
+import org.osmdroid.events.ScrollEvent;
+import org.osmdroid.events.ZoomEvent;
 import org.osmdroid.views.MapView;
 import org.osmdroid.views.Projection;
 import org.osmdroid.views.overlay.Overlay;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -131,46 +135,23 @@ public class OsmdroidMapDelegate implements MapDelegate {
         map.getOverlays().add(marker);
         map.invalidate();
 
-        final OPFMarker opfMarker = new OPFMarker(new OsmdroidMarkerDelegate(map, marker));
-
-        marker.setOnMarkerClickListener(new Marker.OnMarkerClickListener() {
-            @Override
-            public boolean onMarkerClick(final Marker marker, final MapView mapView) {
-                initMarkerInfoWindows(marker, opfMarker);
-                marker.showInfoWindow();
-                mapView.getController().animateTo(marker.getPosition());
-
-                if (opfOnMarkerClickListener != null) {
-                    opfOnMarkerClickListener.onMarkerClick(opfMarker);
-                }
-                return true;
-            }
-        });
-
-        marker.setOnMarkerDragListener(new Marker.OnMarkerDragListener() {
-            @Override
-            public void onMarkerDrag(final Marker marker) {
-                if (opfOnMarkerDragListener != null) {
-                    opfOnMarkerDragListener.onMarkerDrag(opfMarker);
-                }
-            }
-
-            @Override
-            public void onMarkerDragEnd(final Marker marker) {
-                if (opfOnMarkerDragListener != null) {
-                    opfOnMarkerDragListener.onMarkerDragEnd(opfMarker);
-                }
-            }
+        return createOPFMarker(marker);
+    }
 
-            @Override
-            public void onMarkerDragStart(final Marker marker) {
-                if (opfOnMarkerDragListener != null) {
-                    opfOnMarkerDragListener.onMarkerDragStart(opfMarker);
-                }
-            }
-        });
+    @NonNull
+    @Override
+    public List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        final List<Marker> markers = new ArrayList<>(options.size());
+        final List<OPFMarker> opfMarkers = new ArrayList<>(options.size());
+        for (OPFMarkerOptions markerOptions : options) {
+            final Marker marker = ConvertUtils.convertMarkerOptions(map, markerOptions);
+            markers.add(marker);
+            opfMarkers.add(createOPFMarker(marker));
+        }
 
-        return opfMarker;
+        map.getOverlays().addAll(markers);
+        map.invalidate();
+        return opfMarkers;
     }
 
     @NonNull
@@ -182,6 +163,22 @@ public class OsmdroidMapDelegate implements MapDelegate {
         return new OPFPolygon(new OsmdroidPolygonDelegate(map, polygon));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options) {
+        final List<Polygon> polygons = new ArrayList<>(options.size());
+        final List<OPFPolygon> opfPolygons = new ArrayList<>(options.size());
+        for (OPFPolygonOptions polygonOptions : options) {
+            final Polygon polygon = ConvertUtils.convertPolygonOptions(map.getContext(), polygonOptions);
+            polygons.add(polygon);
+            opfPolygons.add(new OPFPolygon(new OsmdroidPolygonDelegate(map, polygon)));
+        }
+
+        map.getOverlays().addAll(polygons);
+        map.invalidate();
+        return opfPolygons;
+    }
+
     @NonNull
     @Override
     public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
@@ -191,6 +188,22 @@ public class OsmdroidMapDelegate implements MapDelegate {
         return new OPFPolyline(new OsmdroidPolylineDelegate(map, polyline));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options) {
+        final List<Polyline> polylines = new ArrayList<>(options.size());
+        final List<OPFPolyline> opfPolylines = new ArrayList<>(options.size());
+        for (OPFPolylineOptions polylineOptions : options) {
+            final Polyline polyline = ConvertUtils.convertPolylineOptions(map.getContext(), polylineOptions);
+            polylines.add(polyline);
+            opfPolylines.add(new OPFPolyline(new OsmdroidPolylineDelegate(map, polyline)));
+        }
+
+        map.getOverlays().addAll(polylines);
+        map.invalidate();
+        return opfPolylines;
+    }
+
     @NonNull
     @Override
     public OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options) {
@@ -259,6 +272,11 @@ public class OsmdroidMapDelegate implements MapDelegate {
         }
     }
 
+    @Override
+    public void beginBatchUpdate() {
+        map.beginBatchUpdate();
+    }
+
     @Override
     public void clear() {
         final List<Overlay> overlays = map.getOverlays();
@@ -275,6 +293,11 @@ public class OsmdroidMapDelegate implements MapDelegate {
         map.invalidate();
     }
 
+    @Override
+    public void endBatchUpdate() {
+        map.endBatchUpdate();
+    }
+
     @NonNull
     @Override
     public OPFCameraPosition getCameraPosition() {
@@ -428,7 +451,24 @@ public class OsmdroidMapDelegate implements MapDelegate {
 
     @Override
     public void setOnCameraChangeListener(@Nullable final OPFOnCameraChangeListener listener) {
-        OPFLog.logStubCall(listener);
+        if (listener == null) {
+            map.setMapListener(null);
+            return;
+        }
+
+        map.setMapListener(new MapListener() {
+            @Override
+            public boolean onScroll(final ScrollEvent event) {
+                listener.onCameraChange(getCameraPosition());
+                return false;
+            }
+
+            @Override
+            public boolean onZoom(final ZoomEvent event) {
+                listener.onCameraChange(getCameraPosition());
+                return false;
+            }
+        });
     }
 
     @Override
@@ -516,6 +556,53 @@ public class OsmdroidMapDelegate implements MapDelegate {
         return map.toString();
     }
 
+    @NonNull
+    private OPFMarker createOPFMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = new OPFMarker(new OsmdroidMarkerDelegate(map, marker));
+
+        marker.setOnMarkerClickListener(new Marker.OnMarkerClickListener() {
+            @Override
+            public boolean onMarkerClick(final Marker marker, final MapView mapView) {
+                initMarkerInfoWindows(marker, opfMarker);
+                marker.showInfoWindow();
+                mapView.getController().animateTo(marker.getPosition());
+
+                if (opfOnMarkerClickListener != null) {
+                    opfOnMarkerClickListener.onMarkerClick(opfMarker);
+                }
+                return true;
+            }
+        });
+
+        marker.setOnMarkerDragListener(new Marker.OnMarkerDragListener() {
+            @Override
+            public void onMarkerDrag(final Marker marker) {
+                if (opfOnMarkerDragListener != null) {
+                    opfOnMarkerDragListener.onMarkerDrag(opfMarker);
+                }
+            }
+
+            @Override
+            public void onMarkerDragEnd(final Marker marker) {
+                //Keeps the overlay index of the map in sync with the dropped marker.
+                final IGeoPoint position = marker.getPosition();
+                opfMarker.onPositionChangedByMap(position.getLatitude(), position.getLongitude());
+                if (opfOnMarkerDragListener != null) {
+                    opfOnMarkerDragListener.onMarkerDragEnd(opfMarker);
+                }
+            }
+
+            @Override
+            public void onMarkerDragStart(final Marker marker) {
+                if (opfOnMarkerDragListener != null) {
+                    opfOnMarkerDragListener.onMarkerDragStart(opfMarker);
+                }
+            }
+        });
+
+        return opfMarker;
+    }
+
     private void zoomByFocus(@NonNull final CameraUpdate cameraUpdate) {
         final Point focus = cameraUpdate.getFocus();
         if (focus == null) {
@@ -84,6 +84,8 @@ public class OsmdroidMapViewDelegate extends MapView implements MapViewDelegate
     private boolean isRotateGesturesEnabled;
     private boolean isZoomGesturesEnabled;
     private boolean isMyLocationEnabled;
+    private boolean isBatchUpdate;
+    private boolean isInvalidatePending;
 
     @NonNull
     private OPFMapType mapType = OPFMapType.NORMAL;
@@ -222,6 +224,33 @@ public class OsmdroidMapViewDelegate extends MapView implements MapViewDelegate
         }
     }
 
+    @Override
+    public void invalidate() {
+        if (isBatchUpdate) {
+            isInvalidatePending = true;
+        } else {
+            super.invalidate();
+        }
+    }
+
+    /**
+     * Defers the invalidations of the view until {@link #endBatchUpdate()} is called.
+     */
+    public void beginBatchUpdate() {
+        isBatchUpdate = true;
+    }
+
+    /**
+     * Invalidates the view once if it has been invalidated since {@link #beginBatchUpdate()} call.
+     */
+    public void endBatchUpdate() {
+        isBatchUpdate = false;
+        if (isInvalidatePending) {
+            isInvalidatePending = false;
+            super.invalidate();
+        }
+    }
+
     @Override
     public void setBuiltInZoomControls(final boolean isZoomControllersEnabled) {
         super.setBuiltInZoomControls(isZoomControllersEnabled);
@@ -26,7 +26,6 @@ import org.osmdroid.util.BoundingBoxE6;
 import org.osmdroid.util.GeoPoint;
 
 import java.util.ArrayList;
-import java.util.List;
 
 /**
  * @author Roman Savin
@@ -116,26 +115,4 @@ public final class OsmdroidLatLngBoundsDelegate implements LatLngBoundsDelegate
     public String toString() {
         return bounds.toString();
     }
-
-    public static class Builder implements LatLngBoundsDelegate.Builder {
-
-        @NonNull
-        private final List<GeoPoint> geoPoints = new ArrayList<>();
-
-        @NonNull
-        @Override
-        public LatLngBoundsDelegate.Builder include(@NonNull final OPFLatLng latLng) {
-            geoPoints.add(new GeoPoint(latLng.getLat(), latLng.getLng()));
-            return this;
-        }
-
-        @SuppressWarnings("PMD.AccessorClassGeneration")
-        @NonNull
-        @Override
-        public OPFLatLngBounds build() {
-            return new OPFLatLngBounds(new OsmdroidLatLngBoundsDelegate(BoundingBoxE6.fromGeoPoints(
-                    new ArrayList<>(geoPoints)
-            )));
-        }
-    }
 }
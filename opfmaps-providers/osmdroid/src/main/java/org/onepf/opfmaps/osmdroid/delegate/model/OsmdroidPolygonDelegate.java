@@ -21,6 +21,8 @@ import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.PolygonDelegate;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.osmdroid.utils.ConvertUtils;
 import org.onepf.opfutils.OPFLog;
 import org.osmdroid.bonuspack.overlays.Polygon;
 import org.osmdroid.util.GeoPoint;
@@ -170,6 +172,14 @@ public final class OsmdroidPolygonDelegate implements PolygonDelegate {
         }
     }
 
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        if (mapView != null) {
+            polygon.setPoints(ConvertUtils.convertLatLngSequence(points));
+            mapView.invalidate();
+        }
+    }
+
     @Override
     public void setStrokeColor(final int color) {
         if (mapView != null) {
@@ -21,6 +21,8 @@ import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.PolylineDelegate;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.osmdroid.utils.ConvertUtils;
 import org.onepf.opfutils.OPFLog;
 import org.osmdroid.bonuspack.overlays.Polyline;
 import org.osmdroid.util.GeoPoint;
@@ -136,6 +138,14 @@ public final class OsmdroidPolylineDelegate implements PolylineDelegate {
         }
     }
 
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        if (mapView != null) {
+            polyline.setPoints(ConvertUtils.convertLatLngSequence(points));
+            mapView.invalidate();
+        }
+    }
+
     @Override
     public void setVisible(final boolean visible) {
         if (mapView != null) {
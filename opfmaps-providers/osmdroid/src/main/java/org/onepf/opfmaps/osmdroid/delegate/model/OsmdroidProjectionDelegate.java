@@ -35,6 +35,8 @@ import org.osmdroid.views.Projection;
  */
 public final class OsmdroidProjectionDelegate implements ProjectionDelegate {
 
+    private static final double MICRODEGREES = 1E6;
+
     @NonNull
     private final Projection projection;
 
@@ -55,6 +57,27 @@ public final class OsmdroidProjectionDelegate implements ProjectionDelegate {
         return projection.toPixels(new GeoPoint(location.getLat(), location.getLng()), null);
     }
 
+    @Override
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        final GeoPoint geoPoint = new GeoPoint(0, 0);
+        final Point point = new Point();
+        for (int i = 0; i < latLngs.length; i += 2) {
+            geoPoint.setCoordsE6((int) (latLngs[i] * MICRODEGREES), (int) (latLngs[i + 1] * MICRODEGREES));
+            projection.toPixels(geoPoint, point);
+            outXY[i] = point.x;
+            outXY[i + 1] = point.y;
+        }
+    }
+
+    @Override
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        for (int i = 0; i < xy.length; i += 2) {
+            final IGeoPoint geoPoint = projection.fromPixels(xy[i], xy[i + 1]);
+            outLatLngs[i] = geoPoint.getLatitude();
+            outLatLngs[i + 1] = geoPoint.getLongitude();
+        }
+    }
+
     @NonNull
     @Override
     public OPFVisibleRegion getVisibleRegion() {
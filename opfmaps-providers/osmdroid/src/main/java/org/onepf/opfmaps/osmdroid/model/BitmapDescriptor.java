@@ -18,6 +18,7 @@ package org.onepf.opfmaps.osmdroid.model;
 
 import android.content.Context;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffColorFilter;
@@ -28,15 +29,20 @@ import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.content.ContextCompat;
+import android.util.DisplayMetrics;
 
 import org.onepf.opfmaps.osmdroid.R;
 import org.onepf.opfmaps.utils.CompareUtils;
-import org.onepf.opfutils.OPFLog;
+import org.onepf.opfmaps.utils.OPFBitmapCache;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
 /**
+ * Decoded images are shared by all markers through {@link OPFBitmapCache}, so markers with equal descriptors
+ * don't decode the same image again.
+ *
  * @author Roman Savin
  * @since 17.08.2015
  */
@@ -46,6 +52,8 @@ public final class BitmapDescriptor implements Parcelable {
     private static final float SATURATION = 0.73F;
     private static final float VALUE = 0.96F;
 
+    private static final String CACHE_KEY_PREFIX = "osmdroid/";
+
     public static final Creator<BitmapDescriptor> CREATOR = new Creator<BitmapDescriptor>() {
         @Override
         public BitmapDescriptor createFromParcel(final Parcel source) {
@@ -112,13 +120,11 @@ public final class BitmapDescriptor implements Parcelable {
                 break;
             case ASSET:
             case FILE_NAME:
-                drawable = createFromStream(context);
-                break;
             case ABS_PATH:
-                drawable = Drawable.createFromPath(path);
+                drawable = createFromStream(context);
                 break;
             case RES_ID:
-                drawable = ContextCompat.getDrawable(context, resourceId);
+                drawable = createFromResource(context);
                 break;
         }
 
@@ -152,7 +158,7 @@ public final class BitmapDescriptor implements Parcelable {
 
             return this.source == other.source
                     && CompareUtils.isEquals(this.image, other.image)
-                    && CompareUtils.isEquals(this.source, other.source)
+                    && CompareUtils.isEquals(this.path, other.path)
                     && this.hue == other.hue
                     && this.resourceId == other.resourceId;
         }
@@ -170,38 +176,64 @@ public final class BitmapDescriptor implements Parcelable {
 
     @NonNull
     private Drawable createDefault(@NonNull final Context context, final float hue) {
-        final Drawable drawable = ContextCompat.getDrawable(context, R.drawable.ic_marker).mutate();
-        drawable.setColorFilter(new PorterDuffColorFilter(
-                Color.HSVToColor(new float[]{hue, SATURATION, VALUE}),
-                PorterDuff.Mode.MULTIPLY
-        ));
+        final String key = CACHE_KEY_PREFIX + "default/" + hue;
+        final OPFBitmapCache cache = OPFBitmapCache.getInstance();
+        Bitmap bitmap = cache.getBitmap(key);
+        if (bitmap == null) {
+            final Drawable drawable = ContextCompat.getDrawable(context, R.drawable.ic_marker).mutate();
+            drawable.setColorFilter(new PorterDuffColorFilter(
+                    Color.HSVToColor(new float[]{hue, SATURATION, VALUE}),
+                    PorterDuff.Mode.MULTIPLY
+            ));
 
-        return drawable;
+            final int width = drawable.getIntrinsicWidth();
+            final int height = drawable.getIntrinsicHeight();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            drawable.setBounds(0, 0, width, height);
+            drawable.draw(new Canvas(bitmap));
+            cache.putBitmap(key, bitmap);
+        }
+
+        return new BitmapDrawable(context.getResources(), bitmap);
     }
 
     @Nullable
     private Drawable createFromStream(@NonNull final Context context) {
-        OPFLog.logMethod();
         if (path == null) {
             return null;
         }
 
-        InputStream inputStream = null;
-        try {
-            inputStream = createStream(context);
-            return Drawable.createFromStream(inputStream, null);
-        } catch (IOException e) {
-            OPFLog.e(e.getMessage());
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    OPFLog.e(e.getMessage());
-                }
-            }
+        //The images have no density, so they are treated as mdpi ones like the osmdroid's own images.
+        final int targetDensity = context.getResources().getDisplayMetrics().densityDpi;
+        final Bitmap bitmap = OPFBitmapCache.getInstance().decodeBitmap(
+                CACHE_KEY_PREFIX + source.name() + '/' + targetDensity + '/' + path,
+                new OPFBitmapCache.BitmapSource() {
+                    @NonNull
+                    @Override
+                    public InputStream open() throws IOException {
+                        return createStream(context);
+                    }
+                },
+                DisplayMetrics.DENSITY_DEFAULT,
+                targetDensity
+        );
+        return bitmap == null ? null : new BitmapDrawable(context.getResources(), bitmap);
+    }
+
+    @Nullable
+    private Drawable createFromResource(@NonNull final Context context) {
+        final String key = CACHE_KEY_PREFIX + "resource/" + resourceId;
+        final OPFBitmapCache cache = OPFBitmapCache.getInstance();
+        final Drawable.ConstantState cachedState = cache.getObject(key, Drawable.ConstantState.class);
+        if (cachedState != null) {
+            return cachedState.newDrawable(context.getResources());
         }
-        return null;
+
+        final Drawable drawable = ContextCompat.getDrawable(context, resourceId);
+        if (drawable != null && drawable.getConstantState() != null) {
+            cache.putObject(key, drawable.getConstantState());
+        }
+        return drawable;
     }
 
     @NonNull
@@ -215,6 +247,8 @@ public final class BitmapDescriptor implements Parcelable {
                 return context.getAssets().open(path);
             case FILE_NAME:
                 return context.openFileInput(path);
+            case ABS_PATH:
+                return new FileInputStream(path);
         }
 
         throw new IllegalArgumentException("Wrong source : " + source);
@@ -32,6 +32,7 @@ import org.onepf.opfmaps.model.OPFCircleOptions;
 import org.onepf.opfmaps.model.OPFGroundOverlayOptions;
 import org.onepf.opfmaps.model.OPFLatLng;
 import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.model.OPFMapType;
 import org.onepf.opfmaps.model.OPFMarkerOptions;
 import org.onepf.opfmaps.model.OPFPolygonOptions;
@@ -197,26 +198,18 @@ public final class ConvertUtils {
         polygon.setStrokeWidth(options.getStrokeWidth());
         polygon.setVisible(options.isVisible());
 
-        final List<List<OPFLatLng>> opfHoles = options.getHoles();
+        final List<OPFLatLngSequence> opfHoles = options.getHoleSequences();
         if (!opfHoles.isEmpty()) {
             final List<List<GeoPoint>> osmdroidHoles = new ArrayList<>(opfHoles.size());
-            for (List<OPFLatLng> hole : opfHoles) {
-                final List<GeoPoint> osmdroidHole = new ArrayList<>(hole.size());
-                for (OPFLatLng point : hole) {
-                    osmdroidHole.add(new GeoPoint(point.getLat(), point.getLng()));
-                }
-                osmdroidHoles.add(osmdroidHole);
+            for (OPFLatLngSequence hole : opfHoles) {
+                osmdroidHoles.add(convertLatLngSequence(hole));
             }
             polygon.setHoles(osmdroidHoles);
         }
 
-        final List<OPFLatLng> opfPoints = options.getPoints();
+        final OPFLatLngSequence opfPoints = options.getPointSequence();
         if (!opfPoints.isEmpty()) {
-            final List<GeoPoint> osmdroidPoints = new ArrayList<>(opfPoints.size());
-            for (OPFLatLng point : opfPoints) {
-                osmdroidPoints.add(new GeoPoint(point.getLat(), point.getLng()));
-            }
-            polygon.setPoints(osmdroidPoints);
+            polygon.setPoints(convertLatLngSequence(opfPoints));
         }
 
         return polygon;
@@ -231,18 +224,24 @@ public final class ConvertUtils {
         polyline.setVisible(options.isVisible());
         polyline.setWidth(options.getWidth());
 
-        final List<OPFLatLng> opfPoints = options.getPoints();
+        final OPFLatLngSequence opfPoints = options.getPointSequence();
         if (!opfPoints.isEmpty()) {
-            final List<GeoPoint> points = new ArrayList<>(opfPoints.size());
-            for (OPFLatLng opfPoint : opfPoints) {
-                points.add(new GeoPoint(opfPoint.getLat(), opfPoint.getLng()));
-            }
-            polyline.setPoints(points);
+            polyline.setPoints(convertLatLngSequence(opfPoints));
         }
 
         return polyline;
     }
 
+    @NonNull
+    public static List<GeoPoint> convertLatLngSequence(@NonNull final OPFLatLngSequence opfPoints) {
+        final int size = opfPoints.size();
+        final List<GeoPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new GeoPoint(opfPoints.getLat(i), opfPoints.getLng(i)));
+        }
+        return points;
+    }
+
     @NonNull
     public static ITileSource convertMapTypeToTileSource(@NonNull final OPFMapType type) {
         return ((OsmdroidMapProvider) OPFMapHelper.getInstance().getCurrentProvider()).getTileSourceMap().get(type);
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.yandexweb;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Options of the native clustering of the Yandex Web Map Provider.
+ * <p/>
+ * Markers are clustered by {@code ymaps.Clusterer} inside the map page, so thousands of them don't cost
+ * a DOM element each. Draggable markers are never clustered.
+ */
+public final class YaWebClusterOptions {
+
+    private static final int DEFAULT_GRID_SIZE = 64;
+    private static final int DEFAULT_MAX_ZOOM = 16;
+
+    private int gridSize = DEFAULT_GRID_SIZE;
+    private int maxZoom = DEFAULT_MAX_ZOOM;
+    private boolean isZoomOnClick = true;
+    @Nullable
+    private YaWebOnClusterClickListener listener;
+
+    /**
+     * Sets the size of the clustering grid cell in pixels. The default value is 64.
+     *
+     * @param gridSize The size of the grid cell. Must be a power of two.
+     * @return This object.
+     * @throws IllegalArgumentException if {@code gridSize} isn't a positive power of two.
+     */
+    @NonNull
+    public YaWebClusterOptions gridSize(final int gridSize) {
+        if (gridSize <= 0 || (gridSize & (gridSize - 1)) != 0) {
+            throw new IllegalArgumentException("Grid size must be a positive power of two: " + gridSize);
+        }
+        this.gridSize = gridSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum zoom level where markers are clustered. The default value is 16.
+     *
+     * @param maxZoom The maximum zoom level.
+     * @return This object.
+     */
+    @NonNull
+    public YaWebClusterOptions maxZoom(final int maxZoom) {
+        this.maxZoom = maxZoom;
+        return this;
+    }
+
+    /**
+     * Sets whether a cluster click zooms the map to the cluster bounds.
+     * If it doesn't, the click opens the list of the cluster markers. The default value is {@code true}.
+     *
+     * @param isZoomOnClick {@code true} to zoom the map on a cluster click.
+     * @return This object.
+     */
+    @NonNull
+    public YaWebClusterOptions zoomOnClick(final boolean isZoomOnClick) {
+        this.isZoomOnClick = isZoomOnClick;
+        return this;
+    }
+
+    /**
+     * Sets the listener of the cluster click and expand events.
+     *
+     * @param listener The listener or {@code null} to remove it.
+     * @return This object.
+     */
+    @NonNull
+    public YaWebClusterOptions listener(@Nullable final YaWebOnClusterClickListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    public boolean isZoomOnClick() {
+        return isZoomOnClick;
+    }
+
+    @Nullable
+    public YaWebOnClusterClickListener getListener() {
+        return listener;
+    }
+}
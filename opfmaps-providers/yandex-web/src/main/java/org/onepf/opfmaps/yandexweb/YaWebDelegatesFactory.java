@@ -24,19 +24,12 @@ import org.onepf.opfmaps.yandexweb.delegate.YaWebMapViewDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebBitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebCameraPositionDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebCameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.yandexweb.delegate.model.YaWebCircleOptionsDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebGroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.yandexweb.delegate.model.YaWebLatLngBoundsDelegate;
-import org.onepf.opfmaps.yandexweb.delegate.model.YaWebLatLngDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebMarkerOptionsDelegate;
-import org.onepf.opfmaps.yandexweb.delegate.model.YaWebPolygonOptionsDelegate;
-import org.onepf.opfmaps.yandexweb.delegate.model.YaWebPolylineOptionsDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebTileDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebTileOverlayOptionsDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebUrlTileProviderDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebVisibleRegionDelegate;
-import org.onepf.opfmaps.yandexweb.model.LatLng;
-import org.onepf.opfmaps.yandexweb.model.LatLngBounds;
 import org.onepf.opfmaps.yandexweb.model.YaWebMapOptions;
 import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
 import org.onepf.opfmaps.OPFMapOptions;
@@ -45,13 +38,8 @@ import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.delegate.model.CameraPositionDelegate;
 import org.onepf.opfmaps.delegate.model.CameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.GroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 import org.onepf.opfmaps.delegate.model.MarkerOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.TileDelegate;
 import org.onepf.opfmaps.delegate.model.TileOverlayOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.UrlTileProviderDelegate;
@@ -81,58 +69,18 @@ public final class YaWebDelegatesFactory implements DelegatesAbstractFactory {
         return new YaWebMapViewDelegate(context, ConvertUtils.convertMapOptions(mapOptions));
     }
 
-    @NonNull
-    @Override
-    public CircleOptionsDelegate createCircleOptionsDelegate() {
-        return new YaWebCircleOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public GroundOverlayOptionsDelegate createGroundOverlayOptionsDelegate() {
         return new YaWebGroundOverlayOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public LatLngDelegate createLatLngDelegate(final double latitude, final double longitude) {
-        return new YaWebLatLngDelegate(new LatLng(latitude, longitude));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate createLatLngBoundsDelegate(@NonNull final OPFLatLng southwest,
-                                                           @NonNull final OPFLatLng northeast) {
-        return new YaWebLatLngBoundsDelegate(new LatLngBounds(
-                new LatLng(southwest.getLat(), southwest.getLng()),
-                new LatLng(northeast.getLat(), northeast.getLng())
-        ));
-    }
-
-    @NonNull
-    @Override
-    public LatLngBoundsDelegate.Builder createLatLngBoundsBuilderDelegate() {
-        return new YaWebLatLngBoundsDelegate.Builder();
-    }
-
     @NonNull
     @Override
     public MarkerOptionsDelegate createMarkerOptionsDelegate() {
         return new YaWebMarkerOptionsDelegate();
     }
 
-    @NonNull
-    @Override
-    public PolygonOptionsDelegate createPolygonOptionsDelegate() {
-        return new YaWebPolygonOptionsDelegate();
-    }
-
-    @NonNull
-    @Override
-    public PolylineOptionsDelegate createPolylineOptionsDelegate() {
-        return new YaWebPolylineOptionsDelegate();
-    }
-
     @NonNull
     @Override
     public TileDelegate createTileDelegate(final int width, final int height, @NonNull final byte[] data) {
@@ -18,6 +18,7 @@ package org.onepf.opfmaps.yandexweb;
 
 import android.graphics.Bitmap;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import org.onepf.opfmaps.BaseOPFMapProvider;
 import org.onepf.opfmaps.OPFMap;
 import org.onepf.opfmaps.factory.DelegatesAbstractFactory;
@@ -140,6 +141,8 @@ import org.onepf.opfmaps.model.OPFUiSettings;
  *     <li>{@link org.onepf.opfmaps.OPFMapOptions#liteMode(boolean)}</li>
  * </ul>
  * </ul>
+ * <p/>
+ * Markers can be clustered inside the map page, see {@link YaWebClusterOptions}.
  *
  * @author Roman Savin
  * @since 02.09.2015
@@ -148,13 +151,29 @@ public final class YaWebMapProvider extends BaseOPFMapProvider {
 
     private static final String NAME = "YaWebMapProvider";
 
+    @NonNull
+    private final DelegatesAbstractFactory delegatesFactory = new YaWebDelegatesFactory();
+
+    @Nullable
+    private final YaWebClusterOptions clusterOptions;
+
     public YaWebMapProvider() {
+        this(null);
+    }
+
+    public YaWebMapProvider(@Nullable final YaWebClusterOptions clusterOptions) {
         super(NAME, null);
+        this.clusterOptions = clusterOptions;
     }
 
     @NonNull
     @Override
     public DelegatesAbstractFactory getDelegatesFactory() {
-        return new YaWebDelegatesFactory();
+        return delegatesFactory;
+    }
+
+    @Nullable
+    public YaWebClusterOptions getClusterOptions() {
+        return clusterOptions;
     }
 }
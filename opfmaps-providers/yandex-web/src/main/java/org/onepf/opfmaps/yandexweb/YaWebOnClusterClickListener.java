@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.yandexweb;
+
+import android.support.annotation.NonNull;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFMarker;
+
+import java.util.List;
+
+/**
+ * Listener of the clusters of the Yandex Web Map Provider. See {@link YaWebClusterOptions}.
+ */
+public interface YaWebOnClusterClickListener {
+
+    /**
+     * Called when a cluster is clicked. The map is zoomed to the cluster afterwards
+     * if {@link YaWebClusterOptions#zoomOnClick(boolean)} is set.
+     *
+     * @param markers  The markers of the cluster.
+     * @param position The position of the cluster.
+     */
+    void onClusterClick(@NonNull final List<OPFMarker> markers, @NonNull final OPFLatLng position);
+
+    /**
+     * Called when the list of the cluster markers is opened.
+     *
+     * @param markers  The markers of the cluster.
+     * @param position The position of the cluster.
+     */
+    void onClusterExpand(@NonNull final List<OPFMarker> markers, @NonNull final OPFLatLng position);
+}
@@ -23,6 +23,8 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.DisplayMetrics;
 import android.util.TypedValue;
+import org.onepf.opfmaps.yandexweb.YaWebClusterOptions;
+import org.onepf.opfmaps.yandexweb.YaWebOnClusterClickListener;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebCameraPositionDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebCircleDelegate;
 import org.onepf.opfmaps.yandexweb.delegate.model.YaWebGroundOverlayDelegate;
@@ -82,7 +84,9 @@ import org.onepf.opfmaps.model.OPFTileOverlayOptions;
 import org.onepf.opfmaps.model.OPFUiSettings;
 import org.onepf.opfutils.OPFLog;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -119,9 +123,16 @@ public class YaWebMapDelegate implements MapDelegate {
 
     @NonNull
     private final Map<String, Marker> markersByIds = new HashMap<>();
+    //The handles passed to the listeners, so a marker event doesn't create a new OPFMarker.
+    @NonNull
+    private final Map<String, OPFMarker> opfMarkersByIds = new HashMap<>();
+
+    @Nullable
+    private final YaWebClusterOptions clusterOptions;
 
-    public YaWebMapDelegate(@NonNull final YaWebMapViewDelegate map) {
+    public YaWebMapDelegate(@NonNull final YaWebMapViewDelegate map, @Nullable final YaWebClusterOptions clusterOptions) {
         this.map = map;
+        this.clusterOptions = clusterOptions;
     }
 
     @NonNull
@@ -143,17 +154,31 @@ public class YaWebMapDelegate implements MapDelegate {
     @NonNull
     @Override
     public OPFMarker addMarker(@NonNull final OPFMarkerOptions options) {
-        final OPFBitmapDescriptor opfBitmapDescriptor = options.getIcon();
-        final BitmapDescriptor bitmapDescriptor = opfBitmapDescriptor != null
-                ? (BitmapDescriptor) opfBitmapDescriptor.getDelegate().getBitmapDescriptor()
-                : BitmapDescriptorFactory.defaultMarker();
-
         final Marker marker = ConvertUtils.convertMarkerOptions(map, markersByIds, options);
 
         markersByIds.put(marker.getId(), marker);
 
-        JSYandexMapProxy.addMarker(map, marker, bitmapDescriptor.getRGBColor());
-        return new OPFMarker(new YaWebMarkerDelegate(marker));
+        JSYandexMapProxy.addMarker(map, marker, getMarkerColor(options));
+        return registerMarker(marker);
+    }
+
+    @NonNull
+    @Override
+    public List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        final List<Marker> markers = new ArrayList<>(options.size());
+        final List<String> colors = new ArrayList<>(options.size());
+        final List<OPFMarker> opfMarkers = new ArrayList<>(options.size());
+        for (OPFMarkerOptions markerOptions : options) {
+            final Marker marker = ConvertUtils.convertMarkerOptions(map, markersByIds, markerOptions);
+            markersByIds.put(marker.getId(), marker);
+
+            markers.add(marker);
+            colors.add(getMarkerColor(markerOptions));
+            opfMarkers.add(registerMarker(marker));
+        }
+
+        JSYandexMapProxy.addMarkers(map, markers, colors);
+        return opfMarkers;
     }
 
     @NonNull
@@ -165,6 +190,21 @@ public class YaWebMapDelegate implements MapDelegate {
         return new OPFPolygon(new YaWebPolygonDelegate(polygon));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options) {
+        final List<Polygon> polygons = new ArrayList<>(options.size());
+        final List<OPFPolygon> opfPolygons = new ArrayList<>(options.size());
+        for (OPFPolygonOptions polygonOptions : options) {
+            final Polygon polygon = ConvertUtils.convertPolygonOptions(map, polygonOptions);
+            polygons.add(polygon);
+            opfPolygons.add(new OPFPolygon(new YaWebPolygonDelegate(polygon)));
+        }
+
+        JSYandexMapProxy.addPolygons(map, polygons);
+        return opfPolygons;
+    }
+
     @NonNull
     @Override
     public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
@@ -174,6 +214,21 @@ public class YaWebMapDelegate implements MapDelegate {
         return new OPFPolyline(new YaWebPolylineDelegate(polyline));
     }
 
+    @NonNull
+    @Override
+    public List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options) {
+        final List<Polyline> polylines = new ArrayList<>(options.size());
+        final List<OPFPolyline> opfPolylines = new ArrayList<>(options.size());
+        for (OPFPolylineOptions polylineOptions : options) {
+            final Polyline polyline = ConvertUtils.convertPolylineOptions(map, polylineOptions);
+            polylines.add(polyline);
+            opfPolylines.add(new OPFPolyline(new YaWebPolylineDelegate(polyline)));
+        }
+
+        JSYandexMapProxy.addPolylines(map, polylines);
+        return opfPolylines;
+    }
+
     @NonNull
     @Override
     public OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options) {
@@ -203,10 +258,21 @@ public class YaWebMapDelegate implements MapDelegate {
         moveCamera(update);
     }
 
+    @Override
+    public void beginBatchUpdate() {
+        //nothing
+    }
+
     @Override
     public void clear() {
         JSYandexMapProxy.clearMap(map);
         markersByIds.clear();
+        opfMarkersByIds.clear();
+    }
+
+    @Override
+    public void endBatchUpdate() {
+        JSYandexMapProxy.flush(map);
     }
 
     @NonNull
@@ -449,7 +515,7 @@ public class YaWebMapDelegate implements MapDelegate {
     boolean onMarkerClick(@NonNull final String markerId) {
         //noinspection SimplifiableIfStatement
         if (opfOnMarkerClickListener != null && markersByIds.containsKey(markerId)) {
-            return opfOnMarkerClickListener.onMarkerClick(new OPFMarker(new YaWebMarkerDelegate(markersByIds.get(markerId))));
+            return opfOnMarkerClickListener.onMarkerClick(getOPFMarker(markersByIds.get(markerId)));
         }
 
         return false;
@@ -458,7 +524,7 @@ public class YaWebMapDelegate implements MapDelegate {
     void onMarkerDragStart(@NonNull final String markerId, final double lat, final double lng) {
         if (opfOnMarkerDragListener != null && markersByIds.containsKey(markerId)) {
             currentDragMarker = createDraggableMarker(markerId, lat, lng);
-            opfOnMarkerDragListener.onMarkerDragStart(new OPFMarker(new YaWebMarkerDelegate(currentDragMarker)));
+            opfOnMarkerDragListener.onMarkerDragStart(getOPFMarker(currentDragMarker));
         }
     }
 
@@ -466,24 +532,34 @@ public class YaWebMapDelegate implements MapDelegate {
         if (opfOnMarkerDragListener != null) {
             if (currentDragMarker != null && currentDragMarker.getId().equals(markerId)) {
                 currentDragMarker.changePositionValue(new LatLng(lat, lng));
-                opfOnMarkerDragListener.onMarkerDrag(new OPFMarker(new YaWebMarkerDelegate(currentDragMarker)));
+                opfOnMarkerDragListener.onMarkerDrag(getOPFMarker(currentDragMarker));
             } else if (markersByIds.containsKey(markerId)) {
                 currentDragMarker = createDraggableMarker(markerId, lat, lng);
-                opfOnMarkerDragListener.onMarkerDrag(new OPFMarker(new YaWebMarkerDelegate(currentDragMarker)));
+                opfOnMarkerDragListener.onMarkerDrag(getOPFMarker(currentDragMarker));
             }
         }
     }
 
     void onMarkerDragEnd(@NonNull final String markerId, final double lat, final double lng) {
-        if (opfOnMarkerDragListener != null) {
-            if (currentDragMarker != null && currentDragMarker.getId().equals(markerId)) {
-                currentDragMarker.changePositionValue(new LatLng(lat, lng));
-                opfOnMarkerDragListener.onMarkerDragEnd(new OPFMarker(new YaWebMarkerDelegate(currentDragMarker)));
-            } else if (markersByIds.containsKey(markerId)) {
-                opfOnMarkerDragListener.onMarkerDragEnd(new OPFMarker(new YaWebMarkerDelegate(createDraggableMarker(markerId, lat, lng))));
-            }
+        final Marker marker;
+        if (currentDragMarker != null && currentDragMarker.getId().equals(markerId)) {
+            currentDragMarker.changePositionValue(new LatLng(lat, lng));
+            marker = currentDragMarker;
+        } else if (markersByIds.containsKey(markerId)) {
+            marker = createDraggableMarker(markerId, lat, lng);
+        } else {
+            marker = null;
         }
         currentDragMarker = null;
+
+        if (marker != null) {
+            final OPFMarker opfMarker = getOPFMarker(marker);
+            //Keeps the overlay index of the map in sync with the dropped marker.
+            opfMarker.onPositionChangedByMap(lat, lng);
+            if (opfOnMarkerDragListener != null) {
+                opfOnMarkerDragListener.onMarkerDragEnd(opfMarker);
+            }
+        }
     }
 
     void onInfoWindowOpen(@NonNull final String markerId) {
@@ -498,6 +574,20 @@ public class YaWebMapDelegate implements MapDelegate {
         }
     }
 
+    void onClusterClick(@NonNull final String[] markerIds, final double lat, final double lng) {
+        final YaWebOnClusterClickListener listener = clusterOptions != null ? clusterOptions.getListener() : null;
+        if (listener != null) {
+            listener.onClusterClick(getOPFMarkers(markerIds), new OPFLatLng(lat, lng));
+        }
+    }
+
+    void onClusterExpand(@NonNull final String[] markerIds, final double lat, final double lng) {
+        final YaWebOnClusterClickListener listener = clusterOptions != null ? clusterOptions.getListener() : null;
+        if (listener != null) {
+            listener.onClusterExpand(getOPFMarkers(markerIds), new OPFLatLng(lat, lng));
+        }
+    }
+
     void onMapClick(@NonNull final LatLng latLng) {
         if (opfOnMapClickListener != null) {
             opfOnMapClickListener.onMapClick(new OPFLatLng(new YaWebLatLngDelegate(latLng)));
@@ -545,12 +635,46 @@ public class YaWebMapDelegate implements MapDelegate {
         }
     }
 
+    @NonNull
+    private List<OPFMarker> getOPFMarkers(@NonNull final String[] markerIds) {
+        final List<OPFMarker> markers = new ArrayList<>(markerIds.length);
+        for (String markerId : markerIds) {
+            final Marker marker = markersByIds.get(markerId);
+            if (marker != null) {
+                markers.add(getOPFMarker(marker));
+            }
+        }
+        return markers;
+    }
+
+    @NonNull
+    private OPFMarker registerMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = new OPFMarker(new YaWebMarkerDelegate(marker, opfMarkersByIds));
+        opfMarkersByIds.put(marker.getId(), opfMarker);
+        return opfMarker;
+    }
+
+    @NonNull
+    private OPFMarker getOPFMarker(@NonNull final Marker marker) {
+        final OPFMarker opfMarker = opfMarkersByIds.get(marker.getId());
+        return opfMarker != null ? opfMarker : registerMarker(marker);
+    }
+
     private Marker createDraggableMarker(@NonNull final String markerId, final double lat, final double lng) {
         final Marker marker = markersByIds.get(markerId);
         marker.changePositionValue(new LatLng(lat, lng));
         return marker;
     }
 
+    @NonNull
+    private String getMarkerColor(@NonNull final OPFMarkerOptions options) {
+        final OPFBitmapDescriptor opfBitmapDescriptor = options.getIcon();
+        final BitmapDescriptor bitmapDescriptor = opfBitmapDescriptor != null
+                ? (BitmapDescriptor) opfBitmapDescriptor.getDelegate().getBitmapDescriptor()
+                : BitmapDescriptorFactory.defaultMarker();
+        return bitmapDescriptor.getRGBColor();
+    }
+
     private void scrollBy(@NonNull final CameraUpdate cameraUpdate) {
         if (projection != null) {
             final Point centerPoint = projection.toScreenLocation(map.getCenter());
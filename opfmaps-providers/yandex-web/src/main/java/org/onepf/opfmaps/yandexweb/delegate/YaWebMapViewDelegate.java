@@ -33,10 +33,15 @@ import android.webkit.WebSettings;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.OPFMapHelper;
+import org.onepf.opfmaps.OPFMapProvider;
 import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.listener.OPFOnMapReadyCallback;
 import org.onepf.opfmaps.model.OPFMapType;
+import org.onepf.opfmaps.yandexweb.YaWebClusterOptions;
+import org.onepf.opfmaps.yandexweb.YaWebMapProvider;
 import org.onepf.opfmaps.yandexweb.jsi.JSIOnCameraChangeListener;
+import org.onepf.opfmaps.yandexweb.jsi.JSIOnClusterClickListener;
 import org.onepf.opfmaps.yandexweb.jsi.JSIOnInfoWindowChangeListener;
 import org.onepf.opfmaps.yandexweb.jsi.JSIOnMapClickListener;
 import org.onepf.opfmaps.yandexweb.jsi.JSIOnMapReadyCallback;
@@ -48,6 +53,7 @@ import org.onepf.opfmaps.yandexweb.jsi.JSIOnTrafficVisibilityChangeListener;
 import org.onepf.opfmaps.yandexweb.jsi.JSMapStateInjector;
 import org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy;
 import org.onepf.opfmaps.yandexweb.listener.OnCameraChangeListener;
+import org.onepf.opfmaps.yandexweb.listener.OnClusterClickListener;
 import org.onepf.opfmaps.yandexweb.listener.OnInfoWindowChangeListener;
 import org.onepf.opfmaps.yandexweb.listener.OnMapClickListener;
 import org.onepf.opfmaps.yandexweb.listener.OnMapReadyCallback;
@@ -61,10 +67,6 @@ import org.onepf.opfmaps.yandexweb.model.LatLng;
 import org.onepf.opfmaps.yandexweb.model.YaWebMapOptions;
 import org.onepf.opfutils.OPFLog;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.net.URISyntaxException;
 
 /**
@@ -74,9 +76,7 @@ import java.net.URISyntaxException;
 public class YaWebMapViewDelegate extends WebView
         implements MapViewDelegate, OnMapReadyCallback, OnCameraChangeListener,
         OnMapTypeChangeListener, OnMarkerClickListener, OnMarkerDragListener, OnInfoWindowChangeListener,
-        OnMapClickListener, OnMyLocationButtonClickListener, OnTrafficVisibilityChangeListener {
-
-    private static final String MAP_HTML_FILE_NAME = "yandex-map.html";
+        OnMapClickListener, OnMyLocationButtonClickListener, OnTrafficVisibilityChangeListener, OnClusterClickListener {
 
     private static final String MAP_STATE_BUNDLE_KEY = "org.onepf.maps.yandexweb.delegate.MAP_STATE_BUNDLE_KEY";
 
@@ -134,6 +134,7 @@ public class YaWebMapViewDelegate extends WebView
         addJavascriptInterface(new JSIOnMapClickListener(this), JSIOnMapClickListener.JS_INTERFACE_NAME);
         addJavascriptInterface(new JSIOnMyLocationButtonClickListener(this), JSIOnMyLocationButtonClickListener.JS_INTERFACE_NAME);
         addJavascriptInterface(new JSIOnTrafficVisibilityChangeListener(this), JSIOnTrafficVisibilityChangeListener.JS_INTERFACE_NAME);
+        addJavascriptInterface(new JSIOnClusterClickListener(this), JSIOnClusterClickListener.JS_INTERFACE_NAME);
 
         gestureDetector = new GestureDetector(getContext(), new OnLongPressGestureListener());
 
@@ -160,6 +161,7 @@ public class YaWebMapViewDelegate extends WebView
         removeJavascriptInterface(JSIOnMapClickListener.JS_INTERFACE_NAME);
         removeJavascriptInterface(JSIOnMyLocationButtonClickListener.JS_INTERFACE_NAME);
         removeJavascriptInterface(JSIOnTrafficVisibilityChangeListener.JS_INTERFACE_NAME);
+        removeJavascriptInterface(JSIOnClusterClickListener.JS_INTERFACE_NAME);
     }
 
     @Override
@@ -180,8 +182,12 @@ public class YaWebMapViewDelegate extends WebView
     @Override
     public void onMapReady(final double offsetX, final double offsetY) {
         if (onMapReadyCallback != null) {
-            yaWebMapDelegate = new YaWebMapDelegate(this);
+            final YaWebClusterOptions clusterOptions = getClusterOptions();
+            yaWebMapDelegate = new YaWebMapDelegate(this, clusterOptions);
             yaWebMapDelegate.initProjection(new Rect(0, 0, getWidth(), getHeight()), getZoomLevel(), offsetX, offsetY);
+            if (clusterOptions != null) {
+                JSYandexMapProxy.setClusterOptions(this, clusterOptions);
+            }
             onMapReadyCallback.onMapReady(new OPFMap(yaWebMapDelegate));
 
             removeJavascriptInterface(JSIOnMapReadyCallback.JS_INTERFACE_NAME);
@@ -285,6 +291,20 @@ public class YaWebMapViewDelegate extends WebView
         this.isTrafficEnabled = false;
     }
 
+    @Override
+    public void onClusterClick(@NonNull final String[] markerIds, final double lat, final double lng) {
+        if (yaWebMapDelegate != null) {
+            yaWebMapDelegate.onClusterClick(markerIds, lat, lng);
+        }
+    }
+
+    @Override
+    public void onClusterExpand(@NonNull final String[] markerIds, final double lat, final double lng) {
+        if (yaWebMapDelegate != null) {
+            yaWebMapDelegate.onClusterExpand(markerIds, lat, lng);
+        }
+    }
+
     @NonNull
     public OPFMapType getMapType() {
         return mapState.getMapType();
@@ -375,9 +395,10 @@ public class YaWebMapViewDelegate extends WebView
         settings.setUseWideViewPort(false);
         settings.setDefaultTextEncodingName("UTF-8");
 
-        final String dataString = getDataString();
-        if (dataString != null) {
-            loadData(JSMapStateInjector.injectMapState(dataString, mapState), "text/html", "UTF-8");
+        final String html = JSMapStateInjector.injectMapState(getContext(), mapState);
+        if (html != null) {
+            //The page keeps an opaque origin: it runs a remote script, so it mustn't get file access.
+            loadDataWithBaseURL(null, html, "text/html", "UTF-8", null);
         }
     }
 
@@ -408,27 +429,9 @@ public class YaWebMapViewDelegate extends WebView
     }
 
     @Nullable
-    private String getDataString() {
-        try {
-            final InputStream inputStream = getResources().getAssets().open(MAP_HTML_FILE_NAME);
-            final String dataString = convertStreamToString(inputStream);
-            inputStream.close();
-            return dataString;
-        } catch (IOException e) {
-            OPFLog.w(e.getMessage());
-            return null;
-        }
-    }
-
-    private String convertStreamToString(@NonNull final InputStream is) throws IOException {
-        final BufferedReader reader = new BufferedReader(new InputStreamReader(is));
-        final StringBuilder sb = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            sb.append(line).append('\n');
-        }
-        reader.close();
-        return sb.toString();
+    private YaWebClusterOptions getClusterOptions() {
+        final OPFMapProvider provider = OPFMapHelper.getInstance().getCurrentProvider();
+        return provider instanceof YaWebMapProvider ? ((YaWebMapProvider) provider).getClusterOptions() : null;
     }
 
     public static final class MapState implements Parcelable {
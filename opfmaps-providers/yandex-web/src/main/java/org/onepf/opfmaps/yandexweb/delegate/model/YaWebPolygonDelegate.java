@@ -19,10 +19,10 @@ package org.onepf.opfmaps.yandexweb.delegate.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import org.onepf.opfmaps.yandexweb.model.LatLng;
 import org.onepf.opfmaps.yandexweb.model.Polygon;
 import org.onepf.opfmaps.delegate.model.PolygonDelegate;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,18 +48,14 @@ public final class YaWebPolygonDelegate implements PolygonDelegate {
     @Nullable
     @Override
     public List<List<OPFLatLng>> getHoles() {
-        final List<List<LatLng>> holes = polygon.getHoles();
+        final List<OPFLatLngSequence> holes = polygon.getHoles();
         if (holes == null) {
             return null;
         }
 
         final List<List<OPFLatLng>> opfHoles = new ArrayList<>(holes.size());
-        for (List<LatLng> hole : holes) {
-            final List<OPFLatLng> opfHole = new ArrayList<>(hole.size());
-            for (LatLng point : hole) {
-                opfHole.add(new OPFLatLng(new YaWebLatLngDelegate(point)));
-            }
-            opfHoles.add(opfHole);
+        for (OPFLatLngSequence hole : holes) {
+            opfHoles.add(hole.toList());
         }
         return opfHoles;
     }
@@ -73,13 +69,7 @@ public final class YaWebPolygonDelegate implements PolygonDelegate {
     @NonNull
     @Override
     public List<OPFLatLng> getPoints() {
-        final List<LatLng> points = polygon.getPoints();
-        final List<OPFLatLng> opfPoints = new ArrayList<>(points.size());
-        for (LatLng point : points) {
-            opfPoints.add(new OPFLatLng(new YaWebLatLngDelegate(point)));
-        }
-
-        return opfPoints;
+        return polygon.getPoints().toList();
     }
 
     @Override
@@ -124,13 +114,9 @@ public final class YaWebPolygonDelegate implements PolygonDelegate {
 
     @Override
     public void setHoles(@NonNull final List<? extends List<OPFLatLng>> holes) {
-        final List<List<LatLng>> yaWebHoles = new ArrayList<>(holes.size());
+        final List<OPFLatLngSequence> yaWebHoles = new ArrayList<>(holes.size());
         for (List<OPFLatLng> hole : holes) {
-            final List<LatLng> yaWebHole = new ArrayList<>(hole.size());
-            for (OPFLatLng point : hole) {
-                yaWebHole.add(new LatLng(point.getLat(), point.getLng()));
-            }
-            yaWebHoles.add(yaWebHole);
+            yaWebHoles.add(new OPFLatLngSequence(hole));
         }
 
         polygon.setHoles(yaWebHoles);
@@ -138,12 +124,12 @@ public final class YaWebPolygonDelegate implements PolygonDelegate {
 
     @Override
     public void setPoints(@NonNull final List<OPFLatLng> points) {
-        final List<LatLng> yaWebPoints = new ArrayList<>(points.size());
-        for (OPFLatLng point : points) {
-            yaWebPoints.add(new LatLng(point.getLat(), point.getLng()));
-        }
+        polygon.setPoints(new OPFLatLngSequence(points));
+    }
 
-        polygon.setPoints(yaWebPoints);
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        polygon.setPoints(new OPFLatLngSequence(points.size()).addAll(points));
     }
 
     @Override
@@ -19,12 +19,11 @@ package org.onepf.opfmaps.yandexweb.delegate.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import org.onepf.opfmaps.yandexweb.model.LatLng;
 import org.onepf.opfmaps.yandexweb.model.Polyline;
 import org.onepf.opfmaps.delegate.model.PolylineDelegate;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,14 +53,7 @@ public final class YaWebPolylineDelegate implements PolylineDelegate {
     @Nullable
     @Override
     public List<OPFLatLng> getPoints() {
-        final List<LatLng> yaWebPoints = polyline.getPoints();
-
-        final List<OPFLatLng> points = new ArrayList<>(yaWebPoints.size());
-        for (LatLng yaWebPoint : yaWebPoints) {
-            points.add(new OPFLatLng(new YaWebLatLngDelegate(yaWebPoint)));
-        }
-
-        return points;
+        return polyline.getPoints().toList();
     }
 
     @Override
@@ -101,12 +93,12 @@ public final class YaWebPolylineDelegate implements PolylineDelegate {
 
     @Override
     public void setPoints(@NonNull final List<OPFLatLng> points) {
-        final List<LatLng> yaWebPoints = new ArrayList<>(points.size());
-        for (OPFLatLng point : points) {
-            yaWebPoints.add(new LatLng(point.getLat(), point.getLng()));
-        }
+        polyline.setPoints(new OPFLatLngSequence(points));
+    }
 
-        polyline.setPoints(yaWebPoints);
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        polyline.setPoints(new OPFLatLngSequence(points.size()).addAll(points));
     }
 
     @Override
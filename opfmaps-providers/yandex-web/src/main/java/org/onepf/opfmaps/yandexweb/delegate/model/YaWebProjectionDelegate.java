@@ -51,6 +51,16 @@ public final class YaWebProjectionDelegate implements ProjectionDelegate {
         return projection.toScreenLocation(new LatLng(location.getLat(), location.getLng()));
     }
 
+    @Override
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        projection.toScreenLocations(latLngs, outXY);
+    }
+
+    @Override
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        projection.fromScreenLocations(xy, outLatLngs);
+    }
+
     @NonNull
     @Override
     public OPFVisibleRegion getVisibleRegion() {
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.yandexweb.jsi;
+
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.webkit.WebView;
+
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
+import org.onepf.opfmaps.utils.OPFFrameScheduler;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates the scripts sent to a web view during a frame and evaluates them as a single script on the next frame.
+ * <p/>
+ * A script enqueued with a key replaces the pending script with the same key, so only the last value of a setter
+ * is sent. The replacing script is moved to the end of the queue, which keeps it after every script enqueued before it.
+ * <p/>
+ * Each script is evaluated in its own try block, so an exception thrown by a script,
+ * e.g. by a setter of an object removed in the same frame, doesn't drop the scripts following it.
+ * <p/>
+ * All methods must be called from the main thread.
+ */
+final class JSCommandQueue {
+
+    private static final String SCRIPT_PREFIX = "try{";
+    private static final String SCRIPT_SUFFIX = "}catch(e){}";
+    private static final int SCRIPT_WRAPPER_LENGTH = SCRIPT_PREFIX.length() + SCRIPT_SUFFIX.length();
+
+    //The web view keeps the queue alive through JSYandexMapProxy, so it mustn't be referenced strongly.
+    @NonNull
+    private final WeakReference<WebView> webViewReference;
+
+    @NonNull
+    private final Map<String, String> scripts = new LinkedHashMap<>();
+
+    @NonNull
+    private final OPFFrameScheduler scheduler;
+
+    private int payloadLength;
+    private long uniqueKeysCount;
+
+    JSCommandQueue(@NonNull final WebView webView) {
+        this.webViewReference = new WeakReference<>(webView);
+        this.scheduler = new OPFFrameScheduler(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        });
+    }
+
+    /**
+     * Adds the script to the queue.
+     *
+     * @param key    The key of the script or {@code null} if the script mustn't be replaced by the following ones.
+     * @param script The script.
+     */
+    void enqueue(@Nullable final String key, @NonNull final String script) {
+        final String scriptKey;
+        if (key == null) {
+            //Keys of the collapsible scripts contain '|', so they never clash with these ones.
+            scriptKey = Long.toString(uniqueKeysCount++);
+        } else {
+            scriptKey = key;
+            final String replacedScript = scripts.remove(key);
+            if (replacedScript != null) {
+                payloadLength -= replacedScript.length() + SCRIPT_WRAPPER_LENGTH;
+                OPFMapMetrics.getInstance().increment(OPFMapMetrics.BRIDGE_COLLAPSED_CALLS);
+            }
+        }
+        scripts.put(scriptKey, script);
+        payloadLength += script.length() + SCRIPT_WRAPPER_LENGTH;
+        scheduler.schedule();
+    }
+
+    /**
+     * Evaluates the pending scripts right now as a single script.
+     */
+    void flush() {
+        scheduler.unschedule();
+        if (scripts.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder scriptBuilder = new StringBuilder(payloadLength);
+        for (String script : scripts.values()) {
+            scriptBuilder.append(SCRIPT_PREFIX).append(script).append(SCRIPT_SUFFIX);
+        }
+        scripts.clear();
+        payloadLength = 0;
+
+        final WebView webView = webViewReference.get();
+        if (webView != null) {
+            evaluate(webView, scriptBuilder.toString());
+        }
+    }
+
+    private static void evaluate(@NonNull final WebView webView, @NonNull final String script) {
+        final OPFMapMetrics metrics = OPFMapMetrics.getInstance();
+        metrics.increment(OPFMapMetrics.BRIDGE_CALLS);
+        metrics.add(OPFMapMetrics.BRIDGE_PAYLOAD_BYTES, script.length());
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            webView.evaluateJavascript(script, null);
+        } else {
+            webView.loadUrl("javascript:" + script);
+        }
+    }
+}
@@ -38,17 +38,51 @@ public final class JSIOnCameraChangeListener {
     @NonNull
     private final Handler handler = new Handler(Looper.getMainLooper());
 
+    @NonNull
+    private final Runnable dispatch = new Runnable() {
+        @Override
+        public void run() {
+            final CameraPosition position;
+            final double offsetX;
+            final double offsetY;
+            synchronized (JSIOnCameraChangeListener.this) {
+                position = CameraPosition.fromLatLngZoom(new LatLng(lat, lng), zoom);
+                offsetX = JSIOnCameraChangeListener.this.offsetX;
+                offsetY = JSIOnCameraChangeListener.this.offsetY;
+                isDispatchPosted = false;
+            }
+            listener.onCameraChange(position, offsetX, offsetY);
+        }
+    };
+
+    private double lat;
+    private double lng;
+    private float zoom;
+    private double offsetX;
+    private double offsetY;
+    private boolean isDispatchPosted;
+
     public JSIOnCameraChangeListener(@NonNull final OnCameraChangeListener listener) {
         this.listener = listener;
     }
 
+    /**
+     * Called by the JavaScript map on the bridge thread. The camera changes which arrive while the previous one
+     * is waiting for the main thread are merged into it, so the main thread only gets the latest camera state.
+     */
     @JavascriptInterface
     public void onCameraChange(final double lat, final double lng, final float zoom, final double offsetX, final double offsetY) {
-        handler.post(new Runnable() {
-            @Override
-            public void run() {
-                listener.onCameraChange(CameraPosition.fromLatLngZoom(new LatLng(lat, lng), zoom), offsetX, offsetY);
+        synchronized (this) {
+            this.lat = lat;
+            this.lng = lng;
+            this.zoom = zoom;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+            if (isDispatchPosted) {
+                return;
             }
-        });
+            isDispatchPosted = true;
+        }
+        handler.post(dispatch);
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.yandexweb.jsi;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.webkit.JavascriptInterface;
+import org.onepf.opfmaps.yandexweb.listener.OnClusterClickListener;
+
+/**
+ * Receives the events of the clusters. The page passes the marker ids of a cluster as a comma separated string.
+ */
+public final class JSIOnClusterClickListener {
+
+    public static final String JS_INTERFACE_NAME = "OnClusterClickListener";
+
+    private static final String IDS_SEPARATOR = ",";
+
+    @NonNull
+    private final OnClusterClickListener listener;
+
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    public JSIOnClusterClickListener(@NonNull final OnClusterClickListener listener) {
+        this.listener = listener;
+    }
+
+    @JavascriptInterface
+    public void onClusterClick(final String markerIds, final double lat, final double lng) {
+        final String[] ids = splitIds(markerIds);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onClusterClick(ids, lat, lng);
+            }
+        });
+    }
+
+    @JavascriptInterface
+    public void onClusterExpand(final String markerIds, final double lat, final double lng) {
+        final String[] ids = splitIds(markerIds);
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onClusterExpand(ids, lat, lng);
+            }
+        });
+    }
+
+    @NonNull
+    private static String[] splitIds(final String markerIds) {
+        return markerIds == null || markerIds.isEmpty() ? new String[0] : markerIds.split(IDS_SEPARATOR);
+    }
+}
@@ -16,11 +16,17 @@
 
 package org.onepf.opfmaps.yandexweb.jsi;
 
+import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import org.onepf.opfmaps.yandexweb.delegate.YaWebMapViewDelegate;
 import org.onepf.opfmaps.yandexweb.model.LatLng;
 import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
+import org.onepf.opfutils.OPFLog;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.util.Locale;
 
 /**
@@ -45,31 +51,106 @@ public final class JSMapStateInjector {
     private static final String MY_LOCATION_ENABLED_STUB = "MY_LOCATION_ENABLED_STUB";
     private static final String MY_LOCATION_BUTTON_ENABLED_STUB = "MY_LOCATION_BUTTON_ENABLED_STUB";
 
+    //The stubs in the order of the slots below.
+    private static final String[] STUBS = {
+            LOCALIZATION_STUB,
+            MAP_TYPE_STUB,
+            CENTER_LAT_STUB,
+            CENTER_LNG_STUB,
+            ZOOM_STUB,
+            DRAG_STUB,
+            MULTI_TOUCH_STUB,
+            DBL_CLICK_STUB,
+            ZOOM_CONTROLS_ENABLED_STUB,
+            MY_LOCATION_ENABLED_STUB,
+            MY_LOCATION_BUTTON_ENABLED_STUB
+    };
+
+    private static final int LOCALIZATION_SLOT = 0;
+    private static final int MAP_TYPE_SLOT = 1;
+    private static final int CENTER_LAT_SLOT = 2;
+    private static final int CENTER_LNG_SLOT = 3;
+    private static final int ZOOM_SLOT = 4;
+    private static final int DRAG_SLOT = 5;
+    private static final int MULTI_TOUCH_SLOT = 6;
+    private static final int DBL_CLICK_SLOT = 7;
+    private static final int ZOOM_CONTROLS_ENABLED_SLOT = 8;
+    private static final int MY_LOCATION_ENABLED_SLOT = 9;
+    private static final int MY_LOCATION_BUTTON_ENABLED_SLOT = 10;
+
     private static final String OPTION_DISABLED_VALUE = "";
 
     private static final String DRAG_ENABLED_VALUE = "drag";
     private static final String MULTI_TOUCH_ENABLED_VALUE = "multiTouch";
     private static final String DBL_CLICK_ZOOM_ENABLED_VALUE = "dblClickZoom";
 
+    private static final String MAP_HTML_FILE_NAME = "yandex-map.html";
+    private static final String UTF_8 = "UTF-8";
+    private static final int ASSET_BUFFER_SIZE = 32 * 1024;
+
+    //The parsed page template. Accessed from the main thread only.
+    @Nullable
+    private static JSMapTemplate template;
+
     private JSMapStateInjector() {
         throw new UnsupportedOperationException();
     }
 
-    @NonNull
-    public static String injectMapState(@NonNull final String html,
+    /**
+     * Renders the map page with the given map state. The page template is read from the assets and parsed
+     * once per process.
+     *
+     * @return The page or {@code null} if the template can't be read.
+     */
+    @Nullable
+    public static String injectMapState(@NonNull final Context context,
                                         @NonNull final YaWebMapViewDelegate.MapState mapState) {
+        final JSMapTemplate template = getTemplate(context);
+        if (template == null) {
+            return null;
+        }
+
         final LatLng center = mapState.getCenter();
+        final String[] values = new String[STUBS.length];
+        values[LOCALIZATION_SLOT] = Locale.getDefault().toString();
+        values[MAP_TYPE_SLOT] = ConvertUtils.convertMapTypeToJs(mapState.getMapType());
+        values[CENTER_LAT_SLOT] = Double.toString(center.getLat());
+        values[CENTER_LNG_SLOT] = Double.toString(center.getLng());
+        values[ZOOM_SLOT] = Float.toString(mapState.getZoomLevel());
+        values[DRAG_SLOT] = mapState.isScrollGesturesEnabled() ? DRAG_ENABLED_VALUE : OPTION_DISABLED_VALUE;
+        values[MULTI_TOUCH_SLOT] = mapState.isZoomGesturesEnabled() ? MULTI_TOUCH_ENABLED_VALUE : OPTION_DISABLED_VALUE;
+        values[DBL_CLICK_SLOT] = mapState.isZoomGesturesEnabled() ? DBL_CLICK_ZOOM_ENABLED_VALUE : OPTION_DISABLED_VALUE;
+        values[ZOOM_CONTROLS_ENABLED_SLOT] = Boolean.toString(mapState.isZoomControlsEnabled());
+        values[MY_LOCATION_ENABLED_SLOT] = Boolean.toString(mapState.isMyLocationEnabled());
+        values[MY_LOCATION_BUTTON_ENABLED_SLOT] = Boolean.toString(mapState.isMyLocationButtonEnabled());
+        return template.render(values);
+    }
 
-        return html.replaceAll(LOCALIZATION_STUB, Locale.getDefault().toString())
-                .replaceAll(MAP_TYPE_STUB, ConvertUtils.convertMapTypeToJs(mapState.getMapType()))
-                .replaceAll(CENTER_LAT_STUB, Double.toString(center.getLat()))
-                .replaceAll(CENTER_LNG_STUB, Double.toString(center.getLng()))
-                .replaceAll(ZOOM_STUB, Float.toString(mapState.getZoomLevel()))
-                .replaceAll(DRAG_STUB, mapState.isScrollGesturesEnabled() ? DRAG_ENABLED_VALUE : OPTION_DISABLED_VALUE)
-                .replaceAll(MULTI_TOUCH_STUB, mapState.isZoomGesturesEnabled() ? MULTI_TOUCH_ENABLED_VALUE : OPTION_DISABLED_VALUE)
-                .replaceAll(DBL_CLICK_STUB, mapState.isZoomGesturesEnabled() ? DBL_CLICK_ZOOM_ENABLED_VALUE : OPTION_DISABLED_VALUE)
-                .replaceAll(ZOOM_CONTROLS_ENABLED_STUB, Boolean.toString(mapState.isZoomControlsEnabled()))
-                .replaceAll(MY_LOCATION_ENABLED_STUB, Boolean.toString(mapState.isMyLocationEnabled()))
-                .replaceAll(MY_LOCATION_BUTTON_ENABLED_STUB, Boolean.toString(mapState.isMyLocationButtonEnabled()));
+    @Nullable
+    private static JSMapTemplate getTemplate(@NonNull final Context context) {
+        if (template == null) {
+            try {
+                template = JSMapTemplate.parse(readAsset(context, MAP_HTML_FILE_NAME), STUBS);
+            } catch (IOException e) {
+                OPFLog.w(e.getMessage());
+            }
+        }
+        return template;
+    }
+
+    @NonNull
+    private static String readAsset(@NonNull final Context context, @NonNull final String fileName) throws IOException {
+        final Reader reader = new InputStreamReader(context.getAssets().open(fileName), UTF_8);
+        try {
+            final StringBuilder builder = new StringBuilder(ASSET_BUFFER_SIZE);
+            final char[] buffer = new char[ASSET_BUFFER_SIZE];
+            int count;
+            while ((count = reader.read(buffer)) != -1) {
+                builder.append(buffer, 0, count);
+            }
+            return builder.toString();
+        } finally {
+            reader.close();
+        }
     }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.yandexweb.jsi;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The map page split at the stubs. It's parsed once and rendered with a single {@link StringBuilder} pass.
+ */
+final class JSMapTemplate {
+
+    //Text between the stubs. There is one more segment than slots.
+    @NonNull
+    private final String[] segments;
+    //Indexes of the stubs in the stubs array given to the parse method.
+    @NonNull
+    private final int[] slots;
+    private final int textLength;
+
+    private JSMapTemplate(@NonNull final String[] segments, @NonNull final int[] slots, final int textLength) {
+        this.segments = segments;
+        this.slots = slots;
+        this.textLength = textLength;
+    }
+
+    /**
+     * Splits the html at every occurrence of the stubs. If several stubs start at the same position,
+     * the longest one wins.
+     */
+    @NonNull
+    static JSMapTemplate parse(@NonNull final String html, @NonNull final String[] stubs) {
+        final List<String> segments = new ArrayList<>();
+        final List<Integer> slots = new ArrayList<>();
+        int textLength = 0;
+        int start = 0;
+        while (true) {
+            int stubStart = -1;
+            int stubIndex = -1;
+            for (int i = 0; i < stubs.length; i++) {
+                final int index = html.indexOf(stubs[i], start);
+                if (index != -1 && (stubStart == -1 || index < stubStart
+                        || index == stubStart && stubs[i].length() > stubs[stubIndex].length())) {
+                    stubStart = index;
+                    stubIndex = i;
+                }
+            }
+            if (stubIndex == -1) {
+                break;
+            }
+
+            segments.add(html.substring(start, stubStart));
+            slots.add(stubIndex);
+            textLength += stubStart - start;
+            start = stubStart + stubs[stubIndex].length();
+        }
+        segments.add(html.substring(start));
+        textLength += html.length() - start;
+
+        final int[] slotsArray = new int[slots.size()];
+        for (int i = 0; i < slotsArray.length; i++) {
+            slotsArray[i] = slots.get(i);
+        }
+        return new JSMapTemplate(segments.toArray(new String[segments.size()]), slotsArray, textLength);
+    }
+
+    /**
+     * Renders the page.
+     *
+     * @param values The values of the stubs in the order of the stubs array given to the parse method.
+     */
+    @NonNull
+    String render(@NonNull final String[] values) {
+        int length = textLength;
+        for (int slot : slots) {
+            length += values[slot].length();
+        }
+
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < slots.length; i++) {
+            builder.append(segments[i]).append(values[slots[i]]);
+        }
+        return builder.append(segments[slots.length]).toString();
+    }
+}
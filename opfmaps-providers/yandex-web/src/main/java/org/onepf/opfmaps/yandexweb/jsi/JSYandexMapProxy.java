@@ -16,19 +16,23 @@
 
 package org.onepf.opfmaps.yandexweb.jsi;
 
-import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.webkit.WebView;
+import org.onepf.opfmaps.yandexweb.YaWebClusterOptions;
 import org.onepf.opfmaps.yandexweb.model.Circle;
 import org.onepf.opfmaps.yandexweb.model.LatLng;
 import org.onepf.opfmaps.yandexweb.model.Marker;
 import org.onepf.opfmaps.yandexweb.model.Polygon;
 import org.onepf.opfmaps.yandexweb.model.Polyline;
 import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
+import org.onepf.opfmaps.yandexweb.utils.LatLngEncoder;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.model.OPFMapType;
 
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import static java.util.Locale.US;
 
@@ -58,6 +62,7 @@ public final class JSYandexMapProxy {
     private static final String SET_ZOOM_GESTURES_ENABLED_FUNCTION_NAME = "setZoomGesturesEnabled";
     private static final String ADD_CIRCLE_FUNCTION_NAME = "addCircle";
     private static final String ADD_MARKER_FUNCTION_NAME = "addMarker";
+    private static final String ADD_MARKER_FEATURES_FUNCTION_NAME = "addMarkerFeatures";
     private static final String ADD_POLYGON_FUNCTION_NAME = "addPolygon";
     private static final String ADD_POLYLINE_FUNCTION_NAME = "addPolyline";
     private static final String HIDE_BALLOON_FUNCTION_NAME = "hideBalloon";
@@ -70,6 +75,18 @@ public final class JSYandexMapProxy {
     private static final String SET_CIRCLE_RADIUS_FUNCTION_NAME = "setCircleRadius";
     private static final String CLEAR_MAP_FUNCTION_NAME = "clearMap";
     private static final String SET_TRAFFIC_ENABLED_FUNCTION_NAME = "setTrafficEnabled";
+    private static final String SET_CLUSTER_OPTIONS_FUNCTION_NAME = "setClusterOptions";
+    private static final String DECODE_PATH_FUNCTION_NAME = "decodePath";
+    private static final String DECODE_RINGS_FUNCTION_NAME = "decodeRings";
+
+
+    private static final char KEY_SEPARATOR = '|';
+
+    //Approximate length of the addMarker arguments array, used to presize the builder of the feature collection.
+    private static final int JS_MARKER_FEATURE_LENGTH = 100;
+
+    //The command queues of the web views. Accessed from the main thread only.
+    private static final Map<WebView, JSCommandQueue> QUEUES = new WeakHashMap<>();
 
     private JSYandexMapProxy() {
         throw new UnsupportedOperationException();
@@ -77,43 +94,43 @@ public final class JSYandexMapProxy {
 
     public static void setMapType(@NonNull final WebView webView,
                                   @NonNull final OPFMapType mapType) {
-        evaluateJSFunctionAsync(webView, SET_TYPE_FUNCTION_NAME, wrapToQuotes(ConvertUtils.convertMapTypeToJs(mapType)));
+        evaluateJSFunctionCoalesced(webView, SET_TYPE_FUNCTION_NAME, SET_TYPE_FUNCTION_NAME, wrapToQuotes(ConvertUtils.convertMapTypeToJs(mapType)));
     }
 
     public static void setMapCenter(@NonNull final WebView webView,
                                     @NonNull final LatLng center) {
-        evaluateJSFunctionAsync(webView, SET_CENTER_FUNCTION_NAME,
+        evaluateJSFunctionCoalesced(webView, SET_CENTER_FUNCTION_NAME, SET_CENTER_FUNCTION_NAME,
                 Double.toString(center.getLat()), Double.toString(center.getLng()));
     }
 
     public static void setZoomLevel(@NonNull final WebView webView,
                                     final float zoomLevel) {
-        evaluateJSFunctionAsync(webView, SET_ZOOM_LEVEL_FUNCTION_NAME, Float.toString(zoomLevel));
+        evaluateJSFunctionCoalesced(webView, SET_ZOOM_LEVEL_FUNCTION_NAME, SET_ZOOM_LEVEL_FUNCTION_NAME, Float.toString(zoomLevel));
     }
 
     public static void setMyLocationEnabled(@NonNull final WebView webView,
                                             final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_MY_LOCATION_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_MY_LOCATION_ENABLED_FUNCTION_NAME, SET_MY_LOCATION_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
     }
 
     public static void setMyLocationButtonEnabled(@NonNull final WebView webView,
                                                   final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_MY_LOCATION_BUTTON_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_MY_LOCATION_BUTTON_ENABLED_FUNCTION_NAME, SET_MY_LOCATION_BUTTON_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
     }
 
     public static void setScrollGesturesEnabled(@NonNull final WebView webView,
                                                 final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_SCROLL_GESTURES_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_SCROLL_GESTURES_ENABLED_FUNCTION_NAME, SET_SCROLL_GESTURES_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
     }
 
     public static void setZoomControlsEnabled(@NonNull final WebView webView,
                                               final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_ZOOM_CONTROLS_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_ZOOM_CONTROLS_ENABLED_FUNCTION_NAME, SET_ZOOM_CONTROLS_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
     }
 
     public static void setZoomGesturesEnabled(@NonNull final WebView webView,
                                               final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_ZOOM_GESTURES_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_ZOOM_GESTURES_ENABLED_FUNCTION_NAME, SET_ZOOM_GESTURES_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
     }
 
     public static void addCircle(@NonNull final WebView webView,
@@ -137,49 +154,91 @@ public final class JSYandexMapProxy {
     public static void addMarker(@NonNull final WebView webView,
                                  @NonNull final Marker marker,
                                  @NonNull final String color) {
-        evaluateJSFunctionAsync(
-                webView,
-                ADD_MARKER_FUNCTION_NAME,
-                wrapToQuotes(marker.getId()),
-                Double.toString(marker.getPosition().getLat()),
-                Double.toString(marker.getPosition().getLng()),
-                wrapToQuotes(marker.getTitle()),
-                wrapToQuotes(marker.getSnippet()),
-                Boolean.toString(marker.isVisible()),
-                Boolean.toString(marker.isDraggable()),
-                wrapToQuotes(color)
-        );
+        evaluateJSFunctionAsync(webView, ADD_MARKER_FUNCTION_NAME, getAddMarkerParams(marker, color));
+    }
+
+    /**
+     * Adds all markers with a single script evaluation. The markers which aren't draggable are sent as one feature
+     * collection rendered by {@code ymaps.ObjectManager}, the draggable ones are added as separate placemarks.
+     * A managed marker becomes a separate placemark when it's moved or made draggable.
+     *
+     * @param webView The map web view.
+     * @param markers The added markers.
+     * @param colors  The icon colors of the markers, in the order of {@code markers}.
+     */
+    public static void addMarkers(@NonNull final WebView webView,
+                                  @NonNull final List<Marker> markers,
+                                  @NonNull final List<String> colors) {
+        if (markers.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder scriptBuilder = new StringBuilder();
+        final StringBuilder featuresBuilder = new StringBuilder(markers.size() * JS_MARKER_FEATURE_LENGTH);
+        final int size = markers.size();
+        for (int i = 0; i < size; i++) {
+            final Marker marker = markers.get(i);
+            final String[] params = getAddMarkerParams(marker, colors.get(i));
+            if (marker.isDraggable()) {
+                appendScript(scriptBuilder, ADD_MARKER_FUNCTION_NAME, params);
+                scriptBuilder.append(';');
+            } else {
+                featuresBuilder.append(featuresBuilder.length() == 0 ? '[' : ',');
+                appendJSArray(featuresBuilder, params);
+            }
+        }
+
+        if (featuresBuilder.length() != 0) {
+            featuresBuilder.append(']');
+            appendScript(scriptBuilder, ADD_MARKER_FEATURES_FUNCTION_NAME, new String[]{featuresBuilder.toString()});
+        }
+        evaluateJSScriptAsync(webView, scriptBuilder.toString());
     }
 
     public static void addPolygon(@NonNull final WebView webView, @NonNull final Polygon polygon) {
-        final StringBuilder js3dArrayBuilder = new StringBuilder();
-        build3DJSLatLngArray(js3dArrayBuilder, polygon.getPoints(), polygon.getHoles());
-        evaluateJSFunctionAsync(
-                webView,
-                ADD_POLYGON_FUNCTION_NAME,
-                wrapToQuotes(polygon.getId()),
-                js3dArrayBuilder.toString(),
-                wrapToQuotes(ConvertUtils.convertColor(polygon.getFillColor())),
-                wrapToQuotes(ConvertUtils.convertColor(polygon.getStrokeColor())),
-                Float.toString(polygon.getStrokeWidth()),
-                Float.toString(polygon.getZIndex()),
-                Boolean.toString(polygon.isVisible())
-        );
+        evaluateJSFunctionAsync(webView, ADD_POLYGON_FUNCTION_NAME, getAddPolygonParams(polygon));
+    }
+
+    /**
+     * Adds all polygons with a single script evaluation.
+     *
+     * @param webView  The map web view.
+     * @param polygons The added polygons.
+     */
+    public static void addPolygons(@NonNull final WebView webView, @NonNull final List<Polygon> polygons) {
+        if (polygons.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder scriptBuilder = new StringBuilder();
+        for (Polygon polygon : polygons) {
+            appendScript(scriptBuilder, ADD_POLYGON_FUNCTION_NAME, getAddPolygonParams(polygon));
+            scriptBuilder.append(';');
+        }
+        evaluateJSScriptAsync(webView, scriptBuilder.toString());
     }
 
     public static void addPolyline(@NonNull final WebView webView, @NonNull final Polyline polyline) {
-        final StringBuilder js2dArrayBuilder = new StringBuilder();
-        build2DJSLatLngArray(js2dArrayBuilder, polyline.getPoints());
-        evaluateJSFunctionAsync(
-                webView,
-                ADD_POLYLINE_FUNCTION_NAME,
-                wrapToQuotes(polyline.getId()),
-                js2dArrayBuilder.toString(),
-                wrapToQuotes(ConvertUtils.convertColor(polyline.getColor())),
-                Float.toString(polyline.getWidth()),
-                Float.toString(polyline.getZIndex()),
-                Boolean.toString(polyline.isVisible())
-        );
+        evaluateJSFunctionAsync(webView, ADD_POLYLINE_FUNCTION_NAME, getAddPolylineParams(polyline));
+    }
+
+    /**
+     * Adds all polylines with a single script evaluation.
+     *
+     * @param webView   The map web view.
+     * @param polylines The added polylines.
+     */
+    public static void addPolylines(@NonNull final WebView webView, @NonNull final List<Polyline> polylines) {
+        if (polylines.isEmpty()) {
+            return;
+        }
+
+        final StringBuilder scriptBuilder = new StringBuilder();
+        for (Polyline polyline : polylines) {
+            appendScript(scriptBuilder, ADD_POLYLINE_FUNCTION_NAME, getAddPolylineParams(polyline));
+            scriptBuilder.append(';');
+        }
+        evaluateJSScriptAsync(webView, scriptBuilder.toString());
     }
 
     public static void hideInfoWindow(@NonNull final WebView webView,
@@ -223,33 +282,34 @@ public final class JSYandexMapProxy {
                                                @NonNull final LatLng center) {
         final StringBuilder jsLatLngArrayBuilder = new StringBuilder();
         buildJSLatLngArray(jsLatLngArrayBuilder, center);
-        evaluateJSFunctionAsync(webView, SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME,
-                wrapToQuotes(id), jsLatLngArrayBuilder.toString());
+        evaluateJSFunctionCoalesced(webView, getKey(SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, id),
+                SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, wrapToQuotes(id), jsLatLngArrayBuilder.toString());
     }
 
     public static void setGeoObjectCoordinates(@NonNull final WebView webView,
                                                @NonNull final String id,
-                                               @NonNull final List<LatLng> points) {
-        final StringBuilder js2dLatLngArrayBuilder = new StringBuilder();
+                                               @NonNull final OPFLatLngSequence points) {
+        final StringBuilder js2dLatLngArrayBuilder = new StringBuilder(LatLngEncoder.getEstimatedLength(points.size()));
         build2DJSLatLngArray(js2dLatLngArrayBuilder, points);
-        evaluateJSFunctionAsync(webView, SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME,
-                wrapToQuotes(id), js2dLatLngArrayBuilder.toString());
+        evaluateJSFunctionCoalesced(webView, getKey(SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, id),
+                SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, wrapToQuotes(id), js2dLatLngArrayBuilder.toString());
     }
 
     public static void setGeoObjectCoordinates(@NonNull final WebView webView,
                                                @NonNull final String id,
-                                               @NonNull final List<LatLng> points,
-                                               @Nullable final List<List<LatLng>> holes) {
-        final StringBuilder js3dLatLngArrayBuilder = new StringBuilder();
+                                               @NonNull final OPFLatLngSequence points,
+                                               @Nullable final List<OPFLatLngSequence> holes) {
+        final StringBuilder js3dLatLngArrayBuilder = new StringBuilder(LatLngEncoder.getEstimatedLength(points.size()));
         build3DJSLatLngArray(js3dLatLngArrayBuilder, points, holes);
-        evaluateJSFunctionAsync(webView, SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME,
-                wrapToQuotes(id), js3dLatLngArrayBuilder.toString());
+        evaluateJSFunctionCoalesced(webView, getKey(SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, id),
+                SET_GEO_OBJECT_COORDINATES_FUNCTION_NAME, wrapToQuotes(id), js3dLatLngArrayBuilder.toString());
     }
 
     public static void setCircleRadius(@NonNull final WebView webView,
                                        @NonNull final String id,
                                        final double radius) {
-        evaluateJSFunctionAsync(webView, SET_CIRCLE_RADIUS_FUNCTION_NAME, wrapToQuotes(id), Double.toString(radius));
+        evaluateJSFunctionCoalesced(webView, getKey(SET_CIRCLE_RADIUS_FUNCTION_NAME, id),
+                SET_CIRCLE_RADIUS_FUNCTION_NAME, wrapToQuotes(id), Double.toString(radius));
     }
 
     public static void removeGeoObject(@NonNull final WebView webView,
@@ -261,61 +321,144 @@ public final class JSYandexMapProxy {
         evaluateJSFunctionAsync(webView, CLEAR_MAP_FUNCTION_NAME);
     }
 
+    /**
+     * Evaluates the scripts queued for the given web view right now instead of waiting for the next frame.
+     */
+    public static void flush(@NonNull final WebView webView) {
+        final JSCommandQueue queue = QUEUES.get(webView);
+        if (queue != null) {
+            queue.flush();
+        }
+    }
+
     public static void setTrafficEnabled(@NonNull final WebView webView, final boolean isEnabled) {
-        evaluateJSFunctionAsync(webView, SET_TRAFFIC_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+        evaluateJSFunctionCoalesced(webView, SET_TRAFFIC_ENABLED_FUNCTION_NAME, SET_TRAFFIC_ENABLED_FUNCTION_NAME, Boolean.toString(isEnabled));
+    }
+
+    /**
+     * Enables the clustering of the markers which are added after this call.
+     */
+    public static void setClusterOptions(@NonNull final WebView webView, @NonNull final YaWebClusterOptions options) {
+        evaluateJSFunctionAsync(webView, SET_CLUSTER_OPTIONS_FUNCTION_NAME, Integer.toString(options.getGridSize()),
+                Integer.toString(options.getMaxZoom()), Boolean.toString(options.isZoomOnClick()));
     }
 
     private static void setGeoObjectOptionFormatted(@NonNull final WebView webView,
                                                     @NonNull final String id,
                                                     @NonNull final String option,
                                                     @NonNull final String value) {
-        evaluateJSFunctionAsync(webView, SET_GEO_OBJECT_OPTION, wrapToQuotes(id), wrapToQuotes(option), value);
+        evaluateJSFunctionCoalesced(webView, getKey(SET_GEO_OBJECT_OPTION, id) + KEY_SEPARATOR + option,
+                SET_GEO_OBJECT_OPTION, wrapToQuotes(id), wrapToQuotes(option), value);
     }
 
     private static void setGeoObjectPropertyFormatted(@NonNull final WebView webView,
                                                       @NonNull final String id,
                                                       @NonNull final String property,
                                                       @NonNull final String value) {
-        evaluateJSFunctionAsync(webView, SET_GEO_OBJECT_PROPERTY, wrapToQuotes(id), wrapToQuotes(property), value);
+        evaluateJSFunctionCoalesced(webView, getKey(SET_GEO_OBJECT_PROPERTY, id) + KEY_SEPARATOR + property,
+                SET_GEO_OBJECT_PROPERTY, wrapToQuotes(id), wrapToQuotes(property), value);
+    }
+
+    @NonNull
+    private static String[] getAddMarkerParams(@NonNull final Marker marker, @NonNull final String color) {
+        return new String[]{
+                wrapToQuotes(marker.getId()),
+                Double.toString(marker.getPosition().getLat()),
+                Double.toString(marker.getPosition().getLng()),
+                wrapToQuotes(marker.getTitle()),
+                wrapToQuotes(marker.getSnippet()),
+                Boolean.toString(marker.isVisible()),
+                Boolean.toString(marker.isDraggable()),
+                wrapToQuotes(color)
+        };
+    }
+
+    @NonNull
+    private static String[] getAddPolygonParams(@NonNull final Polygon polygon) {
+        final StringBuilder js3dArrayBuilder = new StringBuilder(LatLngEncoder.getEstimatedLength(polygon.getPoints().size()));
+        build3DJSLatLngArray(js3dArrayBuilder, polygon.getPoints(), polygon.getHoles());
+        return new String[]{
+                wrapToQuotes(polygon.getId()),
+                js3dArrayBuilder.toString(),
+                wrapToQuotes(ConvertUtils.convertColor(polygon.getFillColor())),
+                wrapToQuotes(ConvertUtils.convertColor(polygon.getStrokeColor())),
+                Float.toString(polygon.getStrokeWidth()),
+                Float.toString(polygon.getZIndex()),
+                Boolean.toString(polygon.isVisible())
+        };
+    }
+
+    @NonNull
+    private static String[] getAddPolylineParams(@NonNull final Polyline polyline) {
+        final StringBuilder js2dArrayBuilder = new StringBuilder(LatLngEncoder.getEstimatedLength(polyline.getPoints().size()));
+        build2DJSLatLngArray(js2dArrayBuilder, polyline.getPoints());
+        return new String[]{
+                wrapToQuotes(polyline.getId()),
+                js2dArrayBuilder.toString(),
+                wrapToQuotes(ConvertUtils.convertColor(polyline.getColor())),
+                Float.toString(polyline.getWidth()),
+                Float.toString(polyline.getZIndex()),
+                Boolean.toString(polyline.isVisible())
+        };
     }
 
     private static void evaluateJSFunctionAsync(@NonNull final WebView webView,
                                                 @NonNull final String function,
                                                 @Nullable final String... params) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
-            webView.evaluateJavascript(formatScript(function, params), null);
-        } else {
-            webView.loadUrl("javascript:" + formatScript(function, params));
+        evaluateJSScriptAsync(webView, formatScript(function, params));
+    }
+
+    //The script replaces the queued script with the same key.
+    private static void evaluateJSFunctionCoalesced(@NonNull final WebView webView,
+                                                    @NonNull final String key,
+                                                    @NonNull final String function,
+                                                    @Nullable final String... params) {
+        getQueue(webView).enqueue(key, formatScript(function, params));
+    }
+
+    private static void evaluateJSScriptAsync(@NonNull final WebView webView,
+                                              @NonNull final String script) {
+        getQueue(webView).enqueue(null, script);
+    }
+
+    @NonNull
+    private static JSCommandQueue getQueue(@NonNull final WebView webView) {
+        JSCommandQueue queue = QUEUES.get(webView);
+        if (queue == null) {
+            queue = new JSCommandQueue(webView);
+            QUEUES.put(webView, queue);
         }
+        return queue;
+    }
+
+    @NonNull
+    private static String getKey(@NonNull final String function, @NonNull final String id) {
+        return function + KEY_SEPARATOR + id;
     }
 
-    private static void build3DJSLatLngArray(@NonNull final StringBuilder stringBuilder,
-                                             @NonNull final List<LatLng> points,
-                                             @Nullable final List<List<LatLng>> holes) {
-        stringBuilder.append('[');
-        build2DJSLatLngArray(stringBuilder, points);
-        stringBuilder.append(',');
+    //Builds the expression creating the array of rings, see LatLngEncoder.
+    static void build3DJSLatLngArray(@NonNull final StringBuilder stringBuilder,
+                                     @NonNull final OPFLatLngSequence points,
+                                     @Nullable final List<OPFLatLngSequence> holes) {
+        stringBuilder.append(DECODE_RINGS_FUNCTION_NAME).append("(['");
+        LatLngEncoder.appendEncoded(stringBuilder, points);
 
         if (holes != null) {
-            for (List<LatLng> hole : holes) {
-                build2DJSLatLngArray(stringBuilder, hole);
-                stringBuilder.append(',');
+            for (OPFLatLngSequence hole : holes) {
+                stringBuilder.append("','");
+                LatLngEncoder.appendEncoded(stringBuilder, hole);
             }
         }
 
-        stringBuilder.append(']');
+        stringBuilder.append("'])");
     }
 
+    //Builds the expression creating the array of points, see LatLngEncoder.
     private static void build2DJSLatLngArray(@NonNull final StringBuilder stringBuilder,
-                                             @NonNull final List<LatLng> points) {
-        stringBuilder.append('[');
-
-        for (LatLng point : points) {
-            buildJSLatLngArray(stringBuilder, point);
-            stringBuilder.append(',');
-        }
-
-        stringBuilder.append(']');
+                                             @NonNull final OPFLatLngSequence points) {
+        stringBuilder.append(DECODE_PATH_FUNCTION_NAME).append("('");
+        LatLngEncoder.appendEncoded(stringBuilder, points);
+        stringBuilder.append("')");
     }
 
     private static void buildJSLatLngArray(@NonNull final StringBuilder stringBuilder,
@@ -324,14 +467,22 @@ public final class JSYandexMapProxy {
     }
 
     @NonNull
-    private static String wrapToQuotes(@Nullable final String param) {
+    static String wrapToQuotes(@Nullable final String param) {
         return String.format(US, "'%s'", param != null ? param : "");
     }
 
     @NonNull
-    private static String formatScript(@NonNull final String function,
-                                       @Nullable final String[] params) {
-        final StringBuilder builder = new StringBuilder(function).append('(');
+    static String formatScript(@NonNull final String function,
+                               @Nullable final String[] params) {
+        final StringBuilder builder = new StringBuilder();
+        appendScript(builder, function, params);
+        return builder.toString();
+    }
+
+    private static void appendScript(@NonNull final StringBuilder builder,
+                                     @NonNull final String function,
+                                     @Nullable final String[] params) {
+        builder.append(function).append('(');
         if (params != null) {
             final int length = params.length;
             for (int i = 0; i < length; ++i) {
@@ -343,6 +494,17 @@ public final class JSYandexMapProxy {
         }
 
         builder.append(')');
-        return builder.toString();
+    }
+
+    private static void appendJSArray(@NonNull final StringBuilder builder, @NonNull final String[] elements) {
+        builder.append('[');
+        final int length = elements.length;
+        for (int i = 0; i < length; ++i) {
+            builder.append(elements[i]);
+            if (i != length - 1) {
+                builder.append(',');
+            }
+        }
+        builder.append(']');
     }
 }
@@ -19,6 +19,7 @@ package org.onepf.opfmaps.yandexweb.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.webkit.WebView;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy;
 import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
 import org.onepf.opfutils.OPFLog;
@@ -42,9 +43,9 @@ public final class Polygon {
     @NonNull
     private final String id;
     @NonNull
-    private List<LatLng> points;
+    private OPFLatLngSequence points;
     @Nullable
-    private List<List<LatLng>> holes;
+    private List<OPFLatLngSequence> holes;
     private int fillColor;
     private int strokeColor;
     private float strokeWidth;
@@ -53,8 +54,8 @@ public final class Polygon {
 
     //CHECKSTYLE:OFF
     public Polygon(@SuppressWarnings("NullableProblems") @NonNull final WebView webView,
-                   @NonNull final List<LatLng> points,
-                   @Nullable final List<List<LatLng>> holes,
+                   @NonNull final OPFLatLngSequence points,
+                   @Nullable final List<OPFLatLngSequence> holes,
                    final int fillColor,
                    final int strokeColor,
                    final float strokeWidth,
@@ -82,12 +83,12 @@ public final class Polygon {
     }
 
     @Nullable
-    public List<List<LatLng>> getHoles() {
+    public List<OPFLatLngSequence> getHoles() {
         return holes;
     }
 
     @NonNull
-    public List<LatLng> getPoints() {
+    public OPFLatLngSequence getPoints() {
         return points;
     }
 
@@ -129,14 +130,14 @@ public final class Polygon {
         OPFLog.logStubCall(geodesic);
     }
 
-    public void setHoles(@NonNull final List<List<LatLng>> holes) {
+    public void setHoles(@NonNull final List<OPFLatLngSequence> holes) {
         this.holes = holes;
         if (webView != null) {
             JSYandexMapProxy.setGeoObjectCoordinates(webView, id, points, holes);
         }
     }
 
-    public void setPoints(@NonNull final List<LatLng> points) {
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
         this.points = points;
         if (webView != null) {
             JSYandexMapProxy.setGeoObjectCoordinates(webView, id, points, holes);
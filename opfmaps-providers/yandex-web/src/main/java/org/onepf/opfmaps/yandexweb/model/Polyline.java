@@ -19,12 +19,11 @@ package org.onepf.opfmaps.yandexweb.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.webkit.WebView;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy;
 import org.onepf.opfmaps.yandexweb.utils.ConvertUtils;
 import org.onepf.opfutils.OPFLog;
 
-import java.util.List;
-
 import static org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy.STROKE_COLOR_OPTION;
 import static org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy.STROKE_WIDTH_OPTION;
 import static org.onepf.opfmaps.yandexweb.jsi.JSYandexMapProxy.VISIBLE_OPTION;
@@ -41,14 +40,14 @@ public final class Polyline {
     @NonNull
     private final String id;
     @NonNull
-    private List<LatLng> points;
+    private OPFLatLngSequence points;
     private int color;
     private float width;
     private float zIndex;
     private boolean isVisible;
 
     public Polyline(@SuppressWarnings("NullableProblems") @NonNull final WebView webView,
-                    @NonNull final List<LatLng> points,
+                    @NonNull final OPFLatLngSequence points,
                     final int color,
                     final float width,
                     final float zIndex,
@@ -72,7 +71,7 @@ public final class Polyline {
     }
 
     @NonNull
-    public List<LatLng> getPoints() {
+    public OPFLatLngSequence getPoints() {
         return points;
     }
 
@@ -109,7 +108,7 @@ public final class Polyline {
         OPFLog.logStubCall(geodesic);
     }
 
-    public void setPoints(@NonNull final List<LatLng> points) {
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
         this.points = points;
         if (webView != null) {
             JSYandexMapProxy.setGeoObjectCoordinates(webView, id, points);
@@ -22,6 +22,8 @@ import android.graphics.Rect;
 import android.support.annotation.NonNull;
 import android.util.TypedValue;
 
+import org.onepf.opfmaps.projection.OPFMercator;
+
 import static org.onepf.opfmaps.yandexweb.delegate.YaWebMapDelegate.MAX_ZOOM_LEVEL;
 
 /**
@@ -30,80 +32,70 @@ import static org.onepf.opfmaps.yandexweb.delegate.YaWebMapDelegate.MAX_ZOOM_LEV
  */
 public final class Projection {
 
-    /**
-     * Tile size for zero zoom level.
-     */
-    private static final int TILE_SIZE = 256;
-    private static final double MIN_LATITUDE = -85.05112878;
-    private static final double MAX_LATITUDE = 85.05112878;
-    private static final double MIN_LONGITUDE = -180;
-    private static final double MAX_LONGITUDE = 180;
-
     @NonNull
     private final Rect screenRect;
     private float zoomLevel;
-    private float offsetX;
-    private float offsetY;
+    private double offsetX;
+    private double offsetY;
 
-    private final float tileSize;
+    private final double tileSize;
 
     public Projection(@NonNull final Rect screenRect,
                       @NonNull final Context context,
                       final float zoomLevel,
                       final float offsetX,
                       final float offsetY) {
-        this.tileSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, TILE_SIZE, context.getResources().getDisplayMetrics());
+        this.tileSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, (float) OPFMercator.TILE_SIZE,
+                context.getResources().getDisplayMetrics());
 
         this.screenRect = screenRect;
         this.zoomLevel = zoomLevel;
 
-        final float halfMapSize = getMapSize() / 2;
+        final double halfMapSize = getMapSize() / 2;
         this.offsetX = offsetX - (halfMapSize - screenRect.right / 2);
         this.offsetY = offsetY - (halfMapSize - screenRect.bottom / 2);
     }
 
-    //CHECKSTYLE:OFF
     @NonNull
     public LatLng fromScreenLocation(@NonNull final Point point) {
         final double mapSize = getMapSize();
-        double x = clipWithInterval(point.x - offsetX, 0, mapSize - 1, mapSize);
-        double y = clipWithInterval(point.y - offsetY, 0, mapSize - 1, mapSize);
-
-        x = clip(x, 0, mapSize - 1) / mapSize - 0.5;
-        y = 0.5 - (clip(y, 0, mapSize - 1) / mapSize);
-
-        final double latitude = 90 - 360 * Math.atan(Math.exp(-y * 2 * Math.PI)) / Math.PI;
-        final double longitude = 360 * x;
-
-        return new LatLng(latitude, longitude);
+        return new LatLng(getLatitude(point.y, mapSize), getLongitude(point.x, mapSize));
     }
 
     //FIXME: Wrong y value on the big zoom levels (starting from 9 lvl)
     @NonNull
     public Point toScreenLocation(@NonNull final LatLng location) {
-        final LatLng clippedLocation = new LatLng(
-                clipWithInterval(location.getLat(), -90, 90, 180),
-                clipWithInterval(location.getLng(), -180, 180, 360)
-        );
-        final Point point = new Point();
-
-        final double latitude = clip(clippedLocation.getLat(), MIN_LATITUDE, MAX_LATITUDE);
-        final double longitude = clip(clippedLocation.getLng(), MIN_LONGITUDE, MAX_LONGITUDE);
-
-        double x = (longitude + 180) / 360;
-        final double sinLatitude = Math.sin(latitude * Math.PI / 180);
-        double y = 0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI);
-
-        final float mapSize = getMapSize();
+        final double mapSize = getMapSize();
+        return new Point(getScreenX(location.getLng(), mapSize), getScreenY(location.getLat(), mapSize));
+    }
 
-        x = clip(x * mapSize + 0.5, 0, mapSize - 1);
-        y = clip(y * mapSize + 0.5, 0, mapSize - 1);
+    /**
+     * Converts many locations at once.
+     *
+     * @param latLngs The coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     * @param outXY   The array receiving the screen locations as {@code [x0, y0, x1, y1, ...]}.
+     */
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        final double mapSize = getMapSize();
+        for (int i = 0; i < latLngs.length; i += 2) {
+            outXY[i] = getScreenX(latLngs[i + 1], mapSize);
+            outXY[i + 1] = getScreenY(latLngs[i], mapSize);
+        }
+    }
 
-        point.x = (int) (x + offsetX);
-        point.y = (int) (y + offsetY);
-        return point;
+    /**
+     * Converts many screen locations at once.
+     *
+     * @param xy         The screen locations as {@code [x0, y0, x1, y1, ...]}.
+     * @param outLatLngs The array receiving the coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     */
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        final double mapSize = getMapSize();
+        for (int i = 0; i < xy.length; i += 2) {
+            outLatLngs[i] = getLatitude(xy[i + 1], mapSize);
+            outLatLngs[i + 1] = getLongitude(xy[i], mapSize);
+        }
     }
-    //CHECKSTYLE:ON
 
     @NonNull
     public VisibleRegion getVisibleRegion() {
@@ -129,8 +121,8 @@ public final class Projection {
      * @param offsetX The x offset in dip.
      */
     public void setOffsetX(final double offsetX) {
-        final float halfMapSize = getMapSize() / 2;
-        this.offsetX = (float) offsetX -  halfMapSize + screenRect.right / 2;
+        final double halfMapSize = getMapSize() / 2;
+        this.offsetX = offsetX - halfMapSize + screenRect.right / 2;
     }
 
     /**
@@ -139,14 +131,36 @@ public final class Projection {
      * @param offsetY The y offset in dip.
      */
     public void setOffsetY(final double offsetY) {
-        final float halfMapSize = getMapSize() / 2;
-        this.offsetY = (float) offsetY - halfMapSize + screenRect.bottom / 2;
+        final double halfMapSize = getMapSize() / 2;
+        this.offsetY = offsetY - halfMapSize + screenRect.bottom / 2;
+    }
+
+    private double getMapSize() {
+        return OPFMercator.getWorldSize(zoomLevel < MAX_ZOOM_LEVEL ? zoomLevel : MAX_ZOOM_LEVEL, tileSize);
     }
 
-    private float getMapSize() {
-        return tileSize * (float) Math.pow(2, zoomLevel < MAX_ZOOM_LEVEL ? zoomLevel : MAX_ZOOM_LEVEL);
+    private double getLatitude(final int screenY, final double mapSize) {
+        final double y = clipWithInterval(screenY - offsetY, 0, mapSize - 1, mapSize);
+        return OPFMercator.yToLatitude(clip(y, 0, mapSize - 1) / mapSize);
     }
 
+    private double getLongitude(final int screenX, final double mapSize) {
+        final double x = clipWithInterval(screenX - offsetX, 0, mapSize - 1, mapSize);
+        return OPFMercator.xToLongitude(clip(x, 0, mapSize - 1) / mapSize);
+    }
+
+    //CHECKSTYLE:OFF
+    private int getScreenX(final double longitude, final double mapSize) {
+        final double x = OPFMercator.longitudeToX(clipWithInterval(longitude, -180, 180, 360));
+        return (int) (clip(x * mapSize + 0.5, 0, mapSize - 1) + offsetX);
+    }
+
+    private int getScreenY(final double latitude, final double mapSize) {
+        final double y = OPFMercator.latitudeToY(clipWithInterval(latitude, -90, 90, 180));
+        return (int) (clip(y * mapSize + 0.5, 0, mapSize - 1) + offsetY);
+    }
+    //CHECKSTYLE:ON
+
     private static double clip(final double n, final double minValue, final double maxValue) {
         return Math.min(Math.max(n, minValue), maxValue);
     }
@@ -32,6 +32,7 @@ import org.onepf.opfmaps.OPFMapOptions;
 import org.onepf.opfmaps.model.OPFCameraPosition;
 import org.onepf.opfmaps.model.OPFCircleOptions;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 import org.onepf.opfmaps.model.OPFMapType;
 import org.onepf.opfmaps.model.OPFMarkerOptions;
 import org.onepf.opfmaps.model.OPFPolygonOptions;
@@ -143,26 +144,15 @@ public final class ConvertUtils {
     @NonNull
     public static Polygon convertPolygonOptions(@NonNull final WebView webView,
                                                 @NonNull final OPFPolygonOptions options) {
-        final List<OPFLatLng> opfPoints = options.getPoints();
-        final List<LatLng> points = new ArrayList<>(opfPoints.size());
-        for (OPFLatLng opfPoint : opfPoints) {
-            points.add(new LatLng(opfPoint.getLat(), opfPoint.getLng()));
+        final List<OPFLatLngSequence> opfHoles = options.getHoleSequences();
+        final List<OPFLatLngSequence> holes = new ArrayList<>(opfHoles.size());
+        for (OPFLatLngSequence opfHole : opfHoles) {
+            holes.add(copyLatLngSequence(opfHole));
         }
 
-        final List<List<OPFLatLng>> opfHoles = options.getHoles();
-        final List<List<LatLng>> holes = new ArrayList<>(opfHoles.size());
-        for (List<OPFLatLng> opfHole : opfHoles) {
-            final List<LatLng> hole = new ArrayList<>(opfHole.size());
-            for (OPFLatLng opfHolePoint : opfHole) {
-                hole.add(new LatLng(opfHolePoint.getLat(), opfHolePoint.getLng()));
-            }
-            holes.add(hole);
-        }
-
-
         return new Polygon(
                 webView,
-                points,
+                copyLatLngSequence(options.getPointSequence()),
                 holes,
                 options.getFillColor(),
                 options.getStrokeColor(),
@@ -175,15 +165,9 @@ public final class ConvertUtils {
     @NonNull
     public static Polyline convertPolylineOptions(@NonNull final WebView webView,
                                                   @NonNull final OPFPolylineOptions options) {
-        final List<OPFLatLng> opfPoints = options.getPoints();
-        final List<LatLng> points = new ArrayList<>(opfPoints.size());
-        for (OPFLatLng opfPoint : opfPoints) {
-            points.add(new LatLng(opfPoint.getLat(), opfPoint.getLng()));
-        }
-
         return new Polyline(
                 webView,
-                points,
+                copyLatLngSequence(options.getPointSequence()),
                 options.getColor(),
                 options.getWidth(),
                 options.getZIndex(),
@@ -191,6 +175,11 @@ public final class ConvertUtils {
         );
     }
 
+    @NonNull
+    private static OPFLatLngSequence copyLatLngSequence(@NonNull final OPFLatLngSequence opfPoints) {
+        return new OPFLatLngSequence(opfPoints.size()).addAll(opfPoints);
+    }
+
     //CHECKSTYLE:OFF
     @NonNull
     public static String convertColor(final int color) {
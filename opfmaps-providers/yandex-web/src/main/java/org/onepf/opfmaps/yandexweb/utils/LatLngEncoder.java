@@ -0,0 +1,125 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.yandexweb.utils;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.projection.OPFMercator;
+
+/**
+ * Encodes sequences of points into compact strings decoded by the {@code decodePath} function of {@code yandex-map.html}.
+ * <p/>
+ * Latitudes are clamped to [-90, 90] and longitudes are wrapped to [-180, 180), so the coordinates in microdegrees
+ * and their differences always fit in an {@code int}. The coordinates are rounded to microdegrees, and every point is stored as the difference from the previous one.
+ * The differences are written as zigzag varints and the bytes are encoded with Base64. A point of a track usually
+ * takes 3-7 characters instead of about 40 characters of the decimal {@code [lat,lng],} text,
+ * and the JavaScript side decodes it without parsing a huge array literal.
+ */
+public final class LatLngEncoder {
+
+    /**
+     * The number of the encoded units in a degree. Must match {@code COORDINATE_FACTOR} of {@code yandex-map.html}.
+     */
+    public static final double COORDINATE_FACTOR = 1E6;
+
+    private static final double MAX_LATITUDE = 90.0;
+
+    //A zigzag encoded int takes at most 5 varint bytes.
+    private static final int MAX_POINT_BYTES = 10;
+
+    private static final char[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+
+    private LatLngEncoder() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Appends the encoded points to the builder.
+     *
+     * @param builder The builder.
+     * @param points  The points to encode.
+     */
+    public static void appendEncoded(@NonNull final StringBuilder builder, @NonNull final OPFLatLngSequence points) {
+        final int size = points.size();
+        final byte[] bytes = new byte[size * MAX_POINT_BYTES];
+        int length = 0;
+        int previousLat = 0;
+        int previousLng = 0;
+        for (int i = 0; i < size; i++) {
+            final double clampedLat = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, points.getLat(i)));
+            final int lat = (int) Math.round(clampedLat * COORDINATE_FACTOR);
+            final int lng = (int) Math.round(OPFMercator.wrapLongitude(points.getLng(i)) * COORDINATE_FACTOR);
+            length = writeVarint(bytes, length, lat - previousLat);
+            length = writeVarint(bytes, length, lng - previousLng);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        appendBase64(builder, bytes, length);
+    }
+
+    /**
+     * Returns the approximate length of the encoded points, used to presize builders.
+     *
+     * @param pointsCount The number of points.
+     * @return The approximate length.
+     */
+    public static int getEstimatedLength(final int pointsCount) {
+        //Two 3 bytes varints per point, 4 Base64 characters per 3 bytes.
+        return pointsCount * 8;
+    }
+
+    private static int writeVarint(@NonNull final byte[] bytes, final int offset, final int value) {
+        int position = offset;
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            bytes[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        bytes[position++] = (byte) zigzag;
+        return position;
+    }
+
+    private static void appendBase64(@NonNull final StringBuilder builder,
+                                     @NonNull final byte[] bytes,
+                                     final int length) {
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            final int chunk = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8 | (bytes[i + 2] & 0xFF);
+            builder.append(BASE64_ALPHABET[chunk >>> 18])
+                    .append(BASE64_ALPHABET[(chunk >>> 12) & 0x3F])
+                    .append(BASE64_ALPHABET[(chunk >>> 6) & 0x3F])
+                    .append(BASE64_ALPHABET[chunk & 0x3F]);
+        }
+
+        final int remaining = length - i;
+        if (remaining == 1) {
+            final int chunk = (bytes[i] & 0xFF) << 16;
+            builder.append(BASE64_ALPHABET[chunk >>> 18])
+                    .append(BASE64_ALPHABET[(chunk >>> 12) & 0x3F])
+                    .append("==");
+        } else if (remaining == 2) {
+            final int chunk = (bytes[i] & 0xFF) << 16 | (bytes[i + 1] & 0xFF) << 8;
+            builder.append(BASE64_ALPHABET[chunk >>> 18])
+                    .append(BASE64_ALPHABET[(chunk >>> 12) & 0x3F])
+                    .append(BASE64_ALPHABET[(chunk >>> 6) & 0x3F])
+                    .append('=');
+        }
+    }
+}
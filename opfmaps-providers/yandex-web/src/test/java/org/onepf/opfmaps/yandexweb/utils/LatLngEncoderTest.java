@@ -0,0 +1,147 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.yandexweb.utils;
+
+import org.junit.Test;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * The expected strings are decoded by {@code decodePath} of {@code yandex-map.html} to the points in the comments.
+ */
+public class LatLngEncoderTest {
+
+    private static final double DELTA = 1E-9;
+
+    @Test
+    public void encodesEmptySequence() {
+        assertEquals("", encode());
+    }
+
+    @Test
+    public void encodesSinglePoint() {
+        // [[0,0]]
+        assertEquals("AAA=", encode(0, 0));
+    }
+
+    @Test
+    public void encodesDifferencesOfPoints() {
+        // [[38.5,-120.2],[40.7,-120.95],[43.252,-126.453]]
+        assertEquals("wNrbJP/s0HKAx4wC38ZbgMO3Aq/gnwU=", encode(38.5, -120.2, 40.7, -120.95, 43.252, -126.453));
+        // [[55.751244,37.618423],[55.751245,37.618424]]
+        assertEquals("mMmVNe6L8CMCAg==", encode(55.751244, 37.618423, 55.751245, 37.618424));
+    }
+
+    @Test
+    public void encodesExtremeDifferences() {
+        // [[90,-180],[-90,179.999999]]
+        assertEquals("gKrqVf/T1KsB/9PUqwH+p6nXAg==", encode(90, -180, -90, 179.999999));
+    }
+
+    @Test
+    public void wrapsLongitude() {
+        // [[10,-170]]
+        assertEquals("gNrECf/5j6IB", encode(10, 190));
+        assertEquals(encode(10, -170), encode(10, 190));
+        assertEquals(encode(0, -180), encode(0, 180));
+    }
+
+    @Test
+    public void clampsLatitudeAndWrapsHugeLongitude() {
+        // [[90,-39.5]]
+        assertEquals("gKrqVb/j1SU=", encode(95, 5000.5));
+        assertArrayEquals(new double[]{-90, 10}, decode(encode(-1000, 36000 + 10)), DELTA);
+    }
+
+    @Test
+    public void decodesToRoundedPoints() {
+        final double[] latLngs = {
+                59.9342802, 30.3350986,
+                -33.8688197, 151.2092955,
+                40.7127837, -74.0059413,
+                -0.0000004, 179.9999996
+        };
+        final double[] expected = {
+                59.934280, 30.335099,
+                -33.868820, 151.209296,
+                40.712784, -74.005941,
+                0, 180
+        };
+        assertArrayEquals(expected, decode(encode(latLngs)), DELTA);
+    }
+
+    private static String encode(final double... latLngs) {
+        final StringBuilder builder = new StringBuilder();
+        LatLngEncoder.appendEncoded(builder, new OPFLatLngSequence(latLngs));
+        return builder.toString();
+    }
+
+    /**
+     * A port of {@code decodePath} of {@code yandex-map.html}.
+     */
+    private static double[] decode(final String encoded) {
+        final byte[] bytes = decodeBase64(encoded);
+        final double[] values = new double[bytes.length];
+        int count = 0;
+        int position = 0;
+        long lat = 0;
+        long lng = 0;
+        while (position < bytes.length) {
+            long result = 0;
+            int shift = 0;
+            int value;
+            do {
+                value = bytes[position++] & 0xFF;
+                result |= (long) (value & 0x7F) << shift;
+                shift += 7;
+            } while (value >= 0x80);
+            final long delta = result % 2 == 0 ? result / 2 : -(result + 1) / 2;
+            if (count % 2 == 0) {
+                lat += delta;
+                values[count] = lat / LatLngEncoder.COORDINATE_FACTOR;
+            } else {
+                lng += delta;
+                values[count] = lng / LatLngEncoder.COORDINATE_FACTOR;
+            }
+            count++;
+        }
+        final double[] result = new double[count];
+        System.arraycopy(values, 0, result, 0, count);
+        return result;
+    }
+
+    private static byte[] decodeBase64(final String encoded) {
+        final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        final byte[] bytes = new byte[encoded.length() * 3 / 4];
+        int length = 0;
+        int buffer = 0;
+        int bits = 0;
+        for (int i = 0; i < encoded.length() && encoded.charAt(i) != '='; i++) {
+            buffer = buffer << 6 | alphabet.indexOf(encoded.charAt(i));
+            bits += 6;
+            if (bits >= 8) {
+                bits -= 8;
+                bytes[length++] = (byte) (buffer >> bits);
+            }
+        }
+        final byte[] result = new byte[length];
+        System.arraycopy(bytes, 0, result, 0, length);
+        return result;
+    }
+}
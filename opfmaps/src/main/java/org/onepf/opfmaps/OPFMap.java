@@ -20,9 +20,11 @@ import android.graphics.Bitmap;
 import android.support.annotation.NonNull;
 
 import android.support.annotation.Nullable;
+import org.onepf.opfmaps.camera.OPFCameraChangeDispatcher;
 import org.onepf.opfmaps.delegate.MapDelegate;
 import org.onepf.opfmaps.listener.OPFCancelableCallback;
 import org.onepf.opfmaps.listener.OPFOnCameraChangeListener;
+import org.onepf.opfmaps.listener.OPFOnCameraIdleListener;
 import org.onepf.opfmaps.listener.OPFOnIndoorStateChangeListener;
 import org.onepf.opfmaps.listener.OPFOnInfoWindowClickListener;
 import org.onepf.opfmaps.listener.OPFOnMapClickListener;
@@ -32,6 +34,7 @@ import org.onepf.opfmaps.listener.OPFOnMarkerClickListener;
 import org.onepf.opfmaps.listener.OPFOnMarkerDragListener;
 import org.onepf.opfmaps.listener.OPFOnMyLocationButtonClickListener;
 import org.onepf.opfmaps.listener.OPFSnapshotReadyCallback;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 import org.onepf.opfmaps.model.OPFCameraPosition;
 import org.onepf.opfmaps.model.OPFCameraUpdate;
 import org.onepf.opfmaps.model.OPFCircle;
@@ -40,10 +43,12 @@ import org.onepf.opfmaps.model.OPFGroundOverlay;
 import org.onepf.opfmaps.model.OPFGroundOverlayOptions;
 import org.onepf.opfmaps.model.OPFIndoorBuilding;
 import org.onepf.opfmaps.model.OPFInfoWindowAdapter;
+import org.onepf.opfmaps.model.OPFLatLng;
 import org.onepf.opfmaps.model.OPFLocationSource;
 import org.onepf.opfmaps.model.OPFMapType;
 import org.onepf.opfmaps.model.OPFMarker;
 import org.onepf.opfmaps.model.OPFMarkerOptions;
+import org.onepf.opfmaps.model.OPFOverlayIndex;
 import org.onepf.opfmaps.model.OPFPolygon;
 import org.onepf.opfmaps.model.OPFPolygonOptions;
 import org.onepf.opfmaps.model.OPFPolyline;
@@ -53,6 +58,8 @@ import org.onepf.opfmaps.model.OPFTileOverlay;
 import org.onepf.opfmaps.model.OPFTileOverlayOptions;
 import org.onepf.opfmaps.model.OPFUiSettings;
 
+import java.util.List;
+
 /**
  * This is the main class of the OPF Maps and is the entry point for all methods related to the map.
  * You cannot instantiate a {@link OPFMap} object directly, rather, you must obtain one from the {@code getMapAsync()}
@@ -70,6 +77,17 @@ public final class OPFMap implements MapDelegate {
     @NonNull
     private final MapDelegate delegate;
 
+    @NonNull
+    private final OPFOverlayIndex overlayIndex = new OPFOverlayIndex();
+
+    @NonNull
+    private final OPFMapMetrics metrics = OPFMapMetrics.getInstance();
+
+    @Nullable
+    private OPFOnCameraChangeListener onCameraChangeListener;
+    @Nullable
+    private OPFCameraChangeDispatcher cameraIdleDispatcher;
+
     public OPFMap(@NonNull final MapDelegate delegate) {
         this.delegate = delegate;
     }
@@ -83,7 +101,11 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFCircle addCircle(@NonNull final OPFCircleOptions options) {
-        return delegate.addCircle(options);
+        final long startNanos = System.nanoTime();
+        final OPFCircle circle = delegate.addCircle(options);
+        overlayIndex.add(circle);
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return circle;
     }
 
     /**
@@ -96,7 +118,11 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFGroundOverlay addGroundOverlay(@NonNull final OPFGroundOverlayOptions options) {
-        return delegate.addGroundOverlay(options);
+        final long startNanos = System.nanoTime();
+        final OPFGroundOverlay groundOverlay = delegate.addGroundOverlay(options);
+        overlayIndex.add(groundOverlay);
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return groundOverlay;
     }
 
     /**
@@ -108,7 +134,32 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFMarker addMarker(@NonNull final OPFMarkerOptions options) {
-        return delegate.addMarker(options);
+        final long startNanos = System.nanoTime();
+        final OPFMarker marker = delegate.addMarker(options);
+        overlayIndex.add(marker);
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return marker;
+    }
+
+    /**
+     * Adds markers to this map.
+     * <p/>
+     * Prefer this method to a sequence of {@link #addMarker(OPFMarkerOptions)} calls when many markers are added at once:
+     * the map provider adds them in one batch and redraws the map only once.
+     *
+     * @param options The list of marker options objects that define how to render the markers.
+     * @return The list of {@link OPFMarker} objects that were added to the map, in the order of {@code options}.
+     */
+    @Override
+    @NonNull
+    public List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        final long startNanos = System.nanoTime();
+        final List<OPFMarker> markers = delegate.addMarkers(options);
+        for (OPFMarker marker : markers) {
+            overlayIndex.add(marker);
+        }
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return markers;
     }
 
     /**
@@ -120,7 +171,32 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFPolygon addPolygon(@NonNull final OPFPolygonOptions options) {
-        return delegate.addPolygon(options);
+        final long startNanos = System.nanoTime();
+        final OPFPolygon polygon = delegate.addPolygon(options);
+        overlayIndex.add(polygon, options.getPointSequence());
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return polygon;
+    }
+
+    /**
+     * Adds polygons to this map.
+     * <p/>
+     * Prefer this method to a sequence of {@link #addPolygon(OPFPolygonOptions)} calls when many polygons are added at once:
+     * the map provider adds them in one batch and redraws the map only once.
+     *
+     * @param options The list of polygon options objects that define how to render the polygons.
+     * @return The list of {@link OPFPolygon} objects that were added to the map, in the order of {@code options}.
+     */
+    @Override
+    @NonNull
+    public List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options) {
+        final long startNanos = System.nanoTime();
+        final List<OPFPolygon> polygons = delegate.addPolygons(options);
+        for (int i = 0; i < polygons.size(); i++) {
+            overlayIndex.add(polygons.get(i), options.get(i).getPointSequence());
+        }
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return polygons;
     }
 
     /**
@@ -132,7 +208,32 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
-        return delegate.addPolyline(options);
+        final long startNanos = System.nanoTime();
+        final OPFPolyline polyline = delegate.addPolyline(options);
+        overlayIndex.add(polyline, options.getPointSequence());
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return polyline;
+    }
+
+    /**
+     * Adds polylines to this map.
+     * <p/>
+     * Prefer this method to a sequence of {@link #addPolyline(OPFPolylineOptions)} calls when many polylines are added at once:
+     * the map provider adds them in one batch and redraws the map only once.
+     *
+     * @param options The list of polyline options objects that define how to render the polylines.
+     * @return The list of {@link OPFPolyline} objects that were added to the map, in the order of {@code options}.
+     */
+    @Override
+    @NonNull
+    public List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options) {
+        final long startNanos = System.nanoTime();
+        final List<OPFPolyline> polylines = delegate.addPolylines(options);
+        for (int i = 0; i < polylines.size(); i++) {
+            overlayIndex.add(polylines.get(i), options.get(i).getPointSequence());
+        }
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return polylines;
     }
 
     /**
@@ -148,7 +249,10 @@ public final class OPFMap implements MapDelegate {
     @Override
     @NonNull
     public OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options) {
-        return delegate.addTileOverlay(options);
+        final long startNanos = System.nanoTime();
+        final OPFTileOverlay tileOverlay = delegate.addTileOverlay(options);
+        metrics.recordSince(OPFMapMetrics.OVERLAY_ADD, startNanos);
+        return tileOverlay;
     }
 
     /**
@@ -168,7 +272,9 @@ public final class OPFMap implements MapDelegate {
     public void animateCamera(@NonNull final OPFCameraUpdate update,
                               final int durationMs,
                               @Nullable final OPFCancelableCallback callback) {
+        final long startNanos = System.nanoTime();
         delegate.animateCamera(update, durationMs, callback);
+        metrics.recordSince(OPFMapMetrics.CAMERA_MOVE, startNanos);
     }
 
     /**
@@ -183,7 +289,9 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void animateCamera(@NonNull final OPFCameraUpdate update, @Nullable final OPFCancelableCallback callback) {
+        final long startNanos = System.nanoTime();
         delegate.animateCamera(update, callback);
+        metrics.recordSince(OPFMapMetrics.CAMERA_MOVE, startNanos);
     }
 
     /**
@@ -193,7 +301,19 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void animateCamera(@NonNull final OPFCameraUpdate update) {
+        final long startNanos = System.nanoTime();
         delegate.animateCamera(update);
+        metrics.recordSince(OPFMapMetrics.CAMERA_MOVE, startNanos);
+    }
+
+    /**
+     * Starts a batch of overlay updates. The map provider may defer the redrawing of the map or the calls to
+     * the underlying map until {@link #endBatchUpdate()}, so many overlays can be changed at the cost of one update.
+     * Every call must be paired with {@link #endBatchUpdate()} in the same main thread message.
+     */
+    @Override
+    public void beginBatchUpdate() {
+        delegate.beginBatchUpdate();
     }
 
     /**
@@ -202,6 +322,15 @@ public final class OPFMap implements MapDelegate {
     @Override
     public void clear() {
         delegate.clear();
+        overlayIndex.clear();
+    }
+
+    /**
+     * Ends the batch of overlay updates started by {@link #beginBatchUpdate()} and applies the deferred changes.
+     */
+    @Override
+    public void endBatchUpdate() {
+        delegate.endBatchUpdate();
     }
 
     /**
@@ -250,6 +379,16 @@ public final class OPFMap implements MapDelegate {
         return delegate.getMaxZoomLevel();
     }
 
+    /**
+     * Returns the metrics of the map operations. The metrics are shared by all maps.
+     *
+     * @return The {@link OPFMapMetrics} registry.
+     */
+    @NonNull
+    public OPFMapMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Returns the minimum zoom level. This is the same for every location (unlike the maximum zoom level) but may
      * vary between devices and map sizes.
@@ -261,6 +400,17 @@ public final class OPFMap implements MapDelegate {
         return delegate.getMinZoomLevel();
     }
 
+    /**
+     * Returns the spatial index of the markers, polylines, polygons, circles and ground overlays added to this map.
+     * Use it to find the overlays inside some bounds without iterating all of them.
+     *
+     * @return The {@link OPFOverlayIndex} of this map.
+     */
+    @NonNull
+    public OPFOverlayIndex getOverlayIndex() {
+        return overlayIndex;
+    }
+
     /**
      * Returns a {@link OPFProjection} object that you can use to convert between screen coordinates and latitude/longitude coordinates.
      * The {@link OPFProjection} returned is a snapshot of the current projection, and will not automatically update
@@ -332,7 +482,9 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void moveCamera(@NonNull final OPFCameraUpdate update) {
+        final long startNanos = System.nanoTime();
         delegate.moveCamera(update);
+        metrics.recordSince(OPFMapMetrics.CAMERA_MOVE, startNanos);
     }
 
     /**
@@ -413,7 +565,22 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void setOnCameraChangeListener(@Nullable final OPFOnCameraChangeListener listener) {
-        delegate.setOnCameraChangeListener(listener);
+        this.onCameraChangeListener = listener;
+        updateCameraChangeListener();
+    }
+
+    /**
+     * Sets a callback that's invoked once when the camera stops moving. The idle event is detected by
+     * {@link OPFCameraChangeDispatcher}, use it directly to tune the idle delay or to throttle the camera changes.
+     *
+     * @param listener The callback that's invoked when the camera stops moving. To unset the callback, use {@code null}.
+     */
+    public void setOnCameraIdleListener(@Nullable final OPFOnCameraIdleListener listener) {
+        if (cameraIdleDispatcher != null) {
+            cameraIdleDispatcher.cancel();
+        }
+        this.cameraIdleDispatcher = listener != null ? new OPFCameraChangeDispatcher(null, listener) : null;
+        updateCameraChangeListener();
     }
 
     /**
@@ -444,7 +611,19 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void setOnMapClickListener(@Nullable final OPFOnMapClickListener listener) {
-        delegate.setOnMapClickListener(listener);
+        if (listener == null) {
+            delegate.setOnMapClickListener(null);
+            return;
+        }
+
+        delegate.setOnMapClickListener(new OPFOnMapClickListener() {
+            @Override
+            public void onMapClick(@NonNull final OPFLatLng latLng) {
+                final long startNanos = System.nanoTime();
+                listener.onMapClick(latLng);
+                metrics.recordSince(OPFMapMetrics.LISTENER_DISPATCH, startNanos);
+            }
+        });
     }
 
     /**
@@ -477,7 +656,20 @@ public final class OPFMap implements MapDelegate {
      */
     @Override
     public void setOnMarkerClickListener(@Nullable final OPFOnMarkerClickListener listener) {
-        delegate.setOnMarkerClickListener(listener);
+        if (listener == null) {
+            delegate.setOnMarkerClickListener(null);
+            return;
+        }
+
+        delegate.setOnMarkerClickListener(new OPFOnMarkerClickListener() {
+            @Override
+            public boolean onMarkerClick(@NonNull final OPFMarker marker) {
+                final long startNanos = System.nanoTime();
+                final boolean isConsumed = listener.onMarkerClick(marker);
+                metrics.recordSince(OPFMapMetrics.LISTENER_DISPATCH, startNanos);
+                return isConsumed;
+            }
+        });
     }
 
     /**
@@ -574,4 +766,27 @@ public final class OPFMap implements MapDelegate {
     public String toString() {
         return delegate.toString();
     }
+
+    private void updateCameraChangeListener() {
+        final OPFOnCameraChangeListener listener = onCameraChangeListener;
+        final OPFCameraChangeDispatcher idleDispatcher = cameraIdleDispatcher;
+        if (listener == null && idleDispatcher == null) {
+            delegate.setOnCameraChangeListener(null);
+            return;
+        }
+
+        delegate.setOnCameraChangeListener(new OPFOnCameraChangeListener() {
+            @Override
+            public void onCameraChange(@NonNull final OPFCameraPosition position) {
+                if (listener != null) {
+                    final long startNanos = System.nanoTime();
+                    listener.onCameraChange(position);
+                    metrics.recordSince(OPFMapMetrics.LISTENER_DISPATCH, startNanos);
+                }
+                if (idleDispatcher != null) {
+                    idleDispatcher.onCameraChange(position);
+                }
+            }
+        });
+    }
 }
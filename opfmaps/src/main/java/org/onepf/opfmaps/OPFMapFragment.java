@@ -30,6 +30,7 @@ import android.widget.FrameLayout;
 import org.onepf.opfmaps.delegate.MapFragmentDelegate;
 import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.listener.OPFOnMapReadyCallback;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 import org.onepf.opfutils.OPFLog;
 
 import java.util.ArrayList;
@@ -152,10 +153,10 @@ public class OPFMapFragment extends Fragment implements MapFragmentDelegate {
         OPFLog.logMethod(callback);
         if (mapViewDelegate != null) {
             OPFLog.d("mapViewDelegate != null");
-            mapViewDelegate.getMapAsync(callback);
+            mapViewDelegate.getMapAsync(OPFMapMetrics.getInstance().timeMapReady(callback));
         } else {
             OPFLog.d("mapViewDelegate == null");
-            pendingCallbacks.add(callback);
+            pendingCallbacks.add(OPFMapMetrics.getInstance().timeMapReady(callback));
         }
     }
 
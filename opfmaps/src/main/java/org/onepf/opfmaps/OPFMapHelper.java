@@ -17,10 +17,14 @@
 package org.onepf.opfmaps;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.MainThread;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import org.onepf.opfmaps.factory.DelegatesAbstractFactory;
+import org.onepf.opfmaps.listener.OPFOnProviderSelectedCallback;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 import org.onepf.opfutils.OPFChecks;
 import org.onepf.opfutils.OPFLog;
 import org.onepf.opfutils.OPFUtils;
@@ -30,6 +34,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The helper class to initialize the library before using.
@@ -45,7 +52,10 @@ public final class OPFMapHelper {
     }
 
     @Nullable
-    private OPFMapProvider currentProvider;
+    private volatile OPFMapProvider currentProvider;
+
+    @Nullable
+    private volatile DelegatesAbstractFactory delegatesFactory;
 
     private OPFMapHelper() {
     }
@@ -61,49 +71,65 @@ public final class OPFMapHelper {
      * If you set {@code true} value to the {@link org.onepf.opfmaps.OPFMapConfiguration.Builder#setSelectSystemPreferred(boolean)} method)
      * the system provider will be chosen (if it is available).
      * If there is no an available provider, the first provider from the list will be chosen as the current provider.
+     * <p/>
+     * The selection is persisted and reused until the application or a provider host app is installed, updated or removed,
+     * so the providers are checked only on the first start. Use {@link #initAsync(Context, OPFMapConfiguration,
+     * OPFOnProviderSelectedCallback)} to keep the checks off the main thread.
      *
      * @param context       The {@link Context} instance.
      * @param configuration The {@link OPFMapConfiguration} object, which will be used to select the current map provider.
      */
-    @SuppressWarnings("PMD.NPathComplexity")
     @MainThread
     public void init(@NonNull final Context context,
                      @NonNull final OPFMapConfiguration configuration) {
         OPFChecks.checkThread(true);
+        checkProviders(configuration);
 
-        final List<OPFMapProvider> providers = new ArrayList<>(configuration.getProviders());
-        if (providers.isEmpty()) {
-            throw new IllegalArgumentException("Providers list can't be empty");
-        }
-
-        if (configuration.isSelectSystemPreferred()) {
-            Collections.sort(providers, new Comparator<OPFMapProvider>() {
-                @Override
-                public int compare(final OPFMapProvider leftProvider, final OPFMapProvider rightProvider) {
-                    final String leftProviderHostAppPackage = leftProvider.getHostAppPackage();
-                    final String rightProviderHostAppPackage = rightProvider.getHostAppPackage();
-
-                    final int leftWeight = leftProviderHostAppPackage != null && OPFUtils.isSystemApp(context, leftProviderHostAppPackage) ? 1 : 0;
-                    final int rightWeight = rightProviderHostAppPackage != null && OPFUtils.isSystemApp(context, rightProviderHostAppPackage) ? 1 : 0;
-                    return rightWeight - leftWeight;
-                }
-            });
-        }
+        final long startNanos = System.nanoTime();
+        setCurrentProvider(selectProvider(context.getApplicationContext(), configuration));
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.PROVIDER_SELECTION, startNanos);
+    }
 
-        OPFMapProvider availableProvider = null;
-        //get first available provider
-        for (OPFMapProvider provider : providers) {
-            if (!provider.isAvailable(context)) {
-                OPFLog.d("Provider %s is no available.", provider.getName());
-            } else if (!provider.isKeyPresented(context)) {
-                OPFLog.w("Key isn't presented for provider %s", provider.getName());
-            } else {
-                availableProvider = provider;
-                break;
+    /**
+     * Initializes the OPF Map objects like {@link #init(Context, OPFMapConfiguration)} does,
+     * but selects the current map provider on a background thread.
+     * <p/>
+     * The current map provider is set on the main thread right before the callback is called.
+     * You mustn't use the maps until then.
+     *
+     * @param context       The {@link Context} instance.
+     * @param configuration The {@link OPFMapConfiguration} object, which will be used to select the current map provider.
+     * @param callback      The callback to be invoked when the current map provider is set.
+     */
+    @MainThread
+    public void initAsync(@NonNull final Context context,
+                          @NonNull final OPFMapConfiguration configuration,
+                          @Nullable final OPFOnProviderSelectedCallback callback) {
+        OPFChecks.checkThread(true);
+        checkProviders(configuration);
+
+        final Context applicationContext = context.getApplicationContext();
+        final Handler handler = new Handler(Looper.getMainLooper());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final long startNanos = System.nanoTime();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final OPFMapProvider provider = selectProvider(applicationContext, configuration);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        setCurrentProvider(provider);
+                        final long durationNanos = System.nanoTime() - startNanos;
+                        OPFMapMetrics.getInstance().record(OPFMapMetrics.PROVIDER_SELECTION, durationNanos);
+                        if (callback != null) {
+                            callback.onProviderSelected(provider, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+                        }
+                    }
+                });
             }
-        }
-
-        currentProvider = availableProvider != null ? availableProvider : providers.get(0);
+        });
+        executor.shutdown();
     }
 
     /**
@@ -129,12 +155,94 @@ public final class OPFMapHelper {
 
     /**
      * Intended for the internal use, should never be called directly.
+     * <p/>
+     * The factory is obtained once in {@link #init(Context, OPFMapConfiguration)} and can be used from any thread.
      *
      * @return The {@link DelegatesAbstractFactory} instance.
      */
-    @MainThread
     @NonNull
     public DelegatesAbstractFactory getDelegatesFactory() {
-        return getCurrentProvider().getDelegatesFactory();
+        final DelegatesAbstractFactory factory = delegatesFactory;
+        if (factory == null) {
+            throw new InitException(false);
+        }
+
+        return factory;
+    }
+
+    private void setCurrentProvider(@NonNull final OPFMapProvider provider) {
+        delegatesFactory = provider.getDelegatesFactory();
+        currentProvider = provider;
+    }
+
+    private static void checkProviders(@NonNull final OPFMapConfiguration configuration) {
+        if (configuration.getProviders().isEmpty()) {
+            throw new IllegalArgumentException("Providers list can't be empty");
+        }
+    }
+
+    @NonNull
+    private static OPFMapProvider selectProvider(@NonNull final Context context,
+                                                 @NonNull final OPFMapConfiguration configuration) {
+        final ProviderSelectionCache cache = new ProviderSelectionCache(context);
+        final String fingerprint = cache.getFingerprint(configuration);
+        final String cachedProviderName = cache.getProviderName(fingerprint);
+        if (cachedProviderName != null) {
+            for (OPFMapProvider provider : configuration.getProviders()) {
+                //The availability also depends on a state which isn't a part of the fingerprint.
+                if (cachedProviderName.equals(provider.getName()) && provider.isAvailable(context)) {
+                    OPFLog.d("Provider %s is selected from cache.", cachedProviderName);
+                    return provider;
+                }
+            }
+        }
+
+        final List<OPFMapProvider> providers = getSortedProviders(context, configuration);
+        final OPFMapProvider provider = findAvailableProvider(context, providers);
+        if (provider == null) {
+            //The failure can be transient, so the fallback isn't persisted.
+            OPFLog.w("There is no available provider, %s is used.", providers.get(0).getName());
+            return providers.get(0);
+        }
+
+        cache.putProviderName(fingerprint, provider.getName());
+        return provider;
+    }
+
+    @SuppressWarnings("PMD.NPathComplexity")
+    @NonNull
+    private static List<OPFMapProvider> getSortedProviders(@NonNull final Context context,
+                                                           @NonNull final OPFMapConfiguration configuration) {
+        final List<OPFMapProvider> providers = new ArrayList<>(configuration.getProviders());
+        if (configuration.isSelectSystemPreferred()) {
+            Collections.sort(providers, new Comparator<OPFMapProvider>() {
+                @Override
+                public int compare(final OPFMapProvider leftProvider, final OPFMapProvider rightProvider) {
+                    final String leftProviderHostAppPackage = leftProvider.getHostAppPackage();
+                    final String rightProviderHostAppPackage = rightProvider.getHostAppPackage();
+
+                    final int leftWeight = leftProviderHostAppPackage != null && OPFUtils.isSystemApp(context, leftProviderHostAppPackage) ? 1 : 0;
+                    final int rightWeight = rightProviderHostAppPackage != null && OPFUtils.isSystemApp(context, rightProviderHostAppPackage) ? 1 : 0;
+                    return rightWeight - leftWeight;
+                }
+            });
+        }
+        return providers;
+    }
+
+    @Nullable
+    private static OPFMapProvider findAvailableProvider(@NonNull final Context context,
+                                                        @NonNull final List<OPFMapProvider> providers) {
+        //get first available provider
+        for (OPFMapProvider provider : providers) {
+            if (!provider.isAvailable(context)) {
+                OPFLog.d("Provider %s is no available.", provider.getName());
+            } else if (!provider.isKeyPresented(context)) {
+                OPFLog.w("Key isn't presented for provider %s", provider.getName());
+            } else {
+                return provider;
+            }
+        }
+        return null;
     }
 }
@@ -27,6 +27,7 @@ import android.widget.FrameLayout;
 import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.factory.DelegatesAbstractFactory;
 import org.onepf.opfmaps.listener.OPFOnMapReadyCallback;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 
@@ -84,7 +85,7 @@ public class OPFMapView extends FrameLayout implements MapViewDelegate {
     @MainThread
     @Override
     public void getMapAsync(@NonNull final OPFOnMapReadyCallback callback) {
-        delegate.getMapAsync(callback);
+        delegate.getMapAsync(OPFMapMetrics.getInstance().timeMapReady(callback));
     }
 
     @Override
@@ -28,6 +28,7 @@ import android.widget.FrameLayout;
 import org.onepf.opfmaps.delegate.MapFragmentDelegate;
 import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.listener.OPFOnMapReadyCallback;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 import org.onepf.opfutils.OPFLog;
 
 import java.util.ArrayList;
@@ -139,10 +140,10 @@ public class OPFSupportMapFragment extends Fragment implements MapFragmentDelega
         OPFLog.logMethod(callback);
         if (mapViewDelegate != null) {
             OPFLog.d("mapViewDelegate != null");
-            mapViewDelegate.getMapAsync(callback);
+            mapViewDelegate.getMapAsync(OPFMapMetrics.getInstance().timeMapReady(callback));
         } else {
             OPFLog.d("mapViewDelegate == null");
-            pendingCallbacks.add(callback);
+            pendingCallbacks.add(OPFMapMetrics.getInstance().timeMapReady(callback));
         }
     }
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Persists the name of the selected map provider. The selection is keyed by a fingerprint of
+ * the configuration and of the installed versions of the application and of the providers host apps,
+ * so it's made again after any of them is installed, updated, removed, enabled or disabled.
+ */
+final class ProviderSelectionCache {
+
+    private static final String PREFERENCES_NAME = "org.onepf.opfmaps.PROVIDER_SELECTION";
+    private static final String FINGERPRINT_KEY = "fingerprint";
+    private static final String PROVIDER_NAME_KEY = "provider_name";
+
+    private static final String NOT_INSTALLED = "-";
+
+    @NonNull
+    private final Context context;
+
+    @NonNull
+    private final SharedPreferences preferences;
+
+    ProviderSelectionCache(@NonNull final Context context) {
+        this.context = context;
+        this.preferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Computes the fingerprint of the selection environment. Makes a single package manager lookup per host app.
+     *
+     * @param configuration The configuration used to select the provider.
+     * @return The fingerprint.
+     */
+    @NonNull
+    String getFingerprint(@NonNull final OPFMapConfiguration configuration) {
+        final StringBuilder fingerprint = new StringBuilder();
+        appendPackageVersion(fingerprint, context.getPackageName());
+        fingerprint.append('|').append(configuration.isSelectSystemPreferred());
+        for (OPFMapProvider provider : configuration.getProviders()) {
+            fingerprint.append('|').append(provider.getName());
+            final String hostAppPackage = provider.getHostAppPackage();
+            if (hostAppPackage != null) {
+                fingerprint.append(':');
+                appendPackageVersion(fingerprint, hostAppPackage);
+            }
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * Returns the name of the provider selected for the fingerprint.
+     *
+     * @param fingerprint The fingerprint returned by {@link #getFingerprint(OPFMapConfiguration)}.
+     * @return The provider name or {@code null} if there is no selection for the fingerprint.
+     */
+    @Nullable
+    String getProviderName(@NonNull final String fingerprint) {
+        if (!fingerprint.equals(preferences.getString(FINGERPRINT_KEY, null))) {
+            return null;
+        }
+        return preferences.getString(PROVIDER_NAME_KEY, null);
+    }
+
+    void putProviderName(@NonNull final String fingerprint, @NonNull final String providerName) {
+        preferences.edit()
+                .putString(FINGERPRINT_KEY, fingerprint)
+                .putString(PROVIDER_NAME_KEY, providerName)
+                .apply();
+    }
+
+    private void appendPackageVersion(@NonNull final StringBuilder fingerprint, @NonNull final String packageName) {
+        fingerprint.append(packageName).append('@');
+        try {
+            final PackageInfo packageInfo = context.getPackageManager().getPackageInfo(packageName, 0);
+            fingerprint.append(packageInfo.versionCode).append(':').append(packageInfo.lastUpdateTime)
+                    .append(':').append(packageInfo.applicationInfo.enabled);
+        } catch (PackageManager.NameNotFoundException e) {
+            fingerprint.append(NOT_INSTALLED);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.animation;
+
+import android.animation.TimeInterpolator;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.view.animation.LinearInterpolator;
+
+import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFMarker;
+import org.onepf.opfmaps.projection.OPFMercator;
+import org.onepf.opfmaps.utils.OPFFrameScheduler;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Moves markers of a map smoothly to new positions. All running animations are advanced by a single frame callback,
+ * and the updates of a frame are flushed to the map provider as one batch
+ * (see {@link OPFMap#beginBatchUpdate()}), so thousands of markers can be animated at once.
+ * <p/>
+ * The frames are driven by {@link OPFFrameScheduler}.
+ * Longitudes and rotations are interpolated along the shortest path.
+ * A new animation of a marker which is being animated starts from its current interpolated position.
+ * <p/>
+ * All methods must be called from the main thread.
+ */
+public class OPFMarkerAnimator {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float FULL_CIRCLE = 360.0f;
+    private static final float HALF_CIRCLE = 180.0f;
+
+    @NonNull
+    private final OPFMap map;
+
+    @NonNull
+    private final OPFFrameScheduler scheduler;
+
+    @NonNull
+    private final Map<OPFMarker, Integer> indices = new IdentityHashMap<>();
+
+    @NonNull
+    private TimeInterpolator interpolator = new LinearInterpolator();
+
+    //The animations are stored in parallel arrays, so a frame doesn't allocate anything but the new positions.
+    private OPFMarker[] markers = new OPFMarker[INITIAL_CAPACITY];
+    private double[] startLats = new double[INITIAL_CAPACITY];
+    private double[] startLngs = new double[INITIAL_CAPACITY];
+    private double[] deltaLats = new double[INITIAL_CAPACITY];
+    private double[] deltaLngs = new double[INITIAL_CAPACITY];
+    private float[] startRotations = new float[INITIAL_CAPACITY];
+    private float[] deltaRotations = new float[INITIAL_CAPACITY];
+    private boolean[] rotates = new boolean[INITIAL_CAPACITY];
+    private long[] startTimes = new long[INITIAL_CAPACITY];
+    private long[] durations = new long[INITIAL_CAPACITY];
+    private TimeInterpolator[] interpolators = new TimeInterpolator[INITIAL_CAPACITY];
+    private int count;
+
+    public OPFMarkerAnimator(@NonNull final OPFMap map) {
+        this.map = map;
+        this.scheduler = new OPFFrameScheduler(new Runnable() {
+            @Override
+            public void run() {
+                doFrame();
+            }
+        });
+    }
+
+    /**
+     * Sets the easing of the animations started after this call. The default one is {@link LinearInterpolator}.
+     * The running animations keep the interpolator they were started with.
+     *
+     * @param interpolator The interpolator.
+     */
+    public void setInterpolator(@NonNull final TimeInterpolator interpolator) {
+        this.interpolator = interpolator;
+    }
+
+    /**
+     * Moves the marker to the target position keeping its rotation.
+     *
+     * @param marker     The marker to move.
+     * @param target     The target position.
+     * @param durationMs The duration of the animation in milliseconds. The marker jumps to the target if it isn't positive.
+     */
+    public void animate(@NonNull final OPFMarker marker, @NonNull final OPFLatLng target, final long durationMs) {
+        start(marker, target, false, 0.0f, durationMs);
+    }
+
+    /**
+     * Moves the marker to the target position and rotates it to the target rotation.
+     *
+     * @param marker     The marker to move.
+     * @param target     The target position.
+     * @param rotation   The target rotation in degrees clockwise.
+     * @param durationMs The duration of the animation in milliseconds. The marker jumps to the target if it isn't positive.
+     */
+    public void animate(@NonNull final OPFMarker marker,
+                        @NonNull final OPFLatLng target,
+                        final float rotation,
+                        final long durationMs) {
+        start(marker, target, true, rotation, durationMs);
+    }
+
+    /**
+     * Stops the animation of the marker. The marker stays at its current interpolated position.
+     *
+     * @param marker The marker.
+     */
+    public void cancel(@NonNull final OPFMarker marker) {
+        final Integer index = indices.get(marker);
+        if (index != null) {
+            removeAt(index);
+        }
+    }
+
+    /**
+     * Stops all animations.
+     */
+    public void cancelAll() {
+        Arrays.fill(markers, 0, count, null);
+        Arrays.fill(interpolators, 0, count, null);
+        count = 0;
+        indices.clear();
+        scheduler.unschedule();
+    }
+
+    public boolean isAnimating(@NonNull final OPFMarker marker) {
+        return indices.containsKey(marker);
+    }
+
+    public int getAnimatingCount() {
+        return count;
+    }
+
+    private void start(@NonNull final OPFMarker marker,
+                       @NonNull final OPFLatLng target,
+                       final boolean rotate,
+                       final float rotation,
+                       final long durationMs) {
+        final long now = SystemClock.uptimeMillis();
+        final Integer existingIndex = indices.get(marker);
+
+        if (durationMs <= 0) {
+            if (existingIndex != null) {
+                removeAt(existingIndex);
+            }
+            marker.setPosition(target);
+            if (rotate) {
+                marker.setRotation(rotation);
+            }
+            return;
+        }
+
+        final int index;
+        final double startLat;
+        final double startLng;
+        final float startRotation;
+        if (existingIndex == null) {
+            final OPFLatLng position = marker.getPosition();
+            startLat = position.getLat();
+            startLng = position.getLng();
+            startRotation = rotate ? marker.getRotation() : 0.0f;
+            index = count;
+            ensureCapacity(count + 1);
+            ++count;
+            indices.put(marker, index);
+        } else {
+            index = existingIndex;
+            final float fraction = getFraction(index, now);
+            startLat = startLats[index] + deltaLats[index] * fraction;
+            startLng = startLngs[index] + deltaLngs[index] * fraction;
+            if (!rotate) {
+                startRotation = 0.0f;
+            } else if (rotates[index]) {
+                startRotation = startRotations[index] + deltaRotations[index] * fraction;
+            } else {
+                startRotation = marker.getRotation();
+            }
+        }
+
+        markers[index] = marker;
+        startLats[index] = startLat;
+        startLngs[index] = startLng;
+        deltaLats[index] = target.getLat() - startLat;
+        deltaLngs[index] = OPFMercator.wrapLongitude(target.getLng() - startLng);
+        rotates[index] = rotate;
+        startRotations[index] = startRotation;
+        deltaRotations[index] = rotate ? getShortestRotation(rotation - startRotation) : 0.0f;
+        startTimes[index] = now;
+        durations[index] = durationMs;
+        interpolators[index] = interpolator;
+
+        scheduler.schedule();
+    }
+
+    private void doFrame() {
+        if (count == 0) {
+            return;
+        }
+
+        final long startNanos = System.nanoTime();
+        final long now = SystemClock.uptimeMillis();
+        map.beginBatchUpdate();
+        try {
+            //Iterates backwards, so finished animations can be swapped with the already advanced last ones.
+            for (int i = count - 1; i >= 0; --i) {
+                final float fraction = getFraction(i, now);
+                final OPFMarker marker = markers[i];
+                marker.setPosition(new OPFLatLng(startLats[i] + deltaLats[i] * fraction,
+                        startLngs[i] + deltaLngs[i] * fraction));
+                if (rotates[i]) {
+                    marker.setRotation(startRotations[i] + deltaRotations[i] * fraction);
+                }
+                if (now - startTimes[i] >= durations[i]) {
+                    removeAt(i);
+                }
+            }
+        } finally {
+            map.endBatchUpdate();
+        }
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.ANIMATION_FRAME, startNanos);
+
+        if (count != 0) {
+            scheduler.schedule();
+        }
+    }
+
+    private float getFraction(final int index, final long now) {
+        final float linearFraction = Math.min(1.0f, (float) (now - startTimes[index]) / durations[index]);
+        return linearFraction >= 1.0f ? 1.0f : interpolators[index].getInterpolation(linearFraction);
+    }
+
+    private void removeAt(final int index) {
+        indices.remove(markers[index]);
+        final int last = count - 1;
+        if (index != last) {
+            markers[index] = markers[last];
+            startLats[index] = startLats[last];
+            startLngs[index] = startLngs[last];
+            deltaLats[index] = deltaLats[last];
+            deltaLngs[index] = deltaLngs[last];
+            startRotations[index] = startRotations[last];
+            deltaRotations[index] = deltaRotations[last];
+            rotates[index] = rotates[last];
+            startTimes[index] = startTimes[last];
+            durations[index] = durations[last];
+            interpolators[index] = interpolators[last];
+            indices.put(markers[index], index);
+        }
+        markers[last] = null;
+        interpolators[last] = null;
+        count = last;
+        if (count == 0) {
+            scheduler.unschedule();
+        }
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= markers.length) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, markers.length * 2);
+        markers = Arrays.copyOf(markers, newCapacity);
+        startLats = Arrays.copyOf(startLats, newCapacity);
+        startLngs = Arrays.copyOf(startLngs, newCapacity);
+        deltaLats = Arrays.copyOf(deltaLats, newCapacity);
+        deltaLngs = Arrays.copyOf(deltaLngs, newCapacity);
+        startRotations = Arrays.copyOf(startRotations, newCapacity);
+        deltaRotations = Arrays.copyOf(deltaRotations, newCapacity);
+        rotates = Arrays.copyOf(rotates, newCapacity);
+        startTimes = Arrays.copyOf(startTimes, newCapacity);
+        durations = Arrays.copyOf(durations, newCapacity);
+        interpolators = Arrays.copyOf(interpolators, newCapacity);
+    }
+
+    private static float getShortestRotation(final float deltaRotation) {
+        return ((deltaRotation + HALF_CIRCLE) % FULL_CIRCLE + FULL_CIRCLE) % FULL_CIRCLE - HALF_CIRCLE;
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.camera;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.listener.OPFOnCameraChangeListener;
+import org.onepf.opfmaps.listener.OPFOnCameraIdleListener;
+import org.onepf.opfmaps.model.OPFCameraPosition;
+
+/**
+ * Coalesces camera changes of any map provider. The changes are delivered to the wrapped listener
+ * at most once per throttle interval, and the last position of a series is always delivered.
+ * When the camera hasn't moved for the idle delay, the idle listener is notified once.
+ * <p/>
+ * Set the dispatcher as the camera change listener of the map:
+ * <pre>
+ * map.setOnCameraChangeListener(new OPFCameraChangeDispatcher(listener, idleListener));
+ * </pre>
+ * All methods must be called from the main thread.
+ */
+public class OPFCameraChangeDispatcher implements OPFOnCameraChangeListener {
+
+    /**
+     * Delivers every camera change as soon as it happens.
+     */
+    public static final long THROTTLE_NONE = 0;
+
+    /**
+     * Delivers at most one camera change per frame of a 60 fps display.
+     */
+    public static final long THROTTLE_FRAME = 16;
+
+    private static final long DEFAULT_IDLE_DELAY = 300;
+
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    private final Runnable trailingDispatch = new Runnable() {
+        @Override
+        public void run() {
+            dispatchPending();
+        }
+    };
+
+    @NonNull
+    private final Runnable idleDispatch = new Runnable() {
+        @Override
+        public void run() {
+            dispatchIdle();
+        }
+    };
+
+    @Nullable
+    private final OPFOnCameraChangeListener listener;
+    @Nullable
+    private final OPFOnCameraIdleListener idleListener;
+
+    private long throttleInterval = THROTTLE_FRAME;
+    private long idleDelay = DEFAULT_IDLE_DELAY;
+
+    @Nullable
+    private OPFCameraPosition pendingPosition;
+    @Nullable
+    private OPFCameraPosition lastPosition;
+    private long lastDispatchTime;
+    private boolean isIdle = true;
+
+    /**
+     * Creates the dispatcher.
+     *
+     * @param listener     The listener receiving the throttled camera changes.
+     * @param idleListener The listener receiving the camera idle events.
+     */
+    public OPFCameraChangeDispatcher(@Nullable final OPFOnCameraChangeListener listener,
+                                     @Nullable final OPFOnCameraIdleListener idleListener) {
+        this.listener = listener;
+        this.idleListener = idleListener;
+    }
+
+    /**
+     * Sets the minimal interval between two delivered camera changes. The default value is {@link #THROTTLE_FRAME}.
+     *
+     * @param throttleInterval The interval in milliseconds, {@link #THROTTLE_NONE} to deliver every change.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public void setThrottleInterval(final long throttleInterval) {
+        if (throttleInterval < 0) {
+            throw new IllegalArgumentException("Throttle interval mustn't be negative: " + throttleInterval);
+        }
+        this.throttleInterval = throttleInterval;
+    }
+
+    /**
+     * Sets the time the camera must stay still to be considered idle. The default value is 300 milliseconds.
+     *
+     * @param idleDelay The delay in milliseconds.
+     * @throws IllegalArgumentException if the delay is negative.
+     */
+    public void setIdleDelay(final long idleDelay) {
+        if (idleDelay < 0) {
+            throw new IllegalArgumentException("Idle delay mustn't be negative: " + idleDelay);
+        }
+        this.idleDelay = idleDelay;
+    }
+
+    /**
+     * Checks whether the camera is idle, that is the idle event was delivered after the last camera change.
+     *
+     * @return {@code true} if the camera is idle, {@code false} if it's moving.
+     */
+    public boolean isIdle() {
+        return isIdle;
+    }
+
+    /**
+     * Drops the pending camera change and idle event. Call it when the dispatcher is detached from the map.
+     */
+    public void cancel() {
+        handler.removeCallbacks(trailingDispatch);
+        handler.removeCallbacks(idleDispatch);
+        pendingPosition = null;
+        isIdle = true;
+    }
+
+    @Override
+    public void onCameraChange(@NonNull final OPFCameraPosition position) {
+        lastPosition = position;
+        isIdle = false;
+        if (idleListener != null) {
+            handler.removeCallbacks(idleDispatch);
+            handler.postDelayed(idleDispatch, idleDelay);
+        }
+
+        if (pendingPosition != null) {
+            // The trailing dispatch is already scheduled, it will deliver this position.
+            pendingPosition = position;
+            return;
+        }
+
+        final long now = SystemClock.uptimeMillis();
+        final long wait = lastDispatchTime + throttleInterval - now;
+        if (wait <= 0) {
+            dispatch(position, now);
+        } else {
+            pendingPosition = position;
+            handler.postDelayed(trailingDispatch, wait);
+        }
+    }
+
+    private void dispatchPending() {
+        final OPFCameraPosition position = pendingPosition;
+        if (position != null) {
+            pendingPosition = null;
+            dispatch(position, SystemClock.uptimeMillis());
+        }
+    }
+
+    private void dispatchIdle() {
+        // The final position must reach the change listener before the idle event.
+        handler.removeCallbacks(trailingDispatch);
+        dispatchPending();
+
+        isIdle = true;
+        if (idleListener != null && lastPosition != null) {
+            idleListener.onCameraIdle(lastPosition);
+        }
+    }
+
+    private void dispatch(@NonNull final OPFCameraPosition position, final long time) {
+        lastDispatchTime = time;
+        if (listener != null) {
+            listener.onCameraChange(position);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+
+import java.util.Collection;
+
+/**
+ * A group of {@link OPFClusterItem}s which are rendered as a single marker at the current zoom level.
+ */
+public interface OPFCluster<T extends OPFClusterItem> {
+
+    /**
+     * Returns the position of the cluster marker.
+     *
+     * @return The position of the cluster.
+     */
+    @NonNull
+    OPFLatLng getPosition();
+
+    /**
+     * Returns the items of the cluster.
+     *
+     * @return The unmodifiable collection of the cluster items.
+     */
+    @NonNull
+    Collection<T> getItems();
+
+    /**
+     * Returns the number of items in the cluster.
+     *
+     * @return The number of items.
+     */
+    int getSize();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.WorkerThread;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Groups items into clusters for a zoom level.
+ */
+public interface OPFClusterAlgorithm<T extends OPFClusterItem> {
+
+    /**
+     * Computes clusters of the given items. This method is called on a background thread
+     * and mustn't touch the map.
+     *
+     * @param items The snapshot of the items.
+     * @param zoom  The integer zoom level.
+     * @return The list of clusters. Every item must belong to exactly one cluster.
+     */
+    @WorkerThread
+    @NonNull
+    List<OPFCluster<T>> getClusters(@NonNull final Collection<T> items, final int zoom);
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+
+/**
+ * A logical item managed by {@link OPFClusterManager}.
+ * <p/>
+ * The position of an item must not change while the item is added to a cluster manager,
+ * because the clusters are computed on a background thread.
+ */
+public interface OPFClusterItem {
+
+    /**
+     * Returns the position of the item.
+     *
+     * @return The position of the item.
+     */
+    @NonNull
+    OPFLatLng getPosition();
+}
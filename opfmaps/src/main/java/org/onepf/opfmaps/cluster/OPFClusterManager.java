@@ -0,0 +1,344 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.listener.OPFOnCameraChangeListener;
+import org.onepf.opfmaps.listener.OPFOnMarkerClickListener;
+import org.onepf.opfmaps.model.OPFCameraPosition;
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFMarker;
+import org.onepf.opfmaps.model.OPFMarkerOptions;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shows a big number of items on an {@link OPFMap} as clusters.
+ * <p/>
+ * The clusters are computed by an {@link OPFClusterAlgorithm} on a background thread once per integer zoom level
+ * and cached until the items change. Only the clusters inside the visible region get markers. When the camera moves,
+ * the markers of the clusters which are still shown are kept, the rest are removed one by one
+ * and the new ones are added by a single {@link OPFMap#addMarkers(List)} call, so the map is never cleared.
+ * <p/>
+ * The manager works through {@link OPFMap} only, so it behaves the same way with every map provider.
+ * It must be set as the camera change listener and the marker click listener of the map:
+ * <pre>
+ * map.setOnCameraChangeListener(clusterManager);
+ * map.setOnMarkerClickListener(clusterManager);
+ * </pre>
+ * All methods must be called from the main thread.
+ */
+public class OPFClusterManager<T extends OPFClusterItem> implements OPFOnCameraChangeListener, OPFOnMarkerClickListener {
+
+    private static final int NO_ZOOM = -1;
+
+    @NonNull
+    private final OPFMap map;
+    @NonNull
+    private final OPFClusterAlgorithm<T> algorithm;
+    @NonNull
+    private final OPFClusterRenderer<T> renderer;
+
+    @NonNull
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    @NonNull
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    private final Set<T> items = new LinkedHashSet<>();
+    @NonNull
+    private final Map<Integer, List<OPFCluster<T>>> clustersByZoom = new HashMap<>();
+    @NonNull
+    private Map<OPFCluster<T>, OPFMarker> displayedMarkers = new HashMap<>();
+    @NonNull
+    private final Map<String, OPFCluster<T>> clustersByMarkerId = new HashMap<>();
+
+    @Nullable
+    private OnClusterClickListener<T> clusterClickListener;
+    @Nullable
+    private OnClusterItemClickListener<T> clusterItemClickListener;
+
+    private int generation;
+    private int currentZoom = NO_ZOOM;
+    private int requestedZoom = NO_ZOOM;
+    private int requestedGeneration;
+    private boolean isDestroyed;
+
+    /**
+     * Creates the manager with {@link OPFGridClusterAlgorithm} and {@link OPFDefaultClusterRenderer}.
+     *
+     * @param map The map.
+     */
+    public OPFClusterManager(@NonNull final OPFMap map) {
+        this(map, new OPFGridClusterAlgorithm<T>(), new OPFDefaultClusterRenderer<T>());
+    }
+
+    /**
+     * Creates the manager.
+     *
+     * @param map       The map.
+     * @param algorithm The algorithm which groups the items.
+     * @param renderer  The renderer of the cluster and item markers.
+     */
+    public OPFClusterManager(@NonNull final OPFMap map,
+                             @NonNull final OPFClusterAlgorithm<T> algorithm,
+                             @NonNull final OPFClusterRenderer<T> renderer) {
+        this.map = map;
+        this.algorithm = algorithm;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Adds an item. Call {@link #cluster()} to show the changes.
+     *
+     * @param item The item.
+     */
+    @MainThread
+    public void addItem(@NonNull final T item) {
+        items.add(item);
+        invalidateClusters();
+    }
+
+    /**
+     * Adds the items. Call {@link #cluster()} to show the changes.
+     *
+     * @param items The items.
+     */
+    @MainThread
+    public void addItems(@NonNull final Collection<T> items) {
+        this.items.addAll(items);
+        invalidateClusters();
+    }
+
+    /**
+     * Removes an item. Call {@link #cluster()} to show the changes.
+     *
+     * @param item The item.
+     */
+    @MainThread
+    public void removeItem(@NonNull final T item) {
+        items.remove(item);
+        invalidateClusters();
+    }
+
+    /**
+     * Removes all items. Call {@link #cluster()} to show the changes.
+     */
+    @MainThread
+    public void clearItems() {
+        items.clear();
+        invalidateClusters();
+    }
+
+    /**
+     * Recomputes the clusters for the current camera position and updates the markers.
+     */
+    @MainThread
+    public void cluster() {
+        onCameraChange(map.getCameraPosition());
+    }
+
+    /**
+     * Sets a callback that's invoked when a cluster of two or more items is clicked.
+     *
+     * @param listener The callback that's invoked when a cluster is clicked.
+     */
+    public void setOnClusterClickListener(@Nullable final OnClusterClickListener<T> listener) {
+        this.clusterClickListener = listener;
+    }
+
+    /**
+     * Sets a callback that's invoked when a single item marker is clicked.
+     *
+     * @param listener The callback that's invoked when an item is clicked.
+     */
+    public void setOnClusterItemClickListener(@Nullable final OnClusterItemClickListener<T> listener) {
+        this.clusterItemClickListener = listener;
+    }
+
+    /**
+     * Removes the markers of the manager from the map and stops the background thread.
+     * The manager can't be used after this call.
+     */
+    @MainThread
+    public void destroy() {
+        isDestroyed = true;
+        executor.shutdownNow();
+        for (OPFMarker marker : displayedMarkers.values()) {
+            marker.remove();
+        }
+        displayedMarkers.clear();
+        clustersByMarkerId.clear();
+        clustersByZoom.clear();
+    }
+
+    @MainThread
+    @Override
+    public void onCameraChange(@NonNull final OPFCameraPosition position) {
+        if (isDestroyed) {
+            return;
+        }
+
+        currentZoom = (int) position.getZoom();
+        final List<OPFCluster<T>> clusters = clustersByZoom.get(currentZoom);
+        if (clusters == null) {
+            computeClusters(currentZoom);
+        } else {
+            render(clusters);
+        }
+    }
+
+    @MainThread
+    @Override
+    public boolean onMarkerClick(@NonNull final OPFMarker marker) {
+        final OPFCluster<T> cluster = clustersByMarkerId.get(marker.getId());
+        if (cluster == null) {
+            return false;
+        }
+
+        if (cluster.getSize() == 1) {
+            return clusterItemClickListener != null
+                    && clusterItemClickListener.onClusterItemClick(cluster.getItems().iterator().next());
+        }
+        return clusterClickListener != null && clusterClickListener.onClusterClick(cluster);
+    }
+
+    private void invalidateClusters() {
+        generation++;
+        clustersByZoom.clear();
+    }
+
+    private void computeClusters(final int zoom) {
+        if (requestedZoom == zoom && requestedGeneration == generation) {
+            return;
+        }
+        requestedZoom = zoom;
+        requestedGeneration = generation;
+
+        final int clustersGeneration = generation;
+        final List<T> itemsSnapshot = new ArrayList<>(items);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final List<OPFCluster<T>> clusters = algorithm.getClusters(itemsSnapshot, zoom);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onClustersComputed(clusters, zoom, clustersGeneration);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onClustersComputed(@NonNull final List<OPFCluster<T>> clusters,
+                                    final int zoom,
+                                    final int clustersGeneration) {
+        if (isDestroyed || clustersGeneration != generation) {
+            return;
+        }
+
+        clustersByZoom.put(zoom, clusters);
+        if (zoom == currentZoom) {
+            render(clusters);
+        }
+    }
+
+    private void render(@NonNull final List<OPFCluster<T>> clusters) {
+        final OPFLatLngBounds visibleBounds = map.getProjection().getVisibleRegion().getLatLngBounds();
+
+        final Map<OPFCluster<T>, OPFMarker> newDisplayedMarkers = new HashMap<>();
+        final List<OPFCluster<T>> addedClusters = new ArrayList<>();
+        final List<OPFMarkerOptions> addedOptions = new ArrayList<>();
+        for (OPFCluster<T> cluster : clusters) {
+            if (!visibleBounds.contains(cluster.getPosition())) {
+                continue;
+            }
+
+            final OPFMarker marker = displayedMarkers.remove(cluster);
+            if (marker == null) {
+                addedClusters.add(cluster);
+                addedOptions.add(cluster.getSize() == 1
+                        ? renderer.createItemMarkerOptions(cluster.getItems().iterator().next())
+                        : renderer.createClusterMarkerOptions(cluster));
+            } else {
+                newDisplayedMarkers.put(cluster, marker);
+                clustersByMarkerId.put(marker.getId(), cluster);
+            }
+        }
+
+        for (OPFMarker marker : displayedMarkers.values()) {
+            clustersByMarkerId.remove(marker.getId());
+            marker.remove();
+        }
+
+        if (!addedOptions.isEmpty()) {
+            final List<OPFMarker> addedMarkers = map.addMarkers(addedOptions);
+            final int size = addedMarkers.size();
+            for (int i = 0; i < size; i++) {
+                final OPFMarker marker = addedMarkers.get(i);
+                final OPFCluster<T> cluster = addedClusters.get(i);
+                newDisplayedMarkers.put(cluster, marker);
+                clustersByMarkerId.put(marker.getId(), cluster);
+            }
+        }
+
+        displayedMarkers = newDisplayedMarkers;
+    }
+
+    /**
+     * Callback interface for when a cluster of two or more items is clicked.
+     */
+    public interface OnClusterClickListener<T extends OPFClusterItem> {
+
+        /**
+         * Called when a cluster has been clicked.
+         *
+         * @param cluster The cluster that was clicked.
+         * @return {@code true} if the listener has consumed the event, {@code false} otherwise.
+         */
+        boolean onClusterClick(@NonNull final OPFCluster<T> cluster);
+    }
+
+    /**
+     * Callback interface for when a single item marker is clicked.
+     */
+    public interface OnClusterItemClickListener<T extends OPFClusterItem> {
+
+        /**
+         * Called when an item has been clicked.
+         *
+         * @param item The item that was clicked.
+         * @return {@code true} if the listener has consumed the event, {@code false} otherwise.
+         */
+        boolean onClusterItemClick(@NonNull final T item);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFMarkerOptions;
+
+/**
+ * Creates the options of the markers which {@link OPFClusterManager} adds to the map.
+ */
+public interface OPFClusterRenderer<T extends OPFClusterItem> {
+
+    /**
+     * Creates the options of a marker which represents a single item.
+     *
+     * @param item The item.
+     * @return The options of the item marker.
+     */
+    @NonNull
+    OPFMarkerOptions createItemMarkerOptions(@NonNull final T item);
+
+    /**
+     * Creates the options of a marker which represents a cluster of two or more items.
+     *
+     * @param cluster The cluster.
+     * @return The options of the cluster marker.
+     */
+    @NonNull
+    OPFMarkerOptions createClusterMarkerOptions(@NonNull final OPFCluster<T> cluster);
+}
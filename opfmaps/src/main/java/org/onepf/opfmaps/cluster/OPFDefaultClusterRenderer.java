@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFBitmapDescriptorFactory;
+import org.onepf.opfmaps.model.OPFMarkerOptions;
+
+/**
+ * Renders items as default markers and clusters as azure default markers titled with the cluster size.
+ */
+public class OPFDefaultClusterRenderer<T extends OPFClusterItem> implements OPFClusterRenderer<T> {
+
+    @NonNull
+    @Override
+    public OPFMarkerOptions createItemMarkerOptions(@NonNull final T item) {
+        return new OPFMarkerOptions().position(item.getPosition());
+    }
+
+    @NonNull
+    @Override
+    public OPFMarkerOptions createClusterMarkerOptions(@NonNull final OPFCluster<T> cluster) {
+        return new OPFMarkerOptions()
+                .position(cluster.getPosition())
+                .title(String.valueOf(cluster.getSize()))
+                .icon(OPFBitmapDescriptorFactory.defaultMarker(OPFBitmapDescriptorFactory.HUE_AZURE));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups items which fall into the same square cell of a grid laid over the Web Mercator world map of the zoom level.
+ * The grid is measured in the pixels of 256x256 tiles, so the clusters look the same on every map provider.
+ * <p/>
+ * The algorithm is linear in the number of items.
+ */
+public final class OPFGridClusterAlgorithm<T extends OPFClusterItem> implements OPFClusterAlgorithm<T> {
+
+    private static final int DEFAULT_GRID_SIZE = 100;
+    private static final int DEFAULT_MAX_CLUSTER_ZOOM = 20;
+
+    private static final double TILE_SIZE = 256.0;
+    private static final double FULL_CIRCLE = 360.0;
+    private static final double MAX_SIN_LATITUDE = 0.9999;
+
+    private final int gridSize;
+    private final int maxClusterZoom;
+
+    /**
+     * Creates the algorithm with 100 pixels cells which doesn't cluster items above the 20th zoom level.
+     */
+    public OPFGridClusterAlgorithm() {
+        this(DEFAULT_GRID_SIZE, DEFAULT_MAX_CLUSTER_ZOOM);
+    }
+
+    /**
+     * Creates the algorithm.
+     *
+     * @param gridSize       The size of the grid cell in 256x256 tile pixels.
+     * @param maxClusterZoom The maximum zoom level where items are clustered. Every item is shown separately above it.
+     * @throws IllegalArgumentException if {@code gridSize} isn't positive.
+     */
+    public OPFGridClusterAlgorithm(final int gridSize, final int maxClusterZoom) {
+        if (gridSize <= 0) {
+            throw new IllegalArgumentException("Grid size must be positive: " + gridSize);
+        }
+        this.gridSize = gridSize;
+        this.maxClusterZoom = maxClusterZoom;
+    }
+
+    @NonNull
+    @Override
+    public List<OPFCluster<T>> getClusters(@NonNull final Collection<T> items, final int zoom) {
+        final List<OPFCluster<T>> clusters = new ArrayList<>();
+        if (zoom > maxClusterZoom) {
+            for (T item : items) {
+                final List<T> clusterItems = new ArrayList<>(1);
+                clusterItems.add(item);
+                clusters.add(new StaticCluster<>(item.getPosition(), clusterItems));
+            }
+            return clusters;
+        }
+
+        final double worldSize = TILE_SIZE * Math.pow(2, zoom);
+        final long cellsCount = (long) Math.ceil(worldSize / gridSize);
+        final Map<Long, List<T>> cells = new LinkedHashMap<>();
+        for (T item : items) {
+            final OPFLatLng position = item.getPosition();
+            final long cellX = (long) (toWorldX(position.getLng(), worldSize) / gridSize);
+            final long cellY = (long) (toWorldY(position.getLat(), worldSize) / gridSize);
+            final Long key = cellX * cellsCount + cellY;
+
+            List<T> cellItems = cells.get(key);
+            if (cellItems == null) {
+                cellItems = new ArrayList<>();
+                cells.put(key, cellItems);
+            }
+            cellItems.add(item);
+        }
+
+        for (List<T> cellItems : cells.values()) {
+            clusters.add(new StaticCluster<>(getCenter(cellItems), cellItems));
+        }
+        return clusters;
+    }
+
+    @NonNull
+    private static <T extends OPFClusterItem> OPFLatLng getCenter(@NonNull final List<T> items) {
+        if (items.size() == 1) {
+            return items.get(0).getPosition();
+        }
+
+        double latSum = 0;
+        double lngSum = 0;
+        for (T item : items) {
+            final OPFLatLng position = item.getPosition();
+            latSum += position.getLat();
+            lngSum += position.getLng();
+        }
+        return new OPFLatLng(latSum / items.size(), lngSum / items.size());
+    }
+
+    private static double toWorldX(final double lng, final double worldSize) {
+        return (lng / FULL_CIRCLE + 0.5) * worldSize;
+    }
+
+    private static double toWorldY(final double lat, final double worldSize) {
+        final double sinLat = Math.max(-MAX_SIN_LATITUDE, Math.min(MAX_SIN_LATITUDE, Math.sin(Math.toRadians(lat))));
+        return (0.5 - Math.log((1 + sinLat) / (1 - sinLat)) / (4 * Math.PI)) * worldSize;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.cluster;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable cluster. Two clusters are equal if they are rendered the same way:
+ * a single item cluster is identified by its item, a bigger one by its position and size.
+ * It lets {@link OPFClusterManager} keep the markers of the clusters which didn't change between zoom levels.
+ */
+final class StaticCluster<T extends OPFClusterItem> implements OPFCluster<T> {
+
+    @NonNull
+    private final OPFLatLng position;
+    @NonNull
+    private final List<T> items;
+
+    StaticCluster(@NonNull final OPFLatLng position, @NonNull final List<T> items) {
+        this.position = position;
+        this.items = Collections.unmodifiableList(items);
+    }
+
+    @NonNull
+    @Override
+    public OPFLatLng getPosition() {
+        return position;
+    }
+
+    @NonNull
+    @Override
+    public Collection<T> getItems() {
+        return items;
+    }
+
+    @Override
+    public int getSize() {
+        return items.size();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof StaticCluster)) {
+            return false;
+        } else {
+            final StaticCluster cluster = (StaticCluster) other;
+            if (items.size() != cluster.items.size()) {
+                return false;
+            }
+            if (items.size() == 1) {
+                return items.get(0).equals(cluster.items.get(0));
+            }
+            return position.equals(cluster.position);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        if (items.size() == 1) {
+            return items.get(0).hashCode();
+        }
+        return 31 * position.hashCode() + items.size();
+    }
+
+    @Override
+    public String toString() {
+        return "StaticCluster{"
+                + "position=" + position
+                + ", size=" + items.size()
+                + '}';
+    }
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.culling;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.listener.OPFOnCameraChangeListener;
+import org.onepf.opfmaps.model.OPFCameraPosition;
+import org.onepf.opfmaps.model.OPFCircle;
+import org.onepf.opfmaps.model.OPFCircleOptions;
+import org.onepf.opfmaps.model.OPFGroundOverlay;
+import org.onepf.opfmaps.model.OPFGroundOverlayOptions;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFMarker;
+import org.onepf.opfmaps.model.OPFMarkerOptions;
+import org.onepf.opfmaps.model.OPFPolygon;
+import org.onepf.opfmaps.model.OPFPolygonOptions;
+import org.onepf.opfmaps.model.OPFPolyline;
+import org.onepf.opfmaps.model.OPFPolylineOptions;
+import org.onepf.opfmaps.utils.LatLngQuadTree;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps on the map only the overlays which are inside the visible region extended by a margin.
+ * <p/>
+ * The application registers logical overlays as options objects. The manager indexes their bounds and,
+ * when the camera moves, adds the overlays which came into the extended region and removes the ones which left it.
+ * Markers, polylines and polygons are added in batches. This way the map provider renders and hit-tests
+ * only a small part of a big data set.
+ * <p/>
+ * The manager must be set as the camera change listener of the map:
+ * <pre>
+ * map.setOnCameraChangeListener(cullingManager);
+ * </pre>
+ * Options are identified by reference and must not be changed while they are registered.
+ * All methods must be called from the main thread.
+ */
+public class OPFCullingManager implements OPFOnCameraChangeListener {
+
+    private static final float DEFAULT_MARGIN = 0.25f;
+
+    private static final double MAX_LATITUDE = 90;
+    private static final double MAX_LONGITUDE = 180;
+    private static final double FULL_CIRCLE = 360;
+
+    @NonNull
+    private final OPFMap map;
+
+    @NonNull
+    private final LatLngQuadTree<OverlayEntry> tree = new LatLngQuadTree<>();
+    @NonNull
+    private final Map<Object, OverlayEntry> entriesByOptions = new IdentityHashMap<>();
+    @NonNull
+    private final Map<Object, OverlayEntry> entriesByOverlay = new HashMap<>();
+    @NonNull
+    private Set<OverlayEntry> materializedEntries = new HashSet<>();
+
+    private float margin = DEFAULT_MARGIN;
+
+    /**
+     * Creates the manager.
+     *
+     * @param map The map.
+     */
+    public OPFCullingManager(@NonNull final OPFMap map) {
+        this.map = map;
+    }
+
+    /**
+     * Sets the margin added to each side of the visible region, as a fraction of the visible region size.
+     * A bigger margin makes panning smoother at the cost of more overlays on the map. The default value is 0.25.
+     *
+     * @param margin The margin, must be zero or greater.
+     * @throws IllegalArgumentException if {@code margin} is negative.
+     */
+    public void setMargin(final float margin) {
+        if (margin < 0) {
+            throw new IllegalArgumentException("Margin must be zero or greater: " + margin);
+        }
+        this.margin = margin;
+    }
+
+    /**
+     * Registers a logical marker. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the marker. The position must be set.
+     */
+    @MainThread
+    public void addMarker(@NonNull final OPFMarkerOptions options) {
+        final OPFLatLng position = options.getPosition();
+        if (position == null) {
+            throw new IllegalArgumentException("Marker position must be set");
+        }
+        tree.putPoint(createEntry(options), position);
+    }
+
+    /**
+     * Registers logical markers. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the markers. The positions must be set.
+     */
+    @MainThread
+    public void addMarkers(@NonNull final List<OPFMarkerOptions> options) {
+        for (OPFMarkerOptions markerOptions : options) {
+            addMarker(markerOptions);
+        }
+    }
+
+    /**
+     * Registers a logical polyline. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the polyline.
+     */
+    @MainThread
+    public void addPolyline(@NonNull final OPFPolylineOptions options) {
+        tree.putPoints(createEntry(options), options.getPointSequence());
+    }
+
+    /**
+     * Registers a logical polygon. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the polygon.
+     */
+    @MainThread
+    public void addPolygon(@NonNull final OPFPolygonOptions options) {
+        tree.putPoints(createEntry(options), options.getPointSequence());
+    }
+
+    /**
+     * Registers a logical circle. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the circle. The center must be set.
+     */
+    @MainThread
+    public void addCircle(@NonNull final OPFCircleOptions options) {
+        final OPFLatLng center = options.getCenter();
+        if (center == null) {
+            throw new IllegalArgumentException("Circle center must be set");
+        }
+        tree.putCircle(createEntry(options), center, options.getRadius());
+    }
+
+    /**
+     * Registers a logical ground overlay. Call {@link #refresh()} to show the changes.
+     *
+     * @param options The options of the ground overlay. The bounds or the location must be set.
+     */
+    @MainThread
+    public void addGroundOverlay(@NonNull final OPFGroundOverlayOptions options) {
+        final OPFLatLngBounds bounds = options.getBounds();
+        final OPFLatLng location = options.getLocation();
+        if (bounds != null) {
+            tree.putBounds(createEntry(options), bounds);
+        } else if (location != null) {
+            tree.putPoint(createEntry(options), location);
+        } else {
+            throw new IllegalArgumentException("Ground overlay position must be set");
+        }
+    }
+
+    /**
+     * Unregisters a logical overlay and removes it from the map if it's shown.
+     *
+     * @param options The options the overlay was registered with.
+     * @return {@code true} if the overlay was registered, {@code false} otherwise.
+     */
+    @MainThread
+    public boolean remove(@NonNull final Object options) {
+        final OverlayEntry entry = entriesByOptions.remove(options);
+        if (entry == null) {
+            return false;
+        }
+
+        tree.remove(entry);
+        if (materializedEntries.remove(entry)) {
+            removeOverlay(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Unregisters all logical overlays and removes them from the map.
+     */
+    @MainThread
+    public void clear() {
+        for (OverlayEntry entry : materializedEntries) {
+            removeOverlay(entry);
+        }
+        materializedEntries.clear();
+        entriesByOptions.clear();
+        tree.clear();
+    }
+
+    /**
+     * Returns the number of the registered logical overlays.
+     *
+     * @return The number of the registered overlays.
+     */
+    public int size() {
+        return entriesByOptions.size();
+    }
+
+    /**
+     * Returns the options of a shown overlay, e.g. of a clicked marker.
+     *
+     * @param overlay The overlay on the map.
+     * @return The options the overlay was registered with or {@code null} if the overlay isn't managed.
+     */
+    @Nullable
+    public Object getOptions(@NonNull final Object overlay) {
+        final OverlayEntry entry = entriesByOverlay.get(overlay);
+        return entry == null ? null : entry.options;
+    }
+
+    /**
+     * Shows the overlays inside the extended visible region and removes the rest from the map.
+     */
+    @MainThread
+    public void refresh() {
+        final OPFLatLngBounds visibleBounds = map.getProjection().getVisibleRegion().getLatLngBounds();
+        final OPFLatLng southwest = visibleBounds.getSouthwest();
+        final OPFLatLng northeast = visibleBounds.getNortheast();
+
+        final double latMargin = (northeast.getLat() - southwest.getLat()) * margin;
+        final double south = Math.max(-MAX_LATITUDE, southwest.getLat() - latMargin);
+        final double north = Math.min(MAX_LATITUDE, northeast.getLat() + latMargin);
+
+        double lngSpan = northeast.getLng() - southwest.getLng();
+        if (lngSpan < 0) {
+            lngSpan += FULL_CIRCLE;
+        }
+        final double lngMargin = lngSpan * margin;
+        final List<OverlayEntry> visibleEntries;
+        if (lngSpan + 2 * lngMargin >= FULL_CIRCLE) {
+            visibleEntries = tree.query(south, -MAX_LONGITUDE, north, MAX_LONGITUDE);
+        } else {
+            visibleEntries = tree.query(south, normalizeLongitude(southwest.getLng() - lngMargin),
+                    north, normalizeLongitude(northeast.getLng() + lngMargin));
+        }
+
+        updateOverlays(visibleEntries);
+    }
+
+    @MainThread
+    @Override
+    public void onCameraChange(@NonNull final OPFCameraPosition position) {
+        refresh();
+    }
+
+    @NonNull
+    private OverlayEntry createEntry(@NonNull final Object options) {
+        remove(options);
+        final OverlayEntry entry = new OverlayEntry(options);
+        entriesByOptions.put(options, entry);
+        return entry;
+    }
+
+    private void updateOverlays(@NonNull final List<OverlayEntry> visibleEntries) {
+        final Set<OverlayEntry> newMaterializedEntries = new HashSet<>(visibleEntries);
+        for (OverlayEntry entry : materializedEntries) {
+            if (!newMaterializedEntries.contains(entry)) {
+                removeOverlay(entry);
+            }
+        }
+
+        final List<OverlayEntry> markerEntries = new ArrayList<>();
+        final List<OPFMarkerOptions> markerOptions = new ArrayList<>();
+        final List<OverlayEntry> polylineEntries = new ArrayList<>();
+        final List<OPFPolylineOptions> polylineOptions = new ArrayList<>();
+        final List<OverlayEntry> polygonEntries = new ArrayList<>();
+        final List<OPFPolygonOptions> polygonOptions = new ArrayList<>();
+        for (OverlayEntry entry : visibleEntries) {
+            if (entry.overlay != null) {
+                continue;
+            }
+
+            final Object options = entry.options;
+            if (options instanceof OPFMarkerOptions) {
+                markerEntries.add(entry);
+                markerOptions.add((OPFMarkerOptions) options);
+            } else if (options instanceof OPFPolylineOptions) {
+                polylineEntries.add(entry);
+                polylineOptions.add((OPFPolylineOptions) options);
+            } else if (options instanceof OPFPolygonOptions) {
+                polygonEntries.add(entry);
+                polygonOptions.add((OPFPolygonOptions) options);
+            } else if (options instanceof OPFCircleOptions) {
+                setOverlay(entry, map.addCircle((OPFCircleOptions) options));
+            } else if (options instanceof OPFGroundOverlayOptions) {
+                setOverlay(entry, map.addGroundOverlay((OPFGroundOverlayOptions) options));
+            }
+        }
+
+        if (!markerOptions.isEmpty()) {
+            setOverlays(markerEntries, map.addMarkers(markerOptions));
+        }
+        if (!polylineOptions.isEmpty()) {
+            setOverlays(polylineEntries, map.addPolylines(polylineOptions));
+        }
+        if (!polygonOptions.isEmpty()) {
+            setOverlays(polygonEntries, map.addPolygons(polygonOptions));
+        }
+
+        materializedEntries = newMaterializedEntries;
+    }
+
+    private void setOverlays(@NonNull final List<OverlayEntry> entries, @NonNull final List<?> overlays) {
+        final int size = overlays.size();
+        for (int i = 0; i < size; i++) {
+            setOverlay(entries.get(i), overlays.get(i));
+        }
+    }
+
+    private void setOverlay(@NonNull final OverlayEntry entry, @NonNull final Object overlay) {
+        entry.overlay = overlay;
+        entriesByOverlay.put(overlay, entry);
+    }
+
+    private void removeOverlay(@NonNull final OverlayEntry entry) {
+        final Object overlay = entry.overlay;
+        if (overlay == null) {
+            return;
+        }
+
+        if (overlay instanceof OPFMarker) {
+            ((OPFMarker) overlay).remove();
+        } else if (overlay instanceof OPFPolyline) {
+            ((OPFPolyline) overlay).remove();
+        } else if (overlay instanceof OPFPolygon) {
+            ((OPFPolygon) overlay).remove();
+        } else if (overlay instanceof OPFCircle) {
+            ((OPFCircle) overlay).remove();
+        } else if (overlay instanceof OPFGroundOverlay) {
+            ((OPFGroundOverlay) overlay).remove();
+        }
+        entriesByOverlay.remove(overlay);
+        entry.overlay = null;
+    }
+
+    private static double normalizeLongitude(final double longitude) {
+        if (-MAX_LONGITUDE <= longitude && longitude < MAX_LONGITUDE) {
+            return longitude;
+        }
+        return ((longitude - MAX_LONGITUDE) % FULL_CIRCLE + FULL_CIRCLE) % FULL_CIRCLE - MAX_LONGITUDE;
+    }
+
+    /**
+     * A registered logical overlay. Entries are compared by reference.
+     */
+    private static final class OverlayEntry {
+
+        @NonNull
+        private final Object options;
+
+        @Nullable
+        private Object overlay;
+
+        OverlayEntry(@NonNull final Object options) {
+            this.options = options;
+        }
+    }
+}
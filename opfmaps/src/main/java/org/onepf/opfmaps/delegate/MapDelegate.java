@@ -51,6 +51,8 @@ import org.onepf.opfmaps.model.OPFTileOverlay;
 import org.onepf.opfmaps.model.OPFTileOverlayOptions;
 import org.onepf.opfmaps.model.OPFUiSettings;
 
+import java.util.List;
+
 /**
  * @author Roman Savin
  * @since 29.07.2015
@@ -66,12 +68,21 @@ public interface MapDelegate {
     @NonNull
     OPFMarker addMarker(@NonNull final OPFMarkerOptions options);
 
+    @NonNull
+    List<OPFMarker> addMarkers(@NonNull final List<OPFMarkerOptions> options);
+
     @NonNull
     OPFPolygon addPolygon(@NonNull final OPFPolygonOptions options);
 
+    @NonNull
+    List<OPFPolygon> addPolygons(@NonNull final List<OPFPolygonOptions> options);
+
     @NonNull
     OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options);
 
+    @NonNull
+    List<OPFPolyline> addPolylines(@NonNull final List<OPFPolylineOptions> options);
+
     @NonNull
     OPFTileOverlay addTileOverlay(@NonNull final OPFTileOverlayOptions options);
 
@@ -83,8 +94,12 @@ public interface MapDelegate {
 
     void animateCamera(@NonNull final OPFCameraUpdate update);
 
+    void beginBatchUpdate();
+
     void clear();
 
+    void endBatchUpdate();
+
     @NonNull
     OPFCameraPosition getCameraPosition();
 
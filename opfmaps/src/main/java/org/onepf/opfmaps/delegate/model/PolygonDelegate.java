@@ -19,6 +19,7 @@ package org.onepf.opfmaps.delegate.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.List;
 
@@ -59,6 +60,8 @@ public interface PolygonDelegate {
 
     void setPoints(@NonNull final List<OPFLatLng> points);
 
+    void setPoints(@NonNull final OPFLatLngSequence points);
+
     void setStrokeColor(final int color);
 
     void setStrokeWidth(final float width);
@@ -19,6 +19,7 @@ package org.onepf.opfmaps.delegate.model;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.List;
 
@@ -37,9 +38,15 @@ public interface PolygonOptionsDelegate extends Parcelable {
     @NonNull
     PolygonOptionsDelegate addAll(@NonNull final Iterable<OPFLatLng> points);
 
+    @NonNull
+    PolygonOptionsDelegate addAll(@NonNull final OPFLatLngSequence points);
+
     @NonNull
     PolygonOptionsDelegate addHole(@NonNull final Iterable<OPFLatLng> points);
 
+    @NonNull
+    PolygonOptionsDelegate addHole(@NonNull final OPFLatLngSequence points);
+
     @NonNull
     PolygonOptionsDelegate fillColor(final int color);
 
@@ -51,9 +58,15 @@ public interface PolygonOptionsDelegate extends Parcelable {
     @NonNull
     List<List<OPFLatLng>> getHoles();
 
+    @NonNull
+    List<OPFLatLngSequence> getHoleSequences();
+
     @NonNull
     List<OPFLatLng> getPoints();
 
+    @NonNull
+    OPFLatLngSequence getPointSequence();
+
     int getStrokeColor();
 
     float getStrokeWidth();
@@ -19,6 +19,7 @@ package org.onepf.opfmaps.delegate.model;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.List;
 
@@ -52,6 +53,8 @@ public interface PolylineDelegate {
 
     void setPoints(@NonNull final List<OPFLatLng> points);
 
+    void setPoints(@NonNull final OPFLatLngSequence points);
+
     void setVisible(final boolean visible);
 
     void setWidth(final float width);
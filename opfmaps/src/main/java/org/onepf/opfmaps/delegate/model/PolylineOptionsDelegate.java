@@ -19,6 +19,7 @@ package org.onepf.opfmaps.delegate.model;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
 
 import java.util.List;
 
@@ -37,6 +38,9 @@ public interface PolylineOptionsDelegate extends Parcelable {
     @NonNull
     PolylineOptionsDelegate addAll(@NonNull final Iterable<OPFLatLng> points);
 
+    @NonNull
+    PolylineOptionsDelegate addAll(@NonNull final OPFLatLngSequence points);
+
     @NonNull
     PolylineOptionsDelegate color(final int color);
 
@@ -48,6 +52,9 @@ public interface PolylineOptionsDelegate extends Parcelable {
     @NonNull
     List<OPFLatLng> getPoints();
 
+    @NonNull
+    OPFLatLngSequence getPointSequence();
+
     float getWidth();
 
     float getZIndex();
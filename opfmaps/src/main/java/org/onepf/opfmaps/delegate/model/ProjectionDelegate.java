@@ -36,4 +36,8 @@ public interface ProjectionDelegate {
 
     @NonNull
     Point toScreenLocation(@NonNull final OPFLatLng location);
+
+    void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY);
+
+    void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs);
 }
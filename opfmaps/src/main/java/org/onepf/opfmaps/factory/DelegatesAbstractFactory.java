@@ -24,13 +24,8 @@ import org.onepf.opfmaps.delegate.MapViewDelegate;
 import org.onepf.opfmaps.delegate.model.BitmapDescriptorFactoryDelegate;
 import org.onepf.opfmaps.delegate.model.CameraPositionDelegate;
 import org.onepf.opfmaps.delegate.model.CameraUpdateFactoryDelegate;
-import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.GroundOverlayOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
-import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 import org.onepf.opfmaps.delegate.model.MarkerOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
-import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.TileDelegate;
 import org.onepf.opfmaps.delegate.model.TileOverlayOptionsDelegate;
 import org.onepf.opfmaps.delegate.model.UrlTileProviderDelegate;
@@ -52,31 +47,12 @@ public interface DelegatesAbstractFactory {
     @NonNull
     MapViewDelegate createMapViewDelegate(@NonNull final Context context, @NonNull final OPFMapOptions mapOptions);
 
-    @NonNull
-    CircleOptionsDelegate createCircleOptionsDelegate();
-
     @NonNull
     GroundOverlayOptionsDelegate createGroundOverlayOptionsDelegate();
 
-    @NonNull
-    LatLngDelegate createLatLngDelegate(final double latitude, final double longitude);
-
-    @NonNull
-    LatLngBoundsDelegate createLatLngBoundsDelegate(@NonNull final OPFLatLng southwest,
-                                                    @NonNull final OPFLatLng northeast);
-
-    @NonNull
-    LatLngBoundsDelegate.Builder createLatLngBoundsBuilderDelegate();
-
     @NonNull
     MarkerOptionsDelegate createMarkerOptionsDelegate();
 
-    @NonNull
-    PolygonOptionsDelegate createPolygonOptionsDelegate();
-
-    @NonNull
-    PolylineOptionsDelegate createPolylineOptionsDelegate();
-
     @NonNull
     TileDelegate createTileDelegate(final int width, final int height, @NonNull final byte[] data);
 
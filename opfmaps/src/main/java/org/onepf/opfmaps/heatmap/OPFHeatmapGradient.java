@@ -0,0 +1,172 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.heatmap;
+
+import android.graphics.Color;
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * The colors of a heatmap. Colors are specified for increasing intensities, as fractions of the maximum intensity,
+ * and are linearly interpolated between them. Intensities below the first start point fade to transparent.
+ */
+public final class OPFHeatmapGradient {
+
+    private static final int DEFAULT_COLOR_MAP_SIZE = 1000;
+
+    private static final int[] DEFAULT_COLORS = {
+            Color.argb(255, 102, 225, 0),
+            Color.argb(255, 255, 0, 0)
+    };
+    private static final float[] DEFAULT_START_POINTS = {0.2f, 1.0f};
+
+    @NonNull
+    private final int[] colors;
+    @NonNull
+    private final float[] startPoints;
+    private final int colorMapSize;
+
+    /**
+     * Creates the default gradient from green to red.
+     *
+     * @return The default gradient.
+     */
+    @NonNull
+    public static OPFHeatmapGradient createDefault() {
+        return new OPFHeatmapGradient(DEFAULT_COLORS, DEFAULT_START_POINTS);
+    }
+
+    /**
+     * Creates a gradient.
+     *
+     * @param colors      The colors in ARGB format.
+     * @param startPoints The intensities where the colors start, in increasing order in the range (0, 1].
+     * @throws IllegalArgumentException if the arrays are empty, have different lengths or the start points aren't increasing.
+     */
+    public OPFHeatmapGradient(@NonNull final int[] colors, @NonNull final float[] startPoints) {
+        this(colors, startPoints, DEFAULT_COLOR_MAP_SIZE);
+    }
+
+    /**
+     * Creates a gradient.
+     *
+     * @param colors       The colors in ARGB format.
+     * @param startPoints  The intensities where the colors start, in increasing order in the range (0, 1].
+     * @param colorMapSize The number of the precomputed colors.
+     * @throws IllegalArgumentException if the arrays are empty, have different lengths or the start points aren't increasing.
+     */
+    public OPFHeatmapGradient(@NonNull final int[] colors, @NonNull final float[] startPoints, final int colorMapSize) {
+        if (colors.length == 0 || colors.length != startPoints.length) {
+            throw new IllegalArgumentException("Colors and start points must be non-empty arrays of the same length");
+        }
+        for (int i = 0; i < startPoints.length; i++) {
+            if (startPoints[i] <= 0 || startPoints[i] > 1 || i > 0 && startPoints[i] <= startPoints[i - 1]) {
+                throw new IllegalArgumentException("Start points must be increasing in the range (0, 1]");
+            }
+        }
+        if (colorMapSize <= 1) {
+            throw new IllegalArgumentException("Color map size must be greater than 1: " + colorMapSize);
+        }
+        this.colors = colors.clone();
+        this.startPoints = startPoints.clone();
+        this.colorMapSize = colorMapSize;
+    }
+
+    @NonNull
+    public int[] getColors() {
+        return colors.clone();
+    }
+
+    @NonNull
+    public float[] getStartPoints() {
+        return startPoints.clone();
+    }
+
+    /**
+     * Computes the lookup table of colors, index {@code i} is the color of the intensity {@code i / (size - 1)}.
+     *
+     * @param opacity The opacity multiplied by the alpha of every color, in the range [0, 1].
+     * @return The array of colors in ARGB format.
+     */
+    @NonNull
+    int[] generateColorMap(final double opacity) {
+        final int[] colorMap = new int[colorMapSize];
+        int segment = 0;
+        for (int i = 0; i < colorMapSize; i++) {
+            final float fraction = (float) i / (colorMapSize - 1);
+            while (segment < startPoints.length && fraction > startPoints[segment]) {
+                segment++;
+            }
+
+            final int color;
+            if (segment == 0) {
+                // fade in the first color
+                final int first = colors[0];
+                color = Color.argb((int) (Color.alpha(first) * fraction / startPoints[0]),
+                        Color.red(first), Color.green(first), Color.blue(first));
+            } else if (segment == startPoints.length) {
+                color = colors[colors.length - 1];
+            } else {
+                final float start = startPoints[segment - 1];
+                color = interpolate(colors[segment - 1], colors[segment],
+                        (fraction - start) / (startPoints[segment] - start));
+            }
+            colorMap[i] = Color.argb((int) (Color.alpha(color) * opacity),
+                    Color.red(color), Color.green(color), Color.blue(color));
+        }
+        return colorMap;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFHeatmapGradient)) {
+            return false;
+        } else {
+            final OPFHeatmapGradient gradient = (OPFHeatmapGradient) other;
+            return colorMapSize == gradient.colorMapSize
+                    && Arrays.equals(colors, gradient.colors)
+                    && Arrays.equals(startPoints, gradient.startPoints);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(colors);
+        result = 31 * result + Arrays.hashCode(startPoints);
+        return 31 * result + colorMapSize;
+    }
+
+    @Override
+    public String toString() {
+        return "OPFHeatmapGradient{"
+                + "colors=" + Arrays.toString(colors)
+                + ", startPoints=" + Arrays.toString(startPoints)
+                + ", colorMapSize=" + colorMapSize
+                + '}';
+    }
+
+    private static int interpolate(final int from, final int to, final float ratio) {
+        return Color.argb(
+                (int) (Color.alpha(from) + (Color.alpha(to) - Color.alpha(from)) * ratio),
+                (int) (Color.red(from) + (Color.red(to) - Color.red(from)) * ratio),
+                (int) (Color.green(from) + (Color.green(to) - Color.green(from)) * ratio),
+                (int) (Color.blue(from) + (Color.blue(to) - Color.blue(from)) * ratio));
+    }
+}
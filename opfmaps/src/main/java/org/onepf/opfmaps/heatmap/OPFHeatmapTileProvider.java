@@ -0,0 +1,522 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.heatmap;
+
+import android.graphics.Bitmap;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.util.LruCache;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfmaps.model.OPFTileProvider;
+import org.onepf.opfutils.OPFLog;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A tile provider which draws a heatmap of weighted points. Use it with
+ * {@link org.onepf.opfmaps.model.OPFTileOverlayOptions#tileProvider(OPFTileProvider)}.
+ * <p/>
+ * Every tile is drawn with a kernel density pass: the intensities of the points are accumulated into a pixel grid
+ * and blurred with a Gaussian kernel of the given radius, then mapped to the colors of an {@link OPFHeatmapGradient}.
+ * The points are kept sorted by the Web Mercator x coordinate, so a tile reads only the points of its column.
+ * <p/>
+ * Tiles are drawn on a fixed thread pool. Concurrent requests of the same tile share one drawing
+ * and the drawn tiles are kept in a memory cache until the data changes.
+ */
+public final class OPFHeatmapTileProvider implements OPFTileProvider {
+
+    public static final int DEFAULT_RADIUS = 20;
+    public static final double DEFAULT_OPACITY = 0.7;
+    public static final int DEFAULT_MAX_CACHE_SIZE = 4 * 1024 * 1024;
+
+    private static final int MIN_RADIUS = 10;
+    private static final int MAX_RADIUS = 50;
+
+    private static final int TILE_SIZE = 256;
+    private static final int MAX_INTENSITY_ZOOM = 11;
+
+    @NonNull
+    private final int[] colorMap;
+    @NonNull
+    private final double[] kernel;
+    private final int radius;
+
+    @NonNull
+    private final ExecutorService executor;
+    @NonNull
+    private final ConcurrentMap<String, Future<OPFTile>> pendingTiles = new ConcurrentHashMap<>();
+    @NonNull
+    private final LruCache<String, OPFTile> tileCache;
+
+    @NonNull
+    private volatile HeatmapData data;
+    @Nullable
+    private volatile OPFTile emptyTile;
+
+    private OPFHeatmapTileProvider(@NonNull final Builder builder) {
+        //noinspection ConstantConditions
+        this.data = new HeatmapData(builder.points);
+        this.radius = builder.radius;
+        this.colorMap = builder.gradient.generateColorMap(builder.opacity);
+        this.kernel = generateKernel(radius);
+        this.executor = Executors.newFixedThreadPool(builder.threadsCount);
+        this.tileCache = new LruCache<String, OPFTile>(builder.maxCacheSize) {
+            @Override
+            protected int sizeOf(final String key, final OPFTile tile) {
+                return tile.getData().length;
+            }
+        };
+    }
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Replaces the points of the heatmap and drops the cached tiles.
+     * Call {@link org.onepf.opfmaps.model.OPFTileOverlay#clearTileCache()} to redraw the overlay.
+     *
+     * @param points The weighted points.
+     */
+    public void setWeightedData(@NonNull final Collection<OPFWeightedLatLng> points) {
+        data = new HeatmapData(points);
+        tileCache.evictAll();
+    }
+
+    /**
+     * Replaces the points of the heatmap with points of intensity 1 and drops the cached tiles.
+     * Call {@link org.onepf.opfmaps.model.OPFTileOverlay#clearTileCache()} to redraw the overlay.
+     *
+     * @param points The points.
+     */
+    public void setData(@NonNull final Collection<OPFLatLng> points) {
+        setWeightedData(toWeightedPoints(points));
+    }
+
+    /**
+     * Stops the drawing threads. The provider returns no tiles after this call.
+     */
+    public void shutdown() {
+        // the queued tasks are never run, cancel them to release the threads waiting for their tiles
+        for (Runnable task : executor.shutdownNow()) {
+            if (task instanceof Future) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+        for (Future<OPFTile> pendingTile : pendingTiles.values()) {
+            pendingTile.cancel(true);
+        }
+        pendingTiles.clear();
+        tileCache.evictAll();
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    public OPFTile getTile(final int x, final int y, final int zoom) {
+        final HeatmapData tileData = data;
+        final String key = zoom + "/" + x + "/" + y;
+        final OPFTile cachedTile = tileCache.get(key);
+        if (cachedTile != null) {
+            return cachedTile;
+        }
+
+        final FutureTask<OPFTile> task = new FutureTask<>(new Callable<OPFTile>() {
+            @Override
+            public OPFTile call() {
+                try {
+                    final OPFTile tile = drawTile(tileData, x, y, zoom);
+                    if (tileData == data) {
+                        tileCache.put(key, tile);
+                    }
+                    return tile;
+                } finally {
+                    pendingTiles.remove(key);
+                }
+            }
+        });
+
+        final Future<OPFTile> pendingTile = pendingTiles.putIfAbsent(key, task);
+        final Future<OPFTile> future;
+        if (pendingTile == null) {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                // the provider has been shut down, release the threads which have joined this task
+                pendingTiles.remove(key, task);
+                task.cancel(false);
+                return null;
+            }
+            future = task;
+        } else {
+            future = pendingTile;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            OPFLog.e(e.getMessage());
+            return null;
+        }
+    }
+
+    @NonNull
+    private OPFTile drawTile(@NonNull final HeatmapData tileData, final int x, final int y, final int zoom) {
+        final double worldSize = TILE_SIZE * Math.pow(2, zoom);
+        final int gridSize = TILE_SIZE + 2 * radius;
+        final double originX = (double) x * TILE_SIZE - radius;
+        final double originY = (double) y * TILE_SIZE - radius;
+
+        // accumulate the intensities of the points of the tile and its margins
+        final double[] grid = new double[gridSize * gridSize];
+        final double[] xs = tileData.xs;
+        final double[] ys = tileData.ys;
+        final double[] intensities = tileData.intensities;
+        boolean isEmpty = true;
+        final int end = lowerBound(xs, (originX + gridSize) / worldSize);
+        for (int i = lowerBound(xs, originX / worldSize); i < end; i++) {
+            final int gridX = (int) (xs[i] * worldSize - originX);
+            final int gridY = (int) (ys[i] * worldSize - originY);
+            if (gridX >= 0 && gridX < gridSize && gridY >= 0 && gridY < gridSize) {
+                grid[gridY * gridSize + gridX] += intensities[i];
+                isEmpty = false;
+            }
+        }
+        if (isEmpty) {
+            return getEmptyTile();
+        }
+
+        // separable Gaussian blur: rows of the whole grid, then columns of the tile
+        final double[] rows = new double[gridSize * TILE_SIZE];
+        for (int gridY = 0; gridY < gridSize; gridY++) {
+            final int rowOffset = gridY * gridSize;
+            for (int gridX = 0; gridX < gridSize; gridX++) {
+                final double value = grid[rowOffset + gridX];
+                if (value == 0) {
+                    continue;
+                }
+                final int from = Math.max(0, gridX - 2 * radius);
+                final int to = Math.min(TILE_SIZE - 1, gridX);
+                for (int tileX = from; tileX <= to; tileX++) {
+                    rows[gridY * TILE_SIZE + tileX] += value * kernel[gridX - tileX];
+                }
+            }
+        }
+
+        final double maxIntensity = tileData.getMaxIntensity(Math.min(zoom, MAX_INTENSITY_ZOOM), radius);
+        final int[] colors = new int[TILE_SIZE * TILE_SIZE];
+        final int maxColorIndex = colorMap.length - 1;
+        for (int tileY = 0; tileY < TILE_SIZE; tileY++) {
+            for (int tileX = 0; tileX < TILE_SIZE; tileX++) {
+                double value = 0;
+                for (int k = 0; k < kernel.length; k++) {
+                    value += rows[(tileY + k) * TILE_SIZE + tileX] * kernel[k];
+                }
+                if (value > 0) {
+                    final int colorIndex = (int) (value / maxIntensity * maxColorIndex);
+                    colors[tileY * TILE_SIZE + tileX] = colorMap[Math.min(colorIndex, maxColorIndex)];
+                }
+            }
+        }
+
+        final Bitmap bitmap = Bitmap.createBitmap(colors, TILE_SIZE, TILE_SIZE, Bitmap.Config.ARGB_8888);
+        return toTile(bitmap);
+    }
+
+    @NonNull
+    private OPFTile getEmptyTile() {
+        OPFTile tile = emptyTile;
+        if (tile == null) {
+            tile = toTile(Bitmap.createBitmap(TILE_SIZE, TILE_SIZE, Bitmap.Config.ARGB_8888));
+            emptyTile = tile;
+        }
+        return tile;
+    }
+
+    @NonNull
+    private static OPFTile toTile(@NonNull final Bitmap bitmap) {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        bitmap.compress(Bitmap.CompressFormat.PNG, 0, stream);
+        bitmap.recycle();
+        return new OPFTile(TILE_SIZE, TILE_SIZE, stream.toByteArray());
+    }
+
+    @NonNull
+    private static double[] generateKernel(final int radius) {
+        final double sigma = radius / 3.0;
+        final double[] kernel = new double[2 * radius + 1];
+        for (int i = -radius; i <= radius; i++) {
+            kernel[i + radius] = Math.exp(-i * i / (2 * sigma * sigma));
+        }
+        return kernel;
+    }
+
+    /**
+     * Returns the index of the first element which is not less than {@code value}.
+     */
+    private static int lowerBound(@NonNull final double[] sortedValues, final double value) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @NonNull
+    private static List<OPFWeightedLatLng> toWeightedPoints(@NonNull final Collection<OPFLatLng> points) {
+        final List<OPFWeightedLatLng> weightedPoints = new ArrayList<>(points.size());
+        for (OPFLatLng point : points) {
+            weightedPoints.add(new OPFWeightedLatLng(point));
+        }
+        return weightedPoints;
+    }
+
+    /**
+     * The points projected to the Web Mercator plane normalized to [0, 1] and sorted by x.
+     */
+    private static final class HeatmapData {
+
+        private static final double MAX_SIN_LATITUDE = 0.9999;
+        private static final double X_KEY_SCALE = Integer.MAX_VALUE;
+        private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+        @NonNull
+        private final double[] xs;
+        @NonNull
+        private final double[] ys;
+        @NonNull
+        private final double[] intensities;
+        @NonNull
+        private final double[] maxIntensities = new double[MAX_INTENSITY_ZOOM + 1];
+
+        HeatmapData(@NonNull final Collection<OPFWeightedLatLng> points) {
+            final int size = points.size();
+            final double[] unsortedXs = new double[size];
+            final double[] unsortedYs = new double[size];
+            final double[] unsortedIntensities = new double[size];
+            final long[] keys = new long[size];
+            int i = 0;
+            for (OPFWeightedLatLng point : points) {
+                final OPFLatLng position = point.getPosition();
+                final double sinLat = Math.max(-MAX_SIN_LATITUDE,
+                        Math.min(MAX_SIN_LATITUDE, Math.sin(Math.toRadians(position.getLat()))));
+                unsortedXs[i] = position.getLng() / 360 + 0.5;
+                unsortedYs[i] = 0.5 - Math.log((1 + sinLat) / (1 - sinLat)) / (4 * Math.PI);
+                unsortedIntensities[i] = point.getIntensity();
+                // the quantized x in the high bits and the index in the low bits: sorting primitives is allocation free
+                keys[i] = (long) (unsortedXs[i] * X_KEY_SCALE) << 32 | i;
+                i++;
+            }
+            Arrays.sort(keys);
+
+            xs = new double[size];
+            ys = new double[size];
+            intensities = new double[size];
+            for (int j = 0; j < size; j++) {
+                final int index = (int) (keys[j] & INDEX_MASK);
+                xs[j] = unsortedXs[index];
+                ys[j] = unsortedYs[index];
+                intensities[j] = unsortedIntensities[index];
+            }
+        }
+
+        /**
+         * Returns the maximum sum of intensities in a square of the radius size, which is the intensity of the last color.
+         */
+        synchronized double getMaxIntensity(final int zoom, final int radius) {
+            if (maxIntensities[zoom] > 0) {
+                return maxIntensities[zoom];
+            }
+
+            final int size = xs.length;
+            final long cellsCount = Math.max(1, (long) (TILE_SIZE * Math.pow(2, zoom) / radius));
+            final long[] cells = new long[size];
+            for (int i = 0; i < size; i++) {
+                final long cellX = Math.min(cellsCount - 1, (long) (xs[i] * cellsCount));
+                final long cellY = Math.min(cellsCount - 1, Math.max(0, (long) (ys[i] * cellsCount)));
+                cells[i] = cellX * cellsCount + cellY;
+            }
+
+            // xs are sorted, so the points of a cell column are contiguous: sum the intensities per cell with a sort
+            final long[] order = new long[size];
+            double maxIntensity = 0;
+            int columnStart = 0;
+            while (columnStart < size) {
+                int columnEnd = columnStart;
+                while (columnEnd < size && cells[columnEnd] / cellsCount == cells[columnStart] / cellsCount) {
+                    columnEnd++;
+                }
+                for (int i = columnStart; i < columnEnd; i++) {
+                    order[i] = (cells[i] % cellsCount) << 32 | i;
+                }
+                Arrays.sort(order, columnStart, columnEnd);
+                double sum = 0;
+                long previousCellY = -1;
+                for (int i = columnStart; i < columnEnd; i++) {
+                    final long cellY = order[i] >>> 32;
+                    if (cellY != previousCellY) {
+                        sum = 0;
+                        previousCellY = cellY;
+                    }
+                    sum += intensities[(int) (order[i] & INDEX_MASK)];
+                    maxIntensity = Math.max(maxIntensity, sum);
+                }
+                columnStart = columnEnd;
+            }
+
+            maxIntensities[zoom] = maxIntensity > 0 ? maxIntensity : 1;
+            return maxIntensities[zoom];
+        }
+    }
+
+    public static final class Builder {
+
+        @Nullable
+        private Collection<OPFWeightedLatLng> points;
+        @NonNull
+        private OPFHeatmapGradient gradient = OPFHeatmapGradient.createDefault();
+        private int radius = DEFAULT_RADIUS;
+        private double opacity = DEFAULT_OPACITY;
+        private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+        private int threadsCount = Runtime.getRuntime().availableProcessors();
+
+        private Builder() {
+            //nothing
+        }
+
+        @NonNull
+        public Builder weightedData(@NonNull final Collection<OPFWeightedLatLng> points) {
+            this.points = points;
+            return this;
+        }
+
+        @NonNull
+        public Builder data(@NonNull final Collection<OPFLatLng> points) {
+            this.points = toWeightedPoints(points);
+            return this;
+        }
+
+        /**
+         * Sets the radius of the Gaussian kernel.
+         *
+         * @param radius The radius in pixels, in the range [10, 50].
+         * @return This builder.
+         */
+        @NonNull
+        public Builder radius(final int radius) {
+            if (radius < MIN_RADIUS || radius > MAX_RADIUS) {
+                throw new IllegalArgumentException("Radius must be in the range [10, 50]: " + radius);
+            }
+            this.radius = radius;
+            return this;
+        }
+
+        @NonNull
+        public Builder gradient(@NonNull final OPFHeatmapGradient gradient) {
+            this.gradient = gradient;
+            return this;
+        }
+
+        /**
+         * Sets the opacity of the heatmap.
+         *
+         * @param opacity The opacity in the range [0, 1].
+         * @return This builder.
+         */
+        @NonNull
+        public Builder opacity(final double opacity) {
+            if (opacity < 0 || opacity > 1) {
+                throw new IllegalArgumentException("Opacity must be in the range [0, 1]: " + opacity);
+            }
+            this.opacity = opacity;
+            return this;
+        }
+
+        /**
+         * Sets the size of the memory cache of the drawn tiles.
+         *
+         * @param maxCacheSize The maximum size of the cached PNG data, in bytes.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder maxCacheSize(final int maxCacheSize) {
+            if (maxCacheSize <= 0) {
+                throw new IllegalArgumentException("Cache size must be positive: " + maxCacheSize);
+            }
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of the drawing threads. The default value is the number of the available processors.
+         *
+         * @param threadsCount The number of threads.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder threadsCount(final int threadsCount) {
+            if (threadsCount <= 0) {
+                throw new IllegalArgumentException("Threads count must be positive: " + threadsCount);
+            }
+            this.threadsCount = threadsCount;
+            return this;
+        }
+
+        /**
+         * Creates the provider.
+         *
+         * @return The created provider.
+         * @throws IllegalStateException if no data has been set.
+         */
+        @NonNull
+        public OPFHeatmapTileProvider build() {
+            if (points == null) {
+                throw new IllegalStateException("No data");
+            }
+            return new OPFHeatmapTileProvider(this);
+        }
+    }
+}
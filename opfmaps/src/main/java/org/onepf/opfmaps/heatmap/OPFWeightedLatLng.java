@@ -0,0 +1,92 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.heatmap;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+
+/**
+ * A point of a heatmap with an intensity.
+ */
+public final class OPFWeightedLatLng {
+
+    private static final double DEFAULT_INTENSITY = 1.0;
+
+    @NonNull
+    private final OPFLatLng position;
+    private final double intensity;
+
+    /**
+     * Creates a point with the default intensity 1.
+     *
+     * @param position The position of the point.
+     */
+    public OPFWeightedLatLng(@NonNull final OPFLatLng position) {
+        this(position, DEFAULT_INTENSITY);
+    }
+
+    /**
+     * Creates a point.
+     *
+     * @param position  The position of the point.
+     * @param intensity The intensity of the point, must be zero or greater.
+     * @throws IllegalArgumentException if {@code intensity} is negative.
+     */
+    public OPFWeightedLatLng(@NonNull final OPFLatLng position, final double intensity) {
+        if (intensity < 0) {
+            throw new IllegalArgumentException("Intensity must be zero or greater: " + intensity);
+        }
+        this.position = position;
+        this.intensity = intensity;
+    }
+
+    @NonNull
+    public OPFLatLng getPosition() {
+        return position;
+    }
+
+    public double getIntensity() {
+        return intensity;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFWeightedLatLng)) {
+            return false;
+        } else {
+            final OPFWeightedLatLng point = (OPFWeightedLatLng) other;
+            return Double.compare(point.intensity, intensity) == 0 && position.equals(point.position);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        final long bits = Double.doubleToLongBits(intensity);
+        return 31 * position.hashCode() + (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "OPFWeightedLatLng{"
+                + "position=" + position
+                + ", intensity=" + intensity
+                + '}';
+    }
+}
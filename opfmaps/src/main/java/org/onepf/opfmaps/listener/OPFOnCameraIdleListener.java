@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.listener;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFCameraPosition;
+
+/**
+ * Interface definition for a callback to be invoked when the camera stops moving.
+ */
+public interface OPFOnCameraIdleListener {
+
+    /**
+     * Called once after a series of camera changes, when the camera hasn't moved for a while.
+     * It's the right place for the heavy work which doesn't need to follow every frame of a gesture or an animation.
+     *
+     * @param position The final {@link OPFCameraPosition}.
+     */
+    void onCameraIdle(@NonNull OPFCameraPosition position);
+}
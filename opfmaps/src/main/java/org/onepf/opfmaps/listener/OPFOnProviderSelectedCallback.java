@@ -0,0 +1,36 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.listener;
+
+import android.support.annotation.NonNull;
+import org.onepf.opfmaps.OPFMapProvider;
+
+/**
+ * Interface definition for a callback to be invoked when {@link org.onepf.opfmaps.OPFMapHelper} has selected
+ * the current map provider.
+ */
+public interface OPFOnProviderSelectedCallback {
+
+    /**
+     * Called on the main thread when the current map provider is set.
+     *
+     * @param provider   The current map provider.
+     * @param durationMs The time spent on the selection in milliseconds.
+     */
+    void onProviderSelected(@NonNull final OPFMapProvider provider, final long durationMs);
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.metrics;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of durations with power-of-two microsecond buckets.
+ * Bucket {@code i} counts durations in [2<sup>i-1</sup>, 2<sup>i</sup>) microseconds, so percentiles are accurate within a factor of 2.
+ */
+public final class OPFLatencyHistogram {
+
+    private static final int BUCKETS_COUNT = 32;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double MICROS_PER_MILLI = TimeUnit.MILLISECONDS.toMicros(1);
+    private static final double MAX_PERCENTILE = 100.0;
+
+    @NonNull
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS_COUNT);
+    @NonNull
+    private final AtomicLong count = new AtomicLong();
+    @NonNull
+    private final AtomicLong totalNanos = new AtomicLong();
+    @NonNull
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    OPFLatencyHistogram() {
+        //nothing
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param durationNanos The duration in nanoseconds.
+     */
+    public void record(final long durationNanos) {
+        final long duration = Math.max(0, durationNanos);
+        final long micros = TimeUnit.NANOSECONDS.toMicros(duration);
+        final int bucket = Math.min(BUCKETS_COUNT - 1, Long.SIZE - Long.numberOfLeadingZeros(micros));
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalNanos.addAndGet(duration);
+
+        long max = maxNanos.get();
+        while (duration > max && !maxNanos.compareAndSet(max, duration)) {
+            max = maxNanos.get();
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public double getMeanMillis() {
+        final long currentCount = count.get();
+        return currentCount == 0 ? 0 : totalNanos.get() / NANOS_PER_MILLI / currentCount;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Returns the upper bound of the bucket containing the percentile.
+     *
+     * @param percentile The percentile in the range [0, 100].
+     * @return The percentile in milliseconds or 0 if nothing is recorded.
+     */
+    public double getPercentileMillis(final double percentile) {
+        if (percentile < 0 || percentile > MAX_PERCENTILE) {
+            throw new IllegalArgumentException("Percentile must be in [0, 100]: " + percentile);
+        }
+
+        final long[] snapshot = new long[BUCKETS_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = (long) Math.ceil(percentile / MAX_PERCENTILE * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] > 0) {
+                if (i == BUCKETS_COUNT - 1) {
+                    //the last bucket is unbounded
+                    return getMaxMillis();
+                }
+                return Math.min((1L << i) / MICROS_PER_MILLI, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "OPFLatencyHistogram{"
+                + "count=" + getCount()
+                + ", mean=" + getMeanMillis()
+                + ", p50=" + getPercentileMillis(50)
+                + ", p99=" + getPercentileMillis(99)
+                + ", max=" + getMaxMillis()
+                + '}';
+    }
+}
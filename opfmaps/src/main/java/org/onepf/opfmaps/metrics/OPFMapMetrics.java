@@ -0,0 +1,336 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.metrics;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.listener.OPFOnMapReadyCallback;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The process-wide registry of counters and latency histograms of the map operations.
+ * It's reachable with {@link OPFMap#getMetrics()}.
+ * <p/>
+ * The library records the names declared in this class, an application can record its own ones.
+ * Metrics can be polled at any time or delivered to a {@link Listener} periodically on the main thread.
+ * Recording costs a few atomic operations and can be switched off with {@link #setEnabled(boolean)}.
+ */
+public final class OPFMapMetrics {
+
+    /**
+     * Histogram of the calls adding overlays to a map.
+     */
+    public static final String OVERLAY_ADD = "overlay.add";
+    /**
+     * Histogram of the calls removing overlays from a map.
+     */
+    public static final String OVERLAY_REMOVE = "overlay.remove";
+    /**
+     * Histogram of the calls changing the geometry of overlays.
+     */
+    public static final String OVERLAY_UPDATE = "overlay.update";
+    /**
+     * Histogram of the calls moving and animating a camera.
+     */
+    public static final String CAMERA_MOVE = "camera.move";
+    /**
+     * Histogram of the camera change, map click and marker click listener calls.
+     */
+    public static final String LISTENER_DISPATCH = "listener.dispatch";
+    /**
+     * Histogram of the time from a {@code getMapAsync} call to the {@code onMapReady} callback.
+     */
+    public static final String MAP_READY = "map.ready";
+    /**
+     * Histogram of the frames of {@link org.onepf.opfmaps.animation.OPFMarkerAnimator}.
+     */
+    public static final String ANIMATION_FRAME = "animation.frame";
+    /**
+     * Histogram of the map provider selections made by {@link org.onepf.opfmaps.OPFMapHelper}.
+     */
+    public static final String PROVIDER_SELECTION = "provider.selection";
+
+    /**
+     * Counter of tiles found in the memory cache.
+     */
+    public static final String TILE_MEMORY_HIT = "tile.memory_hit";
+    /**
+     * Counter of tiles found in the disk cache.
+     */
+    public static final String TILE_DISK_HIT = "tile.disk_hit";
+    /**
+     * Counter of tiles requested from a tile source.
+     */
+    public static final String TILE_MISS = "tile.miss";
+
+    /**
+     * Counter of the scripts sent to a JavaScript map. The scripts queued during a frame are sent as one script.
+     */
+    public static final String BRIDGE_CALLS = "bridge.calls";
+    /**
+     * Counter of the characters of the scripts sent to a JavaScript map, which are ASCII in practice.
+     */
+    public static final String BRIDGE_PAYLOAD_BYTES = "bridge.payload_bytes";
+    /**
+     * Counter of the scripts dropped before reaching a JavaScript map because a newer script replaced them.
+     */
+    public static final String BRIDGE_COLLAPSED_CALLS = "bridge.collapsed_calls";
+
+    private static final class Holder {
+        @SuppressWarnings("PMD.AccessorClassGeneration")
+        public static final OPFMapMetrics INSTANCE = new OPFMapMetrics();
+    }
+
+    @NonNull
+    private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    @NonNull
+    private final ConcurrentMap<String, OPFLatencyHistogram> histograms = new ConcurrentHashMap<>();
+    @NonNull
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    @NonNull
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private volatile boolean isEnabled = true;
+
+    private OPFMapMetrics() {
+        //nothing
+    }
+
+    public static OPFMapMetrics getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.isEnabled = enabled;
+    }
+
+    /**
+     * Adds one to a counter.
+     *
+     * @param name The name of the counter.
+     */
+    public void increment(@NonNull final String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Adds a value to a counter.
+     *
+     * @param name  The name of the counter.
+     * @param delta The value to add.
+     */
+    public void add(@NonNull final String name, final long delta) {
+        if (!isEnabled) {
+            return;
+        }
+
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.addAndGet(delta);
+    }
+
+    /**
+     * Records the time elapsed since a start time to a histogram.
+     *
+     * @param name       The name of the histogram.
+     * @param startNanos The start time from {@link System#nanoTime()}.
+     */
+    public void recordSince(@NonNull final String name, final long startNanos) {
+        record(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a duration to a histogram.
+     *
+     * @param name          The name of the histogram.
+     * @param durationNanos The duration in nanoseconds.
+     */
+    public void record(@NonNull final String name, final long durationNanos) {
+        if (!isEnabled) {
+            return;
+        }
+
+        OPFLatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            final OPFLatencyHistogram newHistogram = new OPFLatencyHistogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        histogram.record(durationNanos);
+    }
+
+    /**
+     * Returns the value of a counter.
+     *
+     * @param name The name of the counter.
+     * @return The value or 0 if nothing is counted.
+     */
+    public long getCounter(@NonNull final String name) {
+        final AtomicLong counter = counters.get(name);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Returns a histogram.
+     *
+     * @param name The name of the histogram.
+     * @return The histogram or {@code null} if nothing is recorded.
+     */
+    @Nullable
+    public OPFLatencyHistogram getHistogram(@NonNull final String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * Returns the values of all counters.
+     *
+     * @return The unmodifiable map of the counter values sorted by the names.
+     */
+    @NonNull
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns all histograms.
+     *
+     * @return The unmodifiable map of the live histograms sorted by the names.
+     */
+    @NonNull
+    public Map<String, OPFLatencyHistogram> getHistograms() {
+        return Collections.unmodifiableMap(new TreeMap<>(histograms));
+    }
+
+    /**
+     * Resets all counters and histograms.
+     */
+    public void reset() {
+        for (AtomicLong counter : counters.values()) {
+            counter.set(0);
+        }
+        for (OPFLatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Subscribes a listener to periodic updates.
+     *
+     * @param listener   The listener.
+     * @param intervalMs The interval between the updates in milliseconds.
+     */
+    @MainThread
+    public void addListener(@NonNull final Listener listener, final long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + intervalMs);
+        }
+        final Subscription subscription = new Subscription(listener, intervalMs);
+        subscriptions.add(subscription);
+        mainHandler.postDelayed(subscription, intervalMs);
+    }
+
+    @MainThread
+    public void removeListener(@NonNull final Listener listener) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.listener == listener) {
+                subscriptions.remove(subscription);
+                mainHandler.removeCallbacks(subscription);
+            }
+        }
+    }
+
+    /**
+     * Wraps a map ready callback to record {@link #MAP_READY}.
+     *
+     * @param callback The callback passed to {@code getMapAsync}.
+     * @return The callback which records the time until the map is ready.
+     */
+    @NonNull
+    public OPFOnMapReadyCallback timeMapReady(@NonNull final OPFOnMapReadyCallback callback) {
+        final long startNanos = System.nanoTime();
+        return new OPFOnMapReadyCallback() {
+            @Override
+            public void onMapReady(@NonNull final OPFMap opfMap) {
+                recordSince(MAP_READY, startNanos);
+                callback.onMapReady(opfMap);
+            }
+        };
+    }
+
+    /**
+     * A subscriber to the metrics.
+     */
+    public interface Listener {
+
+        /**
+         * Called periodically on the main thread.
+         *
+         * @param metrics The metrics.
+         */
+        @MainThread
+        void onMetricsUpdated(@NonNull final OPFMapMetrics metrics);
+    }
+
+    private final class Subscription implements Runnable {
+
+        @NonNull
+        private final Listener listener;
+        private final long intervalMs;
+
+        Subscription(@NonNull final Listener listener, final long intervalMs) {
+            this.listener = listener;
+            this.intervalMs = intervalMs;
+        }
+
+        @Override
+        public void run() {
+            if (!subscriptions.contains(this)) {
+                return;
+            }
+            listener.onMetricsUpdated(OPFMapMetrics.this);
+            mainHandler.postDelayed(this, intervalMs);
+        }
+    }
+}
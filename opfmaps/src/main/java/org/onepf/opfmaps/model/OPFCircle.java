@@ -17,8 +17,10 @@
 package org.onepf.opfmaps.model;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.CircleDelegate;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 /**
  * A circle on the earth's surface (spherical cap).
@@ -31,6 +33,9 @@ public final class OPFCircle implements CircleDelegate {
     @NonNull
     private final CircleDelegate delegate;
 
+    @Nullable
+    OPFOverlayIndex index;
+
     public OPFCircle(@NonNull final CircleDelegate delegate) {
         this.delegate = delegate;
     }
@@ -122,7 +127,12 @@ public final class OPFCircle implements CircleDelegate {
      */
     @Override
     public void remove() {
+        final long startNanos = System.nanoTime();
         delegate.remove();
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_REMOVE, startNanos);
+        if (index != null) {
+            index.onRemoved(this);
+        }
     }
 
     /**
@@ -132,7 +142,12 @@ public final class OPFCircle implements CircleDelegate {
      */
     @Override
     public void setCenter(@NonNull final OPFLatLng center) {
+        final long startNanos = System.nanoTime();
         delegate.setCenter(center);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onCircleChanged(this, center, getRadius());
+        }
     }
 
     /**
@@ -153,7 +168,12 @@ public final class OPFCircle implements CircleDelegate {
      */
     @Override
     public void setRadius(final double radius) {
+        final long startNanos = System.nanoTime();
         delegate.setRadius(radius);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onCircleChanged(this, getCenter(), radius);
+        }
     }
 
     /**
@@ -20,11 +20,13 @@ import android.os.Parcel;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import org.onepf.opfmaps.OPFMapHelper;
 import org.onepf.opfmaps.delegate.model.CircleOptionsDelegate;
 
 /**
  * Defines options for a circle.
+ * <p/>
+ * The options don't depend on the current map provider, so they can be built on any thread.
+ * They are converted to the provider specific options in {@link org.onepf.opfmaps.OPFMap#addCircle(OPFCircleOptions)}.
  *
  * @author Roman Savin
  * @since 29.07.2015
@@ -43,23 +45,34 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
         }
     };
 
-    @NonNull
-    private final CircleOptionsDelegate delegate;
+    private static final int DEFAULT_STROKE_COLOR = 0xff000000;
+    private static final float DEFAULT_STROKE_WIDTH = 10.0f;
+
+    @Nullable
+    private OPFLatLng center;
+
+    private double radius;
+    private int fillColor;
+    private int strokeColor = DEFAULT_STROKE_COLOR;
+    private float strokeWidth = DEFAULT_STROKE_WIDTH;
+    private float zIndex;
+    private boolean isVisible = true;
 
     /**
      * Creates a new set of circle options.
      */
     public OPFCircleOptions() {
-        delegate = OPFMapHelper.getInstance().getDelegatesFactory().createCircleOptionsDelegate();
+        //nothing
     }
 
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     private OPFCircleOptions(@NonNull final Parcel parcel) {
-        try {
-            delegate = parcel.readParcelable(Class.forName(parcel.readString()).getClassLoader());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        this.center = parcel.readParcelable(OPFLatLng.class.getClassLoader());
+        this.radius = parcel.readDouble();
+        this.fillColor = parcel.readInt();
+        this.strokeColor = parcel.readInt();
+        this.strokeWidth = parcel.readFloat();
+        this.zIndex = parcel.readFloat();
+        this.isVisible = parcel.readByte() != 0;
     }
 
     /**
@@ -71,7 +84,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions center(@NonNull final OPFLatLng center) {
-        delegate.center(center);
+        this.center = center;
         return this;
     }
 
@@ -86,7 +99,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions fillColor(final int color) {
-        delegate.fillColor(color);
+        this.fillColor = color;
         return this;
     }
 
@@ -98,7 +111,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @Nullable
     @Override
     public OPFLatLng getCenter() {
-        return delegate.getCenter();
+        return center;
     }
 
     /**
@@ -108,7 +121,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public int getFillColor() {
-        return delegate.getFillColor();
+        return fillColor;
     }
 
     /**
@@ -118,7 +131,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public double getRadius() {
-        return delegate.getRadius();
+        return radius;
     }
 
     /**
@@ -128,7 +141,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public int getStrokeColor() {
-        return delegate.getStrokeColor();
+        return strokeColor;
     }
 
     /**
@@ -138,7 +151,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public float getStrokeWidth() {
-        return delegate.getStrokeWidth();
+        return strokeWidth;
     }
 
     /**
@@ -148,7 +161,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public float getZIndex() {
-        return delegate.getZIndex();
+        return zIndex;
     }
 
     /**
@@ -158,7 +171,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
      */
     @Override
     public boolean isVisible() {
-        return delegate.isVisible();
+        return isVisible;
     }
 
     /**
@@ -170,7 +183,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions radius(final double radius) {
-        delegate.radius(radius);
+        this.radius = radius;
         return this;
     }
 
@@ -184,7 +197,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions strokeColor(final int color) {
-        delegate.strokeColor(color);
+        this.strokeColor = color;
         return this;
     }
 
@@ -198,7 +211,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions strokeWidth(final float width) {
-        delegate.strokeWidth(width);
+        this.strokeWidth = width;
         return this;
     }
 
@@ -211,7 +224,7 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions visible(final boolean visible) {
-        delegate.visible(visible);
+        this.isVisible = visible;
         return this;
     }
 
@@ -225,35 +238,68 @@ public final class OPFCircleOptions implements CircleOptionsDelegate {
     @NonNull
     @Override
     public OPFCircleOptions zIndex(final float zIndex) {
-        delegate.zIndex(zIndex);
+        this.zIndex = zIndex;
         return this;
     }
 
     @Override
     public boolean equals(final Object other) {
-        return other != null
-                && (other == this || other instanceof OPFCircleOptions
-                && delegate.equals(((OPFCircleOptions) other).delegate));
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFCircleOptions)) {
+            return false;
+        } else {
+            final OPFCircleOptions options = (OPFCircleOptions) other;
+            return Double.compare(radius, options.radius) == 0
+                    && fillColor == options.fillColor
+                    && strokeColor == options.strokeColor
+                    && Float.compare(strokeWidth, options.strokeWidth) == 0
+                    && Float.compare(zIndex, options.zIndex) == 0
+                    && isVisible == options.isVisible
+                    && (center == null ? options.center == null : center.equals(options.center));
+        }
     }
 
+    @SuppressWarnings("PMD.NPathComplexity")
     @Override
     public int hashCode() {
-        return delegate.hashCode();
+        final long radiusBits = Double.doubleToLongBits(radius);
+        int result = center != null ? center.hashCode() : 0;
+        result = 31 * result + (int) (radiusBits ^ (radiusBits >>> 32));
+        result = 31 * result + fillColor;
+        result = 31 * result + strokeColor;
+        result = 31 * result + Float.floatToIntBits(strokeWidth);
+        result = 31 * result + Float.floatToIntBits(zIndex);
+        result = 31 * result + (isVisible ? 1 : 0);
+        return result;
     }
 
     @Override
     public String toString() {
-        return delegate.toString();
+        return "OPFCircleOptions{"
+                + "center=" + center
+                + ", radius=" + radius
+                + ", fillColor=" + fillColor
+                + ", strokeColor=" + strokeColor
+                + ", strokeWidth=" + strokeWidth
+                + ", zIndex=" + zIndex
+                + ", isVisible=" + isVisible
+                + '}';
     }
 
     @Override
     public int describeContents() {
-        return delegate.describeContents();
+        return 0;
     }
 
     @Override
     public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeString(delegate.getClass().getCanonicalName());
-        dest.writeParcelable(delegate, flags);
+        dest.writeParcelable(center, flags);
+        dest.writeDouble(radius);
+        dest.writeInt(fillColor);
+        dest.writeInt(strokeColor);
+        dest.writeFloat(strokeWidth);
+        dest.writeFloat(zIndex);
+        dest.writeByte((byte) (isVisible ? 1 : 0));
     }
 }
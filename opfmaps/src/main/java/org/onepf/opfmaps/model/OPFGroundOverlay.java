@@ -17,8 +17,10 @@
 package org.onepf.opfmaps.model;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.GroundOverlayDelegate;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 /**
  * A ground overlay is an image that is fixed to a map.
@@ -31,6 +33,9 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
     @NonNull
     private final GroundOverlayDelegate delegate;
 
+    @Nullable
+    OPFOverlayIndex index;
+
     public OPFGroundOverlay(@NonNull final GroundOverlayDelegate delegate) {
         this.delegate = delegate;
     }
@@ -135,7 +140,12 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
      */
     @Override
     public void remove() {
+        final long startNanos = System.nanoTime();
         delegate.remove();
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_REMOVE, startNanos);
+        if (index != null) {
+            index.onRemoved(this);
+        }
     }
 
     /**
@@ -156,7 +166,12 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
      */
     @Override
     public void setDimensions(final float width) {
+        final long startNanos = System.nanoTime();
         delegate.setDimensions(width);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onBoundsChanged(this, getBounds());
+        }
     }
 
     /**
@@ -167,7 +182,12 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
      */
     @Override
     public void setDimensions(final float width, final float height) {
+        final long startNanos = System.nanoTime();
         delegate.setDimensions(width, height);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onBoundsChanged(this, getBounds());
+        }
     }
 
     /**
@@ -188,7 +208,12 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
      */
     @Override
     public void setPosition(@NonNull final OPFLatLng position) {
+        final long startNanos = System.nanoTime();
         delegate.setPosition(position);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onBoundsChanged(this, getBounds());
+        }
     }
 
     /**
@@ -200,7 +225,12 @@ public final class OPFGroundOverlay implements GroundOverlayDelegate {
      */
     @Override
     public void setPositionFromBounds(@NonNull final OPFLatLngBounds bounds) {
+        final long startNanos = System.nanoTime();
         delegate.setPositionFromBounds(bounds);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onBoundsChanged(this, bounds);
+        }
     }
 
     /**
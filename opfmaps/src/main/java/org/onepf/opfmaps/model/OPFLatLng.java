@@ -19,11 +19,13 @@ package org.onepf.opfmaps.model;
 import android.os.Parcel;
 import android.support.annotation.NonNull;
 
-import org.onepf.opfmaps.OPFMapHelper;
 import org.onepf.opfmaps.delegate.model.LatLngDelegate;
 
 /**
  * An immutable class representing a pair of latitude and longitude coordinates, stored as degrees.
+ * <p/>
+ * This class doesn't depend on the current map provider, so it can be created and used from any thread.
+ * The provider specific representation is created when the point is passed to the map.
  *
  * @author Roman Savin
  * @since 09.06.2015
@@ -42,8 +44,12 @@ public final class OPFLatLng implements LatLngDelegate {
         }
     };
 
-    @NonNull
-    private final LatLngDelegate delegate;
+    private static final double MAX_LATITUDE = 90.0;
+    private static final double MAX_LONGITUDE = 180.0;
+    private static final double FULL_CIRCLE = 360.0;
+
+    private final double latitude;
+    private final double longitude;
 
     /**
      * Constructs an {@link OPFLatLng} with the given latitude and longitude, measured in degrees.
@@ -52,20 +58,24 @@ public final class OPFLatLng implements LatLngDelegate {
      * @param longitude The point's longitude. This will be normalized to be within -180 degrees inclusive and +180 degrees exclusive.
      */
     public OPFLatLng(final double latitude, final double longitude) {
-        this.delegate = OPFMapHelper.getInstance().getDelegatesFactory().createLatLngDelegate(latitude, longitude);
+        this.latitude = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        this.longitude = normalizeLongitude(longitude);
     }
 
     public OPFLatLng(@NonNull final LatLngDelegate delegate) {
-        this.delegate = delegate;
+        this(delegate.getLat(), delegate.getLng());
     }
 
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     private OPFLatLng(@NonNull final Parcel parcel) {
-        try {
-            this.delegate = parcel.readParcelable(Class.forName(parcel.readString()).getClassLoader());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+        this.latitude = parcel.readDouble();
+        this.longitude = parcel.readDouble();
+    }
+
+    private static double normalizeLongitude(final double longitude) {
+        if (-MAX_LONGITUDE <= longitude && longitude < MAX_LONGITUDE) {
+            return longitude;
         }
+        return ((longitude - MAX_LONGITUDE) % FULL_CIRCLE + FULL_CIRCLE) % FULL_CIRCLE - MAX_LONGITUDE;
     }
 
     /**
@@ -75,7 +85,7 @@ public final class OPFLatLng implements LatLngDelegate {
      */
     @Override
     public double getLat() {
-        return delegate.getLat();
+        return latitude;
     }
 
     /**
@@ -85,34 +95,38 @@ public final class OPFLatLng implements LatLngDelegate {
      */
     @Override
     public double getLng() {
-        return delegate.getLng();
+        return longitude;
     }
 
     @Override
     public int describeContents() {
-        return delegate.describeContents();
+        return 0;
     }
 
     @Override
     public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeString(delegate.getClass().getCanonicalName());
-        dest.writeParcelable(delegate, flags);
+        dest.writeDouble(latitude);
+        dest.writeDouble(longitude);
     }
 
     @Override
     public int hashCode() {
-        return delegate.hashCode();
+        long bits = Double.doubleToLongBits(latitude);
+        int result = (int) (bits ^ (bits >>> 32));
+        bits = Double.doubleToLongBits(longitude);
+        return 31 * result + (int) (bits ^ (bits >>> 32));
     }
 
     @Override
     public String toString() {
-        return delegate.toString();
+        return "lat/lng: (" + latitude + "," + longitude + ")";
     }
 
     @Override
     public boolean equals(final Object other) {
         return other != null
                 && (other == this || other instanceof OPFLatLng
-                && delegate.equals(((OPFLatLng) other).delegate));
+                && Double.doubleToLongBits(latitude) == Double.doubleToLongBits(((OPFLatLng) other).latitude)
+                && Double.doubleToLongBits(longitude) == Double.doubleToLongBits(((OPFLatLng) other).longitude));
     }
 }
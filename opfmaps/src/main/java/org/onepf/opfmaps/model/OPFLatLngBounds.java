@@ -19,11 +19,12 @@ package org.onepf.opfmaps.model;
 import android.os.Parcel;
 import android.support.annotation.NonNull;
 
-import org.onepf.opfmaps.OPFMapHelper;
 import org.onepf.opfmaps.delegate.model.LatLngBoundsDelegate;
 
 /**
  * An immutable class representing a latitude/longitude aligned rectangle.
+ * <p/>
+ * This class doesn't depend on the current map provider, so it can be created and used from any thread.
  *
  * @author Roman Savin
  * @since 29.07.2015
@@ -42,17 +43,22 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
         }
     };
 
+    private static final double FULL_CIRCLE = 360.0;
+
     /**
      * Creates a new builder.
      *
      * @return The {@link org.onepf.opfmaps.model.OPFLatLngBounds.Builder} instance.
      */
     public static Builder builder() {
-        return new Builder(OPFMapHelper.getInstance().getDelegatesFactory().createLatLngBoundsBuilderDelegate());
+        return new Builder();
     }
 
     @NonNull
-    private final LatLngBoundsDelegate delegate;
+    private final OPFLatLng southwest;
+
+    @NonNull
+    private final OPFLatLng northeast;
 
     /**
      * Creates a new bounds based on a southwest and a northeast corner.
@@ -61,20 +67,36 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
      * @param northeast The northeast corner.
      */
     public OPFLatLngBounds(@NonNull final OPFLatLng southwest, @NonNull final OPFLatLng northeast) {
-        this.delegate = OPFMapHelper.getInstance().getDelegatesFactory().createLatLngBoundsDelegate(southwest, northeast);
+        if (northeast.getLat() < southwest.getLat()) {
+            throw new IllegalArgumentException("southern latitude exceeds northern latitude ("
+                    + southwest.getLat() + " > " + northeast.getLat() + ")");
+        }
+        this.southwest = southwest;
+        this.northeast = northeast;
     }
 
     public OPFLatLngBounds(@NonNull final LatLngBoundsDelegate delegate) {
-        this.delegate = delegate;
+        this(delegate.getSouthwest(), delegate.getNortheast());
     }
 
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     private OPFLatLngBounds(@NonNull final Parcel parcel) {
-        try {
-            this.delegate = parcel.readParcelable(Class.forName(parcel.readString()).getClassLoader());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
+        this.southwest = new OPFLatLng(parcel.readDouble(), parcel.readDouble());
+        this.northeast = new OPFLatLng(parcel.readDouble(), parcel.readDouble());
+    }
+
+    private static double westDistance(final double fromLng, final double toLng) {
+        return (fromLng - toLng + FULL_CIRCLE) % FULL_CIRCLE;
+    }
+
+    private static double eastDistance(final double fromLng, final double toLng) {
+        return (toLng - fromLng + FULL_CIRCLE) % FULL_CIRCLE;
+    }
+
+    private static boolean containsLng(final double west, final double east, final double lng) {
+        if (west <= east) {
+            return west <= lng && lng <= east;
         }
+        return west <= lng || lng <= east;
     }
 
     /**
@@ -83,8 +105,11 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
      * @param point The {@link OPFLatLng} to test.
      * @return {@code true} if this contains the given point, {@code false} otherwise.
      */
+    @Override
     public boolean contains(@NonNull final OPFLatLng point) {
-        return delegate.contains(point);
+        final double lat = point.getLat();
+        return southwest.getLat() <= lat && lat <= northeast.getLat()
+                && containsLng(southwest.getLng(), northeast.getLng(), point.getLng());
     }
 
     /**
@@ -93,8 +118,13 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
      * @return An {@link OPFLatLngBounds} that is the center of the {@link OPFLatLngBounds}.
      */
     @NonNull
+    @Override
     public OPFLatLng getCenter() {
-        return delegate.getCenter();
+        final double lat = (southwest.getLat() + northeast.getLat()) / 2;
+        final double west = southwest.getLng();
+        final double east = northeast.getLng();
+        final double lng = west <= east ? (west + east) / 2 : (west + east + FULL_CIRCLE) / 2;
+        return new OPFLatLng(lat, lng);
     }
 
     /**
@@ -105,8 +135,26 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
      * @return A new {@link OPFLatLngBounds} that contains this and the extra point.
      */
     @NonNull
+    @Override
     public OPFLatLngBounds including(@NonNull final OPFLatLng point) {
-        return new OPFLatLngBounds(delegate.including(point));
+        if (contains(point)) {
+            return this;
+        }
+
+        final double lat = point.getLat();
+        final double lng = point.getLng();
+        double west = southwest.getLng();
+        double east = northeast.getLng();
+        // the corners aren't included again, so bounds wider than 180 degrees can't be wrapped the short way
+        if (!containsLng(west, east, lng)) {
+            if (westDistance(west, lng) < eastDistance(east, lng)) {
+                west = lng;
+            } else {
+                east = lng;
+            }
+        }
+        return new OPFLatLngBounds(new OPFLatLng(Math.min(southwest.getLat(), lat), west),
+                new OPFLatLng(Math.max(northeast.getLat(), lat), east));
     }
 
     /**
@@ -117,7 +165,7 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
     @NonNull
     @Override
     public OPFLatLng getNortheast() {
-        return delegate.getNortheast();
+        return northeast;
     }
 
     /**
@@ -128,57 +176,90 @@ public final class OPFLatLngBounds implements LatLngBoundsDelegate {
     @NonNull
     @Override
     public OPFLatLng getSouthwest() {
-        return delegate.getSouthwest();
+        return southwest;
     }
 
     @Override
     public int describeContents() {
-        return delegate.describeContents();
+        return 0;
     }
 
     @Override
     public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeString(delegate.getClass().getCanonicalName());
-        dest.writeParcelable(delegate, flags);
+        dest.writeDouble(southwest.getLat());
+        dest.writeDouble(southwest.getLng());
+        dest.writeDouble(northeast.getLat());
+        dest.writeDouble(northeast.getLng());
     }
 
     @Override
     public boolean equals(final Object other) {
         return other != null
                 && (other == this || other instanceof OPFLatLngBounds
-                && delegate.equals(((OPFLatLngBounds) other).delegate));
+                && southwest.equals(((OPFLatLngBounds) other).southwest)
+                && northeast.equals(((OPFLatLngBounds) other).northeast));
     }
 
     @Override
     public int hashCode() {
-        return delegate.hashCode();
+        return 31 * southwest.hashCode() + northeast.hashCode();
     }
 
     @Override
     public String toString() {
-        return delegate.toString();
+        return "LatLngBounds{southwest=" + southwest + ", northeast=" + northeast + "}";
     }
 
+    /**
+     * This is a builder that is able to create a minimum bound based on a set of {@link OPFLatLng} points.
+     */
     public static class Builder implements LatLngBoundsDelegate.Builder {
 
-        @NonNull
-        private final LatLngBoundsDelegate.Builder delegate;
-
-        public Builder(@NonNull final LatLngBoundsDelegate.Builder delegate) {
-            this.delegate = delegate;
-        }
+        private double south = Double.POSITIVE_INFINITY;
+        private double north = Double.NEGATIVE_INFINITY;
+        private double west = Double.NaN;
+        private double east = Double.NaN;
 
+        /**
+         * Includes this point for building of the bounds. The bounds will be extended in a minimum way to include this point.
+         *
+         * @param latLng A {@link OPFLatLng} to be included in the bounds.
+         * @return This builder object with a new point added.
+         */
         @NonNull
         @Override
         public Builder include(@NonNull final OPFLatLng latLng) {
-            delegate.include(latLng);
+            final double lat = latLng.getLat();
+            final double lng = latLng.getLng();
+            south = Math.min(south, lat);
+            north = Math.max(north, lat);
+
+            if (Double.isNaN(west)) {
+                west = lng;
+                east = lng;
+            } else if (!containsLng(west, east, lng)) {
+                if (westDistance(west, lng) < eastDistance(east, lng)) {
+                    west = lng;
+                } else {
+                    east = lng;
+                }
+            }
             return this;
         }
 
+        /**
+         * Creates the {@link OPFLatLng} bounds.
+         *
+         * @return The created bounds.
+         * @throws IllegalStateException if no points have been included.
+         */
         @NonNull
         @Override
         public OPFLatLngBounds build() {
-            return delegate.build();
+            if (Double.isNaN(west)) {
+                throw new IllegalStateException("no included points");
+            }
+            return new OPFLatLngBounds(new OPFLatLng(south, west), new OPFLatLng(north, east));
         }
     }
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.model;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A growable sequence of coordinates packed into a single {@code double} array as
+ * {@code [lat0, lng0, lat1, lng1, ...]}, measured in degrees.
+ * <p/>
+ * Use it instead of a list of {@link OPFLatLng} for long polylines and polygons:
+ * a sequence doesn't allocate an object per vertex and is converted to the provider specific points in a single pass.
+ * <p/>
+ * This class doesn't depend on the current map provider, but it isn't synchronized.
+ */
+public final class OPFLatLngSequence implements Parcelable {
+
+    public static final Creator<OPFLatLngSequence> CREATOR = new Creator<OPFLatLngSequence>() {
+        @Override
+        public OPFLatLngSequence createFromParcel(final Parcel source) {
+            return new OPFLatLngSequence(source);
+        }
+
+        @Override
+        public OPFLatLngSequence[] newArray(final int size) {
+            return new OPFLatLngSequence[size];
+        }
+    };
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    @NonNull
+    private double[] latLngs;
+    private int size;
+
+    /**
+     * Creates an empty sequence.
+     */
+    public OPFLatLngSequence() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty sequence which can hold the given number of points without reallocation.
+     *
+     * @param capacity The initial number of points.
+     * @throws IllegalArgumentException if {@code capacity} is negative.
+     */
+    public OPFLatLngSequence(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity can't be negative: " + capacity);
+        }
+        this.latLngs = new double[capacity * 2];
+    }
+
+    /**
+     * Creates a sequence from the packed coordinates. The array is copied.
+     *
+     * @param latLngs The coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     * @throws IllegalArgumentException if the array length is odd.
+     */
+    public OPFLatLngSequence(@NonNull final double[] latLngs) {
+        checkPacked(latLngs.length);
+        this.latLngs = Arrays.copyOf(latLngs, latLngs.length);
+        this.size = latLngs.length / 2;
+    }
+
+    /**
+     * Creates a sequence from the remaining coordinates of the buffer. The buffer position isn't changed.
+     *
+     * @param buffer The coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     * @throws IllegalArgumentException if the number of remaining values is odd.
+     */
+    public OPFLatLngSequence(@NonNull final DoubleBuffer buffer) {
+        final int remaining = buffer.remaining();
+        checkPacked(remaining);
+        this.latLngs = new double[remaining];
+        buffer.duplicate().get(latLngs);
+        this.size = remaining / 2;
+    }
+
+    /**
+     * Creates a sequence from the list of points.
+     *
+     * @param points The points of the sequence.
+     */
+    public OPFLatLngSequence(@NonNull final List<OPFLatLng> points) {
+        this(points.size());
+        addAll(points);
+    }
+
+    private OPFLatLngSequence(@NonNull final Parcel parcel) {
+        this.size = parcel.readInt();
+        this.latLngs = new double[size * 2];
+        for (int i = 0; i < latLngs.length; i++) {
+            latLngs[i] = parcel.readDouble();
+        }
+    }
+
+    private static void checkPacked(final int length) {
+        if (length % 2 != 0) {
+            throw new IllegalArgumentException("Packed coordinates must have an even length: " + length);
+        }
+    }
+
+    /**
+     * Adds a point to the end of the sequence.
+     *
+     * @param lat The latitude, in degrees.
+     * @param lng The longitude, in degrees.
+     * @return This {@link OPFLatLngSequence} object.
+     */
+    @NonNull
+    public OPFLatLngSequence add(final double lat, final double lng) {
+        ensureCapacity(size + 1);
+        latLngs[size * 2] = lat;
+        latLngs[size * 2 + 1] = lng;
+        size++;
+        return this;
+    }
+
+    /**
+     * Adds a point to the end of the sequence.
+     *
+     * @param point The added point.
+     * @return This {@link OPFLatLngSequence} object.
+     */
+    @NonNull
+    public OPFLatLngSequence add(@NonNull final OPFLatLng point) {
+        return add(point.getLat(), point.getLng());
+    }
+
+    /**
+     * Adds points to the end of the sequence.
+     *
+     * @param points The added points.
+     * @return This {@link OPFLatLngSequence} object.
+     */
+    @NonNull
+    public OPFLatLngSequence addAll(@NonNull final Iterable<OPFLatLng> points) {
+        for (OPFLatLng point : points) {
+            add(point.getLat(), point.getLng());
+        }
+        return this;
+    }
+
+    /**
+     * Adds all points of the other sequence to the end of this sequence.
+     *
+     * @param sequence The added points.
+     * @return This {@link OPFLatLngSequence} object.
+     */
+    @NonNull
+    public OPFLatLngSequence addAll(@NonNull final OPFLatLngSequence sequence) {
+        final int addedSize = sequence.size;
+        ensureCapacity(size + addedSize);
+        System.arraycopy(sequence.latLngs, 0, latLngs, size * 2, addedSize * 2);
+        size += addedSize;
+        return this;
+    }
+
+    /**
+     * Removes all points from the sequence. The allocated memory is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of points in the sequence.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if the sequence has no points.
+     *
+     * @return {@code true} if the sequence is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the latitude of the point at the given index.
+     *
+     * @param index The index of the point.
+     * @return The latitude, in degrees.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    public double getLat(final int index) {
+        checkIndex(index);
+        return latLngs[index * 2];
+    }
+
+    /**
+     * Returns the longitude of the point at the given index.
+     *
+     * @param index The index of the point.
+     * @return The longitude, in degrees.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    public double getLng(final int index) {
+        checkIndex(index);
+        return latLngs[index * 2 + 1];
+    }
+
+    /**
+     * Returns the point at the given index as a new {@link OPFLatLng} object.
+     *
+     * @param index The index of the point.
+     * @return The point.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    @NonNull
+    public OPFLatLng get(final int index) {
+        checkIndex(index);
+        return new OPFLatLng(latLngs[index * 2], latLngs[index * 2 + 1]);
+    }
+
+    /**
+     * Returns a copy of the packed coordinates.
+     *
+     * @return The coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     */
+    @NonNull
+    public double[] toArray() {
+        return Arrays.copyOf(latLngs, size * 2);
+    }
+
+    /**
+     * Returns a read-only buffer view of the packed coordinates without copying them.
+     * Further changes of the sequence may not be reflected by the returned buffer.
+     *
+     * @return The coordinates as {@code [lat0, lng0, lat1, lng1, ...]}.
+     */
+    @NonNull
+    public DoubleBuffer asDoubleBuffer() {
+        return DoubleBuffer.wrap(latLngs, 0, size * 2).asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the points of the sequence as a new list of {@link OPFLatLng} objects.
+     *
+     * @return The list of points.
+     */
+    @NonNull
+    public List<OPFLatLng> toList() {
+        final List<OPFLatLng> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            points.add(new OPFLatLng(latLngs[i * 2], latLngs[i * 2 + 1]));
+        }
+        return points;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity * 2 > latLngs.length) {
+            latLngs = Arrays.copyOf(latLngs, Math.max(capacity * 2, latLngs.length * 2));
+        }
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        dest.writeInt(size);
+        for (int i = 0; i < size * 2; i++) {
+            dest.writeDouble(latLngs[i]);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFLatLngSequence)) {
+            return false;
+        } else {
+            final OPFLatLngSequence sequence = (OPFLatLngSequence) other;
+            if (size != sequence.size) {
+                return false;
+            }
+            for (int i = 0; i < size * 2; i++) {
+                if (Double.doubleToLongBits(latLngs[i]) != Double.doubleToLongBits(sequence.latLngs[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (int i = 0; i < size * 2; i++) {
+            final long bits = Double.doubleToLongBits(latLngs[i]);
+            result = 31 * result + (int) (bits ^ (bits >>> 32));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OPFLatLngSequence{"
+                + "size=" + size
+                + '}';
+    }
+}
@@ -20,6 +20,7 @@ import android.support.annotation.NonNull;
 
 import android.support.annotation.Nullable;
 import org.onepf.opfmaps.delegate.model.MarkerDelegate;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 /**
  * An icon placed at a particular point on the map's surface. A marker icon is drawn oriented against the device's
@@ -34,6 +35,9 @@ public final class OPFMarker implements MarkerDelegate {
     @NonNull
     private final MarkerDelegate delegate;
 
+    @Nullable
+    OPFOverlayIndex index;
+
     public OPFMarker(@NonNull final MarkerDelegate delegate) {
         this.delegate = delegate;
     }
@@ -157,7 +161,12 @@ public final class OPFMarker implements MarkerDelegate {
      */
     @Override
     public void remove() {
+        final long startNanos = System.nanoTime();
         delegate.remove();
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_REMOVE, startNanos);
+        if (index != null) {
+            index.onRemoved(this);
+        }
     }
 
     /**
@@ -226,6 +235,19 @@ public final class OPFMarker implements MarkerDelegate {
         delegate.setInfoWindowAnchor(anchorU, anchorV);
     }
 
+    /**
+     * Moves the marker in the overlay index of its map after the map itself has moved it, e.g. after the user
+     * has dragged the marker. The provider's marker isn't touched. Intended to be called by map providers.
+     *
+     * @param lat The latitude of the new position.
+     * @param lng The longitude of the new position.
+     */
+    public void onPositionChangedByMap(final double lat, final double lng) {
+        if (index != null) {
+            index.onPositionChanged(this, lat, lng);
+        }
+    }
+
     /**
      * Sets the position of the marker.
      *
@@ -233,7 +255,12 @@ public final class OPFMarker implements MarkerDelegate {
      */
     @Override
     public void setPosition(@NonNull final OPFLatLng latLng) {
+        final long startNanos = System.nanoTime();
         delegate.setPosition(latLng);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onPositionChanged(this, latLng);
+        }
     }
 
     /**
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.model;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.utils.LatLngQuadTree;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A spatial index of the markers, polylines, polygons, circles and ground overlays of a map.
+ * <p/>
+ * Every overlay added through {@link org.onepf.opfmaps.OPFMap} is put to the index of the map
+ * and is kept in sync when it is moved, reshaped or removed through its OPF object.
+ * Changes made by the map itself, e.g. marker dragging, must be reported with {@link #update(OPFMarker)}
+ * or {@link OPFMarker#onPositionChangedByMap(double, double)}.
+ * <p/>
+ * The index stores the bounding boxes of the overlays in a quadtree, so a query visits only the part of the tree
+ * which intersects the queried bounds. The index can only be read and modified from the main thread.
+ */
+public final class OPFOverlayIndex {
+
+    @NonNull
+    private final LatLngQuadTree<Object> tree = new LatLngQuadTree<>();
+
+    /**
+     * Adds a marker to the index or updates its bounds.
+     *
+     * @param marker The marker.
+     */
+    public void add(@NonNull final OPFMarker marker) {
+        marker.index = this;
+        tree.putPoint(marker, marker.getPosition());
+    }
+
+    /**
+     * Adds a polyline to the index or updates its bounds.
+     * The bounds are computed from {@code points} without reading the points back from the map provider.
+     *
+     * @param polyline The polyline.
+     * @param points   The points the polyline was created with.
+     */
+    public void add(@NonNull final OPFPolyline polyline, @NonNull final OPFLatLngSequence points) {
+        polyline.index = this;
+        tree.putPoints(polyline, points);
+    }
+
+    /**
+     * Adds a polygon to the index or updates its bounds.
+     * The bounds are computed from {@code points} without reading the points back from the map provider.
+     *
+     * @param polygon The polygon.
+     * @param points  The points the polygon was created with.
+     */
+    public void add(@NonNull final OPFPolygon polygon, @NonNull final OPFLatLngSequence points) {
+        polygon.index = this;
+        tree.putPoints(polygon, points);
+    }
+
+    /**
+     * Adds a circle to the index or updates its bounds.
+     *
+     * @param circle The circle.
+     */
+    public void add(@NonNull final OPFCircle circle) {
+        circle.index = this;
+        tree.putCircle(circle, circle.getCenter(), circle.getRadius());
+    }
+
+    /**
+     * Adds a ground overlay to the index or updates its bounds.
+     *
+     * @param groundOverlay The ground overlay.
+     */
+    public void add(@NonNull final OPFGroundOverlay groundOverlay) {
+        groundOverlay.index = this;
+        tree.putBounds(groundOverlay, groundOverlay.getBounds());
+    }
+
+    /**
+     * Updates the bounds of a marker which was moved by the map, e.g. dragged by the user.
+     * Does nothing if the marker isn't indexed.
+     *
+     * @param marker The marker.
+     */
+    public void update(@NonNull final OPFMarker marker) {
+        onPositionChanged(marker, marker.getPosition());
+    }
+
+    /**
+     * Removes an overlay from the index.
+     *
+     * @param overlay The overlay.
+     * @return {@code true} if the overlay was indexed, {@code false} otherwise.
+     */
+    public boolean remove(@NonNull final Object overlay) {
+        return tree.remove(overlay);
+    }
+
+    /**
+     * Removes all overlays from the index.
+     */
+    public void clear() {
+        tree.clear();
+    }
+
+    /**
+     * Returns the number of the indexed overlays.
+     *
+     * @return The number of the indexed overlays.
+     */
+    public int size() {
+        return tree.size();
+    }
+
+    /**
+     * Returns the overlays whose bounding boxes intersect the given bounds.
+     * Bounds crossing the 180th meridian are supported.
+     *
+     * @param bounds The bounds.
+     * @return The list of the overlays.
+     */
+    @NonNull
+    public List<Object> query(@NonNull final OPFLatLngBounds bounds) {
+        return tree.query(bounds);
+    }
+
+    /**
+     * Returns the overlays of the given type whose bounding boxes intersect the given bounds.
+     *
+     * @param bounds The bounds.
+     * @param type   The type of the overlays, e.g. {@code OPFMarker.class}.
+     * @param <T>    The type of the overlays.
+     * @return The list of the overlays.
+     */
+    @NonNull
+    public <T> List<T> query(@NonNull final OPFLatLngBounds bounds, @NonNull final Class<T> type) {
+        final List<Object> overlays = query(bounds);
+        final List<T> result = new ArrayList<>(overlays.size());
+        for (Object overlay : overlays) {
+            if (type.isInstance(overlay)) {
+                result.add(type.cast(overlay));
+            }
+        }
+        return result;
+    }
+
+    void onPositionChanged(@NonNull final Object overlay, @NonNull final OPFLatLng position) {
+        if (tree.contains(overlay)) {
+            tree.putPoint(overlay, position);
+        }
+    }
+
+    void onPositionChanged(@NonNull final Object overlay, final double lat, final double lng) {
+        if (tree.contains(overlay)) {
+            tree.put(overlay, lat, lng, lat, lng);
+        }
+    }
+
+    void onPointsChanged(@NonNull final Object overlay, @NonNull final OPFLatLngSequence points) {
+        if (tree.contains(overlay)) {
+            tree.putPoints(overlay, points);
+        }
+    }
+
+    void onPointsChanged(@NonNull final Object overlay, @NonNull final Iterable<OPFLatLng> points) {
+        if (tree.contains(overlay)) {
+            tree.putPoints(overlay, points);
+        }
+    }
+
+    void onCircleChanged(@NonNull final Object overlay, @NonNull final OPFLatLng center, final double radius) {
+        if (tree.contains(overlay)) {
+            tree.putCircle(overlay, center, radius);
+        }
+    }
+
+    void onBoundsChanged(@NonNull final Object overlay, @Nullable final OPFLatLngBounds bounds) {
+        if (tree.contains(overlay)) {
+            tree.putBounds(overlay, bounds);
+        }
+    }
+
+    void onRemoved(@NonNull final Object overlay) {
+        tree.remove(overlay);
+    }
+}
@@ -20,6 +20,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.PolygonDelegate;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 import java.util.List;
 
@@ -35,6 +36,9 @@ public final class OPFPolygon implements PolygonDelegate {
     @NonNull
     private final PolygonDelegate delegate;
 
+    @Nullable
+    OPFOverlayIndex index;
+
     public OPFPolygon(@NonNull final PolygonDelegate delegate) {
         this.delegate = delegate;
     }
@@ -143,7 +147,12 @@ public final class OPFPolygon implements PolygonDelegate {
      */
     @Override
     public void remove() {
+        final long startNanos = System.nanoTime();
         delegate.remove();
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_REMOVE, startNanos);
+        if (index != null) {
+            index.onRemoved(this);
+        }
     }
 
     /**
@@ -186,7 +195,29 @@ public final class OPFPolygon implements PolygonDelegate {
      */
     @Override
     public void setPoints(@NonNull final List<OPFLatLng> points) {
+        final long startNanos = System.nanoTime();
+        delegate.setPoints(points);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onPointsChanged(this, points);
+        }
+    }
+
+    /**
+     * Sets the points of this polygon from the packed sequence.
+     * The points are converted to the provider specific representation in a single pass without creating
+     * an {@link OPFLatLng} object per vertex. Further mutations to {@code points} will have no effect on this polygon.
+     *
+     * @param points The packed sequence of the polygon's vertices.
+     */
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        final long startNanos = System.nanoTime();
         delegate.setPoints(points);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onPointsChanged(this, points);
+        }
     }
 
     /**
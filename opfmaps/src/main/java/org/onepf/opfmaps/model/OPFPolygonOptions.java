@@ -19,13 +19,16 @@ package org.onepf.opfmaps.model;
 import android.os.Parcel;
 import android.support.annotation.NonNull;
 
-import org.onepf.opfmaps.OPFMapHelper;
 import org.onepf.opfmaps.delegate.model.PolygonOptionsDelegate;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Defines options for a polygon.
+ * <p/>
+ * The options don't depend on the current map provider, so they can be built on any thread.
+ * They are converted to the provider specific options in {@link org.onepf.opfmaps.OPFMap#addPolygon(OPFPolygonOptions)}.
  *
  * @author Roman Savin
  * @since 30.07.2015
@@ -44,23 +47,38 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
         }
     };
 
+    private static final int DEFAULT_STROKE_COLOR = 0xff000000;
+    private static final float DEFAULT_STROKE_WIDTH = 10.0f;
+
+    @NonNull
+    private final OPFLatLngSequence points;
+
     @NonNull
-    private final PolygonOptionsDelegate delegate;
+    private final List<OPFLatLngSequence> holes = new ArrayList<>();
+
+    private int fillColor;
+    private int strokeColor = DEFAULT_STROKE_COLOR;
+    private float strokeWidth = DEFAULT_STROKE_WIDTH;
+    private float zIndex;
+    private boolean isGeodesic;
+    private boolean isVisible = true;
 
     /**
      * Creates polygon options.
      */
     public OPFPolygonOptions() {
-        this.delegate = OPFMapHelper.getInstance().getDelegatesFactory().createPolygonOptionsDelegate();
+        this.points = new OPFLatLngSequence();
     }
 
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     private OPFPolygonOptions(@NonNull final Parcel parcel) {
-        try {
-            this.delegate = parcel.readParcelable(Class.forName(parcel.readString()).getClassLoader());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        this.points = OPFLatLngSequence.CREATOR.createFromParcel(parcel);
+        parcel.readTypedList(holes, OPFLatLngSequence.CREATOR);
+        this.fillColor = parcel.readInt();
+        this.strokeColor = parcel.readInt();
+        this.strokeWidth = parcel.readFloat();
+        this.zIndex = parcel.readFloat();
+        this.isGeodesic = parcel.readByte() != 0;
+        this.isVisible = parcel.readByte() != 0;
     }
 
     /**
@@ -72,7 +90,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions add(@NonNull final OPFLatLng point) {
-        delegate.add(point);
+        this.points.add(point);
         return this;
     }
 
@@ -85,7 +103,9 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions add(@NonNull final OPFLatLng... points) {
-        delegate.add(points);
+        for (OPFLatLng point : points) {
+            this.points.add(point);
+        }
         return this;
     }
 
@@ -98,7 +118,21 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions addAll(@NonNull final Iterable<OPFLatLng> points) {
-        delegate.addAll(points);
+        this.points.addAll(points);
+        return this;
+    }
+
+    /**
+     * Adds vertices to the outline of the polygon being built. The coordinates are copied without creating
+     * an {@link OPFLatLng} object per vertex, so prefer this method for large polygons.
+     *
+     * @param points The added points.
+     * @return This {@link OPFPolygonOptions} object.
+     */
+    @NonNull
+    @Override
+    public OPFPolygonOptions addAll(@NonNull final OPFLatLngSequence points) {
+        this.points.addAll(points);
         return this;
     }
 
@@ -111,12 +145,25 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions addHole(@NonNull final Iterable<OPFLatLng> points) {
-        delegate.addHole(points);
+        this.holes.add(new OPFLatLngSequence().addAll(points));
+        return this;
+    }
+
+    /**
+     * Adds a hole to the polygon being built. The sequence is copied.
+     *
+     * @param points The added hole.
+     * @return This {@link OPFPolygonOptions} object.
+     */
+    @NonNull
+    @Override
+    public OPFPolygonOptions addHole(@NonNull final OPFLatLngSequence points) {
+        this.holes.add(new OPFLatLngSequence(points.size()).addAll(points));
         return this;
     }
 
     /**
-     * Specifies the polygon's fill color, as 32-bit ARGB. The default color is black ({@code 0xff000000}).
+     * Specifies the polygon's fill color, as 32-bit ARGB. The default color is transparent ({@code 0x00000000}).
      *
      * @param color The polygon's fill color.
      * @return This {@link OPFPolygonOptions} object.
@@ -124,7 +171,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions fillColor(final int color) {
-        delegate.fillColor(color);
+        this.fillColor = color;
         return this;
     }
 
@@ -137,7 +184,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions geodesic(final boolean geodesic) {
-        delegate.geodesic(geodesic);
+        this.isGeodesic = geodesic;
         return this;
     }
 
@@ -148,29 +195,55 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public int getFillColor() {
-        return delegate.getFillColor();
+        return fillColor;
     }
 
     /**
      * Gets the holes set for this options object.
      *
-     * @return The list of lists specifying the holes of the polygon.
+     * @return A new list of lists specifying the holes of the polygon.
      */
     @NonNull
     @Override
     public List<List<OPFLatLng>> getHoles() {
-        return delegate.getHoles();
+        final List<List<OPFLatLng>> holesList = new ArrayList<>(holes.size());
+        for (OPFLatLngSequence hole : holes) {
+            holesList.add(hole.toList());
+        }
+        return holesList;
+    }
+
+    /**
+     * Gets the holes set for this options object without creating an {@link OPFLatLng} object per vertex.
+     *
+     * @return The list of packed sequences specifying the holes of the polygon.
+     */
+    @NonNull
+    @Override
+    public List<OPFLatLngSequence> getHoleSequences() {
+        return holes;
     }
 
     /**
      * Gets the outline set for this options object.
      *
-     * @return the list of {@link OPFLatLng} objects specifying the vertices of the outline of the polygon.
+     * @return A new list of {@link OPFLatLng} objects specifying the vertices of the outline of the polygon.
      */
     @NonNull
     @Override
     public List<OPFLatLng> getPoints() {
-        return delegate.getPoints();
+        return points.toList();
+    }
+
+    /**
+     * Gets the outline set for this options object without creating an {@link OPFLatLng} object per vertex.
+     *
+     * @return The packed sequence specifying the vertices of the outline of the polygon.
+     */
+    @NonNull
+    @Override
+    public OPFLatLngSequence getPointSequence() {
+        return points;
     }
 
     /**
@@ -180,7 +253,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public int getStrokeColor() {
-        return delegate.getStrokeColor();
+        return strokeColor;
     }
 
     /**
@@ -190,7 +263,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public float getStrokeWidth() {
-        return delegate.getStrokeWidth();
+        return strokeWidth;
     }
 
     /**
@@ -200,7 +273,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public float getZIndex() {
-        return delegate.getZIndex();
+        return zIndex;
     }
 
     /**
@@ -210,7 +283,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public boolean isGeodesic() {
-        return delegate.isGeodesic();
+        return isGeodesic;
     }
 
     /**
@@ -220,7 +293,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
      */
     @Override
     public boolean isVisible() {
-        return delegate.isVisible();
+        return isVisible;
     }
 
     /**
@@ -232,7 +305,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions strokeColor(final int color) {
-        delegate.strokeColor(color);
+        this.strokeColor = color;
         return this;
     }
 
@@ -245,7 +318,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions strokeWidth(final float width) {
-        delegate.strokeWidth(width);
+        this.strokeWidth = width;
         return this;
     }
 
@@ -258,7 +331,7 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions visible(final boolean visible) {
-        delegate.visible(visible);
+        this.isVisible = visible;
         return this;
     }
 
@@ -271,35 +344,71 @@ public final class OPFPolygonOptions implements PolygonOptionsDelegate {
     @NonNull
     @Override
     public OPFPolygonOptions zIndex(final float zIndex) {
-        delegate.zIndex(zIndex);
+        this.zIndex = zIndex;
         return this;
     }
 
     @Override
     public int describeContents() {
-        return delegate.describeContents();
+        return 0;
     }
 
     @Override
     public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeString(delegate.getClass().getCanonicalName());
-        dest.writeParcelable(delegate, flags);
+        points.writeToParcel(dest, flags);
+        dest.writeTypedList(holes);
+        dest.writeInt(fillColor);
+        dest.writeInt(strokeColor);
+        dest.writeFloat(strokeWidth);
+        dest.writeFloat(zIndex);
+        dest.writeByte((byte) (isGeodesic ? 1 : 0));
+        dest.writeByte((byte) (isVisible ? 1 : 0));
     }
 
     @Override
     public boolean equals(final Object other) {
-        return other != null
-                && (other == this || other instanceof OPFPolygonOptions
-                && delegate.equals(((OPFPolygonOptions) other).delegate));
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFPolygonOptions)) {
+            return false;
+        } else {
+            final OPFPolygonOptions options = (OPFPolygonOptions) other;
+            return fillColor == options.fillColor
+                    && strokeColor == options.strokeColor
+                    && Float.compare(strokeWidth, options.strokeWidth) == 0
+                    && Float.compare(zIndex, options.zIndex) == 0
+                    && isGeodesic == options.isGeodesic
+                    && isVisible == options.isVisible
+                    && points.equals(options.points)
+                    && holes.equals(options.holes);
+        }
     }
 
+    @SuppressWarnings("PMD.NPathComplexity")
     @Override
-    public String toString() {
-        return delegate.toString();
+    public int hashCode() {
+        int result = points.hashCode();
+        result = 31 * result + holes.hashCode();
+        result = 31 * result + fillColor;
+        result = 31 * result + strokeColor;
+        result = 31 * result + Float.floatToIntBits(strokeWidth);
+        result = 31 * result + Float.floatToIntBits(zIndex);
+        result = 31 * result + (isGeodesic ? 1 : 0);
+        result = 31 * result + (isVisible ? 1 : 0);
+        return result;
     }
 
     @Override
-    public int hashCode() {
-        return delegate.hashCode();
+    public String toString() {
+        return "OPFPolygonOptions{"
+                + "points=" + points.size()
+                + ", holes=" + holes.size()
+                + ", fillColor=" + fillColor
+                + ", strokeColor=" + strokeColor
+                + ", strokeWidth=" + strokeWidth
+                + ", zIndex=" + zIndex
+                + ", isGeodesic=" + isGeodesic
+                + ", isVisible=" + isVisible
+                + '}';
     }
 }
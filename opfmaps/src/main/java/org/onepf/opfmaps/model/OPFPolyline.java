@@ -20,6 +20,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import org.onepf.opfmaps.delegate.model.PolylineDelegate;
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
 
 import java.util.List;
 
@@ -34,6 +35,9 @@ public final class OPFPolyline implements PolylineDelegate {
     @NonNull
     private final PolylineDelegate delegate;
 
+    @Nullable
+    OPFOverlayIndex index;
+
     public OPFPolyline(@NonNull final PolylineDelegate delegate) {
         this.delegate = delegate;
     }
@@ -118,7 +122,12 @@ public final class OPFPolyline implements PolylineDelegate {
      */
     @Override
     public void remove() {
+        final long startNanos = System.nanoTime();
         delegate.remove();
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_REMOVE, startNanos);
+        if (index != null) {
+            index.onRemoved(this);
+        }
     }
 
     /**
@@ -150,7 +159,29 @@ public final class OPFPolyline implements PolylineDelegate {
      */
     @Override
     public void setPoints(@NonNull final List<OPFLatLng> points) {
+        final long startNanos = System.nanoTime();
+        delegate.setPoints(points);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onPointsChanged(this, points);
+        }
+    }
+
+    /**
+     * Sets the points of this polyline from the packed sequence.
+     * The points are converted to the provider specific representation in a single pass without creating
+     * an {@link OPFLatLng} object per vertex. Further mutations to {@code points} will have no effect on this polyline.
+     *
+     * @param points The packed sequence of the polyline's vertices.
+     */
+    @Override
+    public void setPoints(@NonNull final OPFLatLngSequence points) {
+        final long startNanos = System.nanoTime();
         delegate.setPoints(points);
+        OPFMapMetrics.getInstance().recordSince(OPFMapMetrics.OVERLAY_UPDATE, startNanos);
+        if (index != null) {
+            index.onPointsChanged(this, points);
+        }
     }
 
     /**
@@ -19,13 +19,15 @@ package org.onepf.opfmaps.model;
 import android.os.Parcel;
 import android.support.annotation.NonNull;
 
-import org.onepf.opfmaps.OPFMapHelper;
 import org.onepf.opfmaps.delegate.model.PolylineOptionsDelegate;
 
 import java.util.List;
 
 /**
  * Defines options for a polyline.
+ * <p/>
+ * The options don't depend on the current map provider, so they can be built on any thread.
+ * They are converted to the provider specific options in {@link org.onepf.opfmaps.OPFMap#addPolyline(OPFPolylineOptions)}.
  *
  * @author Roman Savin
  * @since 30.07.2015
@@ -44,23 +46,32 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
         }
     };
 
+    private static final int DEFAULT_COLOR = 0xff000000;
+    private static final float DEFAULT_WIDTH = 10.0f;
+
     @NonNull
-    private final PolylineOptionsDelegate delegate;
+    private final OPFLatLngSequence points;
+
+    private int color = DEFAULT_COLOR;
+    private float width = DEFAULT_WIDTH;
+    private float zIndex;
+    private boolean isGeodesic;
+    private boolean isVisible = true;
 
     /**
      * Creates polyline options.
      */
     public OPFPolylineOptions() {
-        this.delegate = OPFMapHelper.getInstance().getDelegatesFactory().createPolylineOptionsDelegate();
+        this.points = new OPFLatLngSequence();
     }
 
-    @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     private OPFPolylineOptions(@NonNull final Parcel parcel) {
-        try {
-            this.delegate = parcel.readParcelable(Class.forName(parcel.readString()).getClassLoader());
-        } catch (ClassNotFoundException e) {
-            throw new RuntimeException(e);
-        }
+        this.points = OPFLatLngSequence.CREATOR.createFromParcel(parcel);
+        this.color = parcel.readInt();
+        this.width = parcel.readFloat();
+        this.zIndex = parcel.readFloat();
+        this.isGeodesic = parcel.readByte() != 0;
+        this.isVisible = parcel.readByte() != 0;
     }
 
     /**
@@ -72,7 +83,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions add(@NonNull final OPFLatLng point) {
-        delegate.add(point);
+        this.points.add(point);
         return this;
     }
 
@@ -85,7 +96,9 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions add(@NonNull final OPFLatLng... points) {
-        delegate.add(points);
+        for (OPFLatLng point : points) {
+            this.points.add(point);
+        }
         return this;
     }
 
@@ -98,7 +111,21 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions addAll(@NonNull final Iterable<OPFLatLng> points) {
-        delegate.addAll(points);
+        this.points.addAll(points);
+        return this;
+    }
+
+    /**
+     * Adds vertices to the end of the polyline being built. The coordinates are copied without creating
+     * an {@link OPFLatLng} object per vertex, so prefer this method for long polylines.
+     *
+     * @param points The added points.
+     * @return This {@link OPFPolylineOptions} object.
+     */
+    @NonNull
+    @Override
+    public OPFPolylineOptions addAll(@NonNull final OPFLatLngSequence points) {
+        this.points.addAll(points);
         return this;
     }
 
@@ -111,7 +138,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions color(final int color) {
-        delegate.color(color);
+        this.color = color;
         return this;
     }
 
@@ -124,7 +151,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions geodesic(final boolean geodesic) {
-        delegate.geodesic(geodesic);
+        this.isGeodesic = geodesic;
         return this;
     }
 
@@ -135,18 +162,29 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
      */
     @Override
     public int getColor() {
-        return delegate.getColor();
+        return color;
     }
 
     /**
      * Gets the points set for this options object.
      *
-     * @return The list of {@link OPFLatLng} objects specifying the vertices of the polyline.
+     * @return A new list of {@link OPFLatLng} objects specifying the vertices of the polyline.
      */
     @NonNull
     @Override
     public List<OPFLatLng> getPoints() {
-        return delegate.getPoints();
+        return points.toList();
+    }
+
+    /**
+     * Gets the points set for this options object without creating an {@link OPFLatLng} object per vertex.
+     *
+     * @return The packed sequence specifying the vertices of the polyline.
+     */
+    @NonNull
+    @Override
+    public OPFLatLngSequence getPointSequence() {
+        return points;
     }
 
     /**
@@ -156,7 +194,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
      */
     @Override
     public float getWidth() {
-        return delegate.getWidth();
+        return width;
     }
 
     /**
@@ -166,7 +204,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
      */
     @Override
     public float getZIndex() {
-        return delegate.getZIndex();
+        return zIndex;
     }
 
     /**
@@ -176,7 +214,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
      */
     @Override
     public boolean isGeodesic() {
-        return delegate.isGeodesic();
+        return isGeodesic;
     }
 
     /**
@@ -186,7 +224,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
      */
     @Override
     public boolean isVisible() {
-        return delegate.isVisible();
+        return isVisible;
     }
 
     /**
@@ -198,7 +236,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions visible(final boolean visible) {
-        delegate.visible(visible);
+        this.isVisible = visible;
         return this;
     }
 
@@ -211,7 +249,7 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions width(final float width) {
-        delegate.width(width);
+        this.width = width;
         return this;
     }
 
@@ -224,35 +262,62 @@ public final class OPFPolylineOptions implements PolylineOptionsDelegate {
     @NonNull
     @Override
     public OPFPolylineOptions zIndex(final float zIndex) {
-        delegate.zIndex(zIndex);
+        this.zIndex = zIndex;
         return this;
     }
 
     @Override
     public int describeContents() {
-        return delegate.describeContents();
+        return 0;
     }
 
     @Override
     public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeString(delegate.getClass().getCanonicalName());
-        dest.writeParcelable(delegate, flags);
+        points.writeToParcel(dest, flags);
+        dest.writeInt(color);
+        dest.writeFloat(width);
+        dest.writeFloat(zIndex);
+        dest.writeByte((byte) (isGeodesic ? 1 : 0));
+        dest.writeByte((byte) (isVisible ? 1 : 0));
     }
 
     @Override
     public boolean equals(final Object other) {
-        return other != null
-                && (other == this || other instanceof OPFPolylineOptions
-                && delegate.equals(((OPFPolylineOptions) other).delegate));
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof OPFPolylineOptions)) {
+            return false;
+        } else {
+            final OPFPolylineOptions options = (OPFPolylineOptions) other;
+            return color == options.color
+                    && Float.compare(width, options.width) == 0
+                    && Float.compare(zIndex, options.zIndex) == 0
+                    && isGeodesic == options.isGeodesic
+                    && isVisible == options.isVisible
+                    && points.equals(options.points);
+        }
     }
 
     @Override
     public int hashCode() {
-        return delegate.hashCode();
+        int result = points.hashCode();
+        result = 31 * result + color;
+        result = 31 * result + Float.floatToIntBits(width);
+        result = 31 * result + Float.floatToIntBits(zIndex);
+        result = 31 * result + (isGeodesic ? 1 : 0);
+        result = 31 * result + (isVisible ? 1 : 0);
+        return result;
     }
 
     @Override
     public String toString() {
-        return delegate.toString();
+        return "OPFPolylineOptions{"
+                + "points=" + points.size()
+                + ", color=" + color
+                + ", width=" + width
+                + ", zIndex=" + zIndex
+                + ", isGeodesic=" + isGeodesic
+                + ", isVisible=" + isVisible
+                + '}';
     }
 }
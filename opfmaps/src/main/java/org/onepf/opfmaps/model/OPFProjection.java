@@ -20,7 +20,9 @@ import android.graphics.Point;
 import android.support.annotation.NonNull;
 
 import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
 import org.onepf.opfmaps.delegate.model.ProjectionDelegate;
+import org.onepf.opfmaps.projection.OPFProjectionSnapshot;
 
 /**
  * A projection is used to translate between on screen location and geographic coordinates on the surface of the Earth
@@ -77,6 +79,50 @@ public class OPFProjection implements ProjectionDelegate {
         return delegate.toScreenLocation(location);
     }
 
+    /**
+     * Converts many geographical coordinates to screen locations in one call, without creating
+     * a {@link OPFLatLng} and a {@link Point} for each location.
+     *
+     * @param latLngs The coordinates in degrees as latitude and longitude pairs: {@code [lat0, lng0, lat1, lng1, ...]}.
+     * @param outXY   The array receiving the screen locations in screen pixels as {@code [x0, y0, x1, y1, ...]}.
+     *                It must be at least as long as {@code latLngs}.
+     * @throws IllegalArgumentException if {@code latLngs} has an odd length or {@code outXY} is too short.
+     */
+    @Override
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        checkBatchLengths(latLngs.length, outXY.length);
+        delegate.toScreenLocations(latLngs, outXY);
+    }
+
+    /**
+     * Converts many screen locations to geographical coordinates in one call, without creating
+     * a {@link Point} and a {@link OPFLatLng} for each location.
+     *
+     * @param xy         The screen locations in screen pixels as {@code [x0, y0, x1, y1, ...]}.
+     * @param outLatLngs The array receiving the coordinates in degrees as {@code [lat0, lng0, lat1, lng1, ...]}.
+     *                   It must be at least as long as {@code xy}. Both coordinates are {@link Double#NaN}
+     *                   if the ray through the screen location does not intersect the ground plane.
+     * @throws IllegalArgumentException if {@code xy} has an odd length or {@code outLatLngs} is too short.
+     */
+    @Override
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        checkBatchLengths(xy.length, outLatLngs.length);
+        delegate.fromScreenLocations(xy, outLatLngs);
+    }
+
+    /**
+     * Returns the immutable snapshot of this projection which can convert coordinates on any thread.
+     * A new snapshot of the current state is taken on every call, because some providers update
+     * the projection as the camera moves.
+     *
+     * @return The snapshot of this projection, or null if the map hasn't been laid out yet.
+     */
+    @UiThread
+    @Nullable
+    public OPFProjectionSnapshot getSnapshot() {
+        return OPFProjectionSnapshot.capture(delegate);
+    }
+
     @Override
     public boolean equals(final Object other) {
         return other != null
@@ -93,4 +139,13 @@ public class OPFProjection implements ProjectionDelegate {
     public String toString() {
         return delegate.toString();
     }
+
+    private static void checkBatchLengths(final int inputLength, final int outputLength) {
+        if (inputLength % 2 != 0) {
+            throw new IllegalArgumentException("Coordinates must go in pairs: " + inputLength);
+        }
+        if (outputLength < inputLength) {
+            throw new IllegalArgumentException("Output array is too short: " + outputLength + " < " + inputLength);
+        }
+    }
 }
@@ -0,0 +1,271 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.offline;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+
+/**
+ * The definition of an offline region: the bounds, the zoom range and the id of the tile source.
+ * <p/>
+ * The tile set of a region is planned from the definition, every tile is addressed by its index:
+ * the tiles of the minimum zoom level go first, the tiles of a zoom level go row by row from north-west.
+ * Bounds crossing the 180th meridian are supported.
+ */
+public final class OPFOfflineRegion {
+
+    public static final int MAX_ZOOM = 22;
+
+    private static final double FULL_CIRCLE = 360.0;
+    private static final double HALF_CIRCLE = 180.0;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    @NonNull
+    private final String id;
+    @NonNull
+    private final String sourceId;
+    private final double south;
+    private final double west;
+    private final double north;
+    private final double east;
+    private final int minZoom;
+    private final int maxZoom;
+
+    /**
+     * Tile ranges of each zoom level: minX, minY, columns and rows.
+     */
+    @NonNull
+    private final int[][] ranges;
+    private final long tileCount;
+
+    /**
+     * Creates a region.
+     *
+     * @param id       The unique id of the region.
+     * @param sourceId The id of the tile source.
+     * @param bounds   The bounds of the region.
+     * @param minZoom  The minimum zoom level.
+     * @param maxZoom  The maximum zoom level, inclusive.
+     * @throws IllegalArgumentException if the zoom range is invalid.
+     */
+    public OPFOfflineRegion(@NonNull final String id,
+                            @NonNull final String sourceId,
+                            @NonNull final OPFLatLngBounds bounds,
+                            final int minZoom,
+                            final int maxZoom) {
+        this(id, sourceId, bounds.getSouthwest().getLat(), bounds.getSouthwest().getLng(),
+                bounds.getNortheast().getLat(), bounds.getNortheast().getLng(), minZoom, maxZoom);
+    }
+
+    OPFOfflineRegion(@NonNull final String id,
+                     @NonNull final String sourceId,
+                     final double south,
+                     final double west,
+                     final double north,
+                     final double east,
+                     final int minZoom,
+                     final int maxZoom) {
+        if (minZoom < 0 || maxZoom > MAX_ZOOM || minZoom > maxZoom) {
+            throw new IllegalArgumentException("Invalid zoom range: " + minZoom + " - " + maxZoom);
+        }
+        this.id = id;
+        this.sourceId = sourceId;
+        this.south = south;
+        this.west = west;
+        this.north = north;
+        this.east = east;
+        this.minZoom = minZoom;
+        this.maxZoom = maxZoom;
+
+        this.ranges = new int[maxZoom - minZoom + 1][];
+        long count = 0;
+        for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+            final int[] range = computeRange(zoom);
+            ranges[zoom - minZoom] = range;
+            count += (long) range[2] * range[3];
+        }
+        this.tileCount = count;
+    }
+
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    @NonNull
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    public double getSouth() {
+        return south;
+    }
+
+    public double getWest() {
+        return west;
+    }
+
+    public double getNorth() {
+        return north;
+    }
+
+    public double getEast() {
+        return east;
+    }
+
+    public int getMinZoom() {
+        return minZoom;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /**
+     * Returns the number of tiles of the region.
+     *
+     * @return The number of tiles.
+     */
+    public long getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Returns the coordinates of the tile with the given index.
+     *
+     * @param index The index of the tile in the range [0, tileCount - 1].
+     * @return The zoom level, x and y of the tile.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @NonNull
+    public int[] getTile(final long index) {
+        if (index < 0 || index >= tileCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", tile count: " + tileCount);
+        }
+
+        long rest = index;
+        for (int i = 0; i < ranges.length; i++) {
+            final int[] range = ranges[i];
+            final long zoomTileCount = (long) range[2] * range[3];
+            if (rest < zoomTileCount) {
+                final int zoom = minZoom + i;
+                final int x = (int) ((range[0] + rest % range[2]) % (1L << zoom));
+                final int y = (int) (range[1] + rest / range[2]);
+                return new int[]{zoom, x, y};
+            }
+            rest -= zoomTileCount;
+        }
+        throw new IllegalStateException("Index " + index + " wasn't found");
+    }
+
+    /**
+     * Checks if the tile belongs to the region.
+     *
+     * @param x    The x coordinate of the tile.
+     * @param y    The y coordinate of the tile.
+     * @param zoom The zoom level of the tile.
+     * @return {@code true} if the region contains the tile, {@code false} otherwise.
+     */
+    public boolean containsTile(final int x, final int y, final int zoom) {
+        if (zoom < minZoom || zoom > maxZoom) {
+            return false;
+        }
+
+        final int[] range = ranges[zoom - minZoom];
+        final long tilesCount = 1L << zoom;
+        final long column = ((x - range[0]) % tilesCount + tilesCount) % tilesCount;
+        return column < range[2] && y >= range[1] && y < range[1] + range[3];
+    }
+
+    @SuppressWarnings("PMD.NPathComplexity")
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (other == null || getClass() != other.getClass()) {
+            return false;
+        } else {
+            final OPFOfflineRegion region = (OPFOfflineRegion) other;
+            return Double.compare(region.south, south) == 0
+                    && Double.compare(region.west, west) == 0
+                    && Double.compare(region.north, north) == 0
+                    && Double.compare(region.east, east) == 0
+                    && minZoom == region.minZoom
+                    && maxZoom == region.maxZoom
+                    && id.equals(region.id)
+                    && sourceId.equals(region.sourceId);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id.hashCode();
+        result = 31 * result + sourceId.hashCode();
+        long temp = Double.doubleToLongBits(south);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(west);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(north);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(east);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        result = 31 * result + minZoom;
+        result = 31 * result + maxZoom;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OPFOfflineRegion{"
+                + "id='" + id + '\''
+                + ", sourceId='" + sourceId + '\''
+                + ", south=" + south
+                + ", west=" + west
+                + ", north=" + north
+                + ", east=" + east
+                + ", minZoom=" + minZoom
+                + ", maxZoom=" + maxZoom
+                + ", tileCount=" + tileCount
+                + '}';
+    }
+
+    @NonNull
+    private int[] computeRange(final int zoom) {
+        final long tilesCount = 1L << zoom;
+        final int minX = toTileX(west, tilesCount);
+        int maxX = toTileX(east, tilesCount);
+        if (west > east) {
+            maxX += tilesCount;
+        }
+        final int minY = toTileY(north, tilesCount);
+        final int maxY = toTileY(south, tilesCount);
+        final int columns = (int) Math.min(tilesCount, maxX - minX + 1);
+        return new int[]{minX, minY, columns, maxY - minY + 1};
+    }
+
+    private static int toTileX(final double lng, final long tilesCount) {
+        final double x = (lng + HALF_CIRCLE) / FULL_CIRCLE;
+        return (int) Math.max(0, Math.min(tilesCount - 1, (long) Math.floor(x * tilesCount)));
+    }
+
+    private static int toTileY(final double lat, final long tilesCount) {
+        final double latRad = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat)));
+        final double y = (1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2;
+        return (int) Math.max(0, Math.min(tilesCount - 1, (long) Math.floor(y * tilesCount)));
+    }
+}
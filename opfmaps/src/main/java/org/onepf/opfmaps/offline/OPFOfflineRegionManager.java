@@ -0,0 +1,649 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.offline;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfmaps.model.OPFTileProvider;
+import org.onepf.opfmaps.tile.OPFDiskTileCache;
+import org.onepf.opfutils.OPFLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads the tiles of {@link OPFOfflineRegion}s into a persistent {@link OPFDiskTileCache}.
+ * <p/>
+ * The regions and their progress are saved in the directory of the manager after every batch of tiles,
+ * so a download interrupted by the death of the process continues from the last saved batch
+ * when {@link #download(String, OPFTileProvider, DownloadListener)} is called again.
+ * Tiles are stored by the source id and the tile coordinates, so a tile shared by several regions is downloaded once
+ * and is deleted only with the last region containing it.
+ * The store never grows over the maximum storage size, the download stops with
+ * {@link DownloadListener#onStorageFull(OPFOfflineRegion)} instead.
+ * <p/>
+ * Any {@link OPFTileProvider} can be a source, e.g. an {@link org.onepf.opfmaps.tile.OPFFetchingTileProvider}
+ * or an {@link org.onepf.opfmaps.model.OPFUrlTileProvider}.
+ */
+public final class OPFOfflineRegionManager implements Closeable {
+
+    public static final int DEFAULT_THREADS_COUNT = 4;
+
+    private static final String STORE_DIRECTORY = "tiles";
+    private static final String REGIONS_FILE = "regions.dat";
+    private static final String REGIONS_TEMP_FILE = "regions.dat.tmp";
+    private static final int REGIONS_FILE_VERSION = 1;
+    private static final int BATCH_SIZE = 32;
+
+    @NonNull
+    private final File directory;
+    @NonNull
+    private final OPFDiskTileCache store;
+    private final long maxStorageSize;
+
+    @NonNull
+    private final ExecutorService controlExecutor = Executors.newSingleThreadExecutor();
+    @NonNull
+    private final ExecutorService downloadExecutor;
+    @NonNull
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    @NonNull
+    private final Map<String, RegionState> regions = new LinkedHashMap<>();
+
+    /**
+     * Opens the manager with {@link #DEFAULT_THREADS_COUNT} download threads.
+     *
+     * @param directory      The directory of the regions and the tiles, must be used by one manager only.
+     * @param maxStorageSize The maximum size of the stored tiles in bytes.
+     * @throws IOException if the directory can't be opened.
+     */
+    @WorkerThread
+    public OPFOfflineRegionManager(@NonNull final File directory, final long maxStorageSize) throws IOException {
+        this(directory, maxStorageSize, DEFAULT_THREADS_COUNT);
+    }
+
+    /**
+     * Opens the manager.
+     *
+     * @param directory      The directory of the regions and the tiles, must be used by one manager only.
+     * @param maxStorageSize The maximum size of the stored tiles in bytes.
+     * @param threadsCount   The number of the threads which download tiles.
+     * @throws IOException if the directory can't be opened.
+     */
+    @WorkerThread
+    public OPFOfflineRegionManager(@NonNull final File directory,
+                                   final long maxStorageSize,
+                                   final int threadsCount) throws IOException {
+        if (threadsCount <= 0) {
+            throw new IllegalArgumentException("Threads count must be positive: " + threadsCount);
+        }
+        this.directory = directory;
+        this.maxStorageSize = maxStorageSize;
+        this.store = new OPFDiskTileCache(new File(directory, STORE_DIRECTORY), maxStorageSize);
+        this.downloadExecutor = Executors.newFixedThreadPool(threadsCount);
+        readRegions();
+    }
+
+    /**
+     * Adds a region. The tiles aren't downloaded until {@link #download(String, OPFTileProvider, DownloadListener)} is called.
+     *
+     * @param region The region.
+     * @throws IllegalArgumentException if a region with the same id is already added.
+     */
+    public void addRegion(@NonNull final OPFOfflineRegion region) {
+        synchronized (regions) {
+            if (regions.containsKey(region.getId())) {
+                throw new IllegalArgumentException("Region " + region.getId() + " is already added");
+            }
+            regions.put(region.getId(), new RegionState(region, 0, 0));
+        }
+        saveRegionsAsync();
+    }
+
+    /**
+     * Cancels the download of a region and deletes the tiles which don't belong to other regions.
+     * The tiles are removed from the store with {@link OPFDiskTileCache#remove(String)}, so the removal survives
+     * reopening the manager and the freed space is available to other regions.
+     *
+     * @param id The id of the region.
+     */
+    public void removeRegion(@NonNull final String id) {
+        final RegionState state;
+        synchronized (regions) {
+            state = regions.remove(id);
+        }
+        if (state == null) {
+            return;
+        }
+
+        state.isCancelled = true;
+        controlExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                deleteTiles(state.region);
+                saveRegions();
+            }
+        });
+    }
+
+    @Nullable
+    public OPFOfflineRegion getRegion(@NonNull final String id) {
+        synchronized (regions) {
+            final RegionState state = regions.get(id);
+            return state == null ? null : state.region;
+        }
+    }
+
+    @NonNull
+    public List<OPFOfflineRegion> getRegions() {
+        synchronized (regions) {
+            final List<OPFOfflineRegion> result = new ArrayList<>(regions.size());
+            for (RegionState state : regions.values()) {
+                result.add(state.region);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the number of the processed tiles of a region, including the failed ones.
+     *
+     * @param id The id of the region.
+     * @return The number of processed tiles or 0 if there is no such region.
+     */
+    public long getCompletedCount(@NonNull final String id) {
+        synchronized (regions) {
+            final RegionState state = regions.get(id);
+            return state == null ? 0 : state.nextIndex;
+        }
+    }
+
+    /**
+     * Checks if all tiles of a region are downloaded.
+     *
+     * @param id The id of the region.
+     * @return {@code true} if every tile of the region is stored, {@code false} otherwise.
+     */
+    public boolean isDownloaded(@NonNull final String id) {
+        synchronized (regions) {
+            final RegionState state = regions.get(id);
+            return state != null && state.nextIndex == state.region.getTileCount() && state.failedCount == 0;
+        }
+    }
+
+    /**
+     * Starts or resumes the download of a region. Downloads of several regions run one after another.
+     * If the region is already downloaded with failures, the missing tiles are requested again.
+     *
+     * @param id       The id of the region.
+     * @param source   The source of the tiles, it must correspond to the source id of the region.
+     * @param listener The listener which is notified on the main thread, or {@code null}.
+     * @throws IllegalArgumentException if there is no such region.
+     */
+    public void download(@NonNull final String id,
+                         @NonNull final OPFTileProvider source,
+                         @Nullable final DownloadListener listener) {
+        final RegionState state;
+        synchronized (regions) {
+            state = regions.get(id);
+            if (state == null) {
+                throw new IllegalArgumentException("Region " + id + " isn't added");
+            }
+            state.isCancelled = false;
+        }
+
+        controlExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                downloadRegion(state, source, listener);
+            }
+        });
+    }
+
+    /**
+     * Cancels the download of a region. The progress is kept, the download can be resumed later.
+     *
+     * @param id The id of the region.
+     */
+    public void cancel(@NonNull final String id) {
+        synchronized (regions) {
+            final RegionState state = regions.get(id);
+            if (state != null) {
+                state.isCancelled = true;
+            }
+        }
+    }
+
+    /**
+     * Returns a stored tile.
+     *
+     * @param sourceId The id of the tile source.
+     * @param x        The x coordinate of the tile.
+     * @param y        The y coordinate of the tile.
+     * @param zoom     The zoom level of the tile.
+     * @return The tile or {@code null} if it isn't stored.
+     */
+    @WorkerThread
+    @Nullable
+    public OPFTile getTile(@NonNull final String sourceId, final int x, final int y, final int zoom) {
+        return store.get(getKey(sourceId, x, y, zoom), 0);
+    }
+
+    /**
+     * Creates a tile provider which returns the stored tiles of a source and asks the fallback provider for the rest.
+     *
+     * @param sourceId The id of the tile source.
+     * @param fallback The provider of the tiles which aren't stored, or {@code null}.
+     * @return The tile provider.
+     */
+    @NonNull
+    public OPFTileProvider getTileProvider(@NonNull final String sourceId, @Nullable final OPFTileProvider fallback) {
+        return new OPFTileProvider() {
+            @Nullable
+            @Override
+            public OPFTile getTile(final int x, final int y, final int zoom) {
+                final OPFTile tile = OPFOfflineRegionManager.this.getTile(sourceId, x, y, zoom);
+                if (tile != null || fallback == null) {
+                    return tile;
+                }
+                return fallback.getTile(x, y, zoom);
+            }
+        };
+    }
+
+    /**
+     * Returns the size of the stored tiles.
+     *
+     * @return The size in bytes.
+     */
+    public long getStorageSize() {
+        return store.size();
+    }
+
+    public long getMaxStorageSize() {
+        return maxStorageSize;
+    }
+
+    /**
+     * Cancels the downloads and closes the store. The progress of the running downloads is kept.
+     *
+     * @throws IOException if the store can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (regions) {
+            for (RegionState state : regions.values()) {
+                state.isCancelled = true;
+            }
+        }
+        controlExecutor.shutdown();
+        downloadExecutor.shutdown();
+        try {
+            controlExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.close();
+    }
+
+    @WorkerThread
+    private void downloadRegion(@NonNull final RegionState state,
+                                @NonNull final OPFTileProvider source,
+                                @Nullable final DownloadListener listener) {
+        final OPFOfflineRegion region = state.region;
+        final long tileCount = region.getTileCount();
+        synchronized (regions) {
+            if (state.nextIndex == tileCount && state.failedCount > 0) {
+                state.nextIndex = 0;
+                state.failedCount = 0;
+            }
+        }
+
+        long index = state.nextIndex;
+        while (index < tileCount) {
+            if (state.isCancelled) {
+                return;
+            }
+
+            final long end = Math.min(tileCount, index + BATCH_SIZE);
+            final List<Callable<Result>> tasks = new ArrayList<>(BATCH_SIZE);
+            for (long i = index; i < end; i++) {
+                final int[] tile = region.getTile(i);
+                final String key = getKey(region.getSourceId(), tile[1], tile[2], tile[0]);
+                if (!store.contains(key)) {
+                    tasks.add(new Callable<Result>() {
+                        @Override
+                        public Result call() {
+                            return downloadTile(source, key, tile[1], tile[2], tile[0]);
+                        }
+                    });
+                }
+            }
+
+            final int failedCount;
+            try {
+                failedCount = runBatch(tasks, state, listener);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (failedCount < 0) {
+                return;
+            }
+
+            index = end;
+            synchronized (regions) {
+                state.nextIndex = end;
+                state.failedCount += failedCount;
+            }
+            saveRegions();
+            notifyProgress(listener, region, end, tileCount);
+        }
+        notifyComplete(listener, region, state.failedCount);
+    }
+
+    /**
+     * Runs a batch of downloads.
+     *
+     * @return The number of failed tiles or -1 if the storage is full.
+     */
+    @WorkerThread
+    private int runBatch(@NonNull final List<Callable<Result>> tasks,
+                         @NonNull final RegionState state,
+                         @Nullable final DownloadListener listener) throws InterruptedException {
+        int failedCount = 0;
+        boolean isStorageFull = false;
+        for (Future<Result> future : downloadExecutor.invokeAll(tasks)) {
+            try {
+                final Result result = future.get();
+                if (result == Result.FAILED) {
+                    failedCount++;
+                } else if (result == Result.STORAGE_FULL) {
+                    isStorageFull = true;
+                }
+            } catch (ExecutionException e) {
+                OPFLog.w(e.getMessage());
+                failedCount++;
+            }
+        }
+
+        if (isStorageFull) {
+            state.isCancelled = true;
+            if (listener != null) {
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onStorageFull(state.region);
+                    }
+                });
+            }
+            return -1;
+        }
+        return failedCount;
+    }
+
+    @WorkerThread
+    @NonNull
+    private Result downloadTile(@NonNull final OPFTileProvider source,
+                                @NonNull final String key,
+                                final int x,
+                                final int y,
+                                final int zoom) {
+        final OPFTile tile = source.getTile(x, y, zoom);
+        if (tile == null) {
+            return Result.FAILED;
+        }
+
+        synchronized (store) {
+            if (store.size() + tile.getData().length > maxStorageSize) {
+                return Result.STORAGE_FULL;
+            }
+            store.put(key, tile);
+        }
+        return Result.DOWNLOADED;
+    }
+
+    @WorkerThread
+    private void deleteTiles(@NonNull final OPFOfflineRegion region) {
+        final List<OPFOfflineRegion> otherRegions = new ArrayList<>();
+        for (OPFOfflineRegion otherRegion : getRegions()) {
+            if (otherRegion.getSourceId().equals(region.getSourceId())) {
+                otherRegions.add(otherRegion);
+            }
+        }
+
+        final long tileCount = region.getTileCount();
+        for (long i = 0; i < tileCount; i++) {
+            final int[] tile = region.getTile(i);
+            if (!isContainedIn(otherRegions, tile[1], tile[2], tile[0])) {
+                store.remove(getKey(region.getSourceId(), tile[1], tile[2], tile[0]));
+            }
+        }
+    }
+
+    private void notifyProgress(@Nullable final DownloadListener listener,
+                                @NonNull final OPFOfflineRegion region,
+                                final long completedCount,
+                                final long tileCount) {
+        if (listener == null) {
+            return;
+        }
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onProgress(region, completedCount, tileCount);
+            }
+        });
+    }
+
+    private void notifyComplete(@Nullable final DownloadListener listener,
+                                @NonNull final OPFOfflineRegion region,
+                                final int failedCount) {
+        if (listener == null) {
+            return;
+        }
+        mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                listener.onComplete(region, failedCount);
+            }
+        });
+    }
+
+    private void saveRegionsAsync() {
+        controlExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                saveRegions();
+            }
+        });
+    }
+
+    @WorkerThread
+    private void saveRegions() {
+        final File tempFile = new File(directory, REGIONS_TEMP_FILE);
+        DataOutputStream output = null;
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            synchronized (regions) {
+                output.writeInt(REGIONS_FILE_VERSION);
+                output.writeInt(regions.size());
+                for (RegionState state : regions.values()) {
+                    final OPFOfflineRegion region = state.region;
+                    output.writeUTF(region.getId());
+                    output.writeUTF(region.getSourceId());
+                    output.writeDouble(region.getSouth());
+                    output.writeDouble(region.getWest());
+                    output.writeDouble(region.getNorth());
+                    output.writeDouble(region.getEast());
+                    output.writeInt(region.getMinZoom());
+                    output.writeInt(region.getMaxZoom());
+                    output.writeLong(state.nextIndex);
+                    output.writeInt(state.failedCount);
+                }
+            }
+            output.close();
+            output = null;
+            if (!tempFile.renameTo(new File(directory, REGIONS_FILE))) {
+                OPFLog.w("Can't save offline regions to " + directory);
+            }
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+        } finally {
+            closeQuietly(output);
+        }
+    }
+
+    @WorkerThread
+    private void readRegions() {
+        final File file = new File(directory, REGIONS_FILE);
+        if (!file.exists()) {
+            return;
+        }
+
+        DataInputStream input = null;
+        try {
+            input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (input.readInt() != REGIONS_FILE_VERSION) {
+                OPFLog.w("Unknown offline regions file version, regions are dropped");
+                return;
+            }
+
+            final int count = input.readInt();
+            synchronized (regions) {
+                for (int i = 0; i < count; i++) {
+                    final OPFOfflineRegion region = new OPFOfflineRegion(input.readUTF(), input.readUTF(),
+                            input.readDouble(), input.readDouble(), input.readDouble(), input.readDouble(),
+                            input.readInt(), input.readInt());
+                    final long nextIndex = Math.min(input.readLong(), region.getTileCount());
+                    final int failedCount = input.readInt();
+                    regions.put(region.getId(), new RegionState(region, nextIndex, failedCount));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            OPFLog.w(e.getMessage());
+        } finally {
+            closeQuietly(input);
+        }
+    }
+
+    private static boolean isContainedIn(@NonNull final List<OPFOfflineRegion> regions,
+                                         final int x,
+                                         final int y,
+                                         final int zoom) {
+        for (OPFOfflineRegion region : regions) {
+            if (region.containsTile(x, y, zoom)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NonNull
+    private static String getKey(@NonNull final String sourceId, final int x, final int y, final int zoom) {
+        return sourceId + '/' + zoom + '/' + x + '/' + y;
+    }
+
+    private static void closeQuietly(@Nullable final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+        }
+    }
+
+    /**
+     * A listener of the download of a region.
+     */
+    public interface DownloadListener {
+
+        /**
+         * Called after a batch of tiles is processed.
+         *
+         * @param region         The region.
+         * @param completedCount The number of processed tiles.
+         * @param tileCount      The number of tiles of the region.
+         */
+        @MainThread
+        void onProgress(@NonNull final OPFOfflineRegion region, final long completedCount, final long tileCount);
+
+        /**
+         * Called when every tile of the region is processed.
+         *
+         * @param region      The region.
+         * @param failedCount The number of tiles which couldn't be downloaded.
+         */
+        @MainThread
+        void onComplete(@NonNull final OPFOfflineRegion region, final int failedCount);
+
+        /**
+         * Called when the download is stopped because the maximum storage size is reached.
+         *
+         * @param region The region.
+         */
+        @MainThread
+        void onStorageFull(@NonNull final OPFOfflineRegion region);
+    }
+
+    private enum Result {
+        DOWNLOADED,
+        FAILED,
+        STORAGE_FULL
+    }
+
+    private static final class RegionState {
+
+        @NonNull
+        private final OPFOfflineRegion region;
+        private long nextIndex;
+        private int failedCount;
+        private volatile boolean isCancelled;
+
+        RegionState(@NonNull final OPFOfflineRegion region, final long nextIndex, final int failedCount) {
+            this.region = region;
+            this.nextIndex = nextIndex;
+            this.failedCount = failedCount;
+        }
+    }
+}
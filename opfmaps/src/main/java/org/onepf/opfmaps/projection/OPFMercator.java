@@ -0,0 +1,150 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.projection;
+
+/**
+ * The spherical Web Mercator projection used by all map providers.
+ * <p/>
+ * The methods work with the normalized world coordinates: {@code x} grows from 0 at the 180th west meridian
+ * to 1 at the 180th east one, {@code y} grows from 0 at the north edge of the map to 1 at the south one.
+ * Multiply them by {@link #getWorldSize(double, double)} to get pixels. The methods are allocation free and thread safe.
+ */
+public final class OPFMercator {
+
+    /**
+     * The size of the tile at the zero zoom level in display independent pixels.
+     */
+    public static final double TILE_SIZE = 256.0;
+
+    /**
+     * The latitude of the north edge of the square world map.
+     */
+    public static final double MAX_LATITUDE = 85.05112877980659;
+
+    /**
+     * The latitude of the south edge of the square world map.
+     */
+    public static final double MIN_LATITUDE = -MAX_LATITUDE;
+
+    private static final double FULL_CIRCLE = 360.0;
+    private static final double HALF_CIRCLE = 180.0;
+
+    private OPFMercator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the size of the world map in pixels.
+     *
+     * @param zoom     The zoom level.
+     * @param tileSize The size of the tile at the zero zoom level in pixels.
+     * @return The world size in pixels.
+     */
+    public static double getWorldSize(final double zoom, final double tileSize) {
+        return tileSize * Math.pow(2, zoom);
+    }
+
+    /**
+     * Returns the zoom level of the world map of the given size.
+     *
+     * @param worldSize The size of the world map in pixels.
+     * @param tileSize  The size of the tile at the zero zoom level in pixels.
+     * @return The zoom level.
+     */
+    public static double getZoom(final double worldSize, final double tileSize) {
+        return Math.log(worldSize / tileSize) / Math.log(2);
+    }
+
+    /**
+     * Converts the longitude to the normalized x coordinate. The longitude isn't wrapped,
+     * so the result is out of the [0, 1] range for the longitudes out of the [-180, 180] range.
+     *
+     * @param longitude The longitude in degrees.
+     * @return The normalized x coordinate.
+     */
+    public static double longitudeToX(final double longitude) {
+        return (longitude + HALF_CIRCLE) / FULL_CIRCLE;
+    }
+
+    /**
+     * Converts the latitude to the normalized y coordinate. The latitude is clipped to the
+     * [{@link #MIN_LATITUDE}, {@link #MAX_LATITUDE}] range.
+     *
+     * @param latitude The latitude in degrees.
+     * @return The normalized y coordinate in the [0, 1] range.
+     */
+    public static double latitudeToY(final double latitude) {
+        final double sinLatitude = Math.sin(Math.toRadians(clipLatitude(latitude)));
+        return 0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI);
+    }
+
+    /**
+     * Converts the normalized x coordinate to the longitude. The longitude isn't wrapped.
+     *
+     * @param x The normalized x coordinate.
+     * @return The longitude in degrees.
+     */
+    public static double xToLongitude(final double x) {
+        return x * FULL_CIRCLE - HALF_CIRCLE;
+    }
+
+    /**
+     * Converts the normalized y coordinate to the latitude.
+     *
+     * @param y The normalized y coordinate.
+     * @return The latitude in degrees.
+     */
+    public static double yToLatitude(final double y) {
+        return 90.0 - FULL_CIRCLE * Math.atan(Math.exp((y - 0.5) * 2 * Math.PI)) / Math.PI;
+    }
+
+    /**
+     * Clips the latitude to the [{@link #MIN_LATITUDE}, {@link #MAX_LATITUDE}] range.
+     *
+     * @param latitude The latitude in degrees.
+     * @return The clipped latitude.
+     */
+    public static double clipLatitude(final double latitude) {
+        return Math.max(MIN_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+    }
+
+    /**
+     * Wraps the longitude to the [-180, 180) range.
+     *
+     * @param longitude The longitude in degrees.
+     * @return The wrapped longitude.
+     */
+    public static double wrapLongitude(final double longitude) {
+        if (longitude >= -HALF_CIRCLE && longitude < HALF_CIRCLE) {
+            return longitude;
+        }
+        return ((longitude + HALF_CIRCLE) % FULL_CIRCLE + FULL_CIRCLE) % FULL_CIRCLE - HALF_CIRCLE;
+    }
+
+    /**
+     * Wraps the difference between two x coordinates to the [-size / 2, size / 2) range,
+     * so it points to the nearest copy of the world.
+     *
+     * @param deltaX    The difference between two x coordinates.
+     * @param worldSize The size of the world map in the units of {@code deltaX}, 1 for the normalized coordinates.
+     * @return The wrapped difference.
+     */
+    public static double wrapDeltaX(final double deltaX, final double worldSize) {
+        return deltaX - worldSize * Math.floor(deltaX / worldSize + 0.5);
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.projection;
+
+import android.content.res.Resources;
+import android.graphics.Point;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.UiThread;
+
+import org.onepf.opfmaps.delegate.model.ProjectionDelegate;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFVisibleRegion;
+
+import java.util.Locale;
+
+/**
+ * An immutable projection of the map at some moment. It converts between geographic coordinates and
+ * screen pixels with the double precision Web Mercator math, so it can be used on any thread, for example
+ * to lay out overlays in the background.
+ * <p/>
+ * The screen coordinates have the same origin as the ones of the projection the snapshot was taken from.
+ * The map tilt isn't taken into account: a tilted map is approximated by a flat one with the scale of its near edge.
+ * <p/>
+ * The snapshot of the current map projection is returned by {@link org.onepf.opfmaps.model.OPFProjection#getSnapshot()}.
+ * Use {@link #builder()} to create a snapshot of an arbitrary camera.
+ */
+public final class OPFProjectionSnapshot {
+
+    private static final double FULL_CIRCLE = 360.0;
+
+    private final double centerLat;
+    private final double centerLng;
+    private final double zoom;
+    private final float bearing;
+    private final int viewportWidth;
+    private final int viewportHeight;
+    private final double screenCenterX;
+    private final double screenCenterY;
+
+    private final double worldSize;
+    private final double centerWorldX;
+    private final double centerWorldY;
+    private final double cos;
+    private final double sin;
+
+    //CHECKSTYLE:OFF
+    private OPFProjectionSnapshot(final double centerLat,
+                                  final double centerLng,
+                                  final double worldSize,
+                                  final double zoom,
+                                  final float bearing,
+                                  final int viewportWidth,
+                                  final int viewportHeight,
+                                  final double screenCenterX,
+                                  final double screenCenterY) {
+        this.centerLat = OPFMercator.clipLatitude(centerLat);
+        this.centerLng = OPFMercator.wrapLongitude(centerLng);
+        this.worldSize = worldSize;
+        this.zoom = zoom;
+        this.bearing = bearing;
+        this.viewportWidth = viewportWidth;
+        this.viewportHeight = viewportHeight;
+        this.screenCenterX = screenCenterX;
+        this.screenCenterY = screenCenterY;
+
+        this.centerWorldX = OPFMercator.longitudeToX(this.centerLng) * worldSize;
+        this.centerWorldY = OPFMercator.latitudeToY(this.centerLat) * worldSize;
+        this.cos = Math.cos(Math.toRadians(bearing));
+        this.sin = Math.sin(Math.toRadians(bearing));
+    }
+    //CHECKSTYLE:ON
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Takes the snapshot of the projection. The camera is restored from the geographic coordinates of the
+     * visible region corners, so the snapshot works the same way for all map providers.
+     *
+     * @param projection The projection of the map.
+     * @return The snapshot or {@code null} if the map hasn't been laid out yet.
+     */
+    @UiThread
+    @Nullable
+    public static OPFProjectionSnapshot capture(@NonNull final ProjectionDelegate projection) {
+        final OPFVisibleRegion region = projection.getVisibleRegion();
+        final OPFLatLng nearLeft = region.getNearLeft();
+        final OPFLatLng nearRight = region.getNearRight();
+        final OPFLatLng farRight = region.getFarRight();
+
+        final Point nearLeftPoint = projection.toScreenLocation(nearLeft);
+        final Point nearRightPoint = projection.toScreenLocation(nearRight);
+        final Point farRightPoint = projection.toScreenLocation(farRight);
+        final int width = nearRightPoint.x - nearLeftPoint.x;
+        final int height = nearLeftPoint.y - farRightPoint.y;
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+
+        // The near edge of the viewport is horizontal, its world vector gives the scale and the bearing.
+        final double nearLeftX = OPFMercator.longitudeToX(nearLeft.getLng());
+        final double nearLeftY = OPFMercator.latitudeToY(nearLeft.getLat());
+        final double edgeX = OPFMercator.wrapDeltaX(OPFMercator.longitudeToX(nearRight.getLng()) - nearLeftX, 1);
+        final double edgeY = OPFMercator.latitudeToY(nearRight.getLat()) - nearLeftY;
+        final double edgeLength = Math.hypot(edgeX, edgeY);
+        if (edgeLength == 0) {
+            return null;
+        }
+
+        final double worldSize = width / edgeLength;
+        final double bearing = (Math.toDegrees(Math.atan2(edgeY, edgeX)) + FULL_CIRCLE) % FULL_CIRCLE;
+
+        // The center of the viewport is the middle of its diagonal.
+        final double diagonalX = OPFMercator.wrapDeltaX(OPFMercator.longitudeToX(farRight.getLng()) - nearLeftX, 1);
+        final double diagonalY = OPFMercator.latitudeToY(farRight.getLat()) - nearLeftY;
+        final double centerLat = OPFMercator.yToLatitude(nearLeftY + diagonalY / 2);
+        final double centerLng = OPFMercator.xToLongitude(nearLeftX + diagonalX / 2);
+
+        return new OPFProjectionSnapshot(
+                centerLat,
+                centerLng,
+                worldSize,
+                OPFMercator.getZoom(worldSize, getDefaultTileSize()),
+                (float) bearing,
+                width,
+                height,
+                (nearLeftPoint.x + farRightPoint.x) / 2.0,
+                (nearLeftPoint.y + farRightPoint.y) / 2.0
+        );
+    }
+
+    /**
+     * Converts the geographic location to the screen location without allocations.
+     * The location is projected to the copy of the world which is the nearest to the camera target.
+     *
+     * @param lat   The latitude in degrees.
+     * @param lng   The longitude in degrees.
+     * @param outXY The array receiving the x and y screen coordinates in pixels at indices 0 and 1.
+     */
+    public void toScreenLocation(final double lat, final double lng, @NonNull final double[] outXY) {
+        final double deltaX = getWorldDeltaX(lng);
+        final double deltaY = getWorldDeltaY(lat);
+        outXY[0] = getScreenX(deltaX, deltaY);
+        outXY[1] = getScreenY(deltaX, deltaY);
+    }
+
+    /**
+     * Converts the geographic location to the screen location.
+     *
+     * @param location The geographic location.
+     * @return The screen location in pixels.
+     */
+    @NonNull
+    public Point toScreenLocation(@NonNull final OPFLatLng location) {
+        final double deltaX = getWorldDeltaX(location.getLng());
+        final double deltaY = getWorldDeltaY(location.getLat());
+        return new Point((int) Math.round(getScreenX(deltaX, deltaY)), (int) Math.round(getScreenY(deltaX, deltaY)));
+    }
+
+    /**
+     * Converts many geographic locations to screen locations.
+     *
+     * @param latLngs The coordinates in degrees as {@code [lat0, lng0, lat1, lng1, ...]}.
+     * @param outXY   The array receiving the rounded screen locations in pixels as {@code [x0, y0, x1, y1, ...]}.
+     */
+    public void toScreenLocations(@NonNull final double[] latLngs, @NonNull final int[] outXY) {
+        for (int i = 0; i < latLngs.length; i += 2) {
+            final double deltaX = getWorldDeltaX(latLngs[i + 1]);
+            final double deltaY = getWorldDeltaY(latLngs[i]);
+            outXY[i] = (int) Math.round(getScreenX(deltaX, deltaY));
+            outXY[i + 1] = (int) Math.round(getScreenY(deltaX, deltaY));
+        }
+    }
+
+    /**
+     * Converts many screen locations to geographic locations.
+     *
+     * @param xy         The screen locations in pixels as {@code [x0, y0, x1, y1, ...]}.
+     * @param outLatLngs The array receiving the coordinates in degrees as {@code [lat0, lng0, lat1, lng1, ...]}.
+     */
+    public void fromScreenLocations(@NonNull final int[] xy, @NonNull final double[] outLatLngs) {
+        final double[] latLng = new double[2];
+        for (int i = 0; i < xy.length; i += 2) {
+            fromScreenLocation(xy[i], xy[i + 1], latLng);
+            outLatLngs[i] = latLng[0];
+            outLatLngs[i + 1] = latLng[1];
+        }
+    }
+
+    /**
+     * Converts the screen location to the geographic location without allocations.
+     *
+     * @param x         The x screen coordinate in pixels.
+     * @param y         The y screen coordinate in pixels.
+     * @param outLatLng The array receiving the latitude and the longitude in degrees at indices 0 and 1.
+     *                  The longitude is wrapped to the [-180, 180) range.
+     */
+    public void fromScreenLocation(final double x, final double y, @NonNull final double[] outLatLng) {
+        final double screenDeltaX = x - screenCenterX;
+        final double screenDeltaY = y - screenCenterY;
+        final double worldX = centerWorldX + cos * screenDeltaX - sin * screenDeltaY;
+        final double worldY = centerWorldY + sin * screenDeltaX + cos * screenDeltaY;
+        outLatLng[0] = OPFMercator.yToLatitude(Math.max(0, Math.min(1, worldY / worldSize)));
+        outLatLng[1] = OPFMercator.wrapLongitude(OPFMercator.xToLongitude(worldX / worldSize));
+    }
+
+    /**
+     * Converts the screen location to the geographic location.
+     *
+     * @param point The screen location in pixels.
+     * @return The geographic location.
+     */
+    @NonNull
+    public OPFLatLng fromScreenLocation(@NonNull final Point point) {
+        final double[] latLng = new double[2];
+        fromScreenLocation(point.x, point.y, latLng);
+        return new OPFLatLng(latLng[0], latLng[1]);
+    }
+
+    /**
+     * Checks whether the geographic location is inside the viewport extended by the margin.
+     *
+     * @param lat    The latitude in degrees.
+     * @param lng    The longitude in degrees.
+     * @param margin The margin in pixels added to each side of the viewport.
+     * @return {@code true} if the location is on the screen, {@code false} otherwise.
+     */
+    public boolean isOnScreen(final double lat, final double lng, final double margin) {
+        final double deltaX = getWorldDeltaX(lng);
+        final double deltaY = getWorldDeltaY(lat);
+        final double halfWidth = viewportWidth / 2.0 + margin;
+        final double halfHeight = viewportHeight / 2.0 + margin;
+        return Math.abs(getScreenX(deltaX, deltaY) - screenCenterX) <= halfWidth
+                && Math.abs(getScreenY(deltaX, deltaY) - screenCenterY) <= halfHeight;
+    }
+
+    @NonNull
+    public OPFLatLng getCenter() {
+        return new OPFLatLng(centerLat, centerLng);
+    }
+
+    public double getCenterLat() {
+        return centerLat;
+    }
+
+    public double getCenterLng() {
+        return centerLng;
+    }
+
+    public double getZoom() {
+        return zoom;
+    }
+
+    public float getBearing() {
+        return bearing;
+    }
+
+    public int getViewportWidth() {
+        return viewportWidth;
+    }
+
+    public int getViewportHeight() {
+        return viewportHeight;
+    }
+
+    /**
+     * Returns the size of the world map in pixels at the zoom level of the snapshot.
+     *
+     * @return The world size in pixels.
+     */
+    public double getWorldSize() {
+        return worldSize;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+
+        final OPFProjectionSnapshot that = (OPFProjectionSnapshot) other;
+        return Double.compare(that.centerLat, centerLat) == 0
+                && Double.compare(that.centerLng, centerLng) == 0
+                && Double.compare(that.worldSize, worldSize) == 0
+                && Float.compare(that.bearing, bearing) == 0
+                && viewportWidth == that.viewportWidth
+                && viewportHeight == that.viewportHeight
+                && Double.compare(that.screenCenterX, screenCenterX) == 0
+                && Double.compare(that.screenCenterY, screenCenterY) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result;
+        long temp;
+        temp = Double.doubleToLongBits(centerLat);
+        result = (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(centerLng);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        temp = Double.doubleToLongBits(worldSize);
+        result = 31 * result + (int) (temp ^ (temp >>> 32));
+        result = 31 * result + (bearing != +0.0f ? Float.floatToIntBits(bearing) : 0);
+        result = 31 * result + viewportWidth;
+        result = 31 * result + viewportHeight;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "OPFProjectionSnapshot{center=(%f, %f), zoom=%.2f, bearing=%.1f, viewport=%dx%d}",
+                centerLat, centerLng, zoom, bearing, viewportWidth, viewportHeight);
+    }
+
+    private double getWorldDeltaX(final double lng) {
+        return OPFMercator.wrapDeltaX(OPFMercator.longitudeToX(lng) * worldSize - centerWorldX, worldSize);
+    }
+
+    private double getWorldDeltaY(final double lat) {
+        return OPFMercator.latitudeToY(lat) * worldSize - centerWorldY;
+    }
+
+    private double getScreenX(final double worldDeltaX, final double worldDeltaY) {
+        return screenCenterX + cos * worldDeltaX + sin * worldDeltaY;
+    }
+
+    private double getScreenY(final double worldDeltaX, final double worldDeltaY) {
+        return screenCenterY - sin * worldDeltaX + cos * worldDeltaY;
+    }
+
+    private static double getDefaultTileSize() {
+        return OPFMercator.TILE_SIZE * Resources.getSystem().getDisplayMetrics().density;
+    }
+
+    /**
+     * Builds a snapshot of an arbitrary camera. The viewport and the zoom level must be set.
+     */
+    public static final class Builder {
+
+        private double centerLat;
+        private double centerLng;
+        private double zoom = Double.NaN;
+        private float bearing;
+        private int viewportWidth;
+        private int viewportHeight;
+        private double tileSize;
+
+        private Builder() {
+            //nothing
+        }
+
+        @NonNull
+        public Builder center(final double lat, final double lng) {
+            this.centerLat = lat;
+            this.centerLng = lng;
+            return this;
+        }
+
+        @NonNull
+        public Builder center(@NonNull final OPFLatLng center) {
+            return center(center.getLat(), center.getLng());
+        }
+
+        @NonNull
+        public Builder zoom(final double zoom) {
+            this.zoom = zoom;
+            return this;
+        }
+
+        /**
+         * Sets the bearing of the camera.
+         *
+         * @param bearing The direction the camera is pointing in, in degrees clockwise from north.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder bearing(final float bearing) {
+            this.bearing = bearing;
+            return this;
+        }
+
+        @NonNull
+        public Builder viewport(final int width, final int height) {
+            this.viewportWidth = width;
+            this.viewportHeight = height;
+            return this;
+        }
+
+        /**
+         * Sets the size of the tile at the zero zoom level. By default it's 256 display independent pixels
+         * converted to the pixels of the device screen.
+         *
+         * @param tileSize The tile size in pixels.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder tileSize(final double tileSize) {
+            this.tileSize = tileSize;
+            return this;
+        }
+
+        /**
+         * Creates the snapshot. The center of the viewport is its middle, the screen origin is its top left corner.
+         *
+         * @return The new snapshot.
+         * @throws IllegalStateException if the viewport or the zoom level isn't set.
+         */
+        @NonNull
+        public OPFProjectionSnapshot build() {
+            if (viewportWidth <= 0 || viewportHeight <= 0) {
+                throw new IllegalStateException("Viewport must be set");
+            }
+            if (Double.isNaN(zoom)) {
+                throw new IllegalStateException("Zoom level must be set");
+            }
+
+            final double actualTileSize = tileSize > 0 ? tileSize : getDefaultTileSize();
+            return new OPFProjectionSnapshot(
+                    centerLat,
+                    centerLng,
+                    OPFMercator.getWorldSize(zoom, actualTileSize),
+                    zoom,
+                    bearing,
+                    viewportWidth,
+                    viewportHeight,
+                    viewportWidth / 2.0,
+                    viewportHeight / 2.0
+            );
+        }
+    }
+}
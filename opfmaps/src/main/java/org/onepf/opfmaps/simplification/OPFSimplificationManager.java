@@ -0,0 +1,231 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.simplification;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.OPFMap;
+import org.onepf.opfmaps.listener.OPFOnCameraChangeListener;
+import org.onepf.opfmaps.model.OPFCameraPosition;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+import org.onepf.opfmaps.model.OPFPolygon;
+import org.onepf.opfmaps.model.OPFPolygonOptions;
+import org.onepf.opfmaps.model.OPFPolyline;
+import org.onepf.opfmaps.model.OPFPolylineOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Draws polylines and polygons with only the vertices which are visible at the current zoom level.
+ * <p/>
+ * The vertex hierarchy of every path is computed once by {@link OPFSimplifiedPath}.
+ * When the integer zoom level changes, the manager replaces the vertices of the paths whose level of detail changed.
+ * Polygon holes are drawn as is.
+ * <p/>
+ * The manager must be set as the camera change listener of the map:
+ * <pre>
+ * map.setOnCameraChangeListener(simplificationManager);
+ * </pre>
+ * All methods must be called from the main thread.
+ */
+public class OPFSimplificationManager implements OPFOnCameraChangeListener {
+
+    private static final float DEFAULT_TOLERANCE = 1.0f;
+    private static final int MIN_POLYLINE_POINTS = 2;
+    private static final int MIN_POLYGON_POINTS = 4;
+
+    @NonNull
+    private final OPFMap map;
+
+    @NonNull
+    private final Map<OPFPolyline, PathEntry> polylines = new HashMap<>();
+    @NonNull
+    private final Map<OPFPolygon, PathEntry> polygons = new HashMap<>();
+
+    private float tolerance = DEFAULT_TOLERANCE;
+    private int zoom;
+
+    /**
+     * Creates the manager.
+     *
+     * @param map The map.
+     */
+    public OPFSimplificationManager(@NonNull final OPFMap map) {
+        this.map = map;
+        this.zoom = toZoomLevel(map.getCameraPosition().getZoom());
+    }
+
+    /**
+     * Sets the maximum deviation of the drawn paths from the original ones. The default value is 1 pixel.
+     * Call {@link #refresh()} to apply it to the added paths.
+     *
+     * @param tolerance The tolerance in pixels of 256x256 tiles, must be zero or greater.
+     * @throws IllegalArgumentException if {@code tolerance} is negative.
+     */
+    public void setTolerance(final float tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Tolerance must be zero or greater: " + tolerance);
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Adds a simplified polyline to the map.
+     *
+     * @param options A polyline options object that defines how to render the polyline.
+     * @return The {@link OPFPolyline} object that was added to the map.
+     */
+    @MainThread
+    @NonNull
+    public OPFPolyline addPolyline(@NonNull final OPFPolylineOptions options) {
+        final PathEntry entry = new PathEntry(new OPFSimplifiedPath(options.getPointSequence()), MIN_POLYLINE_POINTS);
+        final OPFLatLngSequence points = entry.getPoints(zoom, tolerance);
+
+        final OPFPolyline polyline = map.addPolyline(new OPFPolylineOptions()
+                .addAll(points)
+                .color(options.getColor())
+                .geodesic(options.isGeodesic())
+                .visible(options.isVisible())
+                .width(options.getWidth())
+                .zIndex(options.getZIndex()));
+        polylines.put(polyline, entry);
+        return polyline;
+    }
+
+    /**
+     * Adds a polygon with the simplified outline to the map.
+     *
+     * @param options A polygon options object that defines how to render the polygon.
+     * @return The {@link OPFPolygon} object that was added to the map.
+     */
+    @MainThread
+    @NonNull
+    public OPFPolygon addPolygon(@NonNull final OPFPolygonOptions options) {
+        final PathEntry entry = new PathEntry(new OPFSimplifiedPath(options.getPointSequence()), MIN_POLYGON_POINTS);
+        final OPFLatLngSequence points = entry.getPoints(zoom, tolerance);
+
+        final OPFPolygonOptions simplifiedOptions = new OPFPolygonOptions()
+                .addAll(points)
+                .fillColor(options.getFillColor())
+                .geodesic(options.isGeodesic())
+                .strokeColor(options.getStrokeColor())
+                .strokeWidth(options.getStrokeWidth())
+                .visible(options.isVisible())
+                .zIndex(options.getZIndex());
+        for (OPFLatLngSequence hole : options.getHoleSequences()) {
+            simplifiedOptions.addHole(hole);
+        }
+
+        final OPFPolygon polygon = map.addPolygon(simplifiedOptions);
+        polygons.put(polygon, entry);
+        return polygon;
+    }
+
+    /**
+     * Stops simplifying a polyline or a polygon. The overlay stays on the map with its current vertices.
+     *
+     * @param overlay The polyline or the polygon.
+     * @return {@code true} if the overlay was managed, {@code false} otherwise.
+     */
+    @MainThread
+    public boolean remove(@NonNull final Object overlay) {
+        return polylines.remove(overlay) != null || polygons.remove(overlay) != null;
+    }
+
+    /**
+     * Stops simplifying all polylines and polygons.
+     */
+    @MainThread
+    public void clear() {
+        polylines.clear();
+        polygons.clear();
+    }
+
+    /**
+     * Updates the vertices of all paths for the current zoom level and tolerance.
+     */
+    @MainThread
+    public void refresh() {
+        zoom = toZoomLevel(map.getCameraPosition().getZoom());
+        for (Map.Entry<OPFPolyline, PathEntry> entry : polylines.entrySet()) {
+            final PathEntry pathEntry = entry.getValue();
+            final OPFLatLngSequence points = pathEntry.getChangedPoints(zoom, tolerance);
+            if (points != null) {
+                entry.getKey().setPoints(points);
+            }
+        }
+        for (Map.Entry<OPFPolygon, PathEntry> entry : polygons.entrySet()) {
+            final PathEntry pathEntry = entry.getValue();
+            final OPFLatLngSequence points = pathEntry.getChangedPoints(zoom, tolerance);
+            if (points != null) {
+                entry.getKey().setPoints(points);
+            }
+        }
+    }
+
+    @MainThread
+    @Override
+    public void onCameraChange(@NonNull final OPFCameraPosition position) {
+        if (toZoomLevel(position.getZoom()) != zoom) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rounds the zoom up, so paths are never drawn coarser than the tolerance.
+     */
+    private static int toZoomLevel(final float zoom) {
+        return (int) Math.ceil(zoom);
+    }
+
+    private static final class PathEntry {
+
+        @NonNull
+        private final OPFSimplifiedPath path;
+        private final int minPoints;
+        private int shownSize = -1;
+
+        PathEntry(@NonNull final OPFSimplifiedPath path, final int minPoints) {
+            this.path = path;
+            this.minPoints = minPoints;
+        }
+
+        @NonNull
+        OPFLatLngSequence getPoints(final int zoom, final float tolerance) {
+            final OPFLatLngSequence points = path.getPoints(zoom, tolerance, minPoints);
+            shownSize = points.size();
+            return points;
+        }
+
+        /**
+         * Returns the points for the zoom level or {@code null} if they are the same as the shown ones.
+         * The vertex sets of a hierarchy are nested, so equal sizes mean equal vertices.
+         */
+        @Nullable
+        OPFLatLngSequence getChangedPoints(final int zoom, final float tolerance) {
+            final OPFLatLngSequence points = path.getPoints(zoom, tolerance, minPoints);
+            if (points.size() == shownSize) {
+                return null;
+            }
+            shownSize = points.size();
+            return points;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.simplification;
+
+import android.support.annotation.NonNull;
+
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+
+import java.util.Arrays;
+
+/**
+ * A path with a precomputed multi-resolution vertex hierarchy.
+ * <p/>
+ * The Douglas-Peucker algorithm is run once, down to the last vertex, and every vertex remembers the tolerance
+ * at which it is dropped. The distances are measured on the Web Mercator plane normalized to [0, 1],
+ * so a tolerance for any zoom level is just the number of pixels divided by the world size in pixels,
+ * and the vertices for the zoom level are taken by a single linear pass.
+ */
+public final class OPFSimplifiedPath {
+
+    private static final double TILE_SIZE = 256.0;
+    private static final double FULL_CIRCLE = 360.0;
+    private static final double MAX_SIN_LATITUDE = 0.9999;
+
+    @NonNull
+    private final OPFLatLngSequence points;
+    @NonNull
+    private final double[] tolerances;
+    @NonNull
+    private final double[] sortedTolerances;
+
+    /**
+     * Computes the vertex hierarchy of the path.
+     *
+     * @param points The vertices of the path. The sequence is copied.
+     */
+    public OPFSimplifiedPath(@NonNull final OPFLatLngSequence points) {
+        this.points = new OPFLatLngSequence(points.size()).addAll(points);
+        this.tolerances = computeTolerances(this.points);
+        this.sortedTolerances = tolerances.clone();
+        Arrays.sort(sortedTolerances);
+    }
+
+    /**
+     * Returns the number of vertices of the original path.
+     *
+     * @return The number of vertices.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Returns the original path.
+     *
+     * @return The copy of the original vertices.
+     */
+    @NonNull
+    public OPFLatLngSequence getOriginalPoints() {
+        return new OPFLatLngSequence(points.size()).addAll(points);
+    }
+
+    /**
+     * Returns the vertices which are needed to draw the path at the zoom level with the given precision.
+     *
+     * @param zoom            The zoom level.
+     * @param tolerancePixels The maximum deviation from the original path, in pixels of 256x256 tiles.
+     * @param minPoints       The minimum number of vertices to keep, e.g. 4 for a closed polygon outline.
+     * @return The simplified path.
+     */
+    @NonNull
+    public OPFLatLngSequence getPoints(final int zoom, final float tolerancePixels, final int minPoints) {
+        return getPoints(tolerancePixels / (TILE_SIZE * Math.pow(2, zoom)), minPoints);
+    }
+
+    /**
+     * Returns the vertices which are needed to draw the path with the given precision.
+     *
+     * @param tolerance The maximum deviation from the original path, as a fraction of the Web Mercator world size.
+     * @param minPoints The minimum number of vertices to keep. All vertices are kept if the path is shorter.
+     * @return The simplified path.
+     */
+    @NonNull
+    public OPFLatLngSequence getPoints(final double tolerance, final int minPoints) {
+        final int size = points.size();
+        double threshold = tolerance;
+        if (minPoints > 0 && size > 0) {
+            threshold = Math.min(threshold, sortedTolerances[size - Math.min(minPoints, size)]);
+        }
+
+        int count = 0;
+        for (double vertexTolerance : tolerances) {
+            if (vertexTolerance >= threshold) {
+                count++;
+            }
+        }
+
+        final OPFLatLngSequence result = new OPFLatLngSequence(count);
+        for (int i = 0; i < size; i++) {
+            if (tolerances[i] >= threshold) {
+                result.add(points.getLat(i), points.getLng(i));
+            }
+        }
+        return result;
+    }
+
+    @NonNull
+    private static double[] computeTolerances(@NonNull final OPFLatLngSequence points) {
+        final int size = points.size();
+        final double[] tolerances = new double[size];
+        if (size == 0) {
+            return tolerances;
+        }
+
+        final double[] xs = new double[size];
+        final double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = points.getLng(i) / FULL_CIRCLE + 0.5;
+            final double sinLat = Math.max(-MAX_SIN_LATITUDE,
+                    Math.min(MAX_SIN_LATITUDE, Math.sin(Math.toRadians(points.getLat(i)))));
+            ys[i] = 0.5 - Math.log((1 + sinLat) / (1 - sinLat)) / (4 * Math.PI);
+        }
+
+        tolerances[0] = Double.POSITIVE_INFINITY;
+        tolerances[size - 1] = Double.POSITIVE_INFINITY;
+
+        // Iterative Douglas-Peucker, long paths would overflow the call stack.
+        final int[] stack = new int[2 * size];
+        int stackSize = 0;
+        stack[stackSize++] = 0;
+        stack[stackSize++] = size - 1;
+        while (stackSize > 0) {
+            final int end = stack[--stackSize];
+            final int start = stack[--stackSize];
+            if (end - start < 2) {
+                continue;
+            }
+
+            int farthest = start + 1;
+            double maxDistance = -1;
+            for (int i = start + 1; i < end; i++) {
+                final double distance = distanceToSegment(xs[i], ys[i], xs[start], ys[start], xs[end], ys[end]);
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    farthest = i;
+                }
+            }
+
+            // A vertex is never kept longer than the vertices which split the path before it.
+            tolerances[farthest] = Math.min(maxDistance, Math.min(tolerances[start], tolerances[end]));
+            stack[stackSize++] = start;
+            stack[stackSize++] = farthest;
+            stack[stackSize++] = farthest;
+            stack[stackSize++] = end;
+        }
+        return tolerances;
+    }
+
+    private static double distanceToSegment(final double x, final double y,
+                                            final double startX, final double startY,
+                                            final double endX, final double endY) {
+        final double dx = endX - startX;
+        final double dy = endY - startY;
+        final double lengthSquared = dx * dx + dy * dy;
+        double projX = startX;
+        double projY = startY;
+        if (lengthSquared > 0) {
+            final double t = Math.max(0, Math.min(1, ((x - startX) * dx + (y - startY) * dy) / lengthSquared));
+            projX += t * dx;
+            projY += t * dy;
+        }
+        return Math.hypot(x - projX, y - projY);
+    }
+}
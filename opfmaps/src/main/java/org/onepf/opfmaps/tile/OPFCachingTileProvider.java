@@ -0,0 +1,304 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.util.LruCache;
+
+import org.onepf.opfmaps.metrics.OPFMapMetrics;
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfmaps.model.OPFTileProvider;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A tile provider which caches the tiles of another provider, e.g. an {@link org.onepf.opfmaps.model.OPFUrlTileProvider},
+ * in a byte-bounded memory LRU cache and an optional {@link OPFDiskTileCache}.
+ * <p/>
+ * A tile is looked up in memory, then on disk, and only then requested from the source provider.
+ * Tiles found on disk are promoted to memory and keep the time they were written to disk, so the time to live
+ * of the source counts from the download. Tiles older than the time to live are requested again.
+ * The disk cache can be shared between providers, the tiles of each source are stored under its source id.
+ */
+public final class OPFCachingTileProvider implements OPFTileProvider {
+
+    public static final int DEFAULT_MEMORY_CACHE_SIZE = 4 * 1024 * 1024;
+
+    @NonNull
+    private final OPFTileProvider source;
+    @NonNull
+    private final String sourceId;
+    @Nullable
+    private final OPFDiskTileCache diskCache;
+    private final long timeToLive;
+
+    @NonNull
+    private final LruCache<String, CachedTile> memoryCache;
+
+    @NonNull
+    private final AtomicLong memoryHitCount = new AtomicLong();
+    @NonNull
+    private final AtomicLong diskHitCount = new AtomicLong();
+    @NonNull
+    private final AtomicLong missCount = new AtomicLong();
+
+    private OPFCachingTileProvider(@NonNull final Builder builder) {
+        this.source = builder.source;
+        this.sourceId = builder.sourceId;
+        this.diskCache = builder.diskCache;
+        this.timeToLive = builder.timeToLive;
+        this.memoryCache = new LruCache<String, CachedTile>(builder.memoryCacheSize) {
+            @Override
+            protected int sizeOf(final String key, final CachedTile cachedTile) {
+                return cachedTile.tile.getData().length;
+            }
+        };
+    }
+
+    /**
+     * Creates a builder of a caching provider.
+     *
+     * @param source   The provider of the tiles.
+     * @param sourceId The id of the source, unique among the providers sharing a disk cache.
+     * @return The new builder.
+     */
+    @NonNull
+    public static Builder builder(@NonNull final OPFTileProvider source, @NonNull final String sourceId) {
+        return new Builder(source, sourceId);
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    public OPFTile getTile(final int x, final int y, final int zoom) {
+        final String key = getKey(x, y, zoom);
+        final CachedTile cachedTile = memoryCache.get(key);
+        if (cachedTile != null) {
+            if (!isExpired(cachedTile.timestamp)) {
+                memoryHitCount.incrementAndGet();
+                OPFMapMetrics.getInstance().increment(OPFMapMetrics.TILE_MEMORY_HIT);
+                return cachedTile.tile;
+            }
+            memoryCache.remove(key);
+        }
+
+        if (diskCache != null) {
+            //Read before the tile, so a concurrent replacement can only make the promoted tile expire earlier.
+            final long diskTimestamp = diskCache.getTimestamp(key);
+            final OPFTile diskTile = diskCache.get(key, timeToLive);
+            if (diskTile != null) {
+                diskHitCount.incrementAndGet();
+                OPFMapMetrics.getInstance().increment(OPFMapMetrics.TILE_DISK_HIT);
+                memoryCache.put(key, new CachedTile(diskTile, diskTimestamp));
+                return diskTile;
+            }
+        }
+
+        missCount.incrementAndGet();
+        OPFMapMetrics.getInstance().increment(OPFMapMetrics.TILE_MISS);
+        final OPFTile tile = source.getTile(x, y, zoom);
+        if (tile != null) {
+            put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * Puts a tile to the caches, e.g. a tile downloaded in advance.
+     *
+     * @param x    The x coordinate of the tile.
+     * @param y    The y coordinate of the tile.
+     * @param zoom The zoom level of the tile.
+     * @param tile The tile.
+     */
+    @WorkerThread
+    public void putTile(final int x, final int y, final int zoom, @NonNull final OPFTile tile) {
+        put(getKey(x, y, zoom), tile);
+    }
+
+    /**
+     * Checks if a fresh tile is cached in memory or on disk.
+     *
+     * @param x    The x coordinate of the tile.
+     * @param y    The y coordinate of the tile.
+     * @param zoom The zoom level of the tile.
+     * @return {@code true} if the tile is cached, {@code false} otherwise.
+     */
+    @WorkerThread
+    public boolean isCached(final int x, final int y, final int zoom) {
+        final String key = getKey(x, y, zoom);
+        final CachedTile cachedTile = memoryCache.get(key);
+        if (cachedTile != null && !isExpired(cachedTile.timestamp)) {
+            return true;
+        }
+        return diskCache != null && diskCache.contains(key, timeToLive);
+    }
+
+    /**
+     * Removes a tile from the caches.
+     *
+     * @param x    The x coordinate of the tile.
+     * @param y    The y coordinate of the tile.
+     * @param zoom The zoom level of the tile.
+     */
+    @WorkerThread
+    public void invalidate(final int x, final int y, final int zoom) {
+        final String key = getKey(x, y, zoom);
+        memoryCache.remove(key);
+        if (diskCache != null) {
+            diskCache.remove(key);
+        }
+    }
+
+    /**
+     * Removes all tiles from the memory cache. The disk cache is kept.
+     */
+    public void clearMemoryCache() {
+        memoryCache.evictAll();
+    }
+
+    @NonNull
+    public OPFTileProvider getSource() {
+        return source;
+    }
+
+    @NonNull
+    public String getSourceId() {
+        return sourceId;
+    }
+
+    /**
+     * Returns the number of tiles returned from the memory cache.
+     *
+     * @return The number of memory cache hits.
+     */
+    public long getMemoryHitCount() {
+        return memoryHitCount.get();
+    }
+
+    /**
+     * Returns the number of tiles returned from the disk cache.
+     *
+     * @return The number of disk cache hits.
+     */
+    public long getDiskHitCount() {
+        return diskHitCount.get();
+    }
+
+    /**
+     * Returns the number of tiles requested from the source provider.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private void put(@NonNull final String key, @NonNull final OPFTile tile) {
+        memoryCache.put(key, new CachedTile(tile, System.currentTimeMillis()));
+        if (diskCache != null) {
+            diskCache.put(key, tile);
+        }
+    }
+
+    private boolean isExpired(final long timestamp) {
+        return timeToLive > 0 && System.currentTimeMillis() - timestamp > timeToLive;
+    }
+
+    @NonNull
+    private String getKey(final int x, final int y, final int zoom) {
+        return sourceId + '/' + zoom + '/' + x + '/' + y;
+    }
+
+    private static final class CachedTile {
+
+        @NonNull
+        private final OPFTile tile;
+        private final long timestamp;
+
+        CachedTile(@NonNull final OPFTile tile, final long timestamp) {
+            this.tile = tile;
+            this.timestamp = timestamp;
+        }
+    }
+
+    public static final class Builder {
+
+        @NonNull
+        private final OPFTileProvider source;
+        @NonNull
+        private final String sourceId;
+        @Nullable
+        private OPFDiskTileCache diskCache;
+        private int memoryCacheSize = DEFAULT_MEMORY_CACHE_SIZE;
+        private long timeToLive;
+
+        private Builder(@NonNull final OPFTileProvider source, @NonNull final String sourceId) {
+            this.source = source;
+            this.sourceId = sourceId;
+        }
+
+        /**
+         * Sets the size of the memory cache.
+         *
+         * @param memoryCacheSize The maximum size of the tile data kept in memory, in bytes.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder memoryCacheSize(final int memoryCacheSize) {
+            if (memoryCacheSize <= 0) {
+                throw new IllegalArgumentException("Cache size must be positive: " + memoryCacheSize);
+            }
+            this.memoryCacheSize = memoryCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the disk cache. Tiles are cached only in memory by default.
+         *
+         * @param diskCache The disk cache.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder diskCache(@Nullable final OPFDiskTileCache diskCache) {
+            this.diskCache = diskCache;
+            return this;
+        }
+
+        /**
+         * Sets the time to live of the tiles of the source. Tiles never expire by default.
+         *
+         * @param timeToLive The time to live in milliseconds, or 0 if tiles never expire.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder timeToLive(final long timeToLive) {
+            if (timeToLive < 0) {
+                throw new IllegalArgumentException("Time to live must be zero or greater: " + timeToLive);
+            }
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        @NonNull
+        public OPFCachingTileProvider build() {
+            return new OPFCachingTileProvider(this);
+        }
+    }
+}
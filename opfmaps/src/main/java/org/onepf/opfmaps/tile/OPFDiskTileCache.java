@@ -0,0 +1,469 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfutils.OPFLog;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded disk cache of tiles stored in a single pack file.
+ * <p/>
+ * Tiles are appended to the pack file as records of a header and the image data. Reads, removals and evictions
+ * are appended as records without data, so the pack file is a log of the cache. The index of the records is kept
+ * in memory in the least recently used order and is rebuilt by replaying the log when the cache is opened,
+ * so a lookup costs one seek and one read. Reads are logged lazily: their marks are appended with the next put or
+ * removal, in batches, or when the cache is closed, so a hit doesn't cost a write. Tiles above the size cap
+ * are evicted, and the pack file is compacted when the evicted and replaced records and the marks take more space
+ * than the live tiles.
+ * <p/>
+ * The cache can be shared by several {@link OPFCachingTileProvider}s; all methods are thread-safe
+ * and must not be called from the main thread.
+ */
+public final class OPFDiskTileCache implements Closeable {
+
+    private static final String PACK_FILE_NAME = "tiles.pack";
+    private static final String COMPACTION_FILE_NAME = "tiles.pack.tmp";
+
+    private static final Charset KEY_CHARSET = Charset.forName("UTF-8");
+    private static final int MAX_KEY_LENGTH = 1024;
+    private static final int RECORD_HEADER_SIZE = 4 + 8 + 4 + 4 + 4;
+    private static final long MIN_COMPACTION_SIZE = 1024 * 1024;
+    private static final int MAX_PENDING_READS_COUNT = 64;
+
+    //The data lengths of the records without data.
+    private static final int REMOVE_MARK = -1;
+    private static final int READ_MARK = -2;
+
+    @NonNull
+    private final File directory;
+    private final long maxSize;
+
+    @NonNull
+    //In the least recently used order. Insertion-ordered, so lookups which mustn't change the order are possible.
+    private final LinkedHashMap<String, Record> index = new LinkedHashMap<>();
+
+    //The keys of the reads which aren't logged yet, in the order of the last read.
+    @NonNull
+    private final LinkedHashMap<String, byte[]> pendingReads = new LinkedHashMap<>();
+    private int pendingReadsLength;
+
+    @NonNull
+    private RandomAccessFile packFile;
+    private long liveSize;
+
+    /**
+     * Opens the cache and rebuilds its index from the pack file.
+     *
+     * @param directory The directory of the cache. It's created if it doesn't exist.
+     * @param maxSize   The maximum size of the cached tile data, in bytes.
+     * @throws IOException if the pack file can't be opened.
+     */
+    @WorkerThread
+    public OPFDiskTileCache(@NonNull final File directory, final long maxSize) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Can't create cache directory " + directory);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.packFile = new RandomAccessFile(new File(directory, PACK_FILE_NAME), "rw");
+        readIndex();
+        trimToSize();
+    }
+
+    /**
+     * Returns a cached tile.
+     *
+     * @param key    The key of the tile.
+     * @param maxAge The maximum age of the tile in milliseconds, or 0 if the tile never expires.
+     *               An expired tile is removed from the cache.
+     * @return The cached tile or {@code null} if there is no fresh tile for the key.
+     */
+    @WorkerThread
+    @Nullable
+    public synchronized OPFTile get(@NonNull final String key, final long maxAge) {
+        final Record record = index.get(key);
+        if (record == null) {
+            return null;
+        }
+        if (isExpired(record, maxAge)) {
+            remove(key);
+            return null;
+        }
+
+        final byte[] data = new byte[record.dataLength];
+        try {
+            packFile.seek(record.dataOffset);
+            packFile.readFully(data);
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+            remove(key);
+            return null;
+        }
+
+        touch(key, record);
+        addPendingRead(key);
+        if (pendingReads.size() >= MAX_PENDING_READS_COUNT) {
+            try {
+                writePendingReads();
+                compactIfNeeded();
+            } catch (IOException e) {
+                OPFLog.w(e.getMessage());
+            }
+        }
+        return new OPFTile(record.width, record.height, data);
+    }
+
+    /**
+     * Puts a tile to the cache, replacing the tile with the same key.
+     *
+     * @param key  The key of the tile.
+     * @param tile The tile.
+     */
+    @WorkerThread
+    public synchronized void put(@NonNull final String key, @NonNull final OPFTile tile) {
+        final byte[] keyBytes = key.getBytes(KEY_CHARSET);
+        final byte[] data = tile.getData();
+        if (keyBytes.length == 0 || keyBytes.length > MAX_KEY_LENGTH || data.length > maxSize) {
+            return;
+        }
+
+        try {
+            final long recordOffset = packFile.length() + pendingReadsLength;
+            final Record record = new Record(recordOffset, recordOffset + RECORD_HEADER_SIZE + keyBytes.length,
+                    data.length, tile.getWidth(), tile.getHeight(), System.currentTimeMillis());
+            final ByteBuffer header = allocateWithPendingReads(RECORD_HEADER_SIZE + keyBytes.length);
+            putHeader(header, keyBytes, record.timestamp, record.width, record.height, record.dataLength);
+            append(header);
+            packFile.write(data);
+
+            final Record oldRecord = index.remove(key);
+            if (oldRecord != null) {
+                liveSize -= oldRecord.dataLength;
+            }
+            index.put(key, record);
+            liveSize += record.dataLength;
+            trimToSize();
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+        }
+    }
+
+    /**
+     * Removes a tile from the cache.
+     *
+     * @param key The key of the tile.
+     */
+    @WorkerThread
+    public synchronized void remove(@NonNull final String key) {
+        final Record record = index.remove(key);
+        if (record != null) {
+            liveSize -= record.dataLength;
+            try {
+                writeMark(key, REMOVE_MARK);
+            } catch (IOException e) {
+                OPFLog.w(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the time when a tile was put to the cache.
+     *
+     * @param key The key of the tile.
+     * @return The time in milliseconds or {@code 0} if there is no tile for the key.
+     */
+    public synchronized long getTimestamp(@NonNull final String key) {
+        final Record record = index.get(key);
+        return record == null ? 0 : record.timestamp;
+    }
+
+    /**
+     * Checks if the cache contains a tile. Doesn't change the order of eviction.
+     *
+     * @param key The key of the tile.
+     * @return {@code true} if the cache contains the tile, {@code false} otherwise.
+     */
+    public synchronized boolean contains(@NonNull final String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * Checks if the cache contains a fresh tile. Looks at the index only and doesn't change the order of eviction.
+     *
+     * @param key    The key of the tile.
+     * @param maxAge The maximum age of the tile in milliseconds, or 0 if the tile never expires.
+     * @return {@code true} if the cache contains a fresh tile, {@code false} otherwise.
+     */
+    public synchronized boolean contains(@NonNull final String key, final long maxAge) {
+        final Record record = index.get(key);
+        return record != null && !isExpired(record, maxAge);
+    }
+
+    /**
+     * Removes all tiles and truncates the pack file.
+     */
+    @WorkerThread
+    public synchronized void clear() {
+        index.clear();
+        pendingReads.clear();
+        pendingReadsLength = 0;
+        liveSize = 0;
+        try {
+            packFile.setLength(0);
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the size of the cached tile data.
+     *
+     * @return The size in bytes.
+     */
+    public synchronized long size() {
+        return liveSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            writePendingReads();
+        } finally {
+            packFile.close();
+        }
+    }
+
+    private void readIndex() throws IOException {
+        final long length = packFile.length();
+        final byte[] headerBytes = new byte[RECORD_HEADER_SIZE + MAX_KEY_LENGTH];
+        final ByteBuffer header = ByteBuffer.wrap(headerBytes);
+        long offset = 0;
+        while (offset + RECORD_HEADER_SIZE <= length) {
+            packFile.seek(offset);
+            final int keyLength = packFile.readInt();
+            if (keyLength <= 0 || keyLength > MAX_KEY_LENGTH || offset + RECORD_HEADER_SIZE + keyLength > length) {
+                break;
+            }
+            // the rest of the header is read at once
+            packFile.readFully(headerBytes, 0, RECORD_HEADER_SIZE - 4 + keyLength);
+            header.clear();
+            final String key = new String(headerBytes, 0, keyLength, KEY_CHARSET);
+            header.position(keyLength);
+            final long timestamp = header.getLong();
+            final int width = header.getInt();
+            final int height = header.getInt();
+            final int dataLength = header.getInt();
+            final long dataOffset = offset + RECORD_HEADER_SIZE + keyLength;
+            if (dataLength == READ_MARK) {
+                final Record record = index.get(key);
+                if (record != null) {
+                    touch(key, record);
+                }
+                offset = dataOffset;
+                continue;
+            } else if (dataLength == REMOVE_MARK) {
+                final Record record = index.remove(key);
+                if (record != null) {
+                    liveSize -= record.dataLength;
+                }
+                offset = dataOffset;
+                continue;
+            } else if (dataLength < 0 || dataOffset + dataLength > length) {
+                break;
+            }
+
+            final Record oldRecord = index.remove(key);
+            if (oldRecord != null) {
+                liveSize -= oldRecord.dataLength;
+            }
+            index.put(key, new Record(offset, dataOffset, dataLength, width, height, timestamp));
+            liveSize += dataLength;
+            offset = dataOffset + dataLength;
+        }
+
+        if (offset < length) {
+            // the tail of an interrupted write
+            packFile.setLength(offset);
+        }
+    }
+
+    private void trimToSize() throws IOException {
+        final Iterator<Map.Entry<String, Record>> iterator = index.entrySet().iterator();
+        while (liveSize > maxSize && iterator.hasNext()) {
+            final Map.Entry<String, Record> entry = iterator.next();
+            liveSize -= entry.getValue().dataLength;
+            iterator.remove();
+            writeMark(entry.getKey(), REMOVE_MARK);
+        }
+        compactIfNeeded();
+    }
+
+    private void compactIfNeeded() throws IOException {
+        final long packLength = packFile.length();
+        if (packLength > MIN_COMPACTION_SIZE && packLength - liveSize > liveSize) {
+            compact();
+        }
+    }
+
+    //Moves the record to the most recently used end of the index.
+    private void touch(@NonNull final String key, @NonNull final Record record) {
+        index.remove(key);
+        index.put(key, record);
+    }
+
+    private void addPendingRead(@NonNull final String key) {
+        byte[] keyBytes = pendingReads.remove(key);
+        if (keyBytes == null) {
+            keyBytes = key.getBytes(KEY_CHARSET);
+            pendingReadsLength += RECORD_HEADER_SIZE + keyBytes.length;
+        }
+        pendingReads.put(key, keyBytes);
+    }
+
+    private void writePendingReads() throws IOException {
+        if (!pendingReads.isEmpty()) {
+            append(allocateWithPendingReads(0));
+        }
+    }
+
+    private void writeMark(@NonNull final String key, final int mark) throws IOException {
+        final byte[] keyBytes = key.getBytes(KEY_CHARSET);
+        final ByteBuffer header = allocateWithPendingReads(RECORD_HEADER_SIZE + keyBytes.length);
+        putHeader(header, keyBytes, 0, 0, 0, mark);
+        append(header);
+    }
+
+    //Allocates a buffer for the records and puts the pending read marks to it, so they are logged before the records.
+    @NonNull
+    private ByteBuffer allocateWithPendingReads(final int recordsLength) {
+        final ByteBuffer buffer = ByteBuffer.allocate(pendingReadsLength + recordsLength);
+        for (byte[] keyBytes : pendingReads.values()) {
+            putHeader(buffer, keyBytes, 0, 0, 0, READ_MARK);
+        }
+        pendingReads.clear();
+        pendingReadsLength = 0;
+        return buffer;
+    }
+
+    private void append(@NonNull final ByteBuffer buffer) throws IOException {
+        packFile.seek(packFile.length());
+        packFile.write(buffer.array(), 0, buffer.position());
+    }
+
+    private static void putHeader(@NonNull final ByteBuffer buffer, @NonNull final byte[] keyBytes,
+                                  final long timestamp, final int width, final int height, final int dataLength) {
+        buffer.putInt(keyBytes.length)
+                .put(keyBytes)
+                .putLong(timestamp)
+                .putInt(width)
+                .putInt(height)
+                .putInt(dataLength);
+    }
+
+    private static boolean isExpired(@NonNull final Record record, final long maxAge) {
+        return maxAge > 0 && System.currentTimeMillis() - record.timestamp > maxAge;
+    }
+
+    private void compact() throws IOException {
+        final File compactionFile = new File(directory, COMPACTION_FILE_NAME);
+        final List<Map.Entry<String, Record>> entries = new ArrayList<>(index.entrySet());
+        final List<Record> newRecords = new ArrayList<>(entries.size());
+        final RandomAccessFile newPackFile = new RandomAccessFile(compactionFile, "rw");
+        try {
+            newPackFile.setLength(0);
+            byte[] buffer = new byte[0];
+            for (Map.Entry<String, Record> entry : entries) {
+                final Record record = entry.getValue();
+                final int headerLength = (int) (record.dataOffset - record.recordOffset);
+                final int recordLength = headerLength + record.dataLength;
+                if (buffer.length < recordLength) {
+                    buffer = new byte[recordLength];
+                }
+                packFile.seek(record.recordOffset);
+                packFile.readFully(buffer, 0, recordLength);
+
+                final long newRecordOffset = newPackFile.getFilePointer();
+                newPackFile.write(buffer, 0, recordLength);
+                newRecords.add(new Record(newRecordOffset, newRecordOffset + headerLength,
+                        record.dataLength, record.width, record.height, record.timestamp));
+            }
+        } finally {
+            newPackFile.close();
+        }
+
+        final File pack = new File(directory, PACK_FILE_NAME);
+        packFile.close();
+        if (!compactionFile.renameTo(pack)) {
+            packFile = new RandomAccessFile(pack, "rw");
+            //noinspection ResultOfMethodCallIgnored
+            compactionFile.delete();
+            throw new IOException("Can't replace " + pack);
+        }
+
+        packFile = new RandomAccessFile(pack, "rw");
+        // the compacted pack file keeps the records in the least recently used order
+        pendingReads.clear();
+        pendingReadsLength = 0;
+        final int size = entries.size();
+        for (int i = 0; i < size; i++) {
+            entries.get(i).setValue(newRecords.get(i));
+        }
+    }
+
+    private static final class Record {
+
+        private final long recordOffset;
+        private final long dataOffset;
+        private final int dataLength;
+        private final int width;
+        private final int height;
+        private final long timestamp;
+
+        Record(final long recordOffset, final long dataOffset, final int dataLength,
+               final int width, final int height, final long timestamp) {
+            this.recordOffset = recordOffset;
+            this.dataOffset = dataOffset;
+            this.dataLength = dataLength;
+            this.width = width;
+            this.height = height;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfmaps.model.OPFTileProvider;
+import org.onepf.opfmaps.model.OPFUrlTileProvider;
+import org.onepf.opfutils.OPFLog;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * A tile provider which downloads the tiles of a {@link OPFUrlTileProvider.TileUrlProvider}
+ * with an {@link OPFTileFetchEngine} instead of the blocking fetch of the map provider.
+ * <p/>
+ * Tiles which intersect the visible bounds set with {@link #setVisibleBounds(OPFLatLngBounds)}
+ * are requested with {@link OPFTileFetchEngine#PRIORITY_HIGH}, the margin tiles with {@link OPFTileFetchEngine#PRIORITY_LOW}.
+ * Several providers can share one engine, so the limits of the engine apply to all of them.
+ */
+public final class OPFFetchingTileProvider implements OPFTileProvider {
+
+    private static final double FULL_CIRCLE = 360.0;
+    private static final double HALF_CIRCLE = 180.0;
+
+    private final int width;
+    private final int height;
+    @NonNull
+    private final OPFUrlTileProvider.TileUrlProvider tileUrlProvider;
+    @NonNull
+    private final OPFTileFetchEngine engine;
+
+    /**
+     * South, west, north and east of the visible bounds.
+     */
+    @Nullable
+    private volatile double[] visibleBounds;
+
+    /**
+     * Creates a provider of tiles.
+     *
+     * @param width           The width of the tiles in pixels.
+     * @param height          The height of the tiles in pixels.
+     * @param tileUrlProvider The provider of the tile URLs.
+     * @param engine          The engine which downloads the tiles.
+     */
+    public OPFFetchingTileProvider(final int width,
+                                   final int height,
+                                   @NonNull final OPFUrlTileProvider.TileUrlProvider tileUrlProvider,
+                                   @NonNull final OPFTileFetchEngine engine) {
+        this.width = width;
+        this.height = height;
+        this.tileUrlProvider = tileUrlProvider;
+        this.engine = engine;
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    public OPFTile getTile(final int x, final int y, final int zoom) {
+        final URL url = tileUrlProvider.getTileUrl(x, y, zoom);
+        if (url == null) {
+            return null;
+        }
+
+        try {
+            final byte[] data = engine.fetch(url, getPriority(x, y, zoom));
+            return data == null ? null : new OPFTile(width, height, data);
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sets the visible bounds of the map, e.g. from {@link org.onepf.opfmaps.listener.OPFOnCameraChangeListener}.
+     * Tiles outside of the bounds are fetched after the visible ones.
+     *
+     * @param bounds The visible bounds or {@code null} to fetch all tiles with the normal priority.
+     */
+    public void setVisibleBounds(@Nullable final OPFLatLngBounds bounds) {
+        if (bounds == null) {
+            visibleBounds = null;
+            return;
+        }
+
+        final OPFLatLng southwest = bounds.getSouthwest();
+        final OPFLatLng northeast = bounds.getNortheast();
+        visibleBounds = new double[]{southwest.getLat(), southwest.getLng(), northeast.getLat(), northeast.getLng()};
+    }
+
+    @NonNull
+    public OPFTileFetchEngine getEngine() {
+        return engine;
+    }
+
+    private int getPriority(final int x, final int y, final int zoom) {
+        final double[] bounds = visibleBounds;
+        if (bounds == null) {
+            return OPFTileFetchEngine.PRIORITY_NORMAL;
+        }
+
+        final double tilesCount = Math.pow(2, zoom);
+        final double tileWest = x / tilesCount * FULL_CIRCLE - HALF_CIRCLE;
+        final double tileEast = (x + 1) / tilesCount * FULL_CIRCLE - HALF_CIRCLE;
+        final double tileNorth = toLatitude(y / tilesCount);
+        final double tileSouth = toLatitude((y + 1) / tilesCount);
+
+        final boolean intersectsLatitude = tileSouth <= bounds[2] && tileNorth >= bounds[0];
+        final boolean intersectsLongitude = bounds[1] <= bounds[3]
+                ? tileWest <= bounds[3] && tileEast >= bounds[1]
+                : tileWest <= bounds[3] || tileEast >= bounds[1];
+        return intersectsLatitude && intersectsLongitude
+                ? OPFTileFetchEngine.PRIORITY_HIGH
+                : OPFTileFetchEngine.PRIORITY_LOW;
+    }
+
+    private static double toLatitude(final double mercatorY) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * mercatorY))));
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Downloads tile images over HTTP for {@link OPFFetchingTileProvider}s.
+ * <p/>
+ * The engine runs at most {@code maxRequests} requests at once and at most {@code maxRequestsPerHost} to one host.
+ * Waiting requests are started in the order of their priority, so visible tiles go before prefetched ones.
+ * A request for a URL which is already being fetched joins the running request instead of starting a new one.
+ * <p/>
+ * Responses with an {@code ETag} or a {@code Last-Modified} header are kept in a byte-bounded memory cache
+ * and are revalidated with {@code If-None-Match} and {@code If-Modified-Since} on the next request,
+ * a {@code 304 Not Modified} answer returns the cached data. Connections are never disconnected explicitly
+ * and response bodies are read to the end, so {@link HttpURLConnection} reuses keep-alive connections.
+ * <p/>
+ * A cancelled {@link Future} cancels the request for every caller which has joined it. A running request keeps
+ * its place in the limits until its connection is finished, so cancelling never lets more downloads run at once.
+ * The engine doesn't depend on a map provider, so it can be tested against a local HTTP server.
+ */
+public final class OPFTileFetchEngine {
+
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    public static final int DEFAULT_MAX_REQUESTS = 6;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 2;
+    public static final int DEFAULT_TIMEOUT = 15000;
+    public static final int DEFAULT_RESPONSE_CACHE_SIZE = 2 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int INITIAL_QUEUE_CAPACITY = 64;
+
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final int connectTimeout;
+    private final int readTimeout;
+    @Nullable
+    private final String userAgent;
+
+    @NonNull
+    private final ExecutorService executor;
+    @NonNull
+    private final ResponseCache responseCache;
+
+    @NonNull
+    private final PriorityQueue<FetchTask> waitingTasks = new PriorityQueue<>(INITIAL_QUEUE_CAPACITY,
+            new Comparator<FetchTask>() {
+                @Override
+                public int compare(final FetchTask lhs, final FetchTask rhs) {
+                    if (lhs.priority != rhs.priority) {
+                        return lhs.priority > rhs.priority ? -1 : 1;
+                    }
+                    return lhs.sequence < rhs.sequence ? -1 : (lhs.sequence == rhs.sequence ? 0 : 1);
+                }
+            });
+    @NonNull
+    private final Map<String, FetchTask> tasksByUrl = new HashMap<>();
+    @NonNull
+    private final Map<String, Integer> runningRequestsByHost = new HashMap<>();
+    private int runningRequests;
+    private long nextSequence;
+    private boolean isShutdown;
+
+    @NonNull
+    private final AtomicLong requestCount = new AtomicLong();
+    @NonNull
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    @NonNull
+    private final AtomicLong joinedRequestCount = new AtomicLong();
+
+    private OPFTileFetchEngine(@NonNull final Builder builder) {
+        this.maxRequests = builder.maxRequests;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.userAgent = builder.userAgent;
+        this.executor = Executors.newFixedThreadPool(maxRequests);
+        this.responseCache = new ResponseCache(builder.responseCacheSize);
+    }
+
+    @NonNull
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fetches the data and waits for the result.
+     *
+     * @param url      The URL of the data.
+     * @param priority The priority of the request, one of {@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL}
+     *                 or {@link #PRIORITY_HIGH}.
+     * @return The data or {@code null} if the server has no data for the URL.
+     * @throws IOException if the request has failed or the engine is shut down.
+     */
+    @WorkerThread
+    @Nullable
+    public byte[] fetch(@NonNull final URL url, final int priority) throws IOException {
+        try {
+            return fetchAsync(url, priority).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Schedules fetching of the data.
+     *
+     * @param url      The URL of the data.
+     * @param priority The priority of the request, one of {@link #PRIORITY_LOW}, {@link #PRIORITY_NORMAL}
+     *                 or {@link #PRIORITY_HIGH}.
+     * @return The future result, the data or {@code null} if the server has no data for the URL.
+     * @throws IOException if the engine is shut down.
+     */
+    @NonNull
+    public Future<byte[]> fetchAsync(@NonNull final URL url, final int priority) throws IOException {
+        final String key = url.toString();
+        synchronized (this) {
+            if (isShutdown) {
+                throw new IOException("Engine is shut down");
+            }
+
+            final FetchTask runningTask = tasksByUrl.get(key);
+            // A finished task can still be mapped: FutureTask wakes its waiters before calling done().
+            if (runningTask != null && !runningTask.isDone()) {
+                joinedRequestCount.incrementAndGet();
+                if (priority > runningTask.priority && waitingTasks.remove(runningTask)) {
+                    runningTask.priority = priority;
+                    waitingTasks.add(runningTask);
+                }
+                return runningTask;
+            }
+
+            final FetchTask task = new FetchTask(url, key, priority, nextSequence++);
+            tasksByUrl.put(key, task);
+            waitingTasks.add(task);
+            startWaitingTasks();
+            return task;
+        }
+    }
+
+    /**
+     * Cancels the waiting requests and stops the workers.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            isShutdown = true;
+            final List<FetchTask> cancelledTasks = new ArrayList<>(waitingTasks);
+            for (FetchTask task : cancelledTasks) {
+                task.cancel(false);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the number of HTTP requests sent.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Returns the number of requests answered with {@code 304 Not Modified}.
+     *
+     * @return The number of revalidated responses.
+     */
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    /**
+     * Returns the number of requests which joined an already running request of the same URL.
+     *
+     * @return The number of de-duplicated requests.
+     */
+    public long getJoinedRequestCount() {
+        return joinedRequestCount.get();
+    }
+
+    private void startWaitingTasks() {
+        if (runningRequests >= maxRequests || waitingTasks.isEmpty()) {
+            return;
+        }
+
+        // The tasks of the busy hosts are put aside and returned to the queue afterwards.
+        final PriorityQueue<FetchTask> postponedTasks = new PriorityQueue<>(INITIAL_QUEUE_CAPACITY, waitingTasks.comparator());
+        while (runningRequests < maxRequests && !waitingTasks.isEmpty()) {
+            final FetchTask task = waitingTasks.poll();
+            final Integer hostRequests = runningRequestsByHost.get(task.host);
+            final int runningHostRequests = hostRequests == null ? 0 : hostRequests;
+            if (runningHostRequests >= maxRequestsPerHost) {
+                postponedTasks.add(task);
+                continue;
+            }
+
+            runningRequestsByHost.put(task.host, runningHostRequests + 1);
+            runningRequests++;
+            task.isStarted = true;
+            executor.execute(task);
+        }
+        waitingTasks.addAll(postponedTasks);
+    }
+
+    private synchronized void onTaskDone(@NonNull final FetchTask task) {
+        if (tasksByUrl.get(task.key) == task) {
+            tasksByUrl.remove(task.key);
+        }
+        if (!task.isStarted) {
+            // The task was cancelled while waiting.
+            waitingTasks.remove(task);
+        }
+    }
+
+    private synchronized void onRequestFinished(@NonNull final FetchTask task) {
+        final Integer hostRequests = runningRequestsByHost.get(task.host);
+        if (hostRequests == null || hostRequests <= 1) {
+            runningRequestsByHost.remove(task.host);
+        } else {
+            runningRequestsByHost.put(task.host, hostRequests - 1);
+        }
+        runningRequests--;
+        if (!isShutdown) {
+            startWaitingTasks();
+        }
+    }
+
+    @Nullable
+    private byte[] download(@NonNull final URL url, @NonNull final String key) throws IOException {
+        final URLConnection urlConnection = url.openConnection();
+        if (!(urlConnection instanceof HttpURLConnection)) {
+            return readFully(urlConnection.getInputStream(), urlConnection.getContentLength());
+        }
+
+        final HttpURLConnection connection = (HttpURLConnection) urlConnection;
+        connection.setConnectTimeout(connectTimeout);
+        connection.setReadTimeout(readTimeout);
+        connection.setUseCaches(false);
+        if (userAgent != null) {
+            connection.setRequestProperty("User-Agent", userAgent);
+        }
+
+        final CachedResponse cachedResponse = responseCache.get(key);
+        if (cachedResponse != null) {
+            if (cachedResponse.eTag != null) {
+                connection.setRequestProperty("If-None-Match", cachedResponse.eTag);
+            }
+            if (cachedResponse.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cachedResponse.lastModified);
+            }
+        }
+
+        requestCount.incrementAndGet();
+        final int responseCode = connection.getResponseCode();
+        if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedResponse != null) {
+            notModifiedCount.incrementAndGet();
+            drain(connection.getErrorStream());
+            return cachedResponse.data;
+        }
+        if (responseCode == HttpURLConnection.HTTP_NO_CONTENT || responseCode == HttpURLConnection.HTTP_NOT_FOUND) {
+            drain(connection.getErrorStream());
+            return null;
+        }
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            drain(connection.getErrorStream());
+            throw new IOException("Unexpected response code " + responseCode + " for " + url);
+        }
+
+        final byte[] data = readFully(connection.getInputStream(), connection.getContentLength());
+        final String eTag = connection.getHeaderField("ETag");
+        final String lastModified = connection.getHeaderField("Last-Modified");
+        if (eTag != null || lastModified != null) {
+            responseCache.put(key, new CachedResponse(data, eTag, lastModified));
+        } else {
+            responseCache.remove(key);
+        }
+        return data;
+    }
+
+    @NonNull
+    private static byte[] readFully(@NonNull final InputStream stream, final int contentLength) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(contentLength > 0 ? contentLength : BUFFER_SIZE);
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int count;
+            while ((count = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, count);
+            }
+        } finally {
+            stream.close();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads the rest of a response, so the connection can be reused.
+     */
+    private static void drain(@Nullable final InputStream stream) {
+        if (stream == null) {
+            return;
+        }
+        try {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            //noinspection StatementWithEmptyBody
+            while (stream.read(buffer) != -1) {
+                //nothing
+            }
+            stream.close();
+        } catch (IOException ignored) {
+            //nothing
+        }
+    }
+
+    private final class FetchTask extends FutureTask<byte[]> {
+
+        @NonNull
+        private final String key;
+        @NonNull
+        private final String host;
+        private final long sequence;
+        private int priority;
+        private boolean isStarted;
+
+        FetchTask(@NonNull final URL url, @NonNull final String key, final int priority, final long sequence) {
+            super(new Callable<byte[]>() {
+                @Override
+                public byte[] call() throws IOException {
+                    return download(url, key);
+                }
+            });
+            this.key = key;
+            this.host = url.getHost() + ':' + url.getPort();
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            try {
+                super.run();
+            } finally {
+                // A cancelled task is done before its download ends, the request slot is released only here.
+                onRequestFinished(this);
+            }
+        }
+
+        @Override
+        protected void done() {
+            onTaskDone(this);
+        }
+    }
+
+    private static final class CachedResponse {
+
+        @NonNull
+        private final byte[] data;
+        @Nullable
+        private final String eTag;
+        @Nullable
+        private final String lastModified;
+
+        CachedResponse(@NonNull final byte[] data, @Nullable final String eTag, @Nullable final String lastModified) {
+            this.data = data;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * The byte-bounded LRU cache of the revalidatable responses.
+     */
+    private static final class ResponseCache {
+
+        @NonNull
+        private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+        private final int maxSize;
+        private int size;
+
+        ResponseCache(final int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Nullable
+        synchronized CachedResponse get(@NonNull final String key) {
+            return responses.get(key);
+        }
+
+        synchronized void put(@NonNull final String key, @NonNull final CachedResponse response) {
+            remove(key);
+            if (response.data.length > maxSize) {
+                return;
+            }
+            responses.put(key, response);
+            size += response.data.length;
+            final Iterator<CachedResponse> iterator = responses.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                size -= iterator.next().data.length;
+                iterator.remove();
+            }
+        }
+
+        synchronized void remove(@NonNull final String key) {
+            final CachedResponse response = responses.remove(key);
+            if (response != null) {
+                size -= response.data.length;
+            }
+        }
+    }
+
+    public static final class Builder {
+
+        private int maxRequests = DEFAULT_MAX_REQUESTS;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private int connectTimeout = DEFAULT_TIMEOUT;
+        private int readTimeout = DEFAULT_TIMEOUT;
+        private int responseCacheSize = DEFAULT_RESPONSE_CACHE_SIZE;
+        @Nullable
+        private String userAgent;
+
+        private Builder() {
+            //nothing
+        }
+
+        /**
+         * Sets the maximum number of the simultaneous requests, which is also the number of worker threads.
+         *
+         * @param maxRequests The maximum number of requests.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder maxRequests(final int maxRequests) {
+            if (maxRequests <= 0) {
+                throw new IllegalArgumentException("Max requests must be positive: " + maxRequests);
+            }
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the simultaneous requests to one host.
+         *
+         * @param maxRequestsPerHost The maximum number of requests per host.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder maxRequestsPerHost(final int maxRequestsPerHost) {
+            if (maxRequestsPerHost <= 0) {
+                throw new IllegalArgumentException("Max requests per host must be positive: " + maxRequestsPerHost);
+            }
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        @NonNull
+        public Builder connectTimeout(final int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        @NonNull
+        public Builder readTimeout(final int readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the size of the memory cache of the responses which can be revalidated.
+         *
+         * @param responseCacheSize The maximum size of the cached data, in bytes.
+         * @return This builder.
+         */
+        @NonNull
+        public Builder responseCacheSize(final int responseCacheSize) {
+            if (responseCacheSize <= 0) {
+                throw new IllegalArgumentException("Cache size must be positive: " + responseCacheSize);
+            }
+            this.responseCacheSize = responseCacheSize;
+            return this;
+        }
+
+        @NonNull
+        public Builder userAgent(@Nullable final String userAgent) {
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        @NonNull
+        public OPFTileFetchEngine build() {
+            return new OPFTileFetchEngine(this);
+        }
+    }
+}
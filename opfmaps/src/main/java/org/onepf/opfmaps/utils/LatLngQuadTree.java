@@ -0,0 +1,358 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.utils;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A quadtree of latitude/longitude boxes. Every box is stored in the deepest node which fully contains it,
+ * so a lookup visits only the nodes intersecting the queried box.
+ * <p/>
+ * Nodes are split when they overflow and are never merged back. Items are compared with {@code equals()}.
+ * The tree is not thread-safe.
+ */
+public final class LatLngQuadTree<T> {
+
+    private static final int NODE_CAPACITY = 8;
+    private static final int MAX_DEPTH = 16;
+
+    private static final double EARTH_RADIUS = 6371009;
+    private static final double MAX_LATITUDE = 90;
+    private static final double MAX_LONGITUDE = 180;
+
+    @NonNull
+    private final Map<T, Entry<T>> entries = new HashMap<>();
+
+    @NonNull
+    private Node<T> root = createRoot();
+
+    /**
+     * Adds the item with the given bounding box or moves the already added item.
+     * The box must not cross the 180th meridian.
+     *
+     * @param item  The item.
+     * @param south The southern latitude of the box.
+     * @param west  The western longitude of the box.
+     * @param north The northern latitude of the box.
+     * @param east  The eastern longitude of the box.
+     */
+    public void put(@NonNull final T item,
+                    final double south, final double west, final double north, final double east) {
+        remove(item);
+        final Entry<T> entry = new Entry<>(item, south, west, north, east);
+        root.insert(entry);
+        entries.put(item, entry);
+    }
+
+    /**
+     * Adds the item located at the point or moves the already added item.
+     *
+     * @param item     The item.
+     * @param position The position of the item.
+     */
+    public void putPoint(@NonNull final T item, @NonNull final OPFLatLng position) {
+        put(item, position.getLat(), position.getLng(), position.getLat(), position.getLng());
+    }
+
+    /**
+     * Adds the item bounded by the points or moves the already added item. The item is removed if there are no points.
+     *
+     * @param item   The item.
+     * @param points The points of the item.
+     */
+    public void putPoints(@NonNull final T item, @NonNull final Iterable<OPFLatLng> points) {
+        double south = Double.POSITIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY;
+        double north = Double.NEGATIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY;
+        for (OPFLatLng point : points) {
+            south = Math.min(south, point.getLat());
+            west = Math.min(west, point.getLng());
+            north = Math.max(north, point.getLat());
+            east = Math.max(east, point.getLng());
+        }
+        putBox(item, south, west, north, east);
+    }
+
+    /**
+     * Adds the item bounded by the points or moves the already added item. The item is removed if there are no points.
+     *
+     * @param item   The item.
+     * @param points The packed points of the item.
+     */
+    public void putPoints(@NonNull final T item, @NonNull final OPFLatLngSequence points) {
+        double south = Double.POSITIVE_INFINITY;
+        double west = Double.POSITIVE_INFINITY;
+        double north = Double.NEGATIVE_INFINITY;
+        double east = Double.NEGATIVE_INFINITY;
+        final int size = points.size();
+        for (int i = 0; i < size; i++) {
+            final double lat = points.getLat(i);
+            final double lng = points.getLng(i);
+            south = Math.min(south, lat);
+            west = Math.min(west, lng);
+            north = Math.max(north, lat);
+            east = Math.max(east, lng);
+        }
+        putBox(item, south, west, north, east);
+    }
+
+    /**
+     * Adds the item bounded by the circle or moves the already added item.
+     *
+     * @param item   The item.
+     * @param center The center of the circle.
+     * @param radius The radius of the circle, in meters.
+     */
+    public void putCircle(@NonNull final T item, @NonNull final OPFLatLng center, final double radius) {
+        final double latDelta = Math.toDegrees(radius / EARTH_RADIUS);
+        final double south = Math.max(-MAX_LATITUDE, center.getLat() - latDelta);
+        final double north = Math.min(MAX_LATITUDE, center.getLat() + latDelta);
+
+        final double cosLat = Math.cos(Math.toRadians(center.getLat()));
+        final double lngDelta = cosLat > 0 ? latDelta / cosLat : MAX_LONGITUDE;
+        double west = center.getLng() - lngDelta;
+        double east = center.getLng() + lngDelta;
+        if (west < -MAX_LONGITUDE || east > MAX_LONGITUDE) {
+            west = -MAX_LONGITUDE;
+            east = MAX_LONGITUDE;
+        }
+        put(item, south, west, north, east);
+    }
+
+    /**
+     * Adds the item with the given bounds or moves the already added item. The item is removed if bounds are null.
+     *
+     * @param item   The item.
+     * @param bounds The bounds of the item.
+     */
+    public void putBounds(@NonNull final T item, @Nullable final OPFLatLngBounds bounds) {
+        if (bounds == null) {
+            remove(item);
+            return;
+        }
+
+        final OPFLatLng southwest = bounds.getSouthwest();
+        final OPFLatLng northeast = bounds.getNortheast();
+        if (southwest.getLng() <= northeast.getLng()) {
+            put(item, southwest.getLat(), southwest.getLng(), northeast.getLat(), northeast.getLng());
+        } else {
+            put(item, southwest.getLat(), -MAX_LONGITUDE, northeast.getLat(), MAX_LONGITUDE);
+        }
+    }
+
+    /**
+     * Removes the item.
+     *
+     * @param item The item.
+     * @return {@code true} if the item was added, {@code false} otherwise.
+     */
+    public boolean remove(@NonNull final Object item) {
+        final Entry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        //noinspection ConstantConditions
+        entry.node.entries.remove(entry);
+        return true;
+    }
+
+    public boolean contains(@NonNull final Object item) {
+        return entries.containsKey(item);
+    }
+
+    public void clear() {
+        entries.clear();
+        root = createRoot();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the items whose bounding boxes intersect the given box.
+     * The box crosses the 180th meridian if {@code west > east}.
+     *
+     * @param south The southern latitude of the box.
+     * @param west  The western longitude of the box.
+     * @param north The northern latitude of the box.
+     * @param east  The eastern longitude of the box.
+     * @return The list of the items.
+     */
+    @NonNull
+    public List<T> query(final double south, final double west, final double north, final double east) {
+        if (west <= east) {
+            final List<T> result = new ArrayList<>();
+            root.query(south, west, north, east, result);
+            return result;
+        }
+
+        final Collection<T> result = new LinkedHashSet<>();
+        root.query(south, west, north, MAX_LONGITUDE, result);
+        root.query(south, -MAX_LONGITUDE, north, east, result);
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns the items whose bounding boxes intersect the given bounds.
+     *
+     * @param bounds The bounds.
+     * @return The list of the items.
+     */
+    @NonNull
+    public List<T> query(@NonNull final OPFLatLngBounds bounds) {
+        final OPFLatLng southwest = bounds.getSouthwest();
+        final OPFLatLng northeast = bounds.getNortheast();
+        return query(southwest.getLat(), southwest.getLng(), northeast.getLat(), northeast.getLng());
+    }
+
+    private void putBox(@NonNull final T item,
+                        final double south, final double west, final double north, final double east) {
+        if (south > north) {
+            // no points
+            remove(item);
+        } else {
+            put(item, south, west, north, east);
+        }
+    }
+
+    @NonNull
+    private static <T> Node<T> createRoot() {
+        return new Node<>(-90, -180, 90, 180, 0);
+    }
+
+    private static final class Entry<T> {
+
+        @NonNull
+        private final T item;
+        private final double south;
+        private final double west;
+        private final double north;
+        private final double east;
+
+        @Nullable
+        private Node<T> node;
+
+        Entry(@NonNull final T item, final double south, final double west, final double north, final double east) {
+            this.item = item;
+            this.south = south;
+            this.west = west;
+            this.north = north;
+            this.east = east;
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final double south;
+        private final double west;
+        private final double north;
+        private final double east;
+        private final int depth;
+
+        @NonNull
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        @Nullable
+        private List<Node<T>> children;
+
+        Node(final double south, final double west, final double north, final double east, final int depth) {
+            this.south = south;
+            this.west = west;
+            this.north = north;
+            this.east = east;
+            this.depth = depth;
+        }
+
+        void insert(@NonNull final Entry<T> entry) {
+            if (children != null) {
+                final Node<T> child = findChild(entry);
+                if (child != null) {
+                    child.insert(entry);
+                    return;
+                }
+            }
+
+            entry.node = this;
+            entries.add(entry);
+            if (children == null && entries.size() > NODE_CAPACITY && depth < MAX_DEPTH) {
+                split();
+            }
+        }
+
+        void query(final double querySouth, final double queryWest, final double queryNorth, final double queryEast,
+                   @NonNull final Collection<T> result) {
+            for (Entry<T> entry : entries) {
+                if (entry.south <= queryNorth && entry.north >= querySouth
+                        && entry.west <= queryEast && entry.east >= queryWest) {
+                    result.add(entry.item);
+                }
+            }
+
+            if (children != null) {
+                for (Node<T> child : children) {
+                    if (child.south <= queryNorth && child.north >= querySouth
+                            && child.west <= queryEast && child.east >= queryWest) {
+                        child.query(querySouth, queryWest, queryNorth, queryEast, result);
+                    }
+                }
+            }
+        }
+
+        private void split() {
+            final double midLat = (south + north) / 2;
+            final double midLng = (west + east) / 2;
+            final int childDepth = depth + 1;
+            children = new ArrayList<>(4);
+            children.add(new Node<T>(midLat, west, north, midLng, childDepth));
+            children.add(new Node<T>(midLat, midLng, north, east, childDepth));
+            children.add(new Node<T>(south, west, midLat, midLng, childDepth));
+            children.add(new Node<T>(south, midLng, midLat, east, childDepth));
+
+            final List<Entry<T>> oldEntries = new ArrayList<>(entries);
+            entries.clear();
+            for (Entry<T> entry : oldEntries) {
+                insert(entry);
+            }
+        }
+
+        @Nullable
+        private Node<T> findChild(@NonNull final Entry<T> entry) {
+            //noinspection ConstantConditions
+            for (Node<T> child : children) {
+                if (entry.south >= child.south && entry.north <= child.north
+                        && entry.west >= child.west && entry.east <= child.east) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+}
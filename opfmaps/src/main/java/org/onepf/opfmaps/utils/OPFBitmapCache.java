@@ -0,0 +1,194 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.LruCache;
+
+import org.onepf.opfutils.OPFLog;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A process-wide cache of decoded marker images, shared by all maps.
+ * <p/>
+ * Entries are keyed by the description of their content, e.g. an asset name or a resource id,
+ * so thousands of markers with the same icon share one decoded bitmap.
+ * Decoded bitmaps are bounded by their size in bytes, other objects (e.g. drawable states or native descriptors
+ * of a map provider) by their count. If the content behind a key changes, e.g. a file is rewritten,
+ * the entry must be removed with {@link #remove(String)}.
+ * <p/>
+ * Bitmaps can be downsampled to a target density while decoding. They are never upscaled in memory:
+ * a bitmap denser than its source keeps the source density and is scaled when it's drawn.
+ * Evicted bitmaps aren't recycled or reused, because markers may still draw them.
+ */
+public final class OPFBitmapCache {
+
+    public static final int NO_SCALING = 0;
+
+    private static final int MEMORY_FRACTION = 8;
+    private static final int MAX_OBJECTS_COUNT = 512;
+
+    private static final class Holder {
+        @SuppressWarnings("PMD.AccessorClassGeneration")
+        public static final OPFBitmapCache INSTANCE = new OPFBitmapCache();
+    }
+
+    @NonNull
+    private final LruCache<String, Bitmap> bitmaps;
+    @NonNull
+    private final LruCache<String, Object> objects = new LruCache<>(MAX_OBJECTS_COUNT);
+
+    private OPFBitmapCache() {
+        final long maxSize = Runtime.getRuntime().maxMemory() / MEMORY_FRACTION;
+        this.bitmaps = new LruCache<String, Bitmap>((int) Math.min(Integer.MAX_VALUE, maxSize)) {
+            @Override
+            protected int sizeOf(final String key, final Bitmap bitmap) {
+                return bitmap.getByteCount();
+            }
+        };
+    }
+
+    public static OPFBitmapCache getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    @Nullable
+    public Bitmap getBitmap(@NonNull final String key) {
+        return bitmaps.get(key);
+    }
+
+    public void putBitmap(@NonNull final String key, @NonNull final Bitmap bitmap) {
+        bitmaps.put(key, bitmap);
+    }
+
+    /**
+     * Returns a cached bitmap or decodes and caches it.
+     * The key must describe the target density too, if the same content is decoded for different densities.
+     *
+     * @param key           The key of the content.
+     * @param source        The source of the encoded image, it may be opened twice.
+     * @param sourceDensity The density of the encoded image or {@link #NO_SCALING}.
+     * @param targetDensity The density of the decoded bitmap or {@link #NO_SCALING}.
+     * @return The bitmap or {@code null} if the image can't be decoded.
+     */
+    @Nullable
+    public Bitmap decodeBitmap(@NonNull final String key,
+                               @NonNull final BitmapSource source,
+                               final int sourceDensity,
+                               final int targetDensity) {
+        final Bitmap cachedBitmap = bitmaps.get(key);
+        if (cachedBitmap != null) {
+            return cachedBitmap;
+        }
+
+        try {
+            final BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            decode(source, options);
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return null;
+            }
+
+            options.inJustDecodeBounds = false;
+            final boolean isScaled = sourceDensity != NO_SCALING && targetDensity != NO_SCALING;
+            if (isScaled && sourceDensity > targetDensity) {
+                // sampling skips the most of the pixels cheaply, scaling gets the exact size
+                int sampleSize = 1;
+                while (targetDensity * sampleSize * 2 <= sourceDensity) {
+                    sampleSize *= 2;
+                }
+                options.inSampleSize = sampleSize;
+                options.inScaled = true;
+                options.inDensity = sourceDensity;
+                options.inTargetDensity = targetDensity * sampleSize;
+            } else {
+                options.inScaled = false;
+            }
+
+            final Bitmap bitmap = decode(source, options);
+            if (bitmap != null) {
+                if (isScaled) {
+                    bitmap.setDensity(Math.min(sourceDensity, targetDensity));
+                }
+                bitmaps.put(key, bitmap);
+            }
+            return bitmap;
+        } catch (IOException e) {
+            OPFLog.w(e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    public <T> T getObject(@NonNull final String key, @NonNull final Class<T> type) {
+        final Object object = objects.get(key);
+        return type.isInstance(object) ? type.cast(object) : null;
+    }
+
+    public void putObject(@NonNull final String key, @NonNull final Object object) {
+        objects.put(key, object);
+    }
+
+    /**
+     * Removes a bitmap and an object with the given key.
+     *
+     * @param key The key of the content.
+     */
+    public void remove(@NonNull final String key) {
+        bitmaps.remove(key);
+        objects.remove(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        bitmaps.evictAll();
+        objects.evictAll();
+    }
+
+    @Nullable
+    private static Bitmap decode(@NonNull final BitmapSource source,
+                                 @NonNull final BitmapFactory.Options options) throws IOException {
+        final InputStream inputStream = source.open();
+        try {
+            return BitmapFactory.decodeStream(inputStream, null, options);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * A source of an encoded image.
+     */
+    public interface BitmapSource {
+
+        /**
+         * Opens the encoded image.
+         *
+         * @return The new stream of the image, it's closed by the cache.
+         * @throws IOException if the image can't be opened.
+         */
+        @NonNull
+        InputStream open() throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.onepf.opfmaps.utils;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+/**
+ * Runs a task on the next display frame. The frames are driven by {@link Choreographer} on Jelly Bean and later
+ * and approximated by a {@link Handler} posting every 16 milliseconds on older devices.
+ * <p/>
+ * All methods must be called from the main thread.
+ */
+public final class OPFFrameScheduler {
+
+    private static final long FRAME_DELAY = 16;
+
+    @NonNull
+    private final Scheduler scheduler;
+
+    private boolean isScheduled;
+
+    /**
+     * Creates the scheduler.
+     *
+     * @param frame The task to run on the next frame.
+     */
+    public OPFFrameScheduler(@NonNull final Runnable frame) {
+        final Runnable scheduledFrame = new Runnable() {
+            @Override
+            public void run() {
+                isScheduled = false;
+                frame.run();
+            }
+        };
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+            this.scheduler = new ChoreographerScheduler(scheduledFrame);
+        } else {
+            this.scheduler = new HandlerScheduler(scheduledFrame);
+        }
+    }
+
+    /**
+     * Schedules the task for the next frame. Does nothing if the task has already been scheduled.
+     */
+    public void schedule() {
+        if (!isScheduled) {
+            isScheduled = true;
+            scheduler.schedule();
+        }
+    }
+
+    /**
+     * Cancels the scheduled task.
+     */
+    public void unschedule() {
+        if (isScheduled) {
+            isScheduled = false;
+            scheduler.unschedule();
+        }
+    }
+
+    public boolean isScheduled() {
+        return isScheduled;
+    }
+
+    private interface Scheduler {
+
+        void schedule();
+
+        void unschedule();
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+    private static final class ChoreographerScheduler implements Scheduler, Choreographer.FrameCallback {
+
+        @NonNull
+        private final Choreographer choreographer = Choreographer.getInstance();
+        @NonNull
+        private final Runnable frame;
+
+        ChoreographerScheduler(@NonNull final Runnable frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        public void schedule() {
+            choreographer.postFrameCallback(this);
+        }
+
+        @Override
+        public void unschedule() {
+            choreographer.removeFrameCallback(this);
+        }
+
+        @Override
+        public void doFrame(final long frameTimeNanos) {
+            frame.run();
+        }
+    }
+
+    private static final class HandlerScheduler implements Scheduler {
+
+        @NonNull
+        private final Handler handler = new Handler(Looper.getMainLooper());
+        @NonNull
+        private final Runnable frame;
+
+        HandlerScheduler(@NonNull final Runnable frame) {
+            this.frame = frame;
+        }
+
+        @Override
+        public void schedule() {
+            handler.postDelayed(frame, FRAME_DELAY);
+        }
+
+        @Override
+        public void unschedule() {
+            handler.removeCallbacks(frame);
+        }
+    }
+}
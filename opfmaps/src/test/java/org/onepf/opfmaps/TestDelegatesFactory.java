@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps;
+
+import android.os.Parcel;
+import org.onepf.opfmaps.delegate.model.TileDelegate;
+import org.onepf.opfmaps.factory.DelegatesAbstractFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Installs a delegates factory which creates plain tile delegates, so the model classes can be created in JVM tests
+ * without a map provider.
+ */
+public final class TestDelegatesFactory {
+
+    private TestDelegatesFactory() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void install() throws Exception {
+        final DelegatesAbstractFactory factory = (DelegatesAbstractFactory) Proxy.newProxyInstance(
+                DelegatesAbstractFactory.class.getClassLoader(),
+                new Class<?>[]{DelegatesAbstractFactory.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                        if ("createTileDelegate".equals(method.getName())) {
+                            return new PlainTileDelegate((Integer) args[0], (Integer) args[1], (byte[]) args[2]);
+                        }
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+        final Field field = OPFMapHelper.class.getDeclaredField("delegatesFactory");
+        field.setAccessible(true);
+        field.set(OPFMapHelper.getInstance(), factory);
+    }
+
+    private static final class PlainTileDelegate implements TileDelegate {
+
+        private final int width;
+        private final int height;
+        private final byte[] data;
+
+        PlainTileDelegate(final int width, final int height, final byte[] data) {
+            this.width = width;
+            this.height = height;
+            this.data = data;
+        }
+
+        @Override
+        public byte[] getData() {
+            return data;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(final Parcel dest, final int flags) {
+            //nothing
+        }
+    }
+}
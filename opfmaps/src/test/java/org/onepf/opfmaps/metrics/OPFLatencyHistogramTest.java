@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OPFLatencyHistogramTest {
+
+    private static final double DELTA = 1E-9;
+
+    @Test
+    public void emptyHistogramReportsZeros() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMeanMillis(), DELTA);
+        assertEquals(0, histogram.getMaxMillis(), DELTA);
+        assertEquals(0, histogram.getPercentileMillis(99), DELTA);
+    }
+
+    @Test
+    public void percentilesAreBucketUpperBounds() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(0.5005, histogram.getMeanMillis(), DELTA);
+        assertEquals(1.0, histogram.getMaxMillis(), DELTA);
+        // 500 microseconds are in the [256, 512) bucket
+        assertEquals(0.512, histogram.getPercentileMillis(50), DELTA);
+        // 990 microseconds are in the [512, 1024) bucket, whose bound is limited by the maximum
+        assertEquals(1.0, histogram.getPercentileMillis(99), DELTA);
+        assertEquals(1.0, histogram.getPercentileMillis(100), DELTA);
+        assertEquals(0.002, histogram.getPercentileMillis(0), DELTA);
+    }
+
+    @Test
+    public void percentileIsWithinFactorOfTwo() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        for (int percentile = 1; percentile <= 100; percentile++) {
+            final double reported = histogram.getPercentileMillis(percentile);
+            assertTrue(reported >= percentile);
+            assertTrue(reported <= 2 * percentile);
+        }
+    }
+
+    @Test
+    public void subMicrosecondAndNegativeDurationsGoToFirstBucket() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        histogram.record(500);
+        histogram.record(-1000);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(0.0005, histogram.getMaxMillis(), DELTA);
+        assertEquals(0.0005, histogram.getPercentileMillis(100), DELTA);
+        assertEquals(0.00025, histogram.getMeanMillis(), DELTA);
+    }
+
+    @Test
+    public void hugeDurationsGoToLastBucket() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        histogram.record(TimeUnit.DAYS.toNanos(1));
+
+        assertEquals(TimeUnit.DAYS.toMillis(1), histogram.getPercentileMillis(50), DELTA);
+    }
+
+    @Test
+    public void resetDropsRecords() {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxMillis(), DELTA);
+        assertEquals(0, histogram.getPercentileMillis(50), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPercentileIsRejected() {
+        new OPFLatencyHistogram().getPercentileMillis(101);
+    }
+
+    @Test
+    public void concurrentRecordsAreCounted() throws InterruptedException {
+        final OPFLatencyHistogram histogram = new OPFLatencyHistogram();
+        final Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final long durationNanos = TimeUnit.MICROSECONDS.toNanos(i + 1);
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        histogram.record(durationNanos);
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40000, histogram.getCount());
+        assertEquals(0.004, histogram.getMaxMillis(), DELTA);
+        assertEquals(0.0025, histogram.getMeanMillis(), DELTA);
+    }
+}
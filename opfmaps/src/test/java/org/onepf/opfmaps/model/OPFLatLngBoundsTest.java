@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OPFLatLngBoundsTest {
+
+    @Test
+    public void includingContainedPointReturnsSameBounds() {
+        final OPFLatLngBounds bounds = bounds(-10, -100, 10, 100);
+
+        assertSame(bounds, bounds.including(new OPFLatLng(5, 50)));
+    }
+
+    @Test
+    public void includingKeepsWideBounds() {
+        // wider than 180 degrees, the builder would wrap the northeast corner the short way
+        final OPFLatLngBounds bounds = bounds(-10, -100, 10, 100);
+
+        final OPFLatLngBounds included = bounds.including(new OPFLatLng(20, 0));
+
+        assertEquals(bounds(-10, -100, 20, 100), included);
+        assertTrue(included.contains(new OPFLatLng(0, 90)));
+    }
+
+    @Test
+    public void includingExtendsTowardsNearerSide() {
+        final OPFLatLngBounds bounds = bounds(-10, -100, 10, 100);
+
+        assertEquals(bounds(-10, -100, 10, 120), bounds.including(new OPFLatLng(0, 120)));
+        assertEquals(bounds(-10, -120, 10, 100), bounds.including(new OPFLatLng(0, -120)));
+    }
+
+    @Test
+    public void includingCrossesAntimeridian() {
+        final OPFLatLngBounds bounds = bounds(-10, 150, 10, 170);
+
+        assertEquals(bounds(-10, 150, 10, -170), bounds.including(new OPFLatLng(0, -170)));
+    }
+
+    @Test
+    public void includingExtendsLatitudeOnly() {
+        final OPFLatLngBounds bounds = bounds(-10, 170, 10, -170);
+
+        assertEquals(bounds(-30, 170, 10, -170), bounds.including(new OPFLatLng(-30, 180)));
+    }
+
+    private static OPFLatLngBounds bounds(final double south, final double west,
+                                          final double north, final double east) {
+        return new OPFLatLngBounds(new OPFLatLng(south, west), new OPFLatLng(north, east));
+    }
+}
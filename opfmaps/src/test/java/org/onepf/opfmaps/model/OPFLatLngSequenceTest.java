@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.model;
+
+import org.junit.Test;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OPFLatLngSequenceTest {
+
+    private static final double DELTA = 0;
+
+    @Test
+    public void addGrowsBeyondCapacity() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(1);
+        for (int i = 0; i < 100; i++) {
+            sequence.add(i, -i);
+        }
+
+        assertEquals(100, sequence.size());
+        assertEquals(42, sequence.getLat(42), DELTA);
+        assertEquals(-42, sequence.getLng(42), DELTA);
+        assertEquals(new OPFLatLng(99, -99), sequence.get(99));
+    }
+
+    @Test
+    public void packedArrayIsCopied() {
+        final double[] latLngs = {1, 2, 3, 4};
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(latLngs);
+        latLngs[0] = 10;
+
+        assertEquals(2, sequence.size());
+        assertArrayEquals(new double[]{1, 2, 3, 4}, sequence.toArray(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void oddPackedArrayIsRejected() {
+        new OPFLatLngSequence(new double[]{1, 2, 3});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeCapacityIsRejected() {
+        new OPFLatLngSequence(-1);
+    }
+
+    @Test
+    public void bufferIsReadFromItsPosition() {
+        final DoubleBuffer buffer = DoubleBuffer.wrap(new double[]{0, 1, 2, 3, 4});
+        buffer.position(1);
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(buffer);
+
+        assertEquals(1, buffer.position());
+        assertArrayEquals(new double[]{1, 2, 3, 4}, sequence.toArray(), DELTA);
+    }
+
+    @Test
+    public void listRoundTrips() {
+        final List<OPFLatLng> points = Arrays.asList(new OPFLatLng(1, 2), new OPFLatLng(-3, 4), new OPFLatLng(5, -6));
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(points);
+
+        assertEquals(points, sequence.toList());
+        assertEquals(points.size(), sequence.size());
+    }
+
+    @Test
+    public void addAllAppendsSequence() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(new double[]{1, 2});
+        sequence.addAll(new OPFLatLngSequence(new double[]{3, 4, 5, 6}));
+        sequence.addAll(sequence);
+
+        assertArrayEquals(new double[]{1, 2, 3, 4, 5, 6, 1, 2, 3, 4, 5, 6}, sequence.toArray(), DELTA);
+    }
+
+    @Test
+    public void asDoubleBufferIsReadOnlyView() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(new double[]{1, 2, 3, 4});
+        final DoubleBuffer buffer = sequence.asDoubleBuffer();
+
+        assertTrue(buffer.isReadOnly());
+        assertEquals(4, buffer.remaining());
+        assertEquals(3, buffer.get(2), DELTA);
+    }
+
+    @Test
+    public void clearKeepsNoPoints() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(new double[]{1, 2, 3, 4});
+        sequence.clear();
+
+        assertTrue(sequence.isEmpty());
+        assertEquals(0, sequence.toArray().length);
+        sequence.add(5, 6);
+        assertArrayEquals(new double[]{5, 6}, sequence.toArray(), DELTA);
+    }
+
+    @Test
+    public void indexIsChecked() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(4);
+        sequence.add(1, 2);
+        try {
+            sequence.getLat(1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            //nothing
+        }
+        try {
+            sequence.get(-1);
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            //nothing
+        }
+    }
+
+    @Test
+    public void equalsComparesOnlyPoints() {
+        final OPFLatLngSequence sequence = new OPFLatLngSequence(100).add(1, 2).add(3, 4);
+        final OPFLatLngSequence same = new OPFLatLngSequence(new double[]{1, 2, 3, 4});
+
+        assertEquals(same, sequence);
+        assertEquals(same.hashCode(), sequence.hashCode());
+        assertNotEquals(same, new OPFLatLngSequence(new double[]{1, 2}));
+        assertFalse(sequence.equals(new OPFLatLngSequence(new double[]{1, 2, 3, 5})));
+    }
+}
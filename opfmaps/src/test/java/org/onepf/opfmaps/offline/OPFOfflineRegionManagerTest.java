@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.offline;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.onepf.opfmaps.TestDelegatesFactory;
+import org.onepf.opfmaps.model.OPFTile;
+import org.onepf.opfmaps.model.OPFTileProvider;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OPFOfflineRegionManagerTest {
+
+    private static final String SOURCE_ID = "source";
+    private static final int TILE_SIZE = 100;
+    private static final long TIMEOUT_MS = 10000;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void setUp() throws Exception {
+        TestDelegatesFactory.install();
+        directory = folder.newFolder();
+    }
+
+    @Test
+    public void removedRegionTilesAreGoneAfterReopen() throws Exception {
+        final OPFOfflineRegion region = new OPFOfflineRegion("region", SOURCE_ID, 10, 10, 11, 11, 5, 6);
+        OPFOfflineRegionManager manager = new OPFOfflineRegionManager(directory, 1024 * 1024);
+        manager.addRegion(region);
+        download(manager, region);
+        final int[] tile = region.getTile(0);
+        assertNotNull(manager.getTile(SOURCE_ID, tile[1], tile[2], tile[0]));
+        assertEquals(region.getTileCount() * TILE_SIZE, manager.getStorageSize());
+
+        manager.removeRegion(region.getId());
+        manager.close();
+        manager = new OPFOfflineRegionManager(directory, 1024 * 1024);
+
+        assertNull(manager.getRegion(region.getId()));
+        assertNull(manager.getTile(SOURCE_ID, tile[1], tile[2], tile[0]));
+        assertEquals(0, manager.getStorageSize());
+        manager.close();
+    }
+
+    @Test
+    public void sharedTilesAreKeptAfterReopen() throws Exception {
+        final OPFOfflineRegion small = new OPFOfflineRegion("small", SOURCE_ID, 10, 10, 11, 11, 5, 5);
+        final OPFOfflineRegion big = new OPFOfflineRegion("big", SOURCE_ID, 10, 10, 11, 11, 5, 6);
+        OPFOfflineRegionManager manager = new OPFOfflineRegionManager(directory, 1024 * 1024);
+        manager.addRegion(small);
+        manager.addRegion(big);
+        download(manager, small);
+        download(manager, big);
+
+        manager.removeRegion(big.getId());
+        manager.close();
+        manager = new OPFOfflineRegionManager(directory, 1024 * 1024);
+
+        final int[] smallTile = small.getTile(0);
+        assertNotNull(manager.getTile(SOURCE_ID, smallTile[1], smallTile[2], smallTile[0]));
+        assertTrue(manager.isDownloaded(small.getId()));
+        assertEquals(small.getTileCount() * TILE_SIZE, manager.getStorageSize());
+        manager.close();
+    }
+
+    private static void download(final OPFOfflineRegionManager manager, final OPFOfflineRegion region)
+            throws InterruptedException, IOException {
+        manager.download(region.getId(), new TestTileProvider(), null);
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!manager.isDownloaded(region.getId())) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IOException("Region " + region.getId() + " isn't downloaded");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class TestTileProvider implements OPFTileProvider {
+
+        @Override
+        public OPFTile getTile(final int x, final int y, final int zoom) {
+            final byte[] data = new byte[TILE_SIZE];
+            data[0] = (byte) x;
+            data[1] = (byte) y;
+            data[2] = (byte) zoom;
+            return new OPFTile(256, 256, data);
+        }
+    }
+}
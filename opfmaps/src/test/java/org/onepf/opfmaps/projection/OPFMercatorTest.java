@@ -0,0 +1,98 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.projection;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class OPFMercatorTest {
+
+    private static final double DELTA = 1E-9;
+
+    @Test
+    public void longitudeMapsToX() {
+        assertEquals(0, OPFMercator.longitudeToX(-180), DELTA);
+        assertEquals(0.5, OPFMercator.longitudeToX(0), DELTA);
+        assertEquals(1, OPFMercator.longitudeToX(180), DELTA);
+        assertEquals(2, OPFMercator.longitudeToX(540), DELTA);
+    }
+
+    @Test
+    public void latitudeMapsToY() {
+        assertEquals(0.5, OPFMercator.latitudeToY(0), DELTA);
+        assertEquals(0, OPFMercator.latitudeToY(OPFMercator.MAX_LATITUDE), DELTA);
+        assertEquals(1, OPFMercator.latitudeToY(OPFMercator.MIN_LATITUDE), DELTA);
+        assertEquals(0, OPFMercator.latitudeToY(90), DELTA);
+        assertEquals(1, OPFMercator.latitudeToY(-89), DELTA);
+    }
+
+    @Test
+    public void pointMapsToKnownTile() {
+        // Berlin is in the tile 10/550/335 of the usual XYZ tile scheme
+        final double worldSize = OPFMercator.getWorldSize(10, 1);
+
+        assertEquals(550, (int) Math.floor(OPFMercator.longitudeToX(13.405) * worldSize));
+        assertEquals(335, (int) Math.floor(OPFMercator.latitudeToY(52.52) * worldSize));
+    }
+
+    @Test
+    public void conversionsRoundTrip() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final double lat = OPFMercator.MIN_LATITUDE + random.nextDouble() * 2 * OPFMercator.MAX_LATITUDE;
+            final double lng = -180 + random.nextDouble() * 360;
+
+            assertEquals(lat, OPFMercator.yToLatitude(OPFMercator.latitudeToY(lat)), DELTA);
+            assertEquals(lng, OPFMercator.xToLongitude(OPFMercator.longitudeToX(lng)), DELTA);
+        }
+    }
+
+    @Test
+    public void zoomAndWorldSizeAreInverse() {
+        assertEquals(256, OPFMercator.getWorldSize(0, OPFMercator.TILE_SIZE), DELTA);
+        assertEquals(256 * 1024, OPFMercator.getWorldSize(10, OPFMercator.TILE_SIZE), DELTA);
+        assertEquals(10.5, OPFMercator.getZoom(OPFMercator.getWorldSize(10.5, 512), 512), DELTA);
+    }
+
+    @Test
+    public void clipLatitudeKeepsSquareWorld() {
+        assertEquals(OPFMercator.MAX_LATITUDE, OPFMercator.clipLatitude(90), DELTA);
+        assertEquals(OPFMercator.MIN_LATITUDE, OPFMercator.clipLatitude(-90), DELTA);
+        assertEquals(45, OPFMercator.clipLatitude(45), DELTA);
+    }
+
+    @Test
+    public void wrapLongitudeReturnsHalfOpenRange() {
+        assertEquals(170, OPFMercator.wrapLongitude(170), DELTA);
+        assertEquals(-180, OPFMercator.wrapLongitude(-180), DELTA);
+        assertEquals(-180, OPFMercator.wrapLongitude(180), DELTA);
+        assertEquals(-180, OPFMercator.wrapLongitude(540), DELTA);
+        assertEquals(170, OPFMercator.wrapLongitude(-190), DELTA);
+        assertEquals(-170, OPFMercator.wrapLongitude(190 + 360 * 10), DELTA);
+    }
+
+    @Test
+    public void wrapDeltaXPointsToNearestWorldCopy() {
+        assertEquals(-0.25, OPFMercator.wrapDeltaX(0.75, 1), DELTA);
+        assertEquals(0.25, OPFMercator.wrapDeltaX(-0.75, 1), DELTA);
+        assertEquals(-0.5, OPFMercator.wrapDeltaX(0.5, 1), DELTA);
+        assertEquals(100, OPFMercator.wrapDeltaX(100 + 1024 * 3, 1024), DELTA);
+    }
+}
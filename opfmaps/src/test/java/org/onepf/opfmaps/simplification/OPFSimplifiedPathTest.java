@@ -0,0 +1,175 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.simplification;
+
+import org.junit.Test;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OPFSimplifiedPathTest {
+
+    private static final double DELTA = 0;
+
+    @Test
+    public void straightLineKeepsEndpoints() {
+        final OPFLatLngSequence line = new OPFLatLngSequence();
+        for (int i = 0; i <= 10; i++) {
+            line.add(0, i);
+        }
+        final OPFSimplifiedPath path = new OPFSimplifiedPath(line);
+
+        assertArrayEquals(new double[]{0, 0, 0, 10}, path.getPoints(1E-12, 0).toArray(), DELTA);
+        assertEquals(11, path.getPoints(0, 0).size());
+    }
+
+    @Test
+    public void matchesRecursiveDouglasPeucker() {
+        final Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            final OPFLatLngSequence points = randomWalk(random, 500);
+            final OPFSimplifiedPath path = new OPFSimplifiedPath(points);
+            for (double tolerance = 1E-7; tolerance < 1E-2; tolerance *= 4) {
+                assertArrayEquals(douglasPeucker(points, tolerance).toArray(),
+                        path.getPoints(tolerance, 0).toArray(), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void zoomToleranceIsMeasuredInTilePixels() {
+        final OPFSimplifiedPath path = new OPFSimplifiedPath(randomWalk(new Random(1), 300));
+        final double tolerance = 2.0 / (256 * Math.pow(2, 12));
+
+        assertEquals(path.getPoints(tolerance, 0), path.getPoints(12, 2.0f, 0));
+    }
+
+    @Test
+    public void higherZoomKeepsMorePoints() {
+        final OPFSimplifiedPath path = new OPFSimplifiedPath(randomWalk(new Random(2), 1000));
+        int previousSize = 0;
+        for (int zoom = 0; zoom <= 20; zoom++) {
+            final int size = path.getPoints(zoom, 1.0f, 0).size();
+            assertTrue(size >= previousSize);
+            previousSize = size;
+        }
+        assertEquals(path.size(), path.getPoints(30, 1.0f, 0).size());
+    }
+
+    @Test
+    public void minPointsAreKept() {
+        final OPFSimplifiedPath path = new OPFSimplifiedPath(randomWalk(new Random(3), 100));
+
+        assertEquals(2, path.getPoints(1, 0).size());
+        assertEquals(5, path.getPoints(1, 5).size());
+        assertEquals(100, path.getPoints(1, 200).size());
+    }
+
+    @Test
+    public void originalPointsAreCopied() {
+        final OPFLatLngSequence points = new OPFLatLngSequence(new double[]{0, 0, 1, 1, 2, 0});
+        final OPFSimplifiedPath path = new OPFSimplifiedPath(points);
+        points.add(5, 5);
+        path.getOriginalPoints().add(6, 6);
+
+        assertEquals(3, path.size());
+        assertArrayEquals(new double[]{0, 0, 1, 1, 2, 0}, path.getOriginalPoints().toArray(), DELTA);
+    }
+
+    @Test
+    public void shortPathsAreKept() {
+        assertEquals(0, new OPFSimplifiedPath(new OPFLatLngSequence()).getPoints(1, 0).size());
+        assertEquals(1, new OPFSimplifiedPath(new OPFLatLngSequence(new double[]{1, 2})).getPoints(1, 0).size());
+        assertEquals(2, new OPFSimplifiedPath(new OPFLatLngSequence(new double[]{1, 2, 3, 4})).getPoints(1, 0).size());
+    }
+
+    private static OPFLatLngSequence randomWalk(final Random random, final int size) {
+        final OPFLatLngSequence points = new OPFLatLngSequence(size);
+        double lat = 55;
+        double lng = 37;
+        for (int i = 0; i < size; i++) {
+            points.add(lat, lng);
+            lat += random.nextGaussian() * 0.01;
+            lng += random.nextGaussian() * 0.01;
+        }
+        return points;
+    }
+
+    /**
+     * The textbook recursive simplification in the normalized Web Mercator plane.
+     */
+    private static OPFLatLngSequence douglasPeucker(final OPFLatLngSequence points, final double tolerance) {
+        final int size = points.size();
+        final boolean[] kept = new boolean[size];
+        kept[0] = true;
+        kept[size - 1] = true;
+        simplify(points, 0, size - 1, tolerance, kept);
+
+        final OPFLatLngSequence result = new OPFLatLngSequence();
+        for (int i = 0; i < size; i++) {
+            if (kept[i]) {
+                result.add(points.getLat(i), points.getLng(i));
+            }
+        }
+        return result;
+    }
+
+    private static void simplify(final OPFLatLngSequence points, final int start, final int end,
+                                 final double tolerance, final boolean[] kept) {
+        if (end - start < 2) {
+            return;
+        }
+        int farthest = -1;
+        double maxDistance = -1;
+        for (int i = start + 1; i < end; i++) {
+            final double distance = distance(points, i, start, end);
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                farthest = i;
+            }
+        }
+        if (maxDistance >= tolerance) {
+            kept[farthest] = true;
+            simplify(points, start, farthest, tolerance, kept);
+            simplify(points, farthest, end, tolerance, kept);
+        }
+    }
+
+    private static double distance(final OPFLatLngSequence points, final int index, final int start, final int end) {
+        final double x = x(points, index);
+        final double y = y(points, index);
+        final double startX = x(points, start);
+        final double startY = y(points, start);
+        final double dx = x(points, end) - startX;
+        final double dy = y(points, end) - startY;
+        final double t = Math.max(0, Math.min(1, ((x - startX) * dx + (y - startY) * dy) / (dx * dx + dy * dy)));
+        return Math.hypot(x - startX - t * dx, y - startY - t * dy);
+    }
+
+    private static double x(final OPFLatLngSequence points, final int index) {
+        return points.getLng(index) / 360 + 0.5;
+    }
+
+    private static double y(final OPFLatLngSequence points, final int index) {
+        final double sinLat = Math.sin(Math.toRadians(points.getLat(index)));
+        return 0.5 - Math.log((1 + sinLat) / (1 - sinLat)) / (4 * Math.PI);
+    }
+}
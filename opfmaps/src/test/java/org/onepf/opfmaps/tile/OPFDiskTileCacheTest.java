@@ -0,0 +1,266 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.onepf.opfmaps.TestDelegatesFactory;
+import org.onepf.opfmaps.model.OPFTile;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OPFDiskTileCacheTest {
+
+    private static final int TILE_SIZE = 100;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private OPFDiskTileCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        TestDelegatesFactory.install();
+        directory = folder.newFolder();
+        cache = new OPFDiskTileCache(directory, 3 * TILE_SIZE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        cache.close();
+    }
+
+    @Test
+    public void getReturnsPutTile() {
+        cache.put("a", tile(1));
+
+        final OPFTile tile = cache.get("a", 0);
+        assertNotNull(tile);
+        assertArrayEquals(tile(1).getData(), tile.getData());
+        assertEquals(TILE_SIZE, cache.size());
+    }
+
+    @Test
+    public void tilesSurviveReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+
+        reopen();
+
+        assertArrayEquals(tile(1).getData(), cache.get("a", 0).getData());
+        assertArrayEquals(tile(2).getData(), cache.get("b", 0).getData());
+        assertEquals(2 * TILE_SIZE, cache.size());
+    }
+
+    @Test
+    public void replacedTileSurvivesReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("a", tile(2));
+
+        reopen();
+
+        assertArrayEquals(tile(2).getData(), cache.get("a", 0).getData());
+        assertEquals(TILE_SIZE, cache.size());
+    }
+
+    @Test
+    public void removedTileStaysRemovedAfterReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+        cache.remove("a");
+
+        reopen();
+
+        assertNull(cache.get("a", 0));
+        assertFalse(cache.contains("a"));
+        assertNotNull(cache.get("b", 0));
+        assertEquals(TILE_SIZE, cache.size());
+    }
+
+    @Test
+    public void tilePutAfterRemoveSurvivesReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.remove("a");
+        cache.put("a", tile(2));
+
+        reopen();
+
+        assertArrayEquals(tile(2).getData(), cache.get("a", 0).getData());
+    }
+
+    @Test
+    public void evictedTileStaysEvictedAfterReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+        cache.put("c", tile(3));
+        cache.put("d", tile(4));
+        assertFalse(cache.contains("a"));
+
+        reopen();
+
+        assertNull(cache.get("a", 0));
+        assertEquals(3 * TILE_SIZE, cache.size());
+    }
+
+    @Test
+    public void accessOrderSurvivesReopen() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+        cache.put("c", tile(3));
+        assertNotNull(cache.get("a", 0));
+
+        reopen();
+        cache.put("d", tile(4));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertTrue(cache.contains("d"));
+    }
+
+    @Test
+    public void readsDoNotWriteToPackFile() {
+        cache.put("a", tile(1));
+        final long packLength = new File(directory, "tiles.pack").length();
+
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(cache.get("a", 0));
+        }
+
+        assertEquals(packLength, new File(directory, "tiles.pack").length());
+    }
+
+    @Test
+    public void readsAreLoggedBeforeLaterPuts() throws IOException {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+        assertNotNull(cache.get("a", 0));
+        cache.put("c", tile(3));
+
+        reopen();
+        cache.put("d", tile(4));
+        cache.put("e", tile(5));
+
+        assertFalse(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+    }
+
+    @Test
+    public void expiredTileIsRemoved() throws Exception {
+        cache.put("a", tile(1));
+        Thread.sleep(20);
+
+        assertTrue(cache.contains("a", 0));
+        assertFalse(cache.contains("a", 10));
+        assertNull(cache.get("a", 10));
+
+        reopen();
+
+        assertFalse(cache.contains("a"));
+    }
+
+    @Test
+    public void containsDoesNotChangeEvictionOrder() {
+        cache.put("a", tile(1));
+        cache.put("b", tile(2));
+        cache.put("c", tile(3));
+        assertTrue(cache.contains("a", 0));
+
+        cache.put("d", tile(4));
+
+        assertFalse(cache.contains("a"));
+    }
+
+    @Test
+    public void getTimestampReturnsPutTime() {
+        final long before = System.currentTimeMillis();
+        cache.put("a", tile(1));
+        final long after = System.currentTimeMillis();
+
+        final long timestamp = cache.getTimestamp("a");
+        assertTrue(timestamp >= before && timestamp <= after);
+        assertEquals(0, cache.getTimestamp("b"));
+    }
+
+    @Test
+    public void compactionKeepsLiveTiles() throws IOException {
+        cache.close();
+        cache = new OPFDiskTileCache(directory, 4 * 1024 * 1024);
+        final int count = 40;
+        final int size = 64 * 1024;
+        for (int i = 0; i < count; i++) {
+            cache.put("tile" + i, tile(i, size));
+        }
+        for (int i = 0; i < count; i++) {
+            if (i % 4 != 3) {
+                cache.remove("tile" + i);
+            }
+        }
+        cache.put("last", tile(1, size));
+        assertTrue(new File(directory, "tiles.pack").length() < count * size);
+
+        reopen();
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i % 4 == 3, cache.contains("tile" + i));
+        }
+        assertArrayEquals(tile(39, size).getData(), cache.get("tile39", 0).getData());
+        assertTrue(cache.contains("last"));
+        assertEquals(11 * size, cache.size());
+    }
+
+    @Test
+    public void clearRemovesEverything() throws IOException {
+        cache.put("a", tile(1));
+        cache.clear();
+
+        reopen();
+
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.size());
+    }
+
+    private void reopen() throws IOException {
+        cache.close();
+        cache = new OPFDiskTileCache(directory, cache.getMaxSize());
+    }
+
+    private static OPFTile tile(final int seed) {
+        return tile(seed, TILE_SIZE);
+    }
+
+    private static OPFTile tile(final int seed, final int size) {
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (seed + i);
+        }
+        return new OPFTile(256, 256, data);
+    }
+}
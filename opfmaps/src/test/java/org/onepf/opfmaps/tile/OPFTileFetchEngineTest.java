@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.tile;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OPFTileFetchEngineTest {
+
+    private static final String ETAG = "\"v1\"";
+    private static final byte[] TILE_DATA = {1, 2, 3, 4, 5};
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger runningRequests = new AtomicInteger();
+    private final AtomicInteger maxRunningRequests = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private HttpServer server;
+    private OPFTileFetchEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                requests.incrementAndGet();
+                final int running = runningRequests.incrementAndGet();
+                synchronized (maxRunningRequests) {
+                    maxRunningRequests.set(Math.max(maxRunningRequests.get(), running));
+                }
+                try {
+                    release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                runningRequests.decrementAndGet();
+
+                exchange.getResponseHeaders().set("ETag", ETAG);
+                if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                } else {
+                    exchange.sendResponseHeaders(200, TILE_DATA.length);
+                    final OutputStream body = exchange.getResponseBody();
+                    body.write(TILE_DATA);
+                    body.close();
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (engine != null) {
+            engine.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    public void revalidatesWithETag() throws IOException {
+        engine = OPFTileFetchEngine.builder().build();
+
+        assertArrayEquals(TILE_DATA, engine.fetch(url("/1/2/3"), OPFTileFetchEngine.PRIORITY_NORMAL));
+        assertArrayEquals(TILE_DATA, engine.fetch(url("/1/2/3"), OPFTileFetchEngine.PRIORITY_NORMAL));
+
+        assertEquals(2, engine.getRequestCount());
+        assertEquals(1, engine.getNotModifiedCount());
+    }
+
+    @Test
+    public void limitsRequestsPerHost() throws Exception {
+        release = new CountDownLatch(1);
+        engine = OPFTileFetchEngine.builder().maxRequests(6).maxRequestsPerHost(2).build();
+
+        final List<Future<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(engine.fetchAsync(url("/tile/" + i), OPFTileFetchEngine.PRIORITY_NORMAL));
+        }
+        awaitRequests(2);
+        Thread.sleep(200);
+        assertEquals(2, requests.get());
+
+        release.countDown();
+        for (Future<byte[]> future : futures) {
+            assertArrayEquals(TILE_DATA, future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        assertEquals(5, requests.get());
+        assertEquals(2, maxRunningRequests.get());
+    }
+
+    @Test
+    public void cancelledRequestKeepsHostSlotUntilDownloadEnds() throws Exception {
+        release = new CountDownLatch(1);
+        engine = OPFTileFetchEngine.builder().maxRequestsPerHost(1).build();
+
+        final Future<byte[]> cancelled = engine.fetchAsync(url("/tile/0"), OPFTileFetchEngine.PRIORITY_NORMAL);
+        awaitRequests(1);
+        assertTrue(cancelled.cancel(true));
+
+        final Future<byte[]> next = engine.fetchAsync(url("/tile/1"), OPFTileFetchEngine.PRIORITY_NORMAL);
+        Thread.sleep(200);
+        assertEquals(1, requests.get());
+
+        release.countDown();
+        assertArrayEquals(TILE_DATA, next.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, requests.get());
+        assertEquals(1, maxRunningRequests.get());
+    }
+
+    private URL url(final String path) throws IOException {
+        return new URL("http", "127.0.0.1", server.getAddress().getPort(), path);
+    }
+
+    private void awaitRequests(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (requests.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, requests.get());
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012-2015 One Platform Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onepf.opfmaps.utils;
+
+import org.junit.Test;
+import org.onepf.opfmaps.model.OPFLatLng;
+import org.onepf.opfmaps.model.OPFLatLngBounds;
+import org.onepf.opfmaps.model.OPFLatLngSequence;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LatLngQuadTreeTest {
+
+    private static final int ITEMS_COUNT = 2000;
+    private static final int QUERIES_COUNT = 500;
+
+    @Test
+    public void queryMatchesLinearScan() {
+        final Random random = new Random(42);
+        final LatLngQuadTree<Integer> tree = new LatLngQuadTree<>();
+        final Map<Integer, double[]> boxes = new HashMap<>();
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            final double[] box = randomBox(random, i % 3 == 0 ? 0 : 5);
+            boxes.put(i, box);
+            tree.put(i, box[0], box[1], box[2], box[3]);
+        }
+        assertEquals(ITEMS_COUNT, tree.size());
+
+        for (int i = 0; i < QUERIES_COUNT; i++) {
+            final double south = -90 + random.nextDouble() * 170;
+            final double north = Math.min(90, south + random.nextDouble() * 30);
+            final double west = -180 + random.nextDouble() * 360;
+            final double east = -180 + random.nextDouble() * 360;
+            assertEquals(scan(boxes, south, west, north, east), toSet(tree.query(south, west, north, east)));
+        }
+    }
+
+    @Test
+    public void movedItemIsFoundOnlyAtNewPosition() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        fillWithPoints(tree);
+        tree.putPoint("marker", new OPFLatLng(10, 10));
+        tree.putPoint("marker", new OPFLatLng(-40, 120));
+
+        assertFalse(tree.query(9, 9, 11, 11).contains("marker"));
+        assertTrue(tree.query(-41, 119, -39, 121).contains("marker"));
+        assertEquals(1 + ITEMS_COUNT, tree.size());
+    }
+
+    @Test
+    public void removedItemIsNotFound() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        fillWithPoints(tree);
+        tree.putPoint("marker", new OPFLatLng(10, 10));
+
+        assertTrue(tree.remove("marker"));
+        assertFalse(tree.remove("marker"));
+        assertFalse(tree.contains("marker"));
+        assertFalse(tree.query(-90, -180, 90, 180).contains("marker"));
+    }
+
+    @Test
+    public void pointsAreBoundedByTheirBox() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        tree.putPoints("polyline", new OPFLatLngSequence(new double[]{10, 20, 30, 40, 15, 25}));
+
+        assertEquals(Collections.singletonList("polyline"), tree.query(29, 39, 31, 41));
+        assertTrue(tree.query(0, 0, 9, 19).isEmpty());
+        assertEquals(tree.query(29, 39, 31, 41),
+                tree.query(new OPFLatLngBounds(new OPFLatLng(29, 39), new OPFLatLng(31, 41))));
+    }
+
+    @Test
+    public void emptyPointsRemoveItem() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        tree.putPoints("polyline", new OPFLatLngSequence(new double[]{10, 20}));
+        tree.putPoints("polyline", new OPFLatLngSequence());
+
+        assertFalse(tree.contains("polyline"));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    public void queryCrossingAntimeridianFindsBothSides() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        tree.putPoint("east", new OPFLatLng(0, 179));
+        tree.putPoint("west", new OPFLatLng(0, -179));
+        tree.putPoint("greenwich", new OPFLatLng(0, 0));
+
+        assertEquals(new HashSet<>(Arrays.asList("east", "west")), toSet(tree.query(-1, 178, 1, -178)));
+    }
+
+    @Test
+    public void boundsCrossingAntimeridianCoverAllLongitudes() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        tree.putBounds("overlay", new OPFLatLngBounds(new OPFLatLng(-10, 170), new OPFLatLng(10, -170)));
+
+        assertTrue(tree.query(-1, 175, 1, 176).contains("overlay"));
+        assertTrue(tree.query(-1, -176, 1, -175).contains("overlay"));
+
+        tree.putBounds("overlay", null);
+        assertFalse(tree.contains("overlay"));
+    }
+
+    @Test
+    public void circleIsBoundedByItsRadius() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        // about 1.1 km, which is 0.01 degree of latitude
+        tree.putCircle("circle", new OPFLatLng(60, 30), 1112);
+
+        assertTrue(tree.query(60.009, 30, 60.02, 30.001).contains("circle"));
+        assertFalse(tree.query(60.011, 30, 60.02, 30.001).contains("circle"));
+        // a degree of longitude is twice shorter at 60 degrees
+        assertTrue(tree.query(60, 30.019, 60.001, 30.03).contains("circle"));
+        assertFalse(tree.query(60, 30.021, 60.001, 30.03).contains("circle"));
+    }
+
+    @Test
+    public void clearRemovesAllItems() {
+        final LatLngQuadTree<String> tree = new LatLngQuadTree<>();
+        fillWithPoints(tree);
+        tree.clear();
+
+        assertEquals(0, tree.size());
+        assertTrue(tree.query(-90, -180, 90, 180).isEmpty());
+    }
+
+    private static void fillWithPoints(final LatLngQuadTree<String> tree) {
+        final Random random = new Random(7);
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            tree.putPoint("point" + i, new OPFLatLng(-90 + random.nextDouble() * 180, -180 + random.nextDouble() * 360));
+        }
+    }
+
+    private static double[] randomBox(final Random random, final double maxSize) {
+        final double south = -90 + random.nextDouble() * (180 - maxSize);
+        final double west = -180 + random.nextDouble() * (360 - maxSize);
+        return new double[]{south, west, south + random.nextDouble() * maxSize, west + random.nextDouble() * maxSize};
+    }
+
+    private static Set<Integer> scan(final Map<Integer, double[]> boxes,
+                                     final double south, final double west, final double north, final double east) {
+        final Set<Integer> result = new HashSet<>();
+        for (Map.Entry<Integer, double[]> entry : boxes.entrySet()) {
+            final double[] box = entry.getValue();
+            final boolean latitudesIntersect = box[0] <= north && box[2] >= south;
+            final boolean longitudesIntersect = west <= east
+                    ? box[1] <= east && box[3] >= west
+                    : box[3] >= west || box[1] <= east;
+            if (latitudesIntersect && longitudesIntersect) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    private static <T> Set<T> toSet(final List<T> items) {
+        final Set<T> set = new HashSet<>(items);
+        assertEquals("duplicate items", items.size(), set.size());
+        return set;
+    }
+}